@@ -1,7 +1,13 @@
 package org.ekstep.cassandra.connector.util;
 
 import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.core.HostDistance;
+import com.datastax.driver.core.PoolingOptions;
+import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.QueryOptions;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
+import com.datastax.driver.core.Statement;
 import org.apache.commons.lang3.StringUtils;
 import org.ekstep.common.Platform;
 import org.ekstep.common.exception.ServerException;
@@ -12,11 +18,16 @@ import com.datastax.driver.core.Session;
 
 import java.net.InetSocketAddress;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class CassandraConnector {
 
 	/** Cassandra Session Map. */
-	private static Map<String,Session> sessionMap=new HashMap<>();
+	private static Map<String,Session> sessionMap=new ConcurrentHashMap<>();
+
+	/** Prepared statements of each session, by the CQL text. */
+	private static Map<String, Map<String, PreparedStatement>> statementMap = new ConcurrentHashMap<>();
 
 	static {
 		prepareSession("lp", getConsistencyLevel("lp"));
@@ -53,15 +64,21 @@ public class CassandraConnector {
 	 * @param sessionKey
 	 * @param level
 	 */
-	private static void prepareSession(String sessionKey, ConsistencyLevel level) {
-		List<String> connectionInfo = getConnectionInfo(sessionKey.toLowerCase());
+	private static synchronized void prepareSession(String sessionKey, ConsistencyLevel level) {
+		String key = sessionKey.toLowerCase();
+		Session existing = sessionMap.get(key);
+		if (null != existing && !existing.isClosed())
+			return;
+		List<String> connectionInfo = getConnectionInfo(key);
 		List<InetSocketAddress> addressList = getSocketAddress(connectionInfo);
 		try {
-			if (null != level) {
-				sessionMap.put(sessionKey.toLowerCase(), Cluster.builder().addContactPointsWithPorts(addressList).withQueryOptions(new QueryOptions().setConsistencyLevel(level)).build().connect());
-			} else {
-				sessionMap.put(sessionKey.toLowerCase(), Cluster.builder().addContactPointsWithPorts(addressList).build().connect());
-			}
+			Cluster.Builder builder = Cluster.builder().addContactPointsWithPorts(addressList)
+					.withPoolingOptions(getPoolingOptions(key));
+			if (null != level)
+				builder.withQueryOptions(new QueryOptions().setConsistencyLevel(level));
+			// statements prepared on a closed session are not valid on the new one.
+			statementMap.remove(key);
+			sessionMap.put(key, builder.build().connect());
 
 			registerShutdownHook();
 		} catch (Exception e) {
@@ -70,6 +87,101 @@ public class CassandraConnector {
 		}
 	}
 
+	/**
+	 * Returns the connection pool options of the session, from the
+	 * cassandra.[sessionKey].pool.* configuration. The driver defaults are
+	 * used for the options which are not configured.
+	 *
+	 * @param sessionKey
+	 * @return
+	 */
+	private static PoolingOptions getPoolingOptions(String sessionKey) {
+		String prefix = "cassandra." + sessionKey + ".pool.";
+		PoolingOptions options = new PoolingOptions();
+		if (Platform.config.hasPath(prefix + "core_connections") && Platform.config.hasPath(prefix + "max_connections")) {
+			options.setConnectionsPerHost(HostDistance.LOCAL, Platform.config.getInt(prefix + "core_connections"),
+					Platform.config.getInt(prefix + "max_connections"));
+		} else if (Platform.config.hasPath(prefix + "core_connections")) {
+			options.setCoreConnectionsPerHost(HostDistance.LOCAL, Platform.config.getInt(prefix + "core_connections"));
+		} else if (Platform.config.hasPath(prefix + "max_connections")) {
+			options.setMaxConnectionsPerHost(HostDistance.LOCAL, Platform.config.getInt(prefix + "max_connections"));
+		}
+		if (Platform.config.hasPath(prefix + "max_requests_per_connection"))
+			options.setMaxRequestsPerConnection(HostDistance.LOCAL, Platform.config.getInt(prefix + "max_requests_per_connection"));
+		if (Platform.config.hasPath(prefix + "pool_timeout"))
+			options.setPoolTimeoutMillis(Platform.config.getInt(prefix + "pool_timeout"));
+		return options;
+	}
+
+	/**
+	 * Returns the prepared statement of the query on lp session, preparing it
+	 * only on the first call for the query.
+	 *
+	 * @param query
+	 * @return
+	 */
+	public static PreparedStatement prepare(String query) {
+		return prepare("lp", query);
+	}
+
+	/**
+	 * Returns the prepared statement of the query on the given session,
+	 * preparing it only on the first call for the query.
+	 *
+	 * @param sessionKey
+	 * @param query
+	 * @return
+	 */
+	public static PreparedStatement prepare(String sessionKey, String query) {
+		Session session = getSession(sessionKey);
+		Map<String, PreparedStatement> statements = statementMap.computeIfAbsent(sessionKey.toLowerCase(),
+				key -> new ConcurrentHashMap<>());
+		PreparedStatement statement = statements.get(query);
+		if (null == statement) {
+			statement = session.prepare(query);
+			PreparedStatement existing = statements.putIfAbsent(query, statement);
+			if (null != existing)
+				statement = existing;
+		}
+		return statement;
+	}
+
+	/**
+	 * Executes the statement on lp session without blocking the caller.
+	 *
+	 * @param statement
+	 * @return the future result of the statement.
+	 */
+	public static CompletableFuture<ResultSet> executeAsync(Statement statement) {
+		return executeAsync("lp", statement);
+	}
+
+	/**
+	 * Executes the statement on the given session without blocking the
+	 * caller.
+	 *
+	 * @param sessionKey
+	 * @param statement
+	 * @return the future result of the statement.
+	 */
+	public static CompletableFuture<ResultSet> executeAsync(String sessionKey, Statement statement) {
+		CompletableFuture<ResultSet> result = new CompletableFuture<>();
+		try {
+			ResultSetFuture future = getSession(sessionKey).executeAsync(statement);
+			// completed on the driver I/O thread, callers must not block in their callbacks.
+			future.addListener(() -> {
+				try {
+					result.complete(future.getUninterruptibly());
+				} catch (Exception e) {
+					result.completeExceptionally(e);
+				}
+			}, Runnable::run);
+		} catch (Exception e) {
+			result.completeExceptionally(e);
+		}
+		return result;
+	}
+
 	/**
 	 *
 	 * @param sessionKey
@@ -24,6 +24,7 @@ import org.ekstep.telemetry.util.LogAsyncGraphEvent;
 
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
 
 import static com.datastax.driver.core.querybuilder.QueryBuilder.eq;
 
@@ -182,7 +183,7 @@ public abstract class CassandraStore {
 						"Invalid Identifier to read");
 			}
 			String selectQuery = getSelectStatement(identifier, properties);
-			PreparedStatement statement = CassandraConnector.getSession().prepare(selectQuery);
+			PreparedStatement statement = CassandraConnector.prepare(selectQuery);
 			BoundStatement boundStatement = new BoundStatement(statement);
 			ResultSet results = CassandraConnector.getSession().execute(boundStatement.bind(identifier));
 			return results.all();
@@ -211,7 +212,7 @@ public abstract class CassandraStore {
 			}
 			Session session = CassandraConnector.getSession();
 			String query = getPreparedStatementFrUpsert(request);
-			PreparedStatement statement = session.prepare(query);
+			PreparedStatement statement = CassandraConnector.prepare(query);
 			BoundStatement boundStatement = new BoundStatement(statement);
 			Object[] objects = getBindObjects(request);
 			session.execute(boundStatement.bind(objects));
@@ -331,10 +332,23 @@ public abstract class CassandraStore {
 	 * @return
 	 */
 	private ResultSet executeQuery(String query, Object... objects) {
-		Session session = CassandraConnector.getSession();
-		PreparedStatement statement = session.prepare(query);
+		PreparedStatement statement = CassandraConnector.prepare(query);
 		BoundStatement boundStatement = new BoundStatement(statement);
-		return session.execute(boundStatement.bind(objects));
+		return CassandraConnector.getSession().execute(boundStatement.bind(objects));
+	}
+
+	/**
+	 * Executes the query with the given bind values without blocking the
+	 * caller.
+	 *
+	 * @param query
+	 * @param objects
+	 * @return the future result of the query.
+	 */
+	protected CompletableFuture<ResultSet> executeQueryAsync(String query, Object... objects) {
+		PreparedStatement statement = CassandraConnector.prepare(query);
+		BoundStatement boundStatement = new BoundStatement(statement);
+		return CassandraConnector.executeAsync(boundStatement.bind(objects));
 	}
 
 	private Object[] getBindObjects(Map<String, Object> request) {
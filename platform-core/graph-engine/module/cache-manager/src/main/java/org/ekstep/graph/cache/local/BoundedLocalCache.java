@@ -0,0 +1,382 @@
+package org.ekstep.graph.cache.local;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+import org.ekstep.common.exception.ServerException;
+import org.ekstep.graph.cache.exception.GraphCacheErrorCodes;
+
+/**
+ * In-JVM cache bounded by entry count or by total weight, with optional time to
+ * live. Entries are spread over lock striped segments, each of which evicts its
+ * least recently used entries once it is full. Concurrent misses on the same key through
+ * {@link #get(String, Function)} are collapsed into a single load, and when a
+ * refresh time is configured, entries read through it are reloaded in the
+ * background shortly before they expire.
+ *
+ * @param <V>
+ *            the cached value type
+ */
+public class BoundedLocalCache<V> {
+
+	private static final int DEFAULT_SEGMENTS = 16;
+
+	// shared by all caches for background refresh and expired entry clean up.
+	private static final ScheduledExecutorService maintenance = Executors.newScheduledThreadPool(2, runnable -> {
+		Thread thread = new Thread(runnable, "local-cache-maintenance");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	private final String name;
+	private final long ttl;
+	private final long refreshAfter;
+	private final ToIntFunction<V> weigher;
+	private final Segment<V>[] segments;
+	private final ConcurrentHashMap<String, FutureTask<V>> loading = new ConcurrentHashMap<>();
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+	private final LongAdder expirations = new LongAdder();
+	private final LongAdder loadSuccess = new LongAdder();
+	private final LongAdder loadFailure = new LongAdder();
+	private final LongAdder totalLoadTime = new LongAdder();
+	private final LongAdder refreshes = new LongAdder();
+	private ScheduledFuture<?> cleanUpTask;
+
+	/**
+	 * @param name
+	 *            name of the cache, used when reporting stats
+	 * @param maxSize
+	 *            maximum number of entries held by the cache
+	 * @param ttl
+	 *            time to live of an entry in milliseconds, 0 or less to never
+	 *            expire
+	 */
+	public BoundedLocalCache(String name, int maxSize, long ttl) {
+		this(name, maxSize, ttl, 0);
+	}
+
+	/**
+	 * @param name
+	 *            name of the cache, used when reporting stats
+	 * @param maxSize
+	 *            maximum number of entries held by the cache
+	 * @param ttl
+	 *            time to live of an entry in milliseconds, 0 or less to never
+	 *            expire
+	 * @param refreshAfter
+	 *            time in milliseconds after which an entry read through
+	 *            {@link #get(String, Function)} is reloaded in the background,
+	 *            0 or less to disable
+	 */
+	public BoundedLocalCache(String name, int maxSize, long ttl, long refreshAfter) {
+		this(name, Math.max(1, Math.min(DEFAULT_SEGMENTS, maxSize)), maxSize, ttl, refreshAfter, value -> 1);
+	}
+
+	/**
+	 * Creates a cache bounded by the total weight of its values instead of
+	 * their count, for values which differ a lot in size. It uses a single
+	 * segment, so that one large value does not exhaust the share of a
+	 * segment.
+	 *
+	 * @param name
+	 *            name of the cache, used when reporting stats
+	 * @param maxWeight
+	 *            maximum total weight of the entries held by the cache
+	 * @param ttl
+	 *            time to live of an entry in milliseconds, 0 or less to never
+	 *            expire
+	 * @param weigher
+	 *            returns the weight of a value
+	 */
+	public BoundedLocalCache(String name, long maxWeight, long ttl, ToIntFunction<V> weigher) {
+		this(name, 1, maxWeight, ttl, 0, weigher);
+	}
+
+	@SuppressWarnings("unchecked")
+	private BoundedLocalCache(String name, int segmentCount, long maxWeight, long ttl, long refreshAfter,
+			ToIntFunction<V> weigher) {
+		this.name = name;
+		this.ttl = ttl;
+		this.refreshAfter = refreshAfter;
+		this.weigher = weigher;
+		long segmentWeight = Math.max(1, (maxWeight + segmentCount - 1) / segmentCount);
+		this.segments = new Segment[segmentCount];
+		for (int i = 0; i < segmentCount; i++)
+			segments[i] = new Segment<V>(segmentWeight, evictions);
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public V get(String key) {
+		CacheEntry<V> entry = getEntry(key, System.currentTimeMillis());
+		return null == entry ? null : entry.value;
+	}
+
+	private CacheEntry<V> getEntry(String key, long now) {
+		Segment<V> segment = segmentFor(key);
+		synchronized (segment) {
+			CacheEntry<V> entry = segment.get(key);
+			if (null == entry) {
+				misses.increment();
+				return null;
+			}
+			if (entry.isExpired(now)) {
+				segment.removeEntry(key);
+				expirations.increment();
+				misses.increment();
+				return null;
+			}
+			hits.increment();
+			return entry;
+		}
+	}
+
+	/**
+	 * Returns the cached value of the key, loading it with the given loader on
+	 * a miss. Only one thread runs the loader for a key at a time, the others
+	 * wait for and share its result. A null result is returned but not cached.
+	 */
+	public V get(String key, Function<String, V> loader) {
+		long now = System.currentTimeMillis();
+		CacheEntry<V> entry = getEntry(key, now);
+		if (null != entry) {
+			if (now >= entry.refreshAt)
+				refresh(key, loader);
+			return entry.value;
+		}
+		FutureTask<V> task = new FutureTask<>(() -> load(key, loader));
+		FutureTask<V> existing = loading.putIfAbsent(key, task);
+		if (null == existing) {
+			existing = task;
+			try {
+				task.run();
+			} finally {
+				loading.remove(key, task);
+			}
+		}
+		try {
+			return existing.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ServerException(GraphCacheErrorCodes.ERR_CACHE_UNKNOWN_EXCEPTION_000.name(),
+					"Interrupted while loading key: " + key + " into cache: " + name, e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException)
+				throw (RuntimeException) cause;
+			throw new ServerException(GraphCacheErrorCodes.ERR_CACHE_UNKNOWN_EXCEPTION_000.name(),
+					"Error while loading key: " + key + " into cache: " + name, cause);
+		}
+	}
+
+	private void refresh(String key, Function<String, V> loader) {
+		FutureTask<V> task = new FutureTask<>(() -> load(key, loader));
+		if (null == loading.putIfAbsent(key, task)) {
+			refreshes.increment();
+			maintenance.execute(() -> {
+				try {
+					task.run();
+				} finally {
+					loading.remove(key, task);
+				}
+			});
+		}
+	}
+
+	private V load(String key, Function<String, V> loader) {
+		long start = System.nanoTime();
+		try {
+			V value = loader.apply(key);
+			loadSuccess.increment();
+			if (null != value)
+				put(key, value);
+			return value;
+		} catch (RuntimeException e) {
+			loadFailure.increment();
+			throw e;
+		} finally {
+			totalLoadTime.add(System.nanoTime() - start);
+		}
+	}
+
+	public void put(String key, V value) {
+		long now = System.currentTimeMillis();
+		long expiresAt = ttl > 0 ? now + ttl : Long.MAX_VALUE;
+		long refreshAt = refreshAfter > 0 ? now + refreshAfter : Long.MAX_VALUE;
+		CacheEntry<V> entry = new CacheEntry<V>(value, weigher.applyAsInt(value), expiresAt, refreshAt);
+		Segment<V> segment = segmentFor(key);
+		synchronized (segment) {
+			segment.putEntry(key, entry);
+		}
+	}
+
+	public V remove(String key) {
+		Segment<V> segment = segmentFor(key);
+		synchronized (segment) {
+			CacheEntry<V> entry = segment.removeEntry(key);
+			return null == entry ? null : entry.value;
+		}
+	}
+
+	public void clear() {
+		for (Segment<V> segment : segments) {
+			synchronized (segment) {
+				segment.clearEntries();
+			}
+		}
+	}
+
+	/**
+	 * Removes all the expired entries from the cache.
+	 */
+	public void cleanUp() {
+		long now = System.currentTimeMillis();
+		for (Segment<V> segment : segments) {
+			synchronized (segment) {
+				Iterator<CacheEntry<V>> entries = segment.values().iterator();
+				while (entries.hasNext()) {
+					CacheEntry<V> entry = entries.next();
+					if (entry.isExpired(now)) {
+						entries.remove();
+						segment.weight -= entry.weight;
+						expirations.increment();
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Runs {@link #cleanUp()} in the background every given period, replacing
+	 * any earlier schedule of this cache.
+	 */
+	public synchronized void scheduleCleanUp(long period) {
+		if (null != cleanUpTask)
+			cleanUpTask.cancel(false);
+		cleanUpTask = period > 0
+				? maintenance.scheduleWithFixedDelay(this::cleanUp, period, period, TimeUnit.MILLISECONDS) : null;
+	}
+
+	public long weight() {
+		long weight = 0;
+		for (Segment<V> segment : segments) {
+			synchronized (segment) {
+				weight += segment.weight;
+			}
+		}
+		return weight;
+	}
+
+	public long size() {
+		long size = 0;
+		for (Segment<V> segment : segments) {
+			synchronized (segment) {
+				size += segment.size();
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * Returns a snapshot of the hit, miss, eviction and load counters of the
+	 * cache.
+	 */
+	public Map<String, Object> getStats() {
+		Map<String, Object> stats = new HashMap<>();
+		long hitCount = hits.sum();
+		long requestCount = hitCount + misses.sum();
+		long loadCount = loadSuccess.sum() + loadFailure.sum();
+		stats.put("name", name);
+		stats.put("size", size());
+		stats.put("weight", weight());
+		stats.put("hitCount", hitCount);
+		stats.put("missCount", misses.sum());
+		stats.put("hitRatio", requestCount == 0 ? 1.0 : (double) hitCount / requestCount);
+		stats.put("evictionCount", evictions.sum());
+		stats.put("expirationCount", expirations.sum());
+		stats.put("loadSuccessCount", loadSuccess.sum());
+		stats.put("loadFailureCount", loadFailure.sum());
+		stats.put("refreshCount", refreshes.sum());
+		stats.put("averageLoadTimeMs", loadCount == 0 ? 0.0 : totalLoadTime.sum() / (loadCount * 1000000.0));
+		return stats;
+	}
+
+	private Segment<V> segmentFor(String key) {
+		int h = key.hashCode();
+		h ^= (h >>> 16);
+		return segments[(h & 0x7fffffff) % segments.length];
+	}
+
+	private static class CacheEntry<V> {
+		private final V value;
+		private final int weight;
+		private final long expiresAt;
+		private final long refreshAt;
+
+		private CacheEntry(V value, int weight, long expiresAt, long refreshAt) {
+			this.value = value;
+			this.weight = weight;
+			this.expiresAt = expiresAt;
+			this.refreshAt = refreshAt;
+		}
+
+		private boolean isExpired(long now) {
+			return now >= expiresAt;
+		}
+	}
+
+	private static class Segment<V> extends LinkedHashMap<String, CacheEntry<V>> {
+
+		private static final long serialVersionUID = 1L;
+		private final long maxWeight;
+		private final transient LongAdder evictions;
+		private long weight;
+
+		private Segment(long maxWeight, LongAdder evictions) {
+			super(16, 0.75f, true);
+			this.maxWeight = maxWeight;
+			this.evictions = evictions;
+		}
+
+		private void putEntry(String key, CacheEntry<V> entry) {
+			CacheEntry<V> old = put(key, entry);
+			weight += entry.weight - (null == old ? 0 : old.weight);
+			// the newest entry is kept even if it alone exceeds the bound.
+			Iterator<CacheEntry<V>> eldest = values().iterator();
+			while (weight > maxWeight && size() > 1) {
+				weight -= eldest.next().weight;
+				eldest.remove();
+				evictions.increment();
+			}
+		}
+
+		private CacheEntry<V> removeEntry(String key) {
+			CacheEntry<V> entry = remove(key);
+			if (null != entry)
+				weight -= entry.weight;
+			return entry;
+		}
+
+		private void clearEntries() {
+			clear();
+			weight = 0;
+		}
+	}
+}
@@ -1,11 +1,16 @@
 package org.ekstep.graph.cache.mgr.impl;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 import org.apache.commons.lang3.StringUtils;
+import org.ekstep.common.Platform;
 import org.ekstep.common.exception.ClientException;
 import org.ekstep.graph.cache.exception.GraphCacheErrorCodes;
+import org.ekstep.graph.cache.local.BoundedLocalCache;
 import org.ekstep.graph.cache.util.CacheKeyGenerator;
 import org.ekstep.graph.cache.util.RedisKeysEnum;
 import org.ekstep.telemetry.logger.TelemetryManager;
@@ -18,49 +23,103 @@ import org.ekstep.telemetry.logger.TelemetryManager;
 
 public class NodeCacheManager {
 
-	private static Map<String, Object> definitionNodeCache = new HashMap<>();
-	private static Map<String, Object> dataNodeCache = new HashMap<>();
+	private static final int DEF_NODE_MAX_SIZE = Platform.config.hasPath("platform.cache.definition.max_size")
+			? Platform.config.getInt("platform.cache.definition.max_size") : 1000;
+	private static final long DEF_NODE_TTL = Platform.config.hasPath("platform.cache.definition.ttl")
+			? Platform.config.getLong("platform.cache.definition.ttl") : 0;
+	private static final int DATA_NODE_MAX_SIZE = Platform.config.hasPath("platform.cache.data.max_size")
+			? Platform.config.getInt("platform.cache.data.max_size") : 10000;
+	private static final long DATA_NODE_TTL = Platform.config.hasPath("platform.cache.data.ttl")
+			? Platform.config.getLong("platform.cache.data.ttl") : 0;
+
+	// one cache per graph, so that the nodes of a graph can be dropped together.
+	private static Map<String, BoundedLocalCache<Object>> definitionNodeCache = new ConcurrentHashMap<>();
+	private static Map<String, BoundedLocalCache<Object>> dataNodeCache = new ConcurrentHashMap<>();
 
 	public static void saveDefinitionNode(String graphId, String objectType, Object node) {
 		validateRequired(graphId, objectType, node, GraphCacheErrorCodes.ERR_CACHE_SAVE_DEF_NODE_ERROR.name());
 		String key = CacheKeyGenerator.getKey(graphId, objectType, RedisKeysEnum.DEF_NODE.name());
-		definitionNodeCache.put(key, node);
-		TelemetryManager.log("Saved definition node into cache having objectType: " + objectType + " into graph: "+ graphId);
+		getDefinitionNodeCache(graphId).put(key, node);
+		TelemetryManager.log("Saved definition node into cache having objectType: {} into graph: {}", objectType, graphId);
 	}
 
 	public static Object getDefinitionNode(String graphId, String objectType) {
 		validateRequired(graphId, objectType, GraphCacheErrorCodes.ERR_CACHE_GET_DEF_NODE_ERROR.name());
 		String key = CacheKeyGenerator.getKey(graphId, objectType, RedisKeysEnum.DEF_NODE.name());
-		TelemetryManager.log("Fetching definition node from cache having objectType: " + objectType + " in graph: "+ graphId);
-		return definitionNodeCache.get(key);
+		TelemetryManager.log("Fetching definition node from cache having objectType: {} in graph: {}", objectType, graphId);
+		return getDefinitionNodeCache(graphId).get(key);
+	}
+
+	/**
+	 * Returns the cached definition node, loading it with the given loader on
+	 * a miss. Concurrent misses for the same objectType result in a single
+	 * call to the loader.
+	 */
+	public static Object getDefinitionNode(String graphId, String objectType, Function<String, Object> loader) {
+		validateRequired(graphId, objectType, GraphCacheErrorCodes.ERR_CACHE_GET_DEF_NODE_ERROR.name());
+		String key = CacheKeyGenerator.getKey(graphId, objectType, RedisKeysEnum.DEF_NODE.name());
+		return getDefinitionNodeCache(graphId).get(key, k -> {
+			Object node = loader.apply(objectType);
+			validateRequired(graphId, objectType, node, GraphCacheErrorCodes.ERR_CACHE_SAVE_DEF_NODE_ERROR.name());
+			TelemetryManager.log("Loaded definition node into cache having objectType: {} into graph: {}", objectType, graphId);
+			return node;
+		});
 	}
 	
 	public static Object deleteDefinitionNode(String graphId, String objectType) {
 		validateRequired(graphId, objectType, GraphCacheErrorCodes.ERR_CACHE_GET_DEF_NODE_ERROR.name());
 		String key = CacheKeyGenerator.getKey(graphId, objectType, RedisKeysEnum.DEF_NODE.name());
-		TelemetryManager.log("Deleting definition node from cache having objectType: " + objectType + " in graph: "+ graphId);
-		return definitionNodeCache.remove(key);
+		TelemetryManager.log("Deleting definition node from cache having objectType: {} in graph: {}", objectType, graphId);
+		return getDefinitionNodeCache(graphId).remove(key);
 	}
 
 	public static void saveDataNode(String graphId, String id, Object node) {
 		validateRequired(graphId, id, node, GraphCacheErrorCodes.ERR_CACHE_SAVE_DEF_NODE_ERROR.name());
 		String key = CacheKeyGenerator.getKey(graphId, id, RedisKeysEnum.DATA_NODE.name());
-		dataNodeCache.put(key, node);
-		TelemetryManager.log("Saved data node into cache having identifier: " + id + " into graph: "+ graphId);
+		getDataNodeCache(graphId).put(key, node);
+		TelemetryManager.log("Saved data node into cache having identifier: {} into graph: {}", id, graphId);
 	}
 
 	public static Object getDataNode(String graphId, String id) {
 		validateRequired(graphId, id, GraphCacheErrorCodes.ERR_CACHE_SAVE_DEF_NODE_ERROR.name());
 		String key = CacheKeyGenerator.getKey(graphId, id, RedisKeysEnum.DATA_NODE.name());
-		TelemetryManager.log("Fetching data node from cache having identifier: " + id + " in graph: "+ graphId);
-		return dataNodeCache.get(key);
+		TelemetryManager.log("Fetching data node from cache having identifier: {} in graph: {}", id, graphId);
+		return getDataNodeCache(graphId).get(key);
 	}
 	
 	public static Object deleteDataNode(String graphId, String id) {
 		validateRequired(graphId, id, GraphCacheErrorCodes.ERR_CACHE_SAVE_DEF_NODE_ERROR.name());
 		String key = CacheKeyGenerator.getKey(graphId, id, RedisKeysEnum.DATA_NODE.name());
-		TelemetryManager.log("Deleting data node from cache having identifier: " + id + " in graph: "+ graphId);
-		return dataNodeCache.remove(key);
+		TelemetryManager.log("Deleting data node from cache having identifier: {} in graph: {}", id, graphId);
+		return getDataNodeCache(graphId).remove(key);
+	}
+
+	public static void clear(String graphId) {
+		BoundedLocalCache<Object> cache = definitionNodeCache.get(graphId);
+		if (null != cache)
+			cache.clear();
+		cache = dataNodeCache.get(graphId);
+		if (null != cache)
+			cache.clear();
+	}
+
+	public static List<Map<String, Object>> getStats() {
+		List<Map<String, Object>> stats = new ArrayList<>();
+		for (BoundedLocalCache<Object> cache : definitionNodeCache.values())
+			stats.add(cache.getStats());
+		for (BoundedLocalCache<Object> cache : dataNodeCache.values())
+			stats.add(cache.getStats());
+		return stats;
+	}
+
+	private static BoundedLocalCache<Object> getDefinitionNodeCache(String graphId) {
+		return definitionNodeCache.computeIfAbsent(graphId,
+				id -> new BoundedLocalCache<>(id + ":" + RedisKeysEnum.DEF_NODE.name(), DEF_NODE_MAX_SIZE, DEF_NODE_TTL));
+	}
+
+	private static BoundedLocalCache<Object> getDataNodeCache(String graphId) {
+		return dataNodeCache.computeIfAbsent(graphId,
+				id -> new BoundedLocalCache<>(id + ":" + RedisKeysEnum.DATA_NODE.name(), DATA_NODE_MAX_SIZE, DATA_NODE_TTL));
 	}
 
 	private static void validateRequired(String graphId, String id, Object members, String errCode) {
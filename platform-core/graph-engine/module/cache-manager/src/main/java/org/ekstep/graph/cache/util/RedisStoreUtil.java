@@ -7,9 +7,14 @@ import org.ekstep.graph.cache.exception.GraphCacheErrorCodes;
 import org.ekstep.graph.dac.enums.GraphDACParams;
 import org.ekstep.telemetry.logger.TelemetryManager;
 import redis.clients.jedis.Jedis;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.ScanParams;
+import redis.clients.jedis.ScanResult;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -21,6 +26,7 @@ import static org.ekstep.graph.cache.factory.JedisFactory.returnConnection;
 public class RedisStoreUtil {
 
 	private static ObjectMapper mapper = new ObjectMapper();
+	private static final int SCAN_BATCH_SIZE = 1000;
 
 	public static void saveNodeProperty(String graphId, String objectId, String nodeProperty, String propValue) {
 
@@ -69,25 +75,124 @@ public class RedisStoreUtil {
 			String value = jedis.get(redisKey);
 			return value;
 		} catch (Exception e) {
-			System.out.println(e.getMessage());
-			e.printStackTrace();
 			throw new ServerException(GraphCacheErrorCodes.ERR_CACHE_GET_PROPERTY_ERROR.name(), e.getMessage());
 		} finally {
 			returnConnection(jedis);
 		}
 	}
 
+	/**
+	 * This method saves all the given properties of a node with a single MSET.
+	 *
+	 * @param graphId
+	 * @param objectId
+	 * @param metadata
+	 */
 	public static void saveNodeProperties(String graphId, String objectId, Map<String, Object> metadata) {
+		if (null == metadata || metadata.isEmpty())
+			return;
+		Map<String, String> keyValues = new HashMap<>();
+		for (Entry<String, Object> entry : metadata.entrySet()) {
+			String redisKey = CacheKeyGenerator.getNodePropertyKey(graphId, objectId, entry.getKey());
+			keyValues.put(redisKey, entry.getValue().toString());
+		}
+		mset(keyValues, 0);
+	}
+
+	/**
+	 * This method reads the given properties of a node with a single MGET.
+	 * Properties which are not in cache are not part of the returned map.
+	 *
+	 * @param graphId
+	 * @param objectId
+	 * @param nodeProperties
+	 * @return property name to value map
+	 */
+	public static Map<String, String> getNodeProperties(String graphId, String objectId, List<String> nodeProperties) {
+		Map<String, String> properties = new HashMap<>();
+		if (null == nodeProperties || nodeProperties.isEmpty())
+			return properties;
+		String[] keys = new String[nodeProperties.size()];
+		for (int i = 0; i < keys.length; i++)
+			keys[i] = CacheKeyGenerator.getNodePropertyKey(graphId, objectId, nodeProperties.get(i));
+		List<String> values = mget(keys);
+		for (int i = 0; i < keys.length; i++) {
+			if (null != values.get(i))
+				properties.put(nodeProperties.get(i), values.get(i));
+		}
+		return properties;
+	}
+
+	/**
+	 * This method reads the values of all the given keys in one round trip.
+	 *
+	 * @param keys
+	 * @return values in the order of keys, null for a missing key
+	 */
+	public static List<String> mget(String... keys) {
+		if (null == keys || keys.length == 0)
+			return new ArrayList<>();
 		Jedis jedis = getRedisConncetion();
 		try {
-			for (Entry<String, Object> entry : metadata.entrySet()) {
-				String propertyName = entry.getKey();
-				String propertyValue = entry.getValue().toString();
+			return jedis.mget(keys);
+		} catch (Exception e) {
+			throw new ServerException(GraphCacheErrorCodes.ERR_CACHE_GET_PROPERTY_ERROR.name(), e.getMessage());
+		} finally {
+			returnConnection(jedis);
+		}
+	}
 
-				String redisKey = CacheKeyGenerator.getNodePropertyKey(graphId, objectId, propertyName);
-				jedis.set(redisKey, propertyValue);
-			}
+	/**
+	 * This method reads the value of a key if another key exists, in one round
+	 * trip.
+	 *
+	 * @param existsKey
+	 * @param key
+	 * @return the value of the key, null if it is missing or the other key does
+	 *         not exist
+	 */
+	public static String getIfExists(String existsKey, String key) {
+		Jedis jedis = getRedisConncetion();
+		try {
+			Pipeline pipeline = jedis.pipelined();
+			Response<Boolean> exists = pipeline.exists(existsKey);
+			Response<String> value = pipeline.get(key);
+			pipeline.sync();
+			return Boolean.TRUE.equals(exists.get()) ? value.get() : null;
+		} catch (Exception e) {
+			throw new ServerException(GraphCacheErrorCodes.ERR_CACHE_GET_PROPERTY_ERROR.name(), e.getMessage());
+		} finally {
+			returnConnection(jedis);
+		}
+	}
 
+	/**
+	 * This method saves all the given key values in one round trip.
+	 *
+	 * @param keyValues
+	 * @param ttl
+	 *            expiry of every key in seconds, not set if 0 or less.
+	 */
+	public static void mset(Map<String, String> keyValues, int ttl) {
+		if (null == keyValues || keyValues.isEmpty())
+			return;
+		String[] args = new String[keyValues.size() * 2];
+		int i = 0;
+		for (Entry<String, String> entry : keyValues.entrySet()) {
+			args[i++] = entry.getKey();
+			args[i++] = entry.getValue();
+		}
+		Jedis jedis = getRedisConncetion();
+		try {
+			if (ttl > 0) {
+				Pipeline pipeline = jedis.pipelined();
+				pipeline.mset(args);
+				for (String key : keyValues.keySet())
+					pipeline.expire(key, ttl);
+				pipeline.sync();
+			} else {
+				jedis.mset(args);
+			}
 		} catch (Exception e) {
 			throw new ServerException(GraphCacheErrorCodes.ERR_CACHE_SAVE_PROPERTY_ERROR.name(), e.getMessage());
 		} finally {
@@ -136,14 +241,37 @@ public class RedisStoreUtil {
 	
 	// TODO: always considering object as string. need to change this.
 	public static void saveList(String key, List<Object> values) {
+		Map<String, List<Object>> lists = new HashMap<>();
+		lists.put(key, values);
+		saveLists(lists);
+	}
+
+	/**
+	 * This method replaces the members of all the given sets in one pipelined
+	 * round trip, using a single variadic SADD per set.
+	 *
+	 * @param lists
+	 *            key to members map
+	 */
+	public static void saveLists(Map<String, List<Object>> lists) {
+		if (null == lists || lists.isEmpty())
+			return;
 		Jedis jedis = getRedisConncetion();
 		try {
-			jedis.del(key);
-			for (Object val : values) {
-				jedis.sadd(key, (String) val);
+			Pipeline pipeline = jedis.pipelined();
+			for (Entry<String, List<Object>> entry : lists.entrySet()) {
+				pipeline.del(entry.getKey());
+				List<Object> values = entry.getValue();
+				if (null != values && !values.isEmpty()) {
+					String[] members = new String[values.size()];
+					for (int i = 0; i < members.length; i++)
+						members[i] = (String) values.get(i);
+					pipeline.sadd(entry.getKey(), members);
+				}
 			}
+			pipeline.sync();
 		} catch (Exception e) {
-			e.printStackTrace();
+			throw new ServerException(GraphCacheErrorCodes.ERR_CACHE_SAVE_PROPERTY_ERROR.name(), e.getMessage());
 		} finally {
 			returnConnection(jedis);
 		}
@@ -194,15 +322,25 @@ public class RedisStoreUtil {
 		}
 	}
 
+	/**
+	 * This method deletes all the keys matching the pattern. Keys are iterated
+	 * with SCAN, so that Redis is not blocked the way KEYS does.
+	 *
+	 * @param pattern
+	 */
 	public static void deleteByPattern(String pattern) {
 		if(StringUtils.isNotBlank(pattern) && !StringUtils.equalsIgnoreCase(pattern, "*")){
 			Jedis jedis = getRedisConncetion();
 			try {
-				Set<String> keys = jedis.keys(pattern);
-				if (keys != null && keys.size() > 0) {
-					List<String> keyList = new ArrayList<>(keys);
-					jedis.del(keyList.toArray(new String[keyList.size()]));
-				}
+				ScanParams params = new ScanParams().match(pattern).count(SCAN_BATCH_SIZE);
+				String cursor = ScanParams.SCAN_POINTER_START;
+				do {
+					ScanResult<String> result = jedis.scan(cursor, params);
+					List<String> keys = result.getResult();
+					if (keys != null && keys.size() > 0)
+						jedis.del(keys.toArray(new String[keys.size()]));
+					cursor = result.getStringCursor();
+				} while (!StringUtils.equals(cursor, ScanParams.SCAN_POINTER_START));
 			} catch (Exception e) {
 				throw new ServerException(GraphCacheErrorCodes.ERR_CACHE_SAVE_PROPERTY_ERROR.name(), e.getMessage());
 			} finally {
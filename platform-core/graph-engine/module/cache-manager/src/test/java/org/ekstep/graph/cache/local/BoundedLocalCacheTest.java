@@ -0,0 +1,159 @@
+package org.ekstep.graph.cache.local;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BoundedLocalCacheTest {
+
+	@Test
+	public void testPutAndGet() {
+		BoundedLocalCache<String> cache = new BoundedLocalCache<>("test", 10, 0);
+		cache.put("key_1", "value_1");
+		Assert.assertEquals("value_1", cache.get("key_1"));
+		Assert.assertNull(cache.get("key_2"));
+		Map<String, Object> stats = cache.getStats();
+		Assert.assertEquals(1L, stats.get("hitCount"));
+		Assert.assertEquals(1L, stats.get("missCount"));
+	}
+
+	@Test
+	public void testRemove() {
+		BoundedLocalCache<String> cache = new BoundedLocalCache<>("test", 10, 0);
+		cache.put("key_1", "value_1");
+		Assert.assertEquals("value_1", cache.remove("key_1"));
+		Assert.assertNull(cache.get("key_1"));
+	}
+
+	@Test
+	public void testMaxSizeIsNotExceeded() {
+		BoundedLocalCache<Integer> cache = new BoundedLocalCache<>("test", 32, 0);
+		for (int i = 0; i < 1000; i++)
+			cache.put("key_" + i, i);
+		Assert.assertTrue(cache.size() <= 32);
+		Assert.assertTrue((Long) cache.getStats().get("evictionCount") >= 968);
+	}
+
+	@Test
+	public void testMaxWeightIsNotExceeded() {
+		BoundedLocalCache<String> cache = new BoundedLocalCache<>("test", 100L, 0, String::length);
+		cache.put("key_1", StringUtils.repeat("a", 40));
+		cache.put("key_2", StringUtils.repeat("b", 40));
+		cache.get("key_1");
+		cache.put("key_3", StringUtils.repeat("c", 40));
+		// key_2 is the least recently used entry
+		Assert.assertNull(cache.get("key_2"));
+		Assert.assertNotNull(cache.get("key_1"));
+		Assert.assertEquals(80L, cache.weight());
+		cache.put("key_4", StringUtils.repeat("d", 150));
+		Assert.assertEquals(1L, cache.size());
+		Assert.assertEquals(150L, cache.weight());
+	}
+
+	@Test
+	public void testEntryExpiresAfterTTL() throws Exception {
+		BoundedLocalCache<String> cache = new BoundedLocalCache<>("test", 10, 50);
+		cache.put("key_1", "value_1");
+		Assert.assertEquals("value_1", cache.get("key_1"));
+		Thread.sleep(100);
+		Assert.assertNull(cache.get("key_1"));
+		Assert.assertEquals(1L, cache.getStats().get("expirationCount"));
+	}
+
+	@Test
+	public void testLoaderResultIsCached() {
+		BoundedLocalCache<String> cache = new BoundedLocalCache<>("test", 10, 0);
+		AtomicInteger loads = new AtomicInteger();
+		Assert.assertEquals("value_key_1", cache.get("key_1", key -> {
+			loads.incrementAndGet();
+			return "value_" + key;
+		}));
+		Assert.assertEquals("value_key_1", cache.get("key_1", key -> {
+			loads.incrementAndGet();
+			return "value_" + key;
+		}));
+		Assert.assertEquals(1, loads.get());
+	}
+
+	@Test
+	public void testNullLoaderResultIsNotCached() {
+		BoundedLocalCache<String> cache = new BoundedLocalCache<>("test", 10, 0);
+		Assert.assertNull(cache.get("key_1", key -> null));
+		Assert.assertEquals(0L, cache.size());
+	}
+
+	@Test
+	public void testConcurrentMissesLoadOnce() throws Exception {
+		BoundedLocalCache<String> cache = new BoundedLocalCache<>("test", 10, 0);
+		AtomicInteger loads = new AtomicInteger();
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<String>> results = new ArrayList<>();
+			for (int i = 0; i < 8; i++) {
+				results.add(executor.submit(() -> {
+					start.await();
+					return cache.get("key_1", key -> {
+						loads.incrementAndGet();
+						try {
+							Thread.sleep(200);
+						} catch (InterruptedException e) {
+							Thread.currentThread().interrupt();
+						}
+						return "value_1";
+					});
+				}));
+			}
+			start.countDown();
+			for (Future<String> result : results)
+				Assert.assertEquals("value_1", result.get(5, TimeUnit.SECONDS));
+			Assert.assertEquals(1, loads.get());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testCleanUpRemovesExpiredEntries() throws Exception {
+		BoundedLocalCache<String> cache = new BoundedLocalCache<>("test", 10, 50);
+		cache.put("key_1", "value_1");
+		cache.put("key_2", "value_2");
+		Thread.sleep(100);
+		cache.cleanUp();
+		Assert.assertEquals(0L, cache.size());
+		Assert.assertEquals(2L, cache.getStats().get("expirationCount"));
+	}
+
+	@Test
+	public void testEntryIsRefreshedBeforeExpiry() throws Exception {
+		BoundedLocalCache<String> cache = new BoundedLocalCache<>("test", 10, 10000, 50);
+		AtomicInteger loads = new AtomicInteger();
+		Assert.assertEquals("value_1", cache.get("key_1", key -> "value_" + loads.incrementAndGet()));
+		Thread.sleep(100);
+		// stale value is served while the refresh runs in the background
+		Assert.assertEquals("value_1", cache.get("key_1", key -> "value_" + loads.incrementAndGet()));
+		long deadline = System.currentTimeMillis() + 5000;
+		while (!"value_2".equals(cache.get("key_1")) && System.currentTimeMillis() < deadline)
+			Thread.sleep(10);
+		Assert.assertEquals("value_2", cache.get("key_1"));
+		Assert.assertEquals(1L, cache.getStats().get("refreshCount"));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testLoaderExceptionIsPropagated() {
+		BoundedLocalCache<String> cache = new BoundedLocalCache<>("test", 10, 0);
+		cache.get("key_1", key -> {
+			throw new IllegalStateException("load failed");
+		});
+	}
+}
@@ -29,6 +29,22 @@ public class NodeCacheManagerTest {
 		Assert.assertEquals(null, definition);
 	}
 	
+	@Test
+	public void testGetDefinitionNodeWithLoader() {
+		String graphId = "domain";
+		String objectType = "ContentImage";
+		Object cachedData = NodeCacheManager.getDefinitionNode(graphId, objectType, type -> type + "DefNode");
+		Assert.assertEquals("ContentImageDefNode", cachedData);
+		cachedData = NodeCacheManager.getDefinitionNode(graphId, objectType, type -> "ContentNewDefNode");
+		Assert.assertEquals("ContentImageDefNode", cachedData);
+		NodeCacheManager.deleteDefinitionNode(graphId, objectType);
+	}
+
+	@Test(expected = ClientException.class)
+	public void testGetDefinitionNodeWithLoaderReturningNull() {
+		NodeCacheManager.getDefinitionNode("domain", "Asset", type -> null);
+	}
+
 	@Test
 	public void testSaveAndGetDataNode() {
 		String graphId = "domain";
@@ -0,0 +1,65 @@
+package org.ekstep.graph.cache.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RedisStoreUtilTest {
+
+	@Test
+	public void testSaveAndGetNodeProperties() {
+		Map<String, Object> metadata = new HashMap<String, Object>();
+		metadata.put("versionKey", "1234567890");
+		metadata.put("status", "Draft");
+		RedisStoreUtil.saveNodeProperties("domain", "do_redis_test_1", metadata);
+		Map<String, String> properties = RedisStoreUtil.getNodeProperties("domain", "do_redis_test_1",
+				Arrays.asList("versionKey", "status", "consumerId"));
+		Assert.assertEquals(2, properties.size());
+		Assert.assertEquals("1234567890", properties.get("versionKey"));
+		Assert.assertEquals("Draft", RedisStoreUtil.getNodeProperty("domain", "do_redis_test_1", "status"));
+		RedisStoreUtil.delete(CacheKeyGenerator.getNodePropertyKey("domain", "do_redis_test_1", "versionKey"),
+				CacheKeyGenerator.getNodePropertyKey("domain", "do_redis_test_1", "status"));
+	}
+
+	@Test
+	public void testMsetAndMget() {
+		Map<String, String> keyValues = new HashMap<String, String>();
+		keyValues.put("redis_test_key_1", "value_1");
+		keyValues.put("redis_test_key_2", "value_2");
+		RedisStoreUtil.mset(keyValues, 60);
+		List<String> values = RedisStoreUtil.mget("redis_test_key_1", "redis_test_key_3", "redis_test_key_2");
+		Assert.assertEquals(Arrays.asList("value_1", null, "value_2"), values);
+		RedisStoreUtil.delete("redis_test_key_1", "redis_test_key_2");
+	}
+
+	@Test
+	public void testSaveLists() {
+		Map<String, List<Object>> lists = new HashMap<String, List<Object>>();
+		lists.put("redis_test_list_1", new ArrayList<Object>(Arrays.asList("term_1", "term_2")));
+		lists.put("redis_test_list_2", new ArrayList<Object>(Arrays.asList("term_3")));
+		RedisStoreUtil.saveLists(lists);
+		Assert.assertEquals(2, RedisStoreUtil.getList("redis_test_list_1").size());
+		RedisStoreUtil.saveList("redis_test_list_1", new ArrayList<Object>(Arrays.asList("term_4")));
+		Assert.assertEquals(Arrays.asList("term_4"), RedisStoreUtil.getList("redis_test_list_1"));
+		RedisStoreUtil.delete("redis_test_list_1", "redis_test_list_2");
+	}
+
+	@Test
+	public void testDeleteByPattern() {
+		Map<String, String> keyValues = new HashMap<String, String>();
+		for (int i = 0; i < 2500; i++)
+			keyValues.put("redis_test_pattern_" + i, "value_" + i);
+		keyValues.put("redis_test_other", "value");
+		RedisStoreUtil.mset(keyValues, 0);
+		RedisStoreUtil.deleteByPattern("redis_test_pattern_*");
+		Assert.assertNull(RedisStoreUtil.get("redis_test_pattern_0"));
+		Assert.assertNull(RedisStoreUtil.get("redis_test_pattern_2499"));
+		Assert.assertEquals("value", RedisStoreUtil.get("redis_test_other"));
+		RedisStoreUtil.delete("redis_test_other");
+	}
+}
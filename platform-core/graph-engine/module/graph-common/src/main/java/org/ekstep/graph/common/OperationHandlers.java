@@ -0,0 +1,107 @@
+package org.ekstep.graph.common;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+import org.ekstep.common.dto.Request;
+import org.ekstep.common.exception.ClientException;
+import org.ekstep.common.exception.ServerException;
+import org.ekstep.graph.common.exception.GraphEngineErrorCodes;
+
+/**
+ * Handlers of the operations of a manager, by operation name. The operations
+ * are the public methods of the manager which take a {@link Request} and
+ * return nothing, as in {@link BaseRequestRouter#getMethodMap(Class)}. A
+ * handler is built once for each operation, as a lambda calling the method
+ * directly, so that a request is dispatched without the reflection lookup,
+ * access checks and exception wrapping of {@link Method#invoke}.
+ *
+ * @param <T>
+ *            the type of the manager
+ */
+public class OperationHandlers<T> {
+
+	private static final MethodType HANDLER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+	private final Class<T> managerClass;
+	private final Map<String, BiConsumer<T, Request>> handlers;
+
+	private OperationHandlers(Class<T> managerClass, Map<String, BiConsumer<T, Request>> handlers) {
+		this.managerClass = managerClass;
+		this.handlers = Collections.unmodifiableMap(handlers);
+	}
+
+	/**
+	 * Builds the handlers of the operations of the manager.
+	 *
+	 * @throws ServerException
+	 *             if the handler of an operation could not be built, so that
+	 *             a manager which cannot serve its operations fails at startup
+	 *             rather than on the first request
+	 */
+	public static <T> OperationHandlers<T> of(Class<T> managerClass) {
+		Map<String, BiConsumer<T, Request>> handlers = new HashMap<String, BiConsumer<T, Request>>();
+		MethodHandles.Lookup lookup = MethodHandles.lookup();
+		for (Entry<String, Method> entry : BaseRequestRouter.getMethodMap(managerClass).entrySet()) {
+			Method method = entry.getValue();
+			if (!Modifier.isPublic(method.getModifiers()) || Modifier.isStatic(method.getModifiers()))
+				continue;
+			handlers.put(entry.getKey(), createHandler(lookup, managerClass, method));
+		}
+		return new OperationHandlers<T>(managerClass, handlers);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> BiConsumer<T, Request> createHandler(MethodHandles.Lookup lookup, Class<T> managerClass,
+			Method method) {
+		try {
+			MethodHandle handle = lookup.unreflect(method);
+			CallSite site = LambdaMetafactory.metafactory(lookup, "accept", MethodType.methodType(BiConsumer.class),
+					HANDLER_TYPE, handle, MethodType.methodType(void.class, managerClass, Request.class));
+			return (BiConsumer<T, Request>) site.getTarget().invoke();
+		} catch (Throwable e) {
+			throw new ServerException(GraphEngineErrorCodes.ERR_SYSTEM_EXCEPTION.name(),
+					"Unable to build the handler of operation: " + method.getName() + " of manager: "
+							+ managerClass.getName(),
+					e);
+		}
+	}
+
+	/**
+	 * Runs the operation of the request on the manager. An exception thrown
+	 * by the operation is thrown as it is.
+	 *
+	 * @throws ClientException
+	 *             if the manager has no such operation
+	 */
+	public void invoke(T manager, Request request) {
+		BiConsumer<T, Request> handler = handlers.get(request.getOperation());
+		if (null == handler)
+			throw new ClientException("ERR_GRAPH_INVALID_OPERATION",
+					"Operation '" + request.getOperation() + "' not found");
+		handler.accept(manager, request);
+	}
+
+	public boolean hasOperation(String operation) {
+		return handlers.containsKey(operation);
+	}
+
+	public Set<String> getOperations() {
+		return handlers.keySet();
+	}
+
+	public Class<T> getManagerClass() {
+		return managerClass;
+	}
+}
@@ -4,6 +4,8 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 
 import org.apache.commons.lang3.StringUtils;
 import org.ekstep.common.dto.Property;
@@ -23,6 +25,7 @@ import akka.actor.UntypedActor;
 import akka.dispatch.Mapper;
 import akka.dispatch.OnFailure;
 import akka.dispatch.OnSuccess;
+import akka.pattern.PatternsCS;
 import scala.concurrent.Future;
 
 public abstract class BaseGraphManager extends UntypedActor {
@@ -197,6 +200,26 @@ public abstract class BaseGraphManager extends UntypedActor {
     }
 
     public void handleException(Throwable e, ActorRef parent) {
+        parent.tell(getErrorResponse(e), getSelf());
+    }
+
+    /**
+     * Sends the response to the parent once the stage completes, without
+     * blocking the actor. The stage failing is sent as the error response of
+     * a ServerException with the given error code, as the operations failing
+     * on the actor are.
+     */
+    public void pipeResponse(CompletionStage<Response> response, ActorRef parent, String errorCode) {
+        CompletionStage<Response> result = response.handle((res, e) -> {
+            if (null == e)
+                return res;
+            Throwable cause = e instanceof CompletionException && null != e.getCause() ? e.getCause() : e;
+            return getErrorResponse(new ServerException(errorCode, cause.getMessage(), cause));
+        });
+        PatternsCS.pipe(result, getContext().dispatcher()).to(parent, getSelf());
+    }
+
+    public Response getErrorResponse(Throwable e) {
         Response response = new Response();
         ResponseParams params = new ResponseParams();
         params.setStatus(StatusType.failed.name());
@@ -209,7 +232,7 @@ public abstract class BaseGraphManager extends UntypedActor {
         params.setErrmsg(setErrMessage(e));
         response.setParams(params);
         setResponseCode(response, e);
-        parent.tell(response, getSelf());
+        return response;
     }
 
     public boolean checkResponseObject(Throwable arg0, Object arg1, ActorRef parent, String errorCode, String errorMsg) {
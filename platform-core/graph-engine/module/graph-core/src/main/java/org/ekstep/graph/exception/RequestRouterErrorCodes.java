@@ -8,5 +8,7 @@ public enum RequestRouterErrorCodes {
 
     ERR_ROUTER_INVALID_GRAPH_ID,
 
-    ERR_ROUTER_ACTOR_NOT_FOUND;
+    ERR_ROUTER_ACTOR_NOT_FOUND,
+
+    ERR_ROUTER_MANAGER_OVERLOADED;
 }
@@ -1,21 +1,30 @@
 package org.ekstep.graph.model;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 
-import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.codehaus.jackson.map.ObjectMapper;
+import org.ekstep.common.Platform;
 import org.ekstep.common.dto.Property;
 import org.ekstep.common.dto.Request;
 import org.ekstep.common.dto.Response;
@@ -37,22 +46,22 @@ import org.ekstep.graph.dac.enums.SystemProperties;
 import org.ekstep.graph.dac.model.Node;
 import org.ekstep.graph.dac.model.Relation;
 import org.ekstep.graph.dac.model.SearchCriteria;
-import org.ekstep.graph.enums.ImportType;
+import org.ekstep.graph.dac.model.Sort;
 import org.ekstep.graph.exception.GraphEngineErrorCodes;
 import org.ekstep.graph.importer.ImportData;
 import org.ekstep.graph.importer.InputStreamValue;
 import org.ekstep.graph.importer.OutputStreamValue;
 import org.ekstep.graph.model.cache.DefinitionCache;
-import org.ekstep.graph.model.node.DataNode;
 import org.ekstep.graph.model.node.DefinitionDTO;
 import org.ekstep.graph.model.node.DefinitionNode;
 import org.ekstep.graph.model.node.MetadataDefinition;
-import org.ekstep.graph.model.relation.RelationHandler;
 import org.ekstep.graph.reader.CSVImportMessageHandler;
 import org.ekstep.graph.reader.GraphReader;
 import org.ekstep.graph.reader.GraphReaderFactory;
 import org.ekstep.graph.reader.JsonGraphReader;
+import org.ekstep.graph.reader.StreamingGraphReader;
 import org.ekstep.graph.writer.GraphWriterFactory;
+import org.ekstep.graph.writer.StreamingGraphWriter;
 import org.ekstep.graph.writer.RDFGraphWriter;
 import org.ekstep.telemetry.logger.TelemetryManager;
 
@@ -65,6 +74,8 @@ public class Graph extends AbstractDomainObject {
 
 	public static final String ERROR_MESSAGES = "ERROR_MESSAGES";
 	public static Timeout WAIT_TIMEOUT = new Timeout(Duration.create(30, TimeUnit.SECONDS));
+	private static final int EXPORT_PAGE_SIZE = Platform.config.hasPath("graph.export.page_size")
+			? Platform.config.getInt("graph.export.page_size") : 1000;
 
 	public Graph(BaseGraphManager manager, String graphId) {
 		super(manager, graphId);
@@ -196,67 +207,54 @@ public class Graph extends AbstractDomainObject {
 		}
 	}
 
+	/**
+	 * Starts the validation of the graph as a task and returns the task id
+	 * without waiting for the validation. The progress, the status and the
+	 * file of the messages are read from the task node.
+	 */
 	public void validate(final Request req) {
-		Map<String, List<String>> validationMap = validateGraph(req);
-		manager.OK(GraphDACParams.messages.name(), validationMap, getParent());
-	}
-
-	private Map<String, List<String>> validateGraph(final Request req) {
 		try {
-
-			// get all definition nodes
-			Request defNodesReq = new Request(req);
-			Property defNodeProperty = new Property(SystemProperties.IL_SYS_NODE_TYPE.name(),
-					SystemNodeTypes.DEFINITION_NODE.name());
-			defNodesReq.put(GraphDACParams.metadata.name(), defNodeProperty);
-			Response defNodesResponse = searchMgr.getNodesByProperty(defNodesReq);
-
-			// get all data nodes
 			Request request = new Request(req);
-			Property property = new Property(SystemProperties.IL_SYS_NODE_TYPE.name(),
-					SystemNodeTypes.DATA_NODE.name());
-			request.put(GraphDACParams.metadata.name(), property);
-			Response dataNodesResponse = searchMgr.getNodesByProperty(request);
-
-			// get all relations
-			Request relsRequest = new Request(req);
-			Response relationsResponse = searchMgr.getAllRelations(relsRequest);
-
-			List<Map<String, List<String>>> validationMessages = new ArrayList<Map<String, List<String>>>();
-
-			// Promise to get all relation validation messages
-			Map<String, List<String>> relationMessages = getRelationValidationsFuture(relationsResponse, relsRequest);
-			validationMessages.add(relationMessages);
-
-			// get future of all node validation messages
-			Map<String, List<String>> nodeMessages = getNodesValidationsFuture(defNodesResponse, dataNodesResponse,
-					request);
-			validationMessages.add(nodeMessages);
-			Map<String, List<String>> errorMap = new HashMap<String, List<String>>();
-			if (null != validationMessages) {
-				for (Map<String, List<String>> map : validationMessages) {
-					if (null != map && !map.isEmpty()) {
-						for (Entry<String, List<String>> entry : map.entrySet()) {
-							if (null != entry.getValue() && !entry.getValue().isEmpty()) {
-								List<String> list = errorMap.get(entry.getKey());
-								if (null == list) {
-									list = new ArrayList<String>();
-									errorMap.put(entry.getKey(), list);
-								}
-								list.addAll(entry.getValue());
-							}
-						}
-					}
-				}
+			String since = (String) request.get(GraphEngineParams.since.name());
+			String taskId = createValidationTask(request);
+			GraphValidator validator = new GraphValidator(getManager(), getGraphId(), searchMgr, nodeMgr, request);
+			try {
+				validator.validateAsync(since, taskId);
+			} catch (RejectedExecutionException e) {
+				Request taskReq = new Request(request);
+				taskReq.put(GraphDACParams.node_id.name(), taskId);
+				taskReq.put(GraphDACParams.metadata.name(),
+						Collections.singletonMap(GraphEngineParams.status.name(), GraphEngineParams.Failed.name()));
+				nodeMgr.updatePropertyValues(taskReq);
+				throw new ServerException(GraphEngineErrorCodes.ERR_GRAPH_VALIDATE_GRAPH_UNKNOWN_ERROR.name(),
+						"Too many graph validations are running, try again later");
 			}
-			return errorMap;
-
+			manager.OK(GraphEngineParams.task_id.name(), taskId, getParent());
+		} catch (ServerException e) {
+			throw e;
 		} catch (Exception e) {
 			throw new ServerException(GraphEngineErrorCodes.ERR_GRAPH_VALIDATE_GRAPH_UNKNOWN_ERROR.name(),
 					e.getMessage(), e);
 		}
 	}
 
+	private String createValidationTask(Request request) {
+		Node node = new Node();
+		node.setIdentifier(graphId + "_task_" + System.currentTimeMillis());
+		node.setNodeType(SystemNodeTypes.DATA_NODE.name());
+		node.setGraphId(graphId);
+		Map<String, Object> metadata = new HashMap<String, Object>();
+		metadata.put(GraphEngineParams.status.name(), GraphEngineParams.Pending.name());
+		node.setMetadata(metadata);
+		Request taskReq = new Request(request);
+		taskReq.put(GraphDACParams.node.name(), node);
+		Response response = nodeMgr.addNode(taskReq);
+		if (manager.checkError(response))
+			throw new ServerException(GraphEngineErrorCodes.ERR_GRAPH_VALIDATE_GRAPH_UNKNOWN_ERROR.name(),
+					manager.getErrorMessage(response));
+		return (String) response.get(GraphDACParams.node_id.name());
+	}
+
 	public void delete(Request req) {
 		try {
 			Request request = new Request(req);
@@ -323,12 +321,11 @@ public class Graph extends AbstractDomainObject {
 				throw new ClientException(GraphEngineErrorCodes.ERR_GRAPH_IMPORT_INVALID_INPUTSTREAM.name(),
 						"Import stream is missing");
 			} else {
-				// Get byte array.
-				try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-					IOUtils.copy(inputStream.getInputStream(), baos);
-					byte[] bytes = baos.toByteArray();
-					inputStream.setInputStream(new ByteArrayInputStream(bytes));
-					final ByteArrayInputStream byteInputStream = new ByteArrayInputStream(bytes);
+				// Spool the import to a file, it is read once for the nodes and
+				// once for the relations.
+				File importFile = File.createTempFile("graph_import_" + graphId + "_", ".tmp");
+				try {
+					FileUtils.copyInputStreamToFile(inputStream.getInputStream(), importFile);
 
 					// Fetch Definition Nodes
 					final Request defNodesReq = new Request(request);
@@ -369,30 +366,55 @@ public class Graph extends AbstractDomainObject {
 							propertyDataMap.put(objectType, propMap);
 						}
 
-						final ImportData importData = GraphReaderFactory.getObject(getManager(), format, graphId,
-								inputStream.getInputStream(), propertyDataMap);
-						request.put(GraphDACParams.import_input_object.name(), importData);
 						request.put(GraphDACParams.task_id.name(), taskId);
-						// Use ImportData object and import Graph.
-						Response importResponse = graphMgr.importGraph(request);
+						// The whole file is read once before anything is
+						// written, so that an invalid row in a later batch
+						// does not fail the import after the earlier batches
+						// are saved.
+						validateImport(format, graphId, importFile, propertyDataMap);
+						// The nodes of all the batches are imported before the
+						// relations, so that a relation can end at a node of a
+						// later batch.
+						Map<String, List<String>> importMsgMap = new HashMap<String, List<String>>();
+						Response nodesResponse = importBatches(request, format, graphId, importFile, propertyDataMap,
+								importMsgMap, false);
+						if (manager.checkError(nodesResponse)) {
+							getParent().tell(nodesResponse, manager.getSelf());
+							return;
+						}
+						Response relationsResponse = importBatches(request, format, graphId, importFile,
+								propertyDataMap, importMsgMap, true);
+						if (manager.checkError(relationsResponse)) {
+							getParent().tell(relationsResponse, manager.getSelf());
+							return;
+						}
+						Request completeReq = new Request(request);
+						completeReq.put(GraphDACParams.task_id.name(), taskId);
+						completeReq.put(GraphDACParams.nodesCount.name(),
+								nodesResponse.get(GraphDACParams.nodesCount.name()));
+						completeReq.put(GraphDACParams.relationsCount.name(),
+								relationsResponse.get(GraphDACParams.relationsCount.name()));
+						Response importResponse = graphMgr.completeImport(completeReq);
 
 						ResponseParams params = (ResponseParams) importResponse.getParams();
 						if (StatusType.failed.name().equals(params.getStatus())) {
 							getParent().tell(importResponse, manager.getSelf());
 						} else {
-							final Map<String, List<String>> importMsgMap = (Map<String, List<String>>) importResponse
-									.get(GraphDACParams.messages.name());
-							CSVImportMessageHandler msgHandler = new CSVImportMessageHandler(byteInputStream);
-							OutputStream outputStream = msgHandler.getOutputStream(importMsgMap);
-							Map<String, Object> outputMap = new HashMap<String, Object>();
-							outputMap.put(GraphEngineParams.output_stream.name(), new OutputStreamValue(outputStream));
-							outputMap.put(GraphEngineParams.task_id.name(), taskId);
-							manager.OK(outputMap, getParent());
+							try (InputStream importStream = new FileInputStream(importFile)) {
+								CSVImportMessageHandler msgHandler = new CSVImportMessageHandler(importStream);
+								OutputStream outputStream = msgHandler.getOutputStream(importMsgMap);
+								Map<String, Object> outputMap = new HashMap<String, Object>();
+								outputMap.put(GraphEngineParams.output_stream.name(), new OutputStreamValue(outputStream));
+								outputMap.put(GraphEngineParams.task_id.name(), taskId);
+								manager.OK(outputMap, getParent());
+							}
 						}
 
 					}
 				} catch (Exception e) {
 					manager.ERROR(e, GraphEngineParams.task_id.name(), taskId, getParent());
+				} finally {
+					FileUtils.deleteQuietly(importFile);
 				}
 			}
 
@@ -401,12 +423,81 @@ public class Graph extends AbstractDomainObject {
 		}
 	}
 
+	/**
+	 * Reads the whole import file without importing it, the reader throws a
+	 * ClientException for the first invalid row.
+	 */
+	private void validateImport(String format, String graphId, File importFile,
+			Map<String, Map<String, MetadataDefinition>> propertyDataMap) throws Exception {
+		try (InputStream in = new FileInputStream(importFile);
+				StreamingGraphReader reader = GraphReaderFactory.getStreamingReader(getManager(), format, graphId, in,
+						propertyDataMap)) {
+			while (reader.hasNext())
+				reader.next();
+		}
+	}
+
+	/**
+	 * Reads the import file in batches and imports either the nodes or the out
+	 * relations of each batch. Only the first occurrence of a node in the
+	 * import is imported.
+	 */
+	@SuppressWarnings("unchecked")
+	private Response importBatches(Request request, String format, String graphId, File importFile,
+			Map<String, Map<String, MetadataDefinition>> propertyDataMap, Map<String, List<String>> importMsgMap,
+			boolean relations) throws Exception {
+		int count = 0;
+		Set<String> identifiers = new HashSet<String>();
+		try (InputStream in = new FileInputStream(importFile);
+				StreamingGraphReader reader = GraphReaderFactory.getStreamingReader(getManager(), format, graphId, in,
+						propertyDataMap)) {
+			while (reader.hasNext()) {
+				ImportData batch = reader.next();
+				if (!relations)
+					mergeImportMessages(importMsgMap, reader.getMessages());
+				batch.getDataNodes().removeIf(
+						node -> null != node.getIdentifier() && !identifiers.add(node.getIdentifier()));
+				if (batch.getDataNodes().isEmpty())
+					continue;
+				Request batchReq = new Request(request);
+				batchReq.put(GraphDACParams.task_id.name(), request.get(GraphDACParams.task_id.name()));
+				batchReq.put(GraphDACParams.import_input_object.name(), batch);
+				Response response = relations ? graphMgr.importRelations(batchReq) : graphMgr.importNodes(batchReq);
+				if (manager.checkError(response))
+					return response;
+				if (relations) {
+					count += (Integer) response.get(GraphDACParams.relationsCount.name());
+					mergeImportMessages(importMsgMap,
+							(Map<String, List<String>>) response.get(GraphDACParams.messages.name()));
+				} else {
+					count += (Integer) response.get(GraphDACParams.nodesCount.name());
+				}
+			}
+		}
+		Response response = new Response();
+		response.put(relations ? GraphDACParams.relationsCount.name() : GraphDACParams.nodesCount.name(), count);
+		return response;
+	}
+
+	private void mergeImportMessages(Map<String, List<String>> importMsgMap, Map<String, List<String>> messages) {
+		if (null == messages)
+			return;
+		for (Entry<String, List<String>> entry : messages.entrySet()) {
+			List<String> nodeMsgs = importMsgMap.get(entry.getKey());
+			if (null == nodeMsgs) {
+				nodeMsgs = new ArrayList<String>();
+				importMsgMap.put(entry.getKey(), nodeMsgs);
+			}
+			nodeMsgs.addAll(entry.getValue());
+		}
+	}
+
 	public void searchNodes(Request req) {
 		try {
 			Request request = new Request(req);
 			request.copyRequestValueObjects(req.getRequest());
-			Future<Object> response = Futures.successful(searchMgr.searchNodes(request));
-			manager.returnResponse(response, getParent());
+			manager.pipeResponse(searchMgr.searchNodesAsync(request), getParent(),
+					GraphEngineErrorCodes.ERR_GRAPH_SEARCH_NODES_UNKNOWN_ERROR.name());
 		} catch (Exception e) {
 			throw new ServerException(GraphEngineErrorCodes.ERR_GRAPH_SEARCH_NODES_UNKNOWN_ERROR.name(), e.getMessage(),
 					e);
@@ -551,8 +642,8 @@ public class Graph extends AbstractDomainObject {
 		try {
 			Request request = new Request(req);
 			request.copyRequestValueObjects(req.getRequest());
-			Future<Object> response = Futures.successful(searchMgr.getNodesByUniqueIds(request));
-			manager.returnResponse(response, getParent());
+			manager.pipeResponse(searchMgr.getNodesByUniqueIdsAsync(request), getParent(),
+					GraphEngineErrorCodes.ERR_GRAPH_SEARCH_NODES_UNKNOWN_ERROR.name());
 		} catch (Exception e) {
 			throw new ServerException(GraphEngineErrorCodes.ERR_GRAPH_SEARCH_NODES_UNKNOWN_ERROR.name(), e.getMessage(),
 					e);
@@ -563,8 +654,8 @@ public class Graph extends AbstractDomainObject {
 		try {
 			Request request = new Request(req);
 			request.copyRequestValueObjects(req.getRequest());
-			Future<Object> response = Futures.successful(searchMgr.executeQueryForProps(request));
-			manager.returnResponse(response, getParent());
+			manager.pipeResponse(searchMgr.executeQueryForPropsAsync(request), getParent(),
+					GraphEngineErrorCodes.ERR_EXECUTE_QUERY_FOR_NODES_UNKNOWN_ERROR.name());
 		} catch (Exception e) {
 			throw new ServerException(GraphEngineErrorCodes.ERR_EXECUTE_QUERY_FOR_NODES_UNKNOWN_ERROR.name(),
 					e.getMessage(), e);
@@ -650,8 +741,8 @@ public class Graph extends AbstractDomainObject {
 		try {
 			Request request = new Request(req);
 			request.copyRequestValueObjects(req.getRequest());
-			Future<Object> response = Futures.successful(searchMgr.traverse(request));
-			manager.returnResponse(response, getParent());
+			manager.pipeResponse(searchMgr.traverseAsync(request), getParent(),
+					GraphEngineErrorCodes.ERR_GRAPH_TRAVERSAL_UNKNOWN_ERROR.name());
 		} catch (Exception e) {
 			throw new ServerException(GraphEngineErrorCodes.ERR_GRAPH_TRAVERSAL_UNKNOWN_ERROR.name(), e.getMessage(),
 					e);
@@ -662,8 +753,8 @@ public class Graph extends AbstractDomainObject {
 		try {
 			Request request = new Request(req);
 			request.copyRequestValueObjects(req.getRequest());
-			Future<Object> response = Futures.successful(searchMgr.traverseSubGraph(request));
-			manager.returnResponse(response, getParent());
+			manager.pipeResponse(searchMgr.traverseSubGraphAsync(request), getParent(),
+					GraphEngineErrorCodes.ERR_GRAPH_TRAVERSAL_UNKNOWN_ERROR.name());
 		} catch (Exception e) {
 			throw new ServerException(GraphEngineErrorCodes.ERR_GRAPH_TRAVERSAL_UNKNOWN_ERROR.name(), e.getMessage(),
 					e);
@@ -674,8 +765,20 @@ public class Graph extends AbstractDomainObject {
 		try {
 			Request request = new Request(req);
 			request.copyRequestValueObjects(req.getRequest());
-			Future<Object> response = Futures.successful(searchMgr.getSubGraph(request));
-			manager.returnResponse(response, getParent());
+			manager.pipeResponse(searchMgr.getSubGraphAsync(request), getParent(),
+					GraphEngineErrorCodes.ERR_GRAPH_TRAVERSAL_UNKNOWN_ERROR.name());
+		} catch (Exception e) {
+			throw new ServerException(GraphEngineErrorCodes.ERR_GRAPH_TRAVERSAL_UNKNOWN_ERROR.name(), e.getMessage(),
+					e);
+		}
+	}
+
+	public void getHierarchyNodes(Request req) {
+		try {
+			Request request = new Request(req);
+			request.copyRequestValueObjects(req.getRequest());
+			manager.pipeResponse(searchMgr.getHierarchyNodesAsync(request), getParent(),
+					GraphEngineErrorCodes.ERR_GRAPH_TRAVERSAL_UNKNOWN_ERROR.name());
 		} catch (Exception e) {
 			throw new ServerException(GraphEngineErrorCodes.ERR_GRAPH_TRAVERSAL_UNKNOWN_ERROR.name(), e.getMessage(),
 					e);
@@ -748,172 +851,122 @@ public class Graph extends AbstractDomainObject {
 		}
 	}
 
-	@SuppressWarnings("unchecked")
+	/**
+	 * Exports the graph, or the nodes matching the search criteria, in the
+	 * requested format. The nodes are read page by page and written to a
+	 * temporary file as they are read, so the memory used does not grow with
+	 * the size of the graph. The response holds an input stream over the
+	 * file, which deletes the file when it is closed.
+	 */
 	public void exportGraph(final Request request) {
-		OutputStream outputStream = null;
+		File exportFile = null;
 		try {
 			final String format = (String) request.get(GraphEngineParams.format.name());
 			SearchCriteria sc = null;
 			if (null != request.get(GraphEngineParams.search_criteria.name()))
 				sc = (SearchCriteria) request.get(GraphEngineParams.search_criteria.name());
 
-			Response nodesResponse = null;
-			if (null == sc) {
-				Request nodesReq = new Request(request);
-				nodesResponse = searchMgr.getAllNodes(nodesReq);
-			} else {
-				Request nodesReq = new Request(request);
-				nodesReq.put(GraphDACParams.search_criteria.name(), sc);
-				nodesReq.put(GraphDACParams.get_tags.name(), true);
-				nodesResponse = searchMgr.searchNodes(nodesReq);
-			}
-
-			Response relationsResponse = null;
-			if (!StringUtils.equalsIgnoreCase(ImportType.CSV.name(), format)) {
-				Request relationsReq = new Request(request);
-				relationsResponse = searchMgr.getAllRelations(relationsReq);
-			} else {
-				Response blankResponse = new Response();
-				relationsResponse = blankResponse;
-			}
-
-			if (manager.checkError(nodesResponse)) {
-				String msg = manager.getErrorMessage(nodesResponse);
-				if (StringUtils.isNotBlank(msg)) {
-					manager.ERROR(GraphEngineErrorCodes.ERR_GRAPH_EXPORT_UNKNOWN_ERROR.name(), msg,
-							nodesResponse.getResponseCode(), getParent());
-				}
-			}
-
-			if (manager.checkError(relationsResponse)) {
-				String msg = manager.getErrorMessage(relationsResponse);
-				if (StringUtils.isNotBlank(msg)) {
-					manager.ERROR(GraphEngineErrorCodes.ERR_GRAPH_EXPORT_UNKNOWN_ERROR.name(), msg,
-							relationsResponse.getResponseCode(), getParent());
-				}
+			exportFile = File.createTempFile("graph_export_" + graphId + "_", "." + StringUtils.lowerCase(format));
+			try (OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(exportFile));
+					StreamingGraphWriter writer = GraphWriterFactory.getStreamingWriter(format, outputStream)) {
+				if (null == sc)
+					exportAllNodes(request, writer);
+				else
+					exportSearchedNodes(request, sc, writer);
+				writer.finish();
 			}
 
-			List<Node> nodes = (List<Node>) nodesResponse.get(GraphDACParams.node_list.name());
-			List<Relation> relations = (List<Relation>) relationsResponse.get(GraphDACParams.relations.name());
-			outputStream = new ByteArrayOutputStream();
-			outputStream = GraphWriterFactory.getData(format, nodes, relations);
 			Response response = new Response();
 			ResponseParams params = new ResponseParams();
 			params.setErr("0");
 			params.setStatus(StatusType.successful.name());
 			params.setErrmsg("Operation successful");
 			response.setParams(params);
-			response.put(GraphEngineParams.output_stream.name(), new OutputStreamValue(outputStream));
+			response.put(GraphEngineParams.input_stream.name(), new InputStreamValue(
+					Files.newInputStream(exportFile.toPath(), StandardOpenOption.DELETE_ON_CLOSE)));
 			manager.returnResponse(Futures.successful(response), getParent());
-
+		} catch (ClientException e) {
+			FileUtils.deleteQuietly(exportFile);
+			throw e;
 		} catch (Exception e) {
+			FileUtils.deleteQuietly(exportFile);
 			throw new ServerException(GraphEngineErrorCodes.ERR_GRAPH_EXPORT_UNKNOWN_ERROR.name(), e.getMessage(), e);
-		} finally {
-			try {
-				if (null != outputStream)
-					outputStream.close();
-			} catch (IOException e) {
-			}
 		}
 	}
 
-	@SuppressWarnings("unchecked")
-	private Map<String, List<String>> getNodesValidationsFuture(Response defNodesResponse, final Response nodesResponse,
-			final Request request) {
-
-		final Map<String, List<String>> messages = new HashMap<String, List<String>>();
-		messages.put(ERROR_MESSAGES, new ArrayList<String>());
-
-		if (manager.checkError(defNodesResponse)) {
-			messages.get(ERROR_MESSAGES).add(manager.getErrorMessage(defNodesResponse));
-		} else {
-			List<Node> defNodes = (List<Node>) defNodesResponse.get(GraphDACParams.node_list.name());
-			final Map<String, Node> defNodeMap = new HashMap<String, Node>();
-			if (null != defNodes && !defNodes.isEmpty()) {
-				for (Node n : defNodes) {
-					defNodeMap.put(n.getObjectType(), n);
-				}
-			}
-
-			if (manager.checkError(nodesResponse)) {
-				messages.get(ERROR_MESSAGES).add(manager.getErrorMessage(nodesResponse));
-			} else {
-				List<Node> nodes = (List<Node>) nodesResponse.get(GraphDACParams.node_list.name());
-				if (null != nodes && !nodes.isEmpty()) {
-					for (Node node : nodes) {
-						try {
-							DataNode datanode = new DataNode(getManager(), getGraphId(), node);
-							List<String> validationMsgs = datanode.validateNode(defNodeMap);
-							if (null != validationMsgs && !validationMsgs.isEmpty()) {
-								List<String> list = messages.get(node.getIdentifier());
-								if (null == list) {
-									list = new ArrayList<String>();
-									messages.put(node.getIdentifier(), list);
-								}
-								list.addAll(validationMsgs);
-							}
-						} catch (Exception e) {
-							List<String> list = messages.get(node.getIdentifier());
-							if (null == list) {
-								list = new ArrayList<String>();
-								messages.put(node.getIdentifier(), list);
-							}
-							list.add(e.getMessage());
-						}
-					}
-				}
+	private void exportAllNodes(Request request, StreamingGraphWriter writer) throws Exception {
+		String afterId = "";
+		while (true) {
+			Request pageReq = new Request(request);
+			pageReq.put(GraphDACParams.after_id.name(), afterId);
+			pageReq.put(GraphDACParams.limit.name(), EXPORT_PAGE_SIZE);
+			List<Node> nodes = getExportPage(searchMgr.getNodesPage(pageReq));
+			writer.write(nodes);
+			if (nodes.size() < EXPORT_PAGE_SIZE)
+				break;
+			for (Node node : nodes) {
+				if (node.getIdentifier().compareTo(afterId) > 0)
+					afterId = node.getIdentifier();
 			}
-
 		}
-
-		return messages;
 	}
 
-	@SuppressWarnings("unchecked")
-	private Map<String, List<String>> getRelationValidationsFuture(Response relationsResponse, final Request request) {
-		final Map<String, List<String>> messages = new HashMap<String, List<String>>();
-		messages.put(ERROR_MESSAGES, new ArrayList<String>());
-
-		if (manager.checkError(relationsResponse)) {
-			messages.get(ERROR_MESSAGES).add(manager.getErrorMessage(relationsResponse));
-		} else {
-			List<Relation> rels = (List<Relation>) relationsResponse.get(GraphDACParams.relations.name());
-			if (null != rels && !rels.isEmpty()) {
-				List<Map<String, List<String>>> msgFutures = new ArrayList<Map<String, List<String>>>();
-				for (final Relation rel : rels) {
-					try {
-						IRelation iRel = RelationHandler.getRelation(getManager(), rel.getGraphId(),
-								rel.getStartNodeId(), rel.getRelationType(), rel.getEndNodeId(), rel.getMetadata());
-						Map<String, List<String>> validationMsgs = iRel.validateRelation(request);
-						msgFutures.add(validationMsgs);
-					} catch (Exception e) {
-						List<String> list = messages.get(rel.getStartNodeId());
-						if (null == list) {
-							list = new ArrayList<String>();
-							messages.put(rel.getStartNodeId(), list);
-						}
-						list.add(e.getMessage());
-					}
-				}
-
-				if (null != msgFutures) {
-					for (Map<String, List<String>> map : msgFutures) {
-						if (null != map) {
-							for (Entry<String, List<String>> entry : map.entrySet()) {
-								List<String> list = messages.get(entry.getKey());
-								if (null == list) {
-									list = new ArrayList<String>();
-									messages.put(entry.getKey(), list);
-								}
-								list.addAll(entry.getValue());
-							}
-						}
+	private void exportSearchedNodes(Request request, SearchCriteria sc, StreamingGraphWriter writer)
+			throws Exception {
+		if (sc.getResultSize() > 0) {
+			// the requested number of nodes is written as it is read.
+			Request streamReq = new Request(request);
+			streamReq.put(GraphDACParams.search_criteria.name(), sc);
+			streamReq.put(GraphDACParams.get_tags.name(), true);
+			Iterator<Node> iterator = searchMgr.streamNodes(streamReq);
+			try {
+				List<Node> nodes = new ArrayList<Node>();
+				while (iterator.hasNext()) {
+					nodes.add(iterator.next());
+					if (nodes.size() == EXPORT_PAGE_SIZE) {
+						writer.write(nodes);
+						nodes = new ArrayList<Node>();
 					}
 				}
+				if (!nodes.isEmpty())
+					writer.write(nodes);
+			} finally {
+				if (iterator instanceof AutoCloseable)
+					((AutoCloseable) iterator).close();
 			}
+			return;
 		}
+		// pages are read after the last identifier of the previous page, as
+		// the full export does, which needs the result sorted by identifier.
+		List<Sort> sortOrder = new ArrayList<Sort>();
+		sortOrder.add(new Sort(SystemProperties.IL_UNIQUE_ID.name()));
+		sc.setSortOrder(sortOrder);
+		sc.setResultSize(EXPORT_PAGE_SIZE);
+		while (true) {
+			Request pageReq = new Request(request);
+			pageReq.put(GraphDACParams.search_criteria.name(), sc);
+			pageReq.put(GraphDACParams.get_tags.name(), true);
+			List<Node> nodes = getExportPage(searchMgr.searchNodes(pageReq));
+			writer.write(nodes);
+			if (nodes.size() < EXPORT_PAGE_SIZE)
+				break;
+			String afterId = StringUtils.defaultString(sc.getAfterId());
+			for (Node node : nodes) {
+				if (node.getIdentifier().compareTo(afterId) > 0)
+					afterId = node.getIdentifier();
+			}
+			sc.setAfterId(afterId);
+			sc.setStartPosition(0);
+		}
+	}
 
-		return messages;
+	@SuppressWarnings("unchecked")
+	private List<Node> getExportPage(Response nodesResponse) {
+		if (manager.checkError(nodesResponse))
+			throw new ServerException(GraphEngineErrorCodes.ERR_GRAPH_EXPORT_UNKNOWN_ERROR.name(),
+					manager.getErrorMessage(nodesResponse));
+		List<Node> nodes = (List<Node>) nodesResponse.get(GraphDACParams.node_list.name());
+		return null == nodes ? new ArrayList<Node>() : nodes;
 	}
 
 	public void exportNode(Request req) {
@@ -0,0 +1,355 @@
+package org.ekstep.graph.model;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+import org.apache.commons.lang3.StringUtils;
+import org.ekstep.common.Platform;
+import org.ekstep.common.dto.Request;
+import org.ekstep.common.dto.Response;
+import org.ekstep.common.exception.ServerException;
+import org.ekstep.graph.common.enums.GraphEngineParams;
+import org.ekstep.graph.common.mgr.BaseGraphManager;
+import org.ekstep.graph.dac.enums.AuditProperties;
+import org.ekstep.graph.dac.enums.GraphDACParams;
+import org.ekstep.graph.dac.enums.SystemNodeTypes;
+import org.ekstep.graph.dac.enums.SystemProperties;
+import org.ekstep.graph.dac.mgr.IGraphDACNodeMgr;
+import org.ekstep.graph.dac.mgr.IGraphDACSearchMgr;
+import org.ekstep.graph.dac.model.Filter;
+import org.ekstep.graph.dac.model.MetadataCriterion;
+import org.ekstep.graph.dac.model.Node;
+import org.ekstep.graph.dac.model.Relation;
+import org.ekstep.graph.dac.model.SearchConditions;
+import org.ekstep.graph.dac.model.SearchCriteria;
+import org.ekstep.graph.dac.model.Sort;
+import org.ekstep.graph.exception.GraphEngineErrorCodes;
+import org.ekstep.graph.model.cache.DefinitionCache;
+import org.ekstep.graph.model.node.DataNode;
+import org.ekstep.graph.model.node.DefinitionDTO;
+import org.ekstep.graph.model.relation.RelationHandler;
+import org.ekstep.telemetry.logger.TelemetryManager;
+
+/**
+ * Validates the data nodes of a graph and the relations between the nodes.
+ *
+ * The nodes are read page by page. The nodes of a page are grouped by their
+ * object type and the groups are validated in parallel, against the cached
+ * definition of the object type, while the next page is read. A relation is
+ * validated along with its start node, so the graph is never held in memory
+ * as a whole.
+ *
+ * A validation runs on a thread of its own as a task, so that neither the
+ * graph engine actor nor the caller waits for it. The messages of each
+ * partition are written to the messages file of the task as they are found,
+ * and the progress and the status are written to the task node. The
+ * validations running at a time are bound, and a validation requested
+ * beyond the bound is rejected.
+ *
+ * When a time is given, only the data nodes updated since then, and their
+ * relations, are validated.
+ */
+public class GraphValidator {
+
+	private static final int PAGE_SIZE = Platform.config.hasPath("graph.validate.page_size")
+			? Platform.config.getInt("graph.validate.page_size") : 1000;
+	private static final int POOL_SIZE = Platform.config.hasPath("graph.validate.pool_size")
+			? Platform.config.getInt("graph.validate.pool_size") : Runtime.getRuntime().availableProcessors();
+
+	private static final int MAX_RUNS = Platform.config.hasPath("graph.validate.max_runs")
+			? Platform.config.getInt("graph.validate.max_runs") : 2;
+
+	private static final ExecutorService executor = Executors.newFixedThreadPool(POOL_SIZE,
+			new ThreadFactory("graph-validator-"));
+
+	private static final ExecutorService runner = new ThreadPoolExecutor(0, MAX_RUNS, 60L, TimeUnit.SECONDS,
+			new SynchronousQueue<Runnable>(), new ThreadFactory("graph-validation-"));
+
+	private static final String OUTPUT_DIR = Platform.config.hasPath("graph.validate.output_dir")
+			? Platform.config.getString("graph.validate.output_dir") : System.getProperty("java.io.tmpdir");
+
+	private final BaseGraphManager manager;
+	private final String graphId;
+	private final IGraphDACSearchMgr searchMgr;
+	private final IGraphDACNodeMgr nodeMgr;
+	private final Request request;
+	private final Map<String, Optional<DefinitionDTO>> definitions = new ConcurrentHashMap<String, Optional<DefinitionDTO>>();
+
+	private int nodesCount = 0;
+	private int messagesCount = 0;
+
+	public GraphValidator(BaseGraphManager manager, String graphId, IGraphDACSearchMgr searchMgr,
+			IGraphDACNodeMgr nodeMgr, Request request) {
+		this.manager = manager;
+		this.graphId = graphId;
+		this.searchMgr = searchMgr;
+		this.nodeMgr = nodeMgr;
+		this.request = request;
+	}
+
+	/**
+	 * Starts the validation of the graph on a thread of its own and returns
+	 * without waiting for it. The messages are written to a CSV file in the
+	 * graph.validate.output_dir directory, named after the task. The task
+	 * node is updated with the file, with the progress after each page and
+	 * with the status when the validation ends.
+	 *
+	 * @param since
+	 *            the time since when the updated nodes are to be validated,
+	 *            in the format of the lastUpdatedOn property, or blank to
+	 *            validate all the nodes
+	 * @param taskId
+	 *            the identifier of the task node of the validation
+	 * @throws RejectedExecutionException
+	 *             if the maximum number of validations are running
+	 */
+	public void validateAsync(String since, String taskId) {
+		File messagesFile = new File(OUTPUT_DIR, taskId + ".csv");
+		runner.execute(() -> run(since, taskId, messagesFile));
+	}
+
+	void run(String since, String taskId, File messagesFile) {
+		Map<String, Object> metadata = new HashMap<String, Object>();
+		try (CSVPrinter printer = new CSVPrinter(
+				new OutputStreamWriter(new FileOutputStream(messagesFile), StandardCharsets.UTF_8),
+				CSVFormat.DEFAULT.withHeader("identifier", "message"))) {
+			updateTask(taskId, Collections.singletonMap(GraphEngineParams.messages_file.name(),
+					messagesFile.getAbsolutePath()));
+			validate(since, printer, taskId);
+			metadata.put(GraphEngineParams.status.name(), GraphEngineParams.Completed.name());
+		} catch (Exception e) {
+			TelemetryManager.error("Graph validation failed for task: " + taskId + " | " + e.getMessage(), e);
+			metadata.put(GraphEngineParams.status.name(), GraphEngineParams.Failed.name());
+			metadata.put(GraphDACParams.message.name(), e.getMessage());
+		}
+		metadata.put(GraphDACParams.nodesCount.name(), nodesCount);
+		metadata.put(GraphEngineParams.messages_count.name(), messagesCount);
+		updateTask(taskId, metadata);
+	}
+
+	/**
+	 * Validates the graph and prints the messages, as a record of the node
+	 * identifier and the message each, as the nodes are validated.
+	 *
+	 * @param since
+	 *            the time since when the updated nodes are to be validated,
+	 *            in the format of the lastUpdatedOn property, or blank to
+	 *            validate all the nodes
+	 * @param printer
+	 *            the printer of the messages
+	 * @param taskId
+	 *            the task node updated with the progress after each page, or
+	 *            blank
+	 */
+	public void validate(String since, CSVPrinter printer, String taskId) throws IOException {
+		List<Future<List<String[]>>> pending = new ArrayList<Future<List<String[]>>>();
+		String afterId = "";
+		int startPosition = 0;
+		while (true) {
+			List<Node> nodes = StringUtils.isBlank(since) ? getNodesPage(afterId) : getUpdatedNodesPage(since,
+					startPosition);
+			List<Future<List<String[]>>> submitted = new ArrayList<Future<List<String[]>>>();
+			for (List<Node> partition : partitionByObjectType(nodes).values())
+				submitted.add(executor.submit(() -> validate(partition)));
+			print(pending, printer, taskId);
+			pending = submitted;
+			nodesCount += nodes.size();
+			if (nodes.size() < PAGE_SIZE)
+				break;
+			startPosition += nodes.size();
+			for (Node node : nodes) {
+				if (node.getIdentifier().compareTo(afterId) > 0)
+					afterId = node.getIdentifier();
+			}
+		}
+		print(pending, printer, taskId);
+	}
+
+	public int getNodesCount() {
+		return nodesCount;
+	}
+
+	public int getMessagesCount() {
+		return messagesCount;
+	}
+
+	private List<Node> getNodesPage(String afterId) {
+		Request pageReq = new Request(request);
+		pageReq.put(GraphDACParams.after_id.name(), afterId);
+		pageReq.put(GraphDACParams.limit.name(), PAGE_SIZE);
+		return getNodes(searchMgr.getNodesPage(pageReq));
+	}
+
+	private List<Node> getUpdatedNodesPage(String since, int startPosition) {
+		SearchCriteria sc = new SearchCriteria();
+		sc.setNodeType(SystemNodeTypes.DATA_NODE.name());
+		List<Filter> filters = new ArrayList<Filter>();
+		filters.add(new Filter(AuditProperties.lastUpdatedOn.name(), SearchConditions.OP_GREATER_OR_EQUAL, since));
+		sc.addMetadata(MetadataCriterion.create(filters));
+		// a total order is needed to page through the result with skip and limit.
+		sc.sort(new Sort(SystemProperties.IL_UNIQUE_ID.name()));
+		sc.setStartPosition(startPosition);
+		sc.setResultSize(PAGE_SIZE);
+		Request pageReq = new Request(request);
+		pageReq.put(GraphDACParams.search_criteria.name(), sc);
+		return getNodes(searchMgr.searchNodes(pageReq));
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<Node> getNodes(Response response) {
+		if (manager.checkError(response))
+			throw new ServerException(GraphEngineErrorCodes.ERR_GRAPH_VALIDATE_GRAPH_UNKNOWN_ERROR.name(),
+					manager.getErrorMessage(response));
+		List<Node> nodes = (List<Node>) response.get(GraphDACParams.node_list.name());
+		return null == nodes ? new ArrayList<Node>() : nodes;
+	}
+
+	private Map<String, List<Node>> partitionByObjectType(List<Node> nodes) {
+		Map<String, List<Node>> partitions = new LinkedHashMap<String, List<Node>>();
+		for (Node node : nodes)
+			partitions.computeIfAbsent(StringUtils.defaultString(node.getObjectType()), k -> new ArrayList<Node>())
+					.add(node);
+		return partitions;
+	}
+
+	/**
+	 * Validates the data nodes of the partition and the relations starting at
+	 * the nodes of the partition.
+	 */
+	private List<String[]> validate(List<Node> nodes) {
+		List<String[]> messages = new ArrayList<String[]>();
+		for (Node node : nodes) {
+			if (StringUtils.equals(SystemNodeTypes.DATA_NODE.name(), node.getNodeType()))
+				validateNode(node, messages);
+			if (null != node.getOutRelations()) {
+				for (Relation rel : node.getOutRelations())
+					validateRelation(rel, messages);
+			}
+		}
+		return messages;
+	}
+
+	private void validateNode(Node node, List<String[]> messages) {
+		try {
+			DataNode datanode = new DataNode(manager, graphId, node);
+			List<String> validationMsgs;
+			if (StringUtils.isBlank(node.getObjectType())) {
+				validationMsgs = datanode.validateNode((Map<String, Node>) null);
+			} else {
+				Optional<DefinitionDTO> definition = definitions.computeIfAbsent(node.getObjectType(),
+						objectType -> Optional.ofNullable(DefinitionCache.getDefinitionNode(graphId, objectType)));
+				if (definition.isPresent()) {
+					validationMsgs = datanode.validateNode(definition.get());
+				} else {
+					validationMsgs = new ArrayList<String>();
+					validationMsgs.add("Definition node not found for Object Type: " + node.getObjectType());
+				}
+			}
+			for (String msg : validationMsgs)
+				messages.add(new String[] { node.getIdentifier(), msg });
+		} catch (Exception e) {
+			messages.add(new String[] { node.getIdentifier(), e.getMessage() });
+		}
+	}
+
+	private void validateRelation(Relation rel, List<String[]> messages) {
+		try {
+			IRelation iRel = RelationHandler.getRelation(manager, rel.getGraphId(), rel.getStartNodeId(),
+					rel.getRelationType(), rel.getEndNodeId(), rel.getMetadata());
+			Map<String, List<String>> validationMsgs = iRel.validateRelation(request);
+			if (null != validationMsgs) {
+				for (Entry<String, List<String>> entry : validationMsgs.entrySet()) {
+					if (null != entry.getValue()) {
+						for (String msg : entry.getValue())
+							messages.add(new String[] { entry.getKey(), msg });
+					}
+				}
+			}
+		} catch (Exception e) {
+			messages.add(new String[] { rel.getStartNodeId(), e.getMessage() });
+		}
+	}
+
+	/**
+	 * Prints the messages of each partition as its validation completes and
+	 * updates the task node with the progress.
+	 */
+	private void print(List<Future<List<String[]>>> futures, CSVPrinter printer, String taskId)
+			throws IOException {
+		if (futures.isEmpty())
+			return;
+		for (Future<List<String[]>> future : futures) {
+			List<String[]> found;
+			try {
+				found = future.get();
+			} catch (ExecutionException e) {
+				throw new ServerException(GraphEngineErrorCodes.ERR_GRAPH_VALIDATE_GRAPH_UNKNOWN_ERROR.name(),
+						e.getCause().getMessage(), e.getCause());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new ServerException(GraphEngineErrorCodes.ERR_GRAPH_VALIDATE_GRAPH_UNKNOWN_ERROR.name(),
+						"Graph validation interrupted", e);
+			}
+			for (String[] message : found) {
+				printer.printRecord((Object[]) message);
+				messagesCount++;
+			}
+			printer.flush();
+		}
+		Map<String, Object> metadata = new HashMap<String, Object>();
+		metadata.put(GraphDACParams.nodesCount.name(), nodesCount);
+		metadata.put(GraphEngineParams.messages_count.name(), messagesCount);
+		updateTask(taskId, metadata);
+	}
+
+	private void updateTask(String taskId, Map<String, Object> metadata) {
+		if (StringUtils.isBlank(taskId))
+			return;
+		Request taskReq = new Request(request);
+		taskReq.put(GraphDACParams.node_id.name(), taskId);
+		taskReq.put(GraphDACParams.metadata.name(), metadata);
+		Response response = nodeMgr.updatePropertyValues(taskReq);
+		if (manager.checkError(response))
+			TelemetryManager.error("Error updating the graph validation task: " + taskId + " | "
+					+ manager.getErrorMessage(response));
+	}
+
+	private static class ThreadFactory implements java.util.concurrent.ThreadFactory {
+		private final String prefix;
+		private final AtomicInteger count = new AtomicInteger();
+
+		private ThreadFactory(String prefix) {
+			this.prefix = prefix;
+		}
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+}
@@ -1,6 +1,7 @@
 package org.ekstep.graph.model.cache;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -39,14 +40,16 @@ public class CategoryCache {
 
 	private static void setFramework(String framework, List<Map<String, Object>> categories) {
 		if (null != categories && !categories.isEmpty()) {
+			Map<String, List<Object>> categoryTerms = new HashMap<String, List<Object>>();
 			for (Map<String, Object> category : categories) {
 				String catName = (String) category.get("code");
 				List<Object> terms = getTerms(category, "terms");
-				if (!terms.isEmpty()) {
-					String key = getKey(framework, catName);
-					TelemetryManager.info("Setting framework category cache with key: " + key);
-					RedisStoreUtil.saveList(key, terms);
-				}
+				if (!terms.isEmpty())
+					categoryTerms.put(getKey(framework, catName), terms);
+			}
+			if (!categoryTerms.isEmpty()) {
+				TelemetryManager.info("Setting framework category cache with keys: " + categoryTerms.keySet());
+				RedisStoreUtil.saveLists(categoryTerms);
 			}
 		}
 	}
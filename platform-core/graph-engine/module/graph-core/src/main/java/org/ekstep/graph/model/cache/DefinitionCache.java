@@ -67,12 +67,8 @@ public class DefinitionCache extends BaseGraphManager {
 	}
 	
 	private static DefinitionDTO getDefinitionFromCache(String graphId, String objectType) {
-		DefinitionDTO dto = (DefinitionDTO) NodeCacheManager.getDefinitionNode(graphId, objectType);
-		if (null == dto) {
-			dto = getDefinitionNodeFromGraph(graphId, objectType);
-			NodeCacheManager.saveDefinitionNode(graphId, objectType, dto);
-		}
-		return dto;
+		return (DefinitionDTO) NodeCacheManager.getDefinitionNode(graphId, objectType,
+				type -> getDefinitionNodeFromGraph(graphId, type));
 	}
 
 	@SuppressWarnings("unchecked")
@@ -0,0 +1,79 @@
+package org.ekstep.graph.reader;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.ekstep.graph.dac.model.Node;
+import org.ekstep.graph.dac.model.Relation;
+import org.ekstep.graph.importer.ImportData;
+
+/**
+ * Returns the data read by a {@link GraphReader} in batches, for formats which
+ * can not be read lazily. The statements of an rdf node need not be next to
+ * each other, so an rdf import is parsed whole and only its writes are
+ * batched.
+ */
+public class BatchedGraphReader implements StreamingGraphReader {
+
+	private GraphReader graphReader;
+	private int batchSize;
+	private int nodeIndex = 0;
+	private int relationIndex = 0;
+	private boolean definitionsRead = false;
+
+	public BatchedGraphReader(GraphReader graphReader, int batchSize) {
+		this.graphReader = graphReader;
+		this.batchSize = Math.max(1, batchSize);
+	}
+
+	@Override
+	public boolean hasNext() {
+		return !definitionsRead || nodeIndex < size(graphReader.getDataNodes())
+				|| relationIndex < size(graphReader.getRelations());
+	}
+
+	@Override
+	public ImportData next() {
+		if (!hasNext())
+			throw new NoSuchElementException();
+		List<Node> definitionNodes = new ArrayList<Node>();
+		Map<String, List<String>> tagMembersMap = new HashMap<String, List<String>>();
+		if (!definitionsRead) {
+			definitionsRead = true;
+			if (null != graphReader.getDefinitionNodes())
+				definitionNodes.addAll(graphReader.getDefinitionNodes());
+			if (null != graphReader.getTagMembersMap())
+				tagMembersMap.putAll(graphReader.getTagMembersMap());
+		}
+		List<Node> dataNodes = new ArrayList<Node>();
+		int end = Math.min(nodeIndex + batchSize, size(graphReader.getDataNodes()));
+		if (nodeIndex < end) {
+			dataNodes.addAll(graphReader.getDataNodes().subList(nodeIndex, end));
+			nodeIndex = end;
+		}
+		List<Relation> relations = new ArrayList<Relation>();
+		end = Math.min(relationIndex + batchSize - dataNodes.size(), size(graphReader.getRelations()));
+		if (relationIndex < end) {
+			relations.addAll(graphReader.getRelations().subList(relationIndex, end));
+			relationIndex = end;
+		}
+		return new ImportData(definitionNodes, dataNodes, relations, tagMembersMap);
+	}
+
+	@Override
+	public Map<String, List<String>> getMessages() {
+		return new HashMap<String, List<String>>();
+	}
+
+	@Override
+	public void close() throws IOException {
+	}
+
+	private int size(List<?> list) {
+		return null == list ? 0 : list.size();
+	}
+}
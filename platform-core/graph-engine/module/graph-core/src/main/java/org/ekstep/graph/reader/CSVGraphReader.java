@@ -1,26 +1,19 @@
 package org.ekstep.graph.reader;
 
 import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.math.BigDecimal;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 
 import org.apache.commons.csv.CSVFormat;
-import org.apache.commons.csv.CSVParser;
-import org.apache.commons.csv.CSVRecord;
 import org.apache.commons.lang3.StringUtils;
 import org.codehaus.jackson.map.ObjectMapper;
-import org.ekstep.common.exception.ClientException;
 import org.ekstep.graph.common.mgr.BaseGraphManager;
-import org.ekstep.graph.dac.enums.SystemNodeTypes;
 import org.ekstep.graph.dac.model.Node;
 import org.ekstep.graph.dac.model.Relation;
-import org.ekstep.graph.exception.GraphEngineErrorCodes;
+import org.ekstep.graph.importer.ImportData;
 import org.ekstep.graph.model.node.MetadataDefinition;
 import org.ekstep.graph.model.node.RelationDefinition;
 
@@ -43,7 +36,6 @@ public class CSVGraphReader implements GraphReader {
 
 	CSVFormat csvFileFormat = CSVFormat.DEFAULT;
 
-	@SuppressWarnings("resource")
 	public CSVGraphReader(BaseGraphManager manager, ObjectMapper mapper, String graphId, InputStream inputStream,
 			Map<String, Map<String, MetadataDefinition>> propertyDataMap) throws Exception {
 		this.manager = manager;
@@ -54,174 +46,19 @@ public class CSVGraphReader implements GraphReader {
 		tagMembersMap = new HashMap<String, List<String>>();
 		relations = new ArrayList<Relation>();
 		validations = new ArrayList<String>();
-		try (InputStreamReader isReader = new InputStreamReader(inputStream, StandardCharsets.UTF_8);
-				CSVParser csvReader = new CSVParser(isReader, csvFileFormat)) {
-			List<CSVRecord> recordsList = csvReader.getRecords();
-			CSVRecord headerRecord = recordsList.get(0);
-			List<String> allHeaders = new ArrayList<String>();
-			Map<String, Integer> relHeaders = new HashMap<String, Integer>();
-			for (int i = 0; i < headerRecord.size(); i++) {
-				allHeaders.add(headerRecord.get(i));
-				if (headerRecord.get(i).startsWith(REL_HEADER_START_WITH)) {
-					relHeaders.put(headerRecord.get(i), i);
-				}
-			}
-			int uniqueIdIndex = allHeaders.indexOf(PROPERTY_ID);
-			int nodeTypeIndex = allHeaders.indexOf(PROPERTY_NODE_TYPE);
-			int objectTypeIndex = allHeaders.indexOf(PROPERTY_OBJECT_TYPE);
-			int tagsIndex = allHeaders.indexOf(PROPERTY_TAGS);
-			List<Integer> skipIndexes = Arrays.asList(uniqueIdIndex, nodeTypeIndex, objectTypeIndex, tagsIndex);
-			if (!hasValidIndexes(uniqueIdIndex, objectTypeIndex)) {
-				throw new ClientException(GraphEngineErrorCodes.ERR_GRAPH_IMPORT_MISSING_REQ_COLUMNS.name(),
-						"Required columns are missing.");
-			}
-
-			for (int i = 1; i < recordsList.size(); i++) {
-				CSVRecord record = recordsList.get(i);
-				String uniqueId = record.get(uniqueIdIndex);
-				String nodeType = SystemNodeTypes.DATA_NODE.name();
-				String objectType = record.get(objectTypeIndex);
-				if (StringUtils.isBlank(uniqueId) || StringUtils.isBlank(objectType)) {
-					throw new ClientException(GraphEngineErrorCodes.ERR_GRAPH_IMPORT_MISSING_REQ_COLUMN_DATA.name(),
-							"Required data(uniqueId, objectType) is missing for the row[" + (i + 1) + "]: " + record);
-				}
-				Map<String, Object> metadata = new HashMap<String, Object>();
-				for (int j = 0; j < allHeaders.size(); j++) {
-					if (!skipIndexes.contains(j) && !relHeaders.values().contains(j)) {
-						String metadataKey = getMetadataKey(objectType, allHeaders.get(j));
-						String val = record.get(j);
-						if (isListProperty(objectType, allHeaders.get(j))) {
-							String[] valList = getListFromString(val);
-							metadata.put(metadataKey, valList);
-						} else {
-							if (StringUtils.isNotBlank(val))
-								val = val.replaceAll("&lt;", "<").replaceAll("&gt;", ">");
-							else
-								val = null;
-							Object value = getMetadataValue(objectType, metadataKey, val);
-							metadata.put(metadataKey, value);
-						}
-					}
-				}
-				Node node = new Node(graphId, metadata);
-				node.setIdentifier(uniqueId);
-				node.setNodeType(nodeType);
-				node.setObjectType(objectType);
-				List<Relation> relations = new ArrayList<Relation>();
-				for (String relHeader : relHeaders.keySet()) {
-					String relName = relHeader.replaceAll(REL_HEADER_START_WITH, "");
-					String[] endNodeIds = record.get(relHeaders.get(relHeader)).toString().split(",");
-					for (String endNodeId : endNodeIds) {
-						endNodeId = endNodeId.trim();
-						if (StringUtils.isNotBlank(endNodeId)) {
-							Relation relation = new Relation(uniqueId, relName, endNodeId);
-							relations.add(relation);
-						}
-					}
-				}
-				if(null != relHeaders.keySet()&& !relHeaders.keySet().isEmpty()){
-					node.setOutRelations(relations);
-				}
-				dataNodes.add(node);
-				if (tagsIndex != -1) {
-					String tagsData = record.get(tagsIndex);
-					if (StringUtils.isNotBlank(tagsData)) {
-						String[] recordTags = tagsData.split(LIST_STR_DELIMITER);
-						for (String tagName : recordTags) {
-							tagName = tagName.trim();
-							if (tagMembersMap.containsKey(tagName)) {
-								tagMembersMap.get(tagName).add(uniqueId);
-							} else {
-								List<String> members = new ArrayList<String>();
-								members.add(uniqueId);
-								tagMembersMap.put(tagName, members);
-							}
-						}
-					}
-				}
-			}
-		}
-	}
-
-	private String[] getListFromString(String valStr) {
-		if (StringUtils.isNotBlank(valStr)) {
-			valStr = valStr.replaceAll("&lt;", "<").replaceAll("&gt;", ">");
-			String[] vals = valStr.trim().split("\\s*" + LIST_STR_DELIMITER + "\\s*");
-			if (null != vals && vals.length > 0)
-				return vals;
-		}
-		return null;
-	}
-
-	private String getMetadataKey(String objectType, String title) {
-		if (propertyDataMap != null) {
-			Map<String, MetadataDefinition> objectPropMap = propertyDataMap.get(objectType);
-			if (objectPropMap != null) {
-				MetadataDefinition def = objectPropMap.get(title);
-				if (null != def && StringUtils.isNotBlank(def.getPropertyName())) {
-					return def.getPropertyName();
-				}
-			}
-			return title;
-		} else {
-			return title;
-		}
-	}
-
-	@SuppressWarnings("rawtypes")
-	private Object getMetadataValue(String objectType, String title, String val) {
-		if (propertyDataMap != null) {
-			Map<String, MetadataDefinition> objectPropMap = propertyDataMap.get(objectType);
-			if (objectPropMap != null) {
-				MetadataDefinition def = objectPropMap.get(title);
-				if (null != def) {
-					Object value = val;
-					if (StringUtils.isBlank(val) && null != def.getDefaultValue()
-							&& StringUtils.isNotBlank(def.getDefaultValue().toString()))
-						value = def.getDefaultValue();
-					if (null != value) {
-						String datatype = def.getDataType();
-						if (StringUtils.equalsIgnoreCase("list", datatype)
-								|| StringUtils.equalsIgnoreCase("multi-select", datatype)) {
-							if (value instanceof List) {
-								value = ((List) value).toArray();
-							} else if (!(value instanceof Object[])) {
-								value = new String[] { value.toString() };
-							}
-						} else if (StringUtils.equalsIgnoreCase("number", datatype)) {
-							try {
-								BigDecimal bd = new BigDecimal(val.toString());
-								value = bd.doubleValue();
-							} catch (Exception e) {
-							}
-						} else if (StringUtils.equalsIgnoreCase("boolean", datatype)) {
-							try {
-								Boolean b = new Boolean(val.toString());
-								value = b;
-							} catch (Exception e) {
-							}
-						}
-					}
-					return value;
+		try (CSVGraphStreamReader reader = new CSVGraphStreamReader(graphId, inputStream, propertyDataMap,
+				Integer.MAX_VALUE)) {
+			while (reader.hasNext()) {
+				ImportData batch = reader.next();
+				dataNodes.addAll(batch.getDataNodes());
+				for (Entry<String, List<String>> entry : batch.getTagMembersMap().entrySet()) {
+					if (tagMembersMap.containsKey(entry.getKey()))
+						tagMembersMap.get(entry.getKey()).addAll(entry.getValue());
+					else
+						tagMembersMap.put(entry.getKey(), entry.getValue());
 				}
 			}
 		}
-		return val;
-	}
-
-	private boolean isListProperty(String objectType, String title) {
-		if (propertyDataMap != null) {
-			Map<String, MetadataDefinition> objectPropMap = propertyDataMap.get(objectType);
-			if (objectPropMap != null) {
-				MetadataDefinition def = objectPropMap.get(title);
-				if (null != def && StringUtils.isNotBlank(def.getDataType())) {
-					if (StringUtils.equalsIgnoreCase(def.getDataType(), "list")
-							|| StringUtils.equalsIgnoreCase(def.getDataType(), "multi-select"))
-						return true;
-				}
-			}
-		}
-		return false;
 	}
 
 	// private void validateProperty(CSVRecord record, int index, String
@@ -231,17 +68,6 @@ public class CSVGraphReader implements GraphReader {
 	// record);
 	// }
 
-	private boolean hasValidIndexes(int... indexes) {
-		boolean isValid = true;
-		for (int index : indexes) {
-			if (index == -1) {
-				isValid = false;
-				break;
-			}
-		}
-		return isValid;
-	}
-
 	@SuppressWarnings({ "unchecked", "unused" })
 	private List<RelationDefinition> getRelationDefinitions(String metadataStr) throws Exception {
 		List<RelationDefinition> metadata = new ArrayList<RelationDefinition>();
@@ -0,0 +1,260 @@
+package org.ekstep.graph.reader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.apache.commons.lang3.StringUtils;
+import org.ekstep.common.exception.ClientException;
+import org.ekstep.graph.dac.enums.SystemNodeTypes;
+import org.ekstep.graph.dac.model.Node;
+import org.ekstep.graph.dac.model.Relation;
+import org.ekstep.graph.exception.GraphEngineErrorCodes;
+import org.ekstep.graph.importer.ImportData;
+import org.ekstep.graph.model.node.MetadataDefinition;
+
+/**
+ * Streaming reader of a csv import. Records are parsed lazily and returned as
+ * batches of data nodes with their out relations. Values are converted and
+ * checked against the definitions of their object type as they are read.
+ */
+public class CSVGraphStreamReader implements StreamingGraphReader {
+
+	private String graphId;
+	private int batchSize;
+	private Map<String, Map<String, MetadataDefinition>> propertyDataMap;
+	private CSVParser csvReader;
+	private Iterator<CSVRecord> records;
+	private List<String> allHeaders = new ArrayList<String>();
+	private Map<String, Integer> relHeaders = new HashMap<String, Integer>();
+	private List<Integer> skipIndexes;
+	private int uniqueIdIndex;
+	private int objectTypeIndex;
+	private int tagsIndex;
+	private int rowNumber = 1;
+	private Map<String, List<String>> messages = new HashMap<String, List<String>>();
+
+	public CSVGraphStreamReader(String graphId, InputStream inputStream,
+			Map<String, Map<String, MetadataDefinition>> propertyDataMap, int batchSize) throws Exception {
+		this.graphId = graphId;
+		this.batchSize = Math.max(1, batchSize);
+		this.propertyDataMap = propertyDataMap;
+		this.csvReader = new CSVParser(new InputStreamReader(inputStream, StandardCharsets.UTF_8), CSVFormat.DEFAULT);
+		this.records = csvReader.iterator();
+		if (!records.hasNext()) {
+			csvReader.close();
+			throw new ClientException(GraphEngineErrorCodes.ERR_GRAPH_IMPORT_MISSING_REQ_COLUMNS.name(),
+					"Required columns are missing.");
+		}
+		CSVRecord headerRecord = records.next();
+		for (int i = 0; i < headerRecord.size(); i++) {
+			allHeaders.add(headerRecord.get(i));
+			if (headerRecord.get(i).startsWith(CSVGraphReader.REL_HEADER_START_WITH)) {
+				relHeaders.put(headerRecord.get(i), i);
+			}
+		}
+		uniqueIdIndex = allHeaders.indexOf(CSVGraphReader.PROPERTY_ID);
+		int nodeTypeIndex = allHeaders.indexOf(CSVGraphReader.PROPERTY_NODE_TYPE);
+		objectTypeIndex = allHeaders.indexOf(CSVGraphReader.PROPERTY_OBJECT_TYPE);
+		tagsIndex = allHeaders.indexOf(CSVGraphReader.PROPERTY_TAGS);
+		skipIndexes = Arrays.asList(uniqueIdIndex, nodeTypeIndex, objectTypeIndex, tagsIndex);
+		if (uniqueIdIndex == -1 || objectTypeIndex == -1) {
+			csvReader.close();
+			throw new ClientException(GraphEngineErrorCodes.ERR_GRAPH_IMPORT_MISSING_REQ_COLUMNS.name(),
+					"Required columns are missing.");
+		}
+	}
+
+	@Override
+	public boolean hasNext() {
+		return records.hasNext();
+	}
+
+	@Override
+	public ImportData next() {
+		if (!hasNext())
+			throw new NoSuchElementException();
+		messages = new HashMap<String, List<String>>();
+		List<Node> dataNodes = new ArrayList<Node>();
+		Map<String, List<String>> tagMembersMap = new HashMap<String, List<String>>();
+		while (dataNodes.size() < batchSize && records.hasNext()) {
+			rowNumber += 1;
+			dataNodes.add(getNode(records.next(), tagMembersMap));
+		}
+		return new ImportData(new ArrayList<Node>(), dataNodes, new ArrayList<Relation>(), tagMembersMap);
+	}
+
+	@Override
+	public Map<String, List<String>> getMessages() {
+		return messages;
+	}
+
+	@Override
+	public void close() throws IOException {
+		csvReader.close();
+	}
+
+	private Node getNode(CSVRecord record, Map<String, List<String>> tagMembersMap) {
+		String uniqueId = record.get(uniqueIdIndex);
+		String nodeType = SystemNodeTypes.DATA_NODE.name();
+		String objectType = record.get(objectTypeIndex);
+		if (StringUtils.isBlank(uniqueId) || StringUtils.isBlank(objectType)) {
+			throw new ClientException(GraphEngineErrorCodes.ERR_GRAPH_IMPORT_MISSING_REQ_COLUMN_DATA.name(),
+					"Required data(uniqueId, objectType) is missing for the row[" + rowNumber + "]: " + record);
+		}
+		if (null != propertyDataMap && !propertyDataMap.containsKey(objectType))
+			addMessage(uniqueId, "Definition node not found for Object Type: " + objectType);
+		Map<String, Object> metadata = new HashMap<String, Object>();
+		for (int j = 0; j < allHeaders.size(); j++) {
+			if (!skipIndexes.contains(j) && !relHeaders.values().contains(j)) {
+				String metadataKey = getMetadataKey(objectType, allHeaders.get(j));
+				String val = record.get(j);
+				if (isListProperty(objectType, allHeaders.get(j))) {
+					String[] valList = getListFromString(val);
+					metadata.put(metadataKey, valList);
+				} else {
+					if (StringUtils.isNotBlank(val))
+						val = val.replaceAll("&lt;", "<").replaceAll("&gt;", ">");
+					else
+						val = null;
+					Object value = getMetadataValue(uniqueId, objectType, metadataKey, val);
+					metadata.put(metadataKey, value);
+				}
+			}
+		}
+		Node node = new Node(graphId, metadata);
+		node.setIdentifier(uniqueId);
+		node.setNodeType(nodeType);
+		node.setObjectType(objectType);
+		List<Relation> relations = new ArrayList<Relation>();
+		for (String relHeader : relHeaders.keySet()) {
+			String relName = relHeader.replaceAll(CSVGraphReader.REL_HEADER_START_WITH, "");
+			String[] endNodeIds = record.get(relHeaders.get(relHeader)).toString().split(",");
+			for (String endNodeId : endNodeIds) {
+				endNodeId = endNodeId.trim();
+				if (StringUtils.isNotBlank(endNodeId)) {
+					Relation relation = new Relation(uniqueId, relName, endNodeId);
+					relations.add(relation);
+				}
+			}
+		}
+		if (!relHeaders.isEmpty()) {
+			node.setOutRelations(relations);
+		}
+		if (tagsIndex != -1) {
+			String tagsData = record.get(tagsIndex);
+			if (StringUtils.isNotBlank(tagsData)) {
+				String[] recordTags = tagsData.split(CSVGraphReader.LIST_STR_DELIMITER);
+				for (String tagName : recordTags) {
+					tagName = tagName.trim();
+					if (tagMembersMap.containsKey(tagName)) {
+						tagMembersMap.get(tagName).add(uniqueId);
+					} else {
+						List<String> members = new ArrayList<String>();
+						members.add(uniqueId);
+						tagMembersMap.put(tagName, members);
+					}
+				}
+			}
+		}
+		return node;
+	}
+
+	private void addMessage(String uniqueId, String message) {
+		List<String> rowMsgs = messages.get(uniqueId);
+		if (null == rowMsgs) {
+			rowMsgs = new ArrayList<String>();
+			messages.put(uniqueId, rowMsgs);
+		}
+		rowMsgs.add(message);
+	}
+
+	private String[] getListFromString(String valStr) {
+		if (StringUtils.isNotBlank(valStr)) {
+			valStr = valStr.replaceAll("&lt;", "<").replaceAll("&gt;", ">");
+			String[] vals = valStr.trim().split("\\s*" + CSVGraphReader.LIST_STR_DELIMITER + "\\s*");
+			if (null != vals && vals.length > 0)
+				return vals;
+		}
+		return null;
+	}
+
+	private MetadataDefinition getDefinition(String objectType, String title) {
+		if (propertyDataMap != null) {
+			Map<String, MetadataDefinition> objectPropMap = propertyDataMap.get(objectType);
+			if (objectPropMap != null)
+				return objectPropMap.get(title);
+		}
+		return null;
+	}
+
+	private String getMetadataKey(String objectType, String title) {
+		MetadataDefinition def = getDefinition(objectType, title);
+		if (null != def && StringUtils.isNotBlank(def.getPropertyName()))
+			return def.getPropertyName();
+		return title;
+	}
+
+	@SuppressWarnings("rawtypes")
+	private Object getMetadataValue(String uniqueId, String objectType, String title, String val) {
+		MetadataDefinition def = getDefinition(objectType, title);
+		if (null == def)
+			return val;
+		Object value = val;
+		if (StringUtils.isBlank(val) && null != def.getDefaultValue()
+				&& StringUtils.isNotBlank(def.getDefaultValue().toString()))
+			value = def.getDefaultValue();
+		if (null != value) {
+			String datatype = def.getDataType();
+			if (StringUtils.equalsIgnoreCase("list", datatype)
+					|| StringUtils.equalsIgnoreCase("multi-select", datatype)) {
+				if (value instanceof List) {
+					value = ((List) value).toArray();
+				} else if (!(value instanceof Object[])) {
+					value = new String[] { value.toString() };
+				}
+			} else if (StringUtils.equalsIgnoreCase("number", datatype)) {
+				try {
+					BigDecimal bd = new BigDecimal(val.toString());
+					value = bd.doubleValue();
+				} catch (Exception e) {
+					if (StringUtils.isNotBlank(val))
+						addMessage(uniqueId, "Metadata " + title + " should be a Numeric value");
+				}
+			} else if (StringUtils.equalsIgnoreCase("boolean", datatype)) {
+				try {
+					Boolean b = new Boolean(val.toString());
+					value = b;
+				} catch (Exception e) {
+				}
+			} else if (StringUtils.equalsIgnoreCase("select", datatype) && def.getRangeValidation()
+					&& null != def.getRange() && !def.getRange().isEmpty() && !def.getRange().contains(value)) {
+				addMessage(uniqueId, "Metadata " + title + " should be one of: " + def.getRange());
+			}
+		}
+		return value;
+	}
+
+	private boolean isListProperty(String objectType, String title) {
+		MetadataDefinition def = getDefinition(objectType, title);
+		if (null != def && StringUtils.isNotBlank(def.getDataType())) {
+			if (StringUtils.equalsIgnoreCase(def.getDataType(), "list")
+					|| StringUtils.equalsIgnoreCase(def.getDataType(), "multi-select"))
+				return true;
+		}
+		return false;
+	}
+
+}
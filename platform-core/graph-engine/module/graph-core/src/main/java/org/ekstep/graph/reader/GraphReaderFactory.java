@@ -4,6 +4,7 @@ import java.io.InputStream;
 import java.util.Map;
 
 import org.codehaus.jackson.map.ObjectMapper;
+import org.ekstep.common.Platform;
 import org.ekstep.common.exception.ClientException;
 import org.ekstep.graph.common.mgr.BaseGraphManager;
 import org.ekstep.graph.enums.ImportType;
@@ -19,6 +20,7 @@ import org.ekstep.graph.model.node.MetadataDefinition;
 public class GraphReaderFactory {
 
     private static ObjectMapper mapper = new ObjectMapper();
+    private static final int IMPORT_BATCH_SIZE = Platform.config.hasPath("graph.import.batch_size") ? Platform.config.getInt("graph.import.batch_size") : 1000;
 
     public static ImportData getObject(BaseGraphManager manager, String format, String graphId, InputStream inputStream,
             Map<String, Map<String, MetadataDefinition>> propertyDataMap) throws Exception {
@@ -40,4 +42,26 @@ public class GraphReaderFactory {
                 graphReader.getTagMembersMap());
         return inputData;
     }
+
+    /**
+     * Returns a reader of the import in batches of the configured size. csv and
+     * json imports are parsed as they are read, an rdf import is parsed whole.
+     */
+    public static StreamingGraphReader getStreamingReader(BaseGraphManager manager, String format, String graphId,
+            InputStream inputStream, Map<String, Map<String, MetadataDefinition>> propertyDataMap) throws Exception {
+        if (ImportType.JSON.name().equals(format.toUpperCase())) {
+            return new JsonGraphStreamReader(manager, mapper, graphId, inputStream, IMPORT_BATCH_SIZE);
+        } else if (ImportType.CSV.name().equals(format.toUpperCase())) {
+            return new CSVGraphStreamReader(graphId, inputStream, propertyDataMap, IMPORT_BATCH_SIZE);
+        } else if (ImportType.RDF.name().equals(format.toUpperCase())) {
+            GraphReader graphReader = new RDFGraphReader(manager, mapper, graphId, inputStream);
+            if (graphReader.getValidations().size() > 0) {
+                String validations = mapper.writeValueAsString(graphReader.getValidations());
+                throw new ClientException(GraphEngineErrorCodes.ERR_GRAPH_IMPORT_VALIDATION_FAILED.name(), validations);
+            }
+            return new BatchedGraphReader(graphReader, IMPORT_BATCH_SIZE);
+        } else {
+            throw new ClientException(GraphEngineErrorCodes.ERR_GRAPH_IMPORT_INVALID_FORMAT.name(), "Format:" + format + " is invalid.");
+        }
+    }
 }
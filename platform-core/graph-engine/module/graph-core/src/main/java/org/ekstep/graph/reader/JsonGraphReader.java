@@ -108,59 +108,63 @@ public class JsonGraphReader implements GraphReader {
         this.relations = relations;
     }
 
-    @SuppressWarnings("unchecked")
     private void createDefinitionNodes(String graphId, List<Map<String, Object>> inputNodeList) {
         definitionNodes = new ArrayList<Node>();
         if (null != inputNodeList) {
             for (Map<String, Object> inputNode : inputNodeList) {
-                String objectType = (String) inputNode.get("objectType");
-
-                List<Map<String, Object>> propertiesMapList = (List<Map<String, Object>>) inputNode.get("properties");
-                List<MetadataDefinition> properties = getMetadataDefinitions(propertiesMapList);
-
-                List<MetadataDefinition> indexedMetadata = new ArrayList<MetadataDefinition>();
-                List<MetadataDefinition> nonIndexedMetadata = new ArrayList<MetadataDefinition>();
-                if (null != properties && !properties.isEmpty()) {
-                    for (MetadataDefinition def : properties) {
-                        if (def.isIndexed()) {
-                            indexedMetadata.add(def);
-                        } else {
-                            nonIndexedMetadata.add(def);
-                        }
-                    }
-                }
+                definitionNodes.add(getDefinitionNode(graphId, inputNode));
+            }
+        }
+    }
 
-                List<Map<String, Object>> inRelationMapList = (List<Map<String, Object>>) inputNode.get("inRelations");
-                List<RelationDefinition> inRelations = new ArrayList<RelationDefinition>();
-                for (Map<String, Object> relationItem : inRelationMapList) {
-                    RelationDefinition relationDefinition = mapper.convertValue(relationItem, RelationDefinition.class);
-                    if (relationDefinition != null)
-                        inRelations.add(relationDefinition);
-                }
+    @SuppressWarnings("unchecked")
+    Node getDefinitionNode(String graphId, Map<String, Object> inputNode) {
+        String objectType = (String) inputNode.get("objectType");
 
-                List<Map<String, Object>> outRelationMapList = (List<Map<String, Object>>) inputNode.get("outRelations");
-                List<RelationDefinition> outRelations = new ArrayList<RelationDefinition>();
-                for (Map<String, Object> relationItem : outRelationMapList) {
-                    RelationDefinition relationDefinition = mapper.convertValue(relationItem, RelationDefinition.class);
-                    if (relationDefinition != null)
-                        outRelations.add(relationDefinition);
-                }
+        List<Map<String, Object>> propertiesMapList = (List<Map<String, Object>>) inputNode.get("properties");
+        List<MetadataDefinition> properties = getMetadataDefinitions(propertiesMapList);
 
-                List<Map<String, Object>> systemTagMapList = (List<Map<String, Object>>) inputNode.get("systemTags");
-                List<TagDefinition> systemTags = new ArrayList<TagDefinition>();
-                for (Map<String, Object> sysTagItem : systemTagMapList) {
-                    TagDefinition tagDefinition = mapper.convertValue(sysTagItem, TagDefinition.class);
-                    if (tagDefinition != null)
-                        systemTags.add(tagDefinition);
+        List<MetadataDefinition> indexedMetadata = new ArrayList<MetadataDefinition>();
+        List<MetadataDefinition> nonIndexedMetadata = new ArrayList<MetadataDefinition>();
+        if (null != properties && !properties.isEmpty()) {
+            for (MetadataDefinition def : properties) {
+                if (def.isIndexed()) {
+                    indexedMetadata.add(def);
+                } else {
+                    nonIndexedMetadata.add(def);
                 }
-                
-                DefinitionNode definitionNode = new DefinitionNode(manager, graphId, objectType, indexedMetadata, nonIndexedMetadata,
-                        inRelations, outRelations, systemTags);
-                Map<String, Object> metadata = (Map<String, Object>) inputNode.get("metadata");
-                definitionNode.setMetadata(metadata);
-                definitionNodes.add(definitionNode.toNode());
             }
         }
+
+        List<Map<String, Object>> inRelationMapList = (List<Map<String, Object>>) inputNode.get("inRelations");
+        List<RelationDefinition> inRelations = new ArrayList<RelationDefinition>();
+        for (Map<String, Object> relationItem : inRelationMapList) {
+            RelationDefinition relationDefinition = mapper.convertValue(relationItem, RelationDefinition.class);
+            if (relationDefinition != null)
+                inRelations.add(relationDefinition);
+        }
+
+        List<Map<String, Object>> outRelationMapList = (List<Map<String, Object>>) inputNode.get("outRelations");
+        List<RelationDefinition> outRelations = new ArrayList<RelationDefinition>();
+        for (Map<String, Object> relationItem : outRelationMapList) {
+            RelationDefinition relationDefinition = mapper.convertValue(relationItem, RelationDefinition.class);
+            if (relationDefinition != null)
+                outRelations.add(relationDefinition);
+        }
+
+        List<Map<String, Object>> systemTagMapList = (List<Map<String, Object>>) inputNode.get("systemTags");
+        List<TagDefinition> systemTags = new ArrayList<TagDefinition>();
+        for (Map<String, Object> sysTagItem : systemTagMapList) {
+            TagDefinition tagDefinition = mapper.convertValue(sysTagItem, TagDefinition.class);
+            if (tagDefinition != null)
+                systemTags.add(tagDefinition);
+        }
+        
+        DefinitionNode definitionNode = new DefinitionNode(manager, graphId, objectType, indexedMetadata, nonIndexedMetadata,
+                inRelations, outRelations, systemTags);
+        Map<String, Object> metadata = (Map<String, Object>) inputNode.get("metadata");
+        definitionNode.setMetadata(metadata);
+        return definitionNode.toNode();
     }
 
     private List<MetadataDefinition> getMetadataDefinitions(List<Map<String, Object>> metaMapList) {
@@ -173,29 +177,37 @@ public class JsonGraphReader implements GraphReader {
         return metaDefinitions;
     }
 
-    @SuppressWarnings("unchecked")
     private void createDataNodes(String graphId, List<Map<String, Object>> inputNodeList) {
         dataNodes = new ArrayList<Node>();
         if (null != inputNodeList) {
             for (Map<String, Object> inputNode : inputNodeList) {
-                String uniqueId = (String) inputNode.get("uniqueId");
-                String objectType = (String) inputNode.get("objectType");
-                String nodeType = (String) inputNode.get("nodeType");
-                Map<String, Object> metadata = (Map<String, Object>) inputNode.get("metadata");
-                removeNullProperties(metadata);
-                if (SystemNodeTypes.DATA_NODE.name().equals(nodeType)) {
-                    DataNode dataNode = new DataNode(manager, graphId, uniqueId, objectType, metadata);
-                    dataNodes.add(dataNode.toNode());
-                } else if (SystemNodeTypes.SEQUENCE.name().equals(nodeType)) {
-                    Sequence sequence = new Sequence(manager, graphId, uniqueId);
-                    dataNodes.add(sequence.toNode());
-                } else {
-
-                }
+                Node node = getDataNode(graphId, inputNode);
+                if (null != node)
+                    dataNodes.add(node);
             }
         }
     }
 
+    /**
+     * Returns the data or sequence node of the input, null for other node types.
+     */
+    @SuppressWarnings("unchecked")
+    Node getDataNode(String graphId, Map<String, Object> inputNode) {
+        String uniqueId = (String) inputNode.get("uniqueId");
+        String objectType = (String) inputNode.get("objectType");
+        String nodeType = (String) inputNode.get("nodeType");
+        Map<String, Object> metadata = (Map<String, Object>) inputNode.get("metadata");
+        removeNullProperties(metadata);
+        if (SystemNodeTypes.DATA_NODE.name().equals(nodeType)) {
+            DataNode dataNode = new DataNode(manager, graphId, uniqueId, objectType, metadata);
+            return dataNode.toNode();
+        } else if (SystemNodeTypes.SEQUENCE.name().equals(nodeType)) {
+            Sequence sequence = new Sequence(manager, graphId, uniqueId);
+            return sequence.toNode();
+        }
+        return null;
+    }
+
     private void removeNullProperties(Map<String, Object> metadata) {
         Iterator<Entry<String, Object>> it = metadata.entrySet().iterator();
         while (it.hasNext()) {
@@ -207,32 +219,36 @@ public class JsonGraphReader implements GraphReader {
         }
     }
 
-    @SuppressWarnings("unchecked")
     private void createRelations(List<Map<String, Object>> relationMapList) {
         relations = new ArrayList<Relation>();
         if (null != relationMapList) {
             for (Map<String, Object> relationMap : relationMapList) {
-                String relationType = (String) relationMap.get("type");
-                String startNodeId = (String) relationMap.get("startNode");
-                String endNodeId = (String) relationMap.get("endNode");
-                if (null != relationMap.get("type") && RelationTypes.isValidRelationType((String) relationMap.get("type"))) {
-                    Relation relation = new Relation(startNodeId, relationType, endNodeId);
-                    Map<String, Object> metadata = (Map<String, Object>) relationMap.get("metadata");
-                    if (null == metadata) {
-                        metadata = new HashMap<String, Object>();
-                    } else {
-                        removeNullProperties(metadata);
-                    }
-                    relation.setMetadata(metadata);
-                    relations.add(relation);
-                } else {
-                    throw new ClientException("", "Relation Type is invalid: " + relationMap);
-                }
+                relations.add(getRelation(relationMap));
             }
 
         }
     }
 
+    @SuppressWarnings("unchecked")
+    Relation getRelation(Map<String, Object> relationMap) {
+        String relationType = (String) relationMap.get("type");
+        String startNodeId = (String) relationMap.get("startNode");
+        String endNodeId = (String) relationMap.get("endNode");
+        if (null != relationMap.get("type") && RelationTypes.isValidRelationType((String) relationMap.get("type"))) {
+            Relation relation = new Relation(startNodeId, relationType, endNodeId);
+            Map<String, Object> metadata = (Map<String, Object>) relationMap.get("metadata");
+            if (null == metadata) {
+                metadata = new HashMap<String, Object>();
+            } else {
+                removeNullProperties(metadata);
+            }
+            relation.setMetadata(metadata);
+            return relation;
+        } else {
+            throw new ClientException("", "Relation Type is invalid: " + relationMap);
+        }
+    }
+
     @Override
     public List<String> getValidations() {
         return validations;
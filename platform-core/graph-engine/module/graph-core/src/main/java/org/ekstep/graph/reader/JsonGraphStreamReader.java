@@ -0,0 +1,129 @@
+package org.ekstep.graph.reader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.codehaus.jackson.JsonParser;
+import org.codehaus.jackson.JsonToken;
+import org.codehaus.jackson.map.ObjectMapper;
+import org.ekstep.common.exception.ClientException;
+import org.ekstep.common.exception.ServerException;
+import org.ekstep.graph.common.mgr.BaseGraphManager;
+import org.ekstep.graph.dac.model.Node;
+import org.ekstep.graph.dac.model.Relation;
+import org.ekstep.graph.exception.GraphEngineErrorCodes;
+import org.ekstep.graph.importer.ImportData;
+
+/**
+ * Streaming reader of a json import. The "nodes" and "relations" arrays are
+ * parsed one element at a time and returned in batches, the
+ * "definitionNodes" are returned together in a batch of their own. Elements
+ * are converted the same way as by {@link JsonGraphReader}.
+ */
+public class JsonGraphStreamReader implements StreamingGraphReader {
+
+	private static final String DEFINITION_NODES = "definitionNodes";
+	private static final String NODES = "nodes";
+	private static final String RELATIONS = "relations";
+	private static final List<String> FIELDS = Arrays.asList(DEFINITION_NODES, NODES, RELATIONS);
+
+	private String graphId;
+	private int batchSize;
+	private ObjectMapper mapper;
+	private JsonGraphReader converter;
+	private JsonParser parser;
+	private String field;
+	private ImportData nextBatch;
+
+	public JsonGraphStreamReader(BaseGraphManager manager, ObjectMapper mapper, String graphId,
+			InputStream inputStream, int batchSize) throws IOException {
+		this.graphId = graphId;
+		this.batchSize = Math.max(1, batchSize);
+		this.mapper = mapper;
+		this.converter = new JsonGraphReader(manager);
+		this.parser = mapper.getJsonFactory().createJsonParser(inputStream);
+		if (JsonToken.START_OBJECT != parser.nextToken()) {
+			parser.close();
+			throw new ClientException(GraphEngineErrorCodes.ERR_GRAPH_IMPORT_VALIDATION_FAILED.name(),
+					"Import data should be a json object.");
+		}
+	}
+
+	@Override
+	public boolean hasNext() {
+		if (null == nextBatch) {
+			try {
+				nextBatch = readBatch();
+			} catch (IOException e) {
+				throw new ServerException(GraphEngineErrorCodes.ERR_GRAPH_IMPORT_UNKNOWN_ERROR.name(),
+						"Error while reading the import data: " + e.getMessage(), e);
+			}
+		}
+		return null != nextBatch;
+	}
+
+	@Override
+	public ImportData next() {
+		if (!hasNext())
+			throw new NoSuchElementException();
+		ImportData batch = nextBatch;
+		nextBatch = null;
+		return batch;
+	}
+
+	@Override
+	public Map<String, List<String>> getMessages() {
+		return new HashMap<String, List<String>>();
+	}
+
+	@Override
+	public void close() throws IOException {
+		parser.close();
+	}
+
+	@SuppressWarnings("unchecked")
+	private ImportData readBatch() throws IOException {
+		while (null == field) {
+			JsonToken token = parser.nextToken();
+			if (null == token || JsonToken.END_OBJECT == token)
+				return null;
+			String name = parser.getCurrentName();
+			if (JsonToken.START_ARRAY == parser.nextToken() && FIELDS.contains(name))
+				field = name;
+			else
+				parser.skipChildren();
+		}
+		String current = field;
+		List<Map<String, Object>> items = new ArrayList<Map<String, Object>>();
+		while (items.size() < batchSize || DEFINITION_NODES.equals(current)) {
+			if (JsonToken.END_ARRAY == parser.nextToken()) {
+				field = null;
+				break;
+			}
+			items.add(mapper.readValue(parser, Map.class));
+		}
+		if (items.isEmpty())
+			return readBatch();
+		List<Node> definitionNodes = new ArrayList<Node>();
+		List<Node> dataNodes = new ArrayList<Node>();
+		List<Relation> relations = new ArrayList<Relation>();
+		for (Map<String, Object> item : items) {
+			if (DEFINITION_NODES.equals(current)) {
+				definitionNodes.add(converter.getDefinitionNode(graphId, item));
+			} else if (NODES.equals(current)) {
+				Node node = converter.getDataNode(graphId, item);
+				if (null != node)
+					dataNodes.add(node);
+			} else {
+				relations.add(converter.getRelation(item));
+			}
+		}
+		return new ImportData(definitionNodes, dataNodes, relations, new HashMap<String, List<String>>());
+	}
+}
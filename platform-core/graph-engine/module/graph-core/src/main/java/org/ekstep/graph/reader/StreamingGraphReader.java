@@ -0,0 +1,26 @@
+package org.ekstep.graph.reader;
+
+import java.io.Closeable;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.ekstep.graph.importer.ImportData;
+
+/**
+ * Reads an import lazily, one bounded batch of nodes and relations at a time,
+ * so that a large import does not have to be held in memory and can be
+ * written while it is read.
+ * 
+ * @see GraphReaderFactory#getStreamingReader
+ */
+public interface StreamingGraphReader extends Iterator<ImportData>, Closeable {
+
+	/**
+	 * Returns the validation messages of the batch last returned by
+	 * {@link #next()}, by node identifier. These do not stop the import, they
+	 * are reported along with the import messages.
+	 */
+	Map<String, List<String>> getMessages();
+
+}
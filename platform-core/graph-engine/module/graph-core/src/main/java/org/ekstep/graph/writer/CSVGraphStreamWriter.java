@@ -0,0 +1,86 @@
+package org.ekstep.graph.writer;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+import org.apache.commons.io.IOUtils;
+import org.codehaus.jackson.map.ObjectMapper;
+import org.codehaus.jackson.type.TypeReference;
+import org.ekstep.graph.dac.enums.SystemNodeTypes;
+import org.ekstep.graph.dac.model.Node;
+import org.ekstep.graph.reader.CSVGraphReader;
+
+/**
+ * Streaming variant of {@link CSVGraphWriter}. The header of the csv is known
+ * only after all the nodes are seen, so the rows are spooled to a temporary
+ * file, one json line per node, and written out after the header on finish.
+ */
+public class CSVGraphStreamWriter implements StreamingGraphWriter {
+
+	private static final String NEW_LINE_SEPARATOR = "\n";
+	private static final TypeReference<Map<String, String>> ROW_TYPE = new TypeReference<Map<String, String>>() {
+	};
+
+	private OutputStream outputStream;
+	private ObjectMapper mapper = new ObjectMapper();
+	private CSVGraphWriter csvWriter = new CSVGraphWriter(null, null);
+	private List<String> headers = new ArrayList<String>();
+	private File rowsFile;
+	private BufferedWriter rowsWriter;
+
+	public CSVGraphStreamWriter(OutputStream outputStream) throws IOException {
+		this.outputStream = outputStream;
+		headers.add(CSVGraphReader.PROPERTY_ID);
+		headers.add(CSVGraphReader.PROPERTY_OBJECT_TYPE);
+		headers.add(CSVGraphReader.PROPERTY_TAGS);
+		rowsFile = File.createTempFile("graph_export_rows_", ".json");
+		rowsWriter = Files.newBufferedWriter(rowsFile.toPath(), StandardCharsets.UTF_8);
+	}
+
+	@Override
+	public void write(List<Node> nodes) throws Exception {
+		if (null == nodes)
+			return;
+		for (Node node : nodes) {
+			if (SystemNodeTypes.DATA_NODE.name().equalsIgnoreCase(node.getNodeType())) {
+				rowsWriter.write(mapper.writeValueAsString(csvWriter.getNode(node, headers)));
+				rowsWriter.newLine();
+			}
+		}
+	}
+
+	@Override
+	public void finish() throws Exception {
+		rowsWriter.close();
+		CSVFormat csvFileFormat = CSVFormat.DEFAULT.withRecordSeparator(NEW_LINE_SEPARATOR);
+		OutputStreamWriter osWriter = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+		CSVPrinter printer = new CSVPrinter(osWriter, csvFileFormat);
+		printer.printRecord((Object[]) headers.toArray(new String[headers.size()]));
+		try (BufferedReader rowsReader = Files.newBufferedReader(rowsFile.toPath(), StandardCharsets.UTF_8)) {
+			String line;
+			while (null != (line = rowsReader.readLine())) {
+				Map<String, String> nodeMap = mapper.readValue(line, ROW_TYPE);
+				printer.printRecord((Object[]) CSVGraphWriter.getRecord(nodeMap, headers));
+			}
+		}
+		printer.flush();
+	}
+
+	@Override
+	public void close() throws IOException {
+		IOUtils.closeQuietly(rowsWriter);
+		Files.deleteIfExists(rowsFile.toPath());
+	}
+
+}
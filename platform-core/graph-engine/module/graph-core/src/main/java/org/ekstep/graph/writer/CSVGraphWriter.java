@@ -44,16 +44,7 @@ public class CSVGraphWriter implements GraphWriter {
 			}
 		}
 		for (Map<String, String> nodeMap : nodeMaps) {
-			List<String> nodeData = new ArrayList<String>();
-			for (String header : headers) {
-				if (StringUtils.isNotBlank(nodeMap.get(header))) {
-					nodeData.add(nodeMap.get(header).replaceAll("<", "&lt;").replaceAll(">", "&gt;")
-							.replaceAll("\n", "").replaceAll("\r", ""));
-				} else {
-					nodeData.add("");
-				}
-			}
-			dataRows.add(nodeData.toArray(new String[nodeData.size()]));
+			dataRows.add(getRecord(nodeMap, headers));
 		}
 		List<String[]> allRows = new ArrayList<String[]>();
 		allRows.add(headers.toArray(new String[headers.size()]));
@@ -67,6 +58,19 @@ public class CSVGraphWriter implements GraphWriter {
 		}
 	}
 
+	static String[] getRecord(Map<String, String> nodeMap, List<String> headers) {
+		List<String> nodeData = new ArrayList<String>();
+		for (String header : headers) {
+			if (StringUtils.isNotBlank(nodeMap.get(header))) {
+				nodeData.add(nodeMap.get(header).replaceAll("<", "&lt;").replaceAll(">", "&gt;")
+						.replaceAll("\n", "").replaceAll("\r", ""));
+			} else {
+				nodeData.add("");
+			}
+		}
+		return nodeData.toArray(new String[nodeData.size()]);
+	}
+
 	public Map<String, String> getNode(Node node, List<String> headers) {
 		Map<String, String> nodeMap = new HashMap<String, String>();
 		getKeys(node.getMetadata(), headers);
@@ -24,4 +24,16 @@ public class GraphWriterFactory {
         }
         return graphWriter.getData();
     }
+
+    public static StreamingGraphWriter getStreamingWriter(String format, OutputStream outputStream) throws Exception {
+        if (ImportType.JSON.name().equals(format.toUpperCase())) {
+            return new JsonGraphStreamWriter(outputStream);
+        } else if (ImportType.CSV.name().equals(format.toUpperCase())) {
+            return new CSVGraphStreamWriter(outputStream);
+        } else if (ImportType.RDF.name().equals(format.toUpperCase())) {
+            return new RDFGraphStreamWriter(outputStream);
+        } else {
+            throw new ClientException(GraphEngineErrorCodes.ERR_GRAPH_EXPORT_INVALID_FORMAT.name(), "Format:" + format + " is invalid.");
+        }
+    }
 }
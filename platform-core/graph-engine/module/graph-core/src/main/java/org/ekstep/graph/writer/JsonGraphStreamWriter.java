@@ -0,0 +1,88 @@
+package org.ekstep.graph.writer;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.io.IOUtils;
+import org.codehaus.jackson.map.ObjectMapper;
+import org.ekstep.graph.dac.model.Node;
+import org.ekstep.graph.dac.model.Relation;
+
+/**
+ * Streaming variant of {@link JsonGraphWriter}. Data nodes are written as they
+ * come, relations are spooled to a temporary file until the nodes array is
+ * closed and the few definition nodes are held in memory.
+ */
+public class JsonGraphStreamWriter implements StreamingGraphWriter {
+
+	private ObjectMapper mapper = new ObjectMapper();
+	private Writer writer;
+	private List<Map<String, Object>> definitionNodes = new ArrayList<Map<String, Object>>();
+	private File relationsFile;
+	private BufferedWriter relationsWriter;
+	private long numberOfNodes = 0;
+	private long numberOfRelations = 0;
+
+	public JsonGraphStreamWriter(OutputStream outputStream) throws IOException {
+		this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+		relationsFile = File.createTempFile("graph_export_relations_", ".json");
+		relationsWriter = Files.newBufferedWriter(relationsFile.toPath(), StandardCharsets.UTF_8);
+		writer.write("{\"nodes\":[");
+	}
+
+	@Override
+	public void write(List<Node> nodes) throws Exception {
+		if (null == nodes)
+			return;
+		for (Node node : nodes) {
+			if (JsonGraphWriter.isDefinitionNode(node)) {
+				definitionNodes.add(JsonGraphWriter.getNodeMap(node, mapper));
+			} else if (JsonGraphWriter.isDataNode(node)) {
+				if (numberOfNodes > 0)
+					writer.write(",");
+				writer.write(mapper.writeValueAsString(JsonGraphWriter.getNodeMap(node, mapper)));
+				numberOfNodes += 1;
+			}
+			if (null != node.getOutRelations()) {
+				for (Relation relation : node.getOutRelations()) {
+					if (numberOfRelations > 0)
+						relationsWriter.write(",");
+					relationsWriter.write(mapper.writeValueAsString(JsonGraphWriter.getRelationMap(relation)));
+					numberOfRelations += 1;
+				}
+			}
+		}
+	}
+
+	@Override
+	public void finish() throws Exception {
+		relationsWriter.close();
+		writer.write("],\"relations\":[");
+		try (BufferedReader relationsReader = Files.newBufferedReader(relationsFile.toPath(), StandardCharsets.UTF_8)) {
+			IOUtils.copy(relationsReader, writer);
+		}
+		writer.write("],\"definitionNodes\":");
+		writer.write(mapper.writeValueAsString(definitionNodes));
+		writer.write(",\"numberOfNodes\":" + numberOfNodes);
+		writer.write(",\"numberOfRelations\":" + numberOfRelations);
+		writer.write("}");
+		writer.flush();
+	}
+
+	@Override
+	public void close() throws IOException {
+		IOUtils.closeQuietly(relationsWriter);
+		Files.deleteIfExists(relationsFile.toPath());
+	}
+
+}
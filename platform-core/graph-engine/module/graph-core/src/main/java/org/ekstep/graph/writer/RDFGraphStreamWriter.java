@@ -0,0 +1,70 @@
+package org.ekstep.graph.writer;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.ekstep.graph.dac.model.Node;
+import org.ekstep.graph.dac.model.Relation;
+import org.openrdf.model.URI;
+import org.openrdf.rio.RDFFormat;
+import org.openrdf.rio.RDFWriter;
+import org.openrdf.rio.Rio;
+
+/**
+ * Streaming variant of {@link RDFGraphWriter}. Statements are handed to the rio
+ * writer as the nodes come, the relations of a node right after it.
+ */
+public class RDFGraphStreamWriter extends RDFGraphWriter implements StreamingGraphWriter {
+
+	private Writer out;
+	private RDFWriter writer;
+	private boolean started = false;
+
+	public RDFGraphStreamWriter(OutputStream outputStream) {
+		super();
+		this.out = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+		RDFFormat format = Rio.getWriterFormatForMIMEType(MIME_RDFXML, RDFFormat.RDFXML);
+		this.writer = Rio.createWriter(format, out);
+	}
+
+	@Override
+	public void write(List<Node> nodes) throws Exception {
+		if (!started) {
+			startRDF(writer);
+			started = true;
+		}
+		if (null == nodes)
+			return;
+		// uris are cached per page only, to keep the memory bounded.
+		Map<Object, URI> uriCache = new HashMap<Object, URI>();
+		for (Node node : nodes) {
+			writeNode(writer, node, uriCache);
+			if (null != node.getOutRelations()) {
+				for (Relation relation : node.getOutRelations())
+					writeRelation(writer, relation, uriCache);
+			}
+		}
+	}
+
+	@Override
+	public void finish() throws Exception {
+		if (!started) {
+			startRDF(writer);
+			started = true;
+		}
+		writer.endRDF();
+		out.flush();
+	}
+
+	@Override
+	public void close() throws IOException {
+	}
+
+}
@@ -188,101 +188,112 @@ public class RDFGraphWriter implements GraphWriter {
 		Map<Object, URI> uriCache = new HashMap<Object, URI>();
 
 		// Start writing the RDF content
+		startRDF(writer);
+
+		for (Node node : nodes) {
+			writeNode(writer, node, uriCache);
+		}
+
+		for (Relation relation : relations) {
+			writeRelation(writer, relation, uriCache);
+		}
+
+		writer.endRDF();
+
+		try (OutputStream outputStream = new ByteArrayOutputStream()) {
+			outputStream.write(out.toString().getBytes());
+			return outputStream;
+		}
+	}
+
+	protected void startRDF(RDFWriter writer) throws Exception {
 		writer.startRDF();
 		// Write all name-spaces to the output
 		for (String prefix : namespaceMap.keySet()) {
 			writer.handleNamespace(prefix, namespaceMap.get(prefix) + "#");
 		}
+	}
 
-		for (Node node : nodes) {
-			URI subject = getUri(node, uriCache);
-
-			String idval = node.getIdentifier();
-			URI idPredicate = getUri(PROPERTY_ID, uriCache);
-			Value idObject = new LiteralImpl(idval);
-			Statement st = new StatementImpl(subject, idPredicate, idObject);
-			writer.handleStatement(st);
-			Statement nodeTypeSt = new StatementImpl(subject, getUri(PROPERTY_NODE_TYPE, uriCache),
-					new LiteralImpl(node.getNodeType()));
-			writer.handleStatement(nodeTypeSt);
-			if (StringUtils.isNotBlank(node.getObjectType())) {
-				Statement objTypeSt = new StatementImpl(subject, getUri(PROPERTY_OBJECT_TYPE, uriCache),
-						new LiteralImpl(node.getObjectType()));
-				writer.handleStatement(objTypeSt);
-			}
+	protected void writeNode(RDFWriter writer, Node node, Map<Object, URI> uriCache) throws Exception {
+		URI subject = getUri(node, uriCache);
 
-			if (SystemNodeTypes.DEFINITION_NODE.name().equals(node.getNodeType())) {
-				if (null != node.getMetadata().get("INDEXABLE_METADATA_KEY")) {
-					URI predIndMeta = getUri("indexedMetadata", uriCache);
-					Value indMeta = new LiteralImpl(node.getMetadata().get("INDEXABLE_METADATA_KEY").toString());
-					Statement stIndMeta = new StatementImpl(subject, predIndMeta, indMeta);
-					writer.handleStatement(stIndMeta);
-				}
-				if (null != node.getMetadata().get("NON_INDEXABLE_METADATA_KEY")) {
-					URI preNonIndMeta = getUri("nonIndexedMetadata", uriCache);
-					Value nonIndMeta = new LiteralImpl(node.getMetadata().get("NON_INDEXABLE_METADATA_KEY").toString());
-					Statement stNonIndMeta = new StatementImpl(subject, preNonIndMeta, nonIndMeta);
-					writer.handleStatement(stNonIndMeta);
-				}
+		String idval = node.getIdentifier();
+		URI idPredicate = getUri(PROPERTY_ID, uriCache);
+		Value idObject = new LiteralImpl(idval);
+		Statement st = new StatementImpl(subject, idPredicate, idObject);
+		writer.handleStatement(st);
+		Statement nodeTypeSt = new StatementImpl(subject, getUri(PROPERTY_NODE_TYPE, uriCache),
+				new LiteralImpl(node.getNodeType()));
+		writer.handleStatement(nodeTypeSt);
+		if (StringUtils.isNotBlank(node.getObjectType())) {
+			Statement objTypeSt = new StatementImpl(subject, getUri(PROPERTY_OBJECT_TYPE, uriCache),
+					new LiteralImpl(node.getObjectType()));
+			writer.handleStatement(objTypeSt);
+		}
 
-				if (null != node.getMetadata().get("IN_RELATIONS_KEY")) {
-					URI preInRelMeta = getUri("inRelations", uriCache);
-					Value inRelMeta = new LiteralImpl(node.getMetadata().get("IN_RELATIONS_KEY").toString());
-					Statement stInRelMeta = new StatementImpl(subject, preInRelMeta, inRelMeta);
-					writer.handleStatement(stInRelMeta);
-				}
+		if (SystemNodeTypes.DEFINITION_NODE.name().equals(node.getNodeType())) {
+			if (null != node.getMetadata().get("INDEXABLE_METADATA_KEY")) {
+				URI predIndMeta = getUri("indexedMetadata", uriCache);
+				Value indMeta = new LiteralImpl(node.getMetadata().get("INDEXABLE_METADATA_KEY").toString());
+				Statement stIndMeta = new StatementImpl(subject, predIndMeta, indMeta);
+				writer.handleStatement(stIndMeta);
+			}
+			if (null != node.getMetadata().get("NON_INDEXABLE_METADATA_KEY")) {
+				URI preNonIndMeta = getUri("nonIndexedMetadata", uriCache);
+				Value nonIndMeta = new LiteralImpl(node.getMetadata().get("NON_INDEXABLE_METADATA_KEY").toString());
+				Statement stNonIndMeta = new StatementImpl(subject, preNonIndMeta, nonIndMeta);
+				writer.handleStatement(stNonIndMeta);
+			}
 
-				if (null != node.getMetadata().get("OUT_RELATIONS_KEY")) {
-					URI preOutRelMeta = getUri("outRelations", uriCache);
-					Value outRelMeta = new LiteralImpl(node.getMetadata().get("OUT_RELATIONS_KEY").toString());
-					Statement stOutRelMeta = new StatementImpl(subject, preOutRelMeta, outRelMeta);
-					writer.handleStatement(stOutRelMeta);
-				}
+			if (null != node.getMetadata().get("IN_RELATIONS_KEY")) {
+				URI preInRelMeta = getUri("inRelations", uriCache);
+				Value inRelMeta = new LiteralImpl(node.getMetadata().get("IN_RELATIONS_KEY").toString());
+				Statement stInRelMeta = new StatementImpl(subject, preInRelMeta, inRelMeta);
+				writer.handleStatement(stInRelMeta);
+			}
 
-			} else if (!SystemNodeTypes.DEFINITION_NODE.name().equals(node.getNodeType())
-					&& !SystemNodeTypes.ROOT_NODE.name().equals(node.getNodeType())) {
-				// Serialize all properties as RDF statements
-				for (Entry<String, Object> entry : node.getMetadata().entrySet()) {
-					Object val = entry.getValue();
-					URI predicate = getUri(entry.getKey(), uriCache);
-					Value object = new LiteralImpl(val.toString());
-					Statement stMeta = new StatementImpl(subject, predicate, object);
-					writer.handleStatement(stMeta);
-				}
+			if (null != node.getMetadata().get("OUT_RELATIONS_KEY")) {
+				URI preOutRelMeta = getUri("outRelations", uriCache);
+				Value outRelMeta = new LiteralImpl(node.getMetadata().get("OUT_RELATIONS_KEY").toString());
+				Statement stOutRelMeta = new StatementImpl(subject, preOutRelMeta, outRelMeta);
+				writer.handleStatement(stOutRelMeta);
 			}
 
+		} else if (!SystemNodeTypes.DEFINITION_NODE.name().equals(node.getNodeType())
+				&& !SystemNodeTypes.ROOT_NODE.name().equals(node.getNodeType())) {
+			// Serialize all properties as RDF statements
+			for (Entry<String, Object> entry : node.getMetadata().entrySet()) {
+				Object val = entry.getValue();
+				URI predicate = getUri(entry.getKey(), uriCache);
+				Value object = new LiteralImpl(val.toString());
+				Statement stMeta = new StatementImpl(subject, predicate, object);
+				writer.handleStatement(stMeta);
+			}
 		}
+	}
 
-		for (Relation relation : relations) {
-			URI subject = getUri(relation, uriCache);
+	protected void writeRelation(RDFWriter writer, Relation relation, Map<Object, URI> uriCache) throws Exception {
+		URI subject = getUri(relation, uriCache);
 
-			if (null != relation.getMetadata()) {
-				for (Entry<String, Object> entry : relation.getMetadata().entrySet()) {
-					URI relPredicate = getUri(entry.getKey(), uriCache);
-					Value relObject = new LiteralImpl(entry.getValue().toString());
-					writer.handleStatement(new StatementImpl(subject, relPredicate, relObject));
-				}
+		if (null != relation.getMetadata()) {
+			for (Entry<String, Object> entry : relation.getMetadata().entrySet()) {
+				URI relPredicate = getUri(entry.getKey(), uriCache);
+				Value relObject = new LiteralImpl(entry.getValue().toString());
+				writer.handleStatement(new StatementImpl(subject, relPredicate, relObject));
 			}
-
-			URI relEnd = getUri(relation.getEndNodeId(), uriCache);
-			URI relPredicate = getUri(PROPERTY_RELATION_END, uriCache);
-			writer.handleStatement(new StatementImpl(subject, relPredicate, relEnd));
-
-			URI relFrom = getUri(relation.getStartNodeId(), uriCache);
-			relPredicate = getUri(PROPERTY_RELATION_START, uriCache);
-			writer.handleStatement(new StatementImpl(subject, relPredicate, relFrom));
-
-			Literal label = new LiteralImpl(relation.getRelationType());
-			relPredicate = getUri(PROPERTY_RELATION_TYPE, uriCache);
-			writer.handleStatement(new StatementImpl(subject, relPredicate, label));
 		}
 
-		writer.endRDF();
+		URI relEnd = getUri(relation.getEndNodeId(), uriCache);
+		URI relPredicate = getUri(PROPERTY_RELATION_END, uriCache);
+		writer.handleStatement(new StatementImpl(subject, relPredicate, relEnd));
 
-		try (OutputStream outputStream = new ByteArrayOutputStream()) {
-			outputStream.write(out.toString().getBytes());
-			return outputStream;
-		}
+		URI relFrom = getUri(relation.getStartNodeId(), uriCache);
+		relPredicate = getUri(PROPERTY_RELATION_START, uriCache);
+		writer.handleStatement(new StatementImpl(subject, relPredicate, relFrom));
+
+		Literal label = new LiteralImpl(relation.getRelationType());
+		relPredicate = getUri(PROPERTY_RELATION_TYPE, uriCache);
+		writer.handleStatement(new StatementImpl(subject, relPredicate, label));
 	}
 
 	/**
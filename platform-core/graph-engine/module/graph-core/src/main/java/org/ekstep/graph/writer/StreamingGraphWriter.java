@@ -0,0 +1,25 @@
+package org.ekstep.graph.writer;
+
+import java.io.Closeable;
+import java.util.List;
+
+import org.ekstep.graph.dac.model.Node;
+
+/**
+ * Writes the export of a graph to an output stream one page of nodes at a
+ * time, so that the whole graph is never held in memory. The relations of the
+ * graph are exported from the out relations of the written nodes.
+ * 
+ * The output stream is owned by the caller, closing the writer only releases
+ * the temporary resources held by it.
+ */
+public interface StreamingGraphWriter extends Closeable {
+
+	void write(List<Node> nodes) throws Exception;
+
+	/**
+	 * Completes the export, after the last page of nodes is written.
+	 */
+	void finish() throws Exception;
+
+}
@@ -0,0 +1,146 @@
+package org.ekstep.graph.model;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.ekstep.common.dto.Request;
+import org.ekstep.common.dto.Response;
+import org.ekstep.graph.common.enums.GraphEngineParams;
+import org.ekstep.graph.common.mgr.BaseGraphManager;
+import org.ekstep.graph.dac.enums.GraphDACParams;
+import org.ekstep.graph.dac.enums.SystemNodeTypes;
+import org.ekstep.graph.dac.mgr.IGraphDACNodeMgr;
+import org.ekstep.graph.dac.mgr.IGraphDACSearchMgr;
+import org.ekstep.graph.dac.model.Node;
+import org.ekstep.graph.dac.model.SearchCriteria;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+/**
+ * Validates pages of nodes read from a mocked search manager. The nodes have
+ * no object type, so each data node gets one message without a definition
+ * being read.
+ */
+public class GraphValidatorTest {
+
+	private static final int PAGE_SIZE = 1000;
+
+	private IGraphDACSearchMgr searchMgr;
+	private IGraphDACNodeMgr nodeMgr;
+	private GraphValidator validator;
+	private File messagesFile;
+
+	@Before
+	public void setUp() throws Exception {
+		searchMgr = Mockito.mock(IGraphDACSearchMgr.class);
+		nodeMgr = Mockito.mock(IGraphDACNodeMgr.class);
+		Mockito.when(nodeMgr.updatePropertyValues(Mockito.any(Request.class))).thenReturn(new Response());
+		validator = new GraphValidator(Mockito.mock(BaseGraphManager.class), "test", searchMgr, nodeMgr,
+				new Request());
+		messagesFile = File.createTempFile("graph_validator_test", ".csv");
+	}
+
+	@After
+	public void tearDown() {
+		messagesFile.delete();
+	}
+
+	@Test
+	public void testMessagesAreWrittenPageByPage() throws Exception {
+		List<Node> firstPage = createNodes(0, PAGE_SIZE);
+		firstPage.add(0, new Node("def_1", SystemNodeTypes.DEFINITION_NODE.name(), "Content"));
+		firstPage.remove(firstPage.size() - 1);
+		Mockito.when(searchMgr.getNodesPage(Mockito.any(Request.class))).thenReturn(getResponse(firstPage),
+				getResponse(createNodes(PAGE_SIZE, 1)));
+
+		validator.run(null, "task_1", messagesFile);
+
+		ArgumentCaptor<Request> pageReqs = ArgumentCaptor.forClass(Request.class);
+		Mockito.verify(searchMgr, Mockito.times(2)).getNodesPage(pageReqs.capture());
+		Assert.assertEquals("", pageReqs.getAllValues().get(0).get(GraphDACParams.after_id.name()));
+		Assert.assertEquals(getId(PAGE_SIZE - 2), pageReqs.getAllValues().get(1).get(GraphDACParams.after_id.name()));
+
+		List<String> lines = Files.readAllLines(messagesFile.toPath(), StandardCharsets.UTF_8);
+		Assert.assertEquals("identifier,message", lines.get(0));
+		Assert.assertEquals(PAGE_SIZE, lines.size() - 1);
+		Assert.assertTrue(lines.contains(getId(0) + ",Object type not set for node: " + getId(0)));
+
+		List<Map<String, Object>> updates = getTaskUpdates();
+		Assert.assertEquals(messagesFile.getAbsolutePath(),
+				updates.get(0).get(GraphEngineParams.messages_file.name()));
+		// the progress is written after each page is validated.
+		Assert.assertEquals(PAGE_SIZE, updates.get(1).get(GraphDACParams.nodesCount.name()));
+		Assert.assertEquals(PAGE_SIZE - 1, updates.get(1).get(GraphEngineParams.messages_count.name()));
+		Map<String, Object> last = updates.get(updates.size() - 1);
+		Assert.assertEquals(GraphEngineParams.Completed.name(), last.get(GraphEngineParams.status.name()));
+		Assert.assertEquals(PAGE_SIZE + 1, last.get(GraphDACParams.nodesCount.name()));
+		Assert.assertEquals(PAGE_SIZE, last.get(GraphEngineParams.messages_count.name()));
+	}
+
+	@Test
+	public void testUpdatedNodesAreValidated() throws Exception {
+		Mockito.when(searchMgr.searchNodes(Mockito.any(Request.class))).thenReturn(getResponse(createNodes(0, 2)));
+
+		validator.run("2018-01-01T00:00:00.000+0000", "task_1", messagesFile);
+
+		ArgumentCaptor<Request> searchReq = ArgumentCaptor.forClass(Request.class);
+		Mockito.verify(searchMgr).searchNodes(searchReq.capture());
+		SearchCriteria criteria = (SearchCriteria) searchReq.getValue().get(GraphDACParams.search_criteria.name());
+		Assert.assertEquals(0, criteria.getStartPosition());
+		Mockito.verify(searchMgr, Mockito.never()).getNodesPage(Mockito.any(Request.class));
+		Assert.assertEquals(3, Files.readAllLines(messagesFile.toPath(), StandardCharsets.UTF_8).size());
+		List<Map<String, Object>> updates = getTaskUpdates();
+		Map<String, Object> last = updates.get(updates.size() - 1);
+		Assert.assertEquals(GraphEngineParams.Completed.name(), last.get(GraphEngineParams.status.name()));
+		Assert.assertEquals(2, last.get(GraphEngineParams.messages_count.name()));
+	}
+
+	@Test
+	public void testFailedValidationUpdatesTask() throws Exception {
+		Mockito.when(searchMgr.getNodesPage(Mockito.any(Request.class))).thenThrow(new RuntimeException("read failed"));
+
+		validator.run(null, "task_1", messagesFile);
+
+		List<Map<String, Object>> updates = getTaskUpdates();
+		Map<String, Object> last = updates.get(updates.size() - 1);
+		Assert.assertEquals(GraphEngineParams.Failed.name(), last.get(GraphEngineParams.status.name()));
+		Assert.assertEquals("read failed", last.get(GraphDACParams.message.name()));
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<Map<String, Object>> getTaskUpdates() {
+		ArgumentCaptor<Request> taskReqs = ArgumentCaptor.forClass(Request.class);
+		Mockito.verify(nodeMgr, Mockito.atLeastOnce()).updatePropertyValues(taskReqs.capture());
+		List<Map<String, Object>> updates = new ArrayList<Map<String, Object>>();
+		for (Request taskReq : taskReqs.getAllValues()) {
+			Assert.assertEquals("task_1", taskReq.get(GraphDACParams.node_id.name()));
+			updates.add((Map<String, Object>) taskReq.get(GraphDACParams.metadata.name()));
+		}
+		return updates;
+	}
+
+	private List<Node> createNodes(int start, int count) {
+		List<Node> nodes = new ArrayList<Node>();
+		for (int i = start; i < start + count; i++)
+			nodes.add(new Node(getId(i), SystemNodeTypes.DATA_NODE.name(), null));
+		return nodes;
+	}
+
+	private String getId(int index) {
+		return String.format("do_%05d", index);
+	}
+
+	private Response getResponse(List<Node> nodes) {
+		Response response = new Response();
+		response.put(GraphDACParams.node_list.name(), nodes);
+		return response;
+	}
+}
@@ -64,5 +64,7 @@ public enum GraphDACErrorCodes {
     
     ERR_GRAPH_QUERY_NOT_FOUND,
     
-    ERR_GRAPH_QUERY_KEY_NOT_FOUND;
+    ERR_GRAPH_QUERY_KEY_NOT_FOUND,
+    
+    ERR_GET_NODES_PAGE_INVALID_LIMIT;
 }
@@ -23,6 +23,12 @@ public interface IGraphDACGraphMgr {
 
 	Response importGraph(Request request);
 
+	Response importNodes(Request request);
+
+	Response importRelations(Request request);
+
+	Response completeImport(Request request);
+
 	Response createCollection(Request request);
 
 	Response deleteCollection(Request request);
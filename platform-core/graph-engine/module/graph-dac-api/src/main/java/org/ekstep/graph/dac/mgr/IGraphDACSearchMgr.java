@@ -1,7 +1,11 @@
 package org.ekstep.graph.dac.mgr;
 
+import java.util.Iterator;
+import java.util.concurrent.CompletionStage;
+
 import org.ekstep.common.dto.Request;
 import org.ekstep.common.dto.Response;
+import org.ekstep.graph.dac.model.Node;
 
 public interface IGraphDACSearchMgr {
 
@@ -19,6 +23,8 @@ public interface IGraphDACSearchMgr {
 
 	Response getAllNodes(Request request);
 
+	Response getNodesPage(Request request);
+
 	Response getRelation(Request request);
 
 	Response getRelationProperty(Request request);
@@ -38,4 +44,32 @@ public interface IGraphDACSearchMgr {
 	Response traverseSubGraph(Request request);
     
 	Response getSubGraph(Request request);
+
+	Response getHierarchyNodes(Request request);
+
+	/*
+	 * Streams the nodes matching the search criteria, read from the result
+	 * only as the iterator is read. The iterator holds the session of the
+	 * query, so it should be closed once done with, as an AutoCloseable.
+	 */
+	Iterator<Node> streamNodes(Request request);
+
+	/*
+	 * The async variants run the operation off the calling thread and complete
+	 * the stage with its response.
+	 */
+
+	CompletionStage<Response> getNodesByUniqueIdsAsync(Request request);
+
+	CompletionStage<Response> executeQueryForPropsAsync(Request request);
+
+	CompletionStage<Response> searchNodesAsync(Request request);
+
+	CompletionStage<Response> traverseAsync(Request request);
+
+	CompletionStage<Response> traverseSubGraphAsync(Request request);
+
+	CompletionStage<Response> getSubGraphAsync(Request request);
+
+	CompletionStage<Response> getHierarchyNodesAsync(Request request);
 }
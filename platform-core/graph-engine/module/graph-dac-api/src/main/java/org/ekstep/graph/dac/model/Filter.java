@@ -4,6 +4,7 @@ import java.io.Serializable;
 
 import org.apache.commons.lang3.StringUtils;
 import org.ekstep.graph.dac.enums.SystemProperties;
+import org.ekstep.graph.service.util.CypherQueryBuilder;
 
 public class Filter implements Serializable {
 
@@ -65,43 +66,43 @@ public class Filter implements Serializable {
             property = SystemProperties.IL_UNIQUE_ID.name();
         }
         if (SearchConditions.OP_EQUAL.equals(getOperator())) {
-            sb.append(" ").append(param).append(property).append(" = {").append(pIndex).append("} ");
+            sb.append(" ").append(param).append(CypherQueryBuilder.escape(property)).append(" = {").append(pIndex).append("} ");
             sc.params.put("" + pIndex, value);
             pIndex += 1;
         } else if (SearchConditions.OP_LIKE.equals(getOperator())) {
-            sb.append(" ").append(param).append(property).append(" =~ {").append(pIndex).append("} ");
+            sb.append(" ").append(param).append(CypherQueryBuilder.escape(property)).append(" =~ {").append(pIndex).append("} ");
             sc.params.put("" + pIndex, "(?i).*" + value + ".*");
             pIndex += 1;
         } else if (SearchConditions.OP_STARTS_WITH.equals(getOperator())) {
-            sb.append(" ").append(param).append(property).append(" =~ {").append(pIndex).append("} ");
+            sb.append(" ").append(param).append(CypherQueryBuilder.escape(property)).append(" =~ {").append(pIndex).append("} ");
             sc.params.put("" + pIndex, "(?i)" + value + ".*");
             pIndex += 1;
         } else if (SearchConditions.OP_ENDS_WITH.equals(getOperator())) {
-            sb.append(" ").append(param).append(property).append(" =~ {").append(pIndex).append("} ");
+            sb.append(" ").append(param).append(CypherQueryBuilder.escape(property)).append(" =~ {").append(pIndex).append("} ");
             sc.params.put("" + pIndex, "(?i).*" + value);
             pIndex += 1;
         } else if (SearchConditions.OP_GREATER_THAN.equals(getOperator())) {
-            sb.append(" ").append(param).append(property).append(" > {").append(pIndex).append("} ");
+            sb.append(" ").append(param).append(CypherQueryBuilder.escape(property)).append(" > {").append(pIndex).append("} ");
             sc.params.put("" + pIndex, value);
             pIndex += 1;
         } else if (SearchConditions.OP_GREATER_OR_EQUAL.equals(getOperator())) {
-            sb.append(" ").append(param).append(property).append(" >= {").append(pIndex).append("} ");
+            sb.append(" ").append(param).append(CypherQueryBuilder.escape(property)).append(" >= {").append(pIndex).append("} ");
             sc.params.put("" + pIndex, value);
             pIndex += 1;
         } else if (SearchConditions.OP_LESS_THAN.equals(getOperator())) {
-            sb.append(" ").append(param).append(property).append(" < {").append(pIndex).append("} ");
+            sb.append(" ").append(param).append(CypherQueryBuilder.escape(property)).append(" < {").append(pIndex).append("} ");
             sc.params.put("" + pIndex, value);
             pIndex += 1;
         } else if (SearchConditions.OP_LESS_OR_EQUAL.equals(getOperator())) {
-            sb.append(" ").append(param).append(property).append(" <= {").append(pIndex).append("} ");
+            sb.append(" ").append(param).append(CypherQueryBuilder.escape(property)).append(" <= {").append(pIndex).append("} ");
             sc.params.put("" + pIndex, value);
             pIndex += 1;
         } else if (SearchConditions.OP_NOT_EQUAL.equals(getOperator())) {
-            sb.append(" NOT ").append(param).append(property).append(" = {").append(pIndex).append("} ");
+            sb.append(" NOT ").append(param).append(CypherQueryBuilder.escape(property)).append(" = {").append(pIndex).append("} ");
             sc.params.put("" + pIndex, value);
             pIndex += 1;
         } else if (SearchConditions.OP_IN.equals(getOperator())) {
-        		sb.append(" ").append(param).append(property).append(" in {").append(pIndex).append("} ");
+        		sb.append(" ").append(param).append(CypherQueryBuilder.escape(property)).append(" in {").append(pIndex).append("} ");
             sc.params.put("" + pIndex, value);
             pIndex += 1;
         }
@@ -6,6 +6,7 @@ import java.util.List;
 
 import org.apache.commons.lang3.StringUtils;
 import org.ekstep.graph.dac.enums.SystemProperties;
+import org.ekstep.graph.service.util.CypherQueryBuilder;
 
 public class RelationCriterion implements Serializable {
 
@@ -175,7 +176,7 @@ public class RelationCriterion implements Serializable {
                 RelationFilter filter = filters.get(i);
                 if (StringUtils.equalsIgnoreCase(DIRECTION.IN.name(), filter.getDirection()))
                     sb.append("<");
-                sb.append("-[:").append(filter.getName());
+                sb.append("-[:").append(CypherQueryBuilder.escape(filter.getName()));
                 if (filter.getFromDepth() > 0) {
                     sb.append("*").append(filter.getFromDepth());
                     if (filter.getToDepth() > 0)
@@ -200,7 +201,7 @@ public class RelationCriterion implements Serializable {
             if (direction.equals(DIRECTION.IN))
                 sb.append("<");
             sb.append("-[");
-            sb.append(":").append(name);
+            sb.append(":").append(CypherQueryBuilder.escape(name));
             if (fromDepth > 0) {
                 sb.append("*").append(fromDepth);
                 if (toDepth > 0)
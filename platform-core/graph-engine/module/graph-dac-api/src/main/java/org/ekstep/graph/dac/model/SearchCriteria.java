@@ -10,6 +10,7 @@ import java.util.Map;
 import org.apache.commons.lang3.StringUtils;
 import org.codehaus.jackson.annotate.JsonIgnore;
 import org.ekstep.graph.dac.enums.SystemProperties;
+import org.ekstep.graph.service.util.CypherQueryBuilder;
 
 public class SearchCriteria implements Serializable {
 
@@ -23,6 +24,7 @@ public class SearchCriteria implements Serializable {
     private boolean countQuery;
     private int resultSize = 0;
     private int startPosition = 0;
+    private String afterId;
     private List<String> fields = new LinkedList<String>();
     private List<Sort> sortOrder = new LinkedList<Sort>();
 
@@ -85,6 +87,20 @@ public class SearchCriteria implements Serializable {
         this.startPosition = startPosition;
     }
     
+    public String getAfterId() {
+        return afterId;
+    }
+
+    /**
+     * Restricts the result to the nodes with an identifier greater than the
+     * given one, to page through a result sorted by identifier without SKIP.
+     *
+     * @param afterId
+     */
+    public void setAfterId(String afterId) {
+        this.afterId = afterId;
+    }
+
     public String getGraphId() {
 		return graphId;
 	}
@@ -127,9 +143,10 @@ public class SearchCriteria implements Serializable {
     public String getQuery() {
         StringBuilder sb = new StringBuilder();
         pIndex = 1;
-        sb.append("MATCH (ee:" + (StringUtils.isBlank(graphId) ? "NODE" : graphId) + ") ");
-        if (StringUtils.isNotBlank(nodeType) || StringUtils.isNotBlank(objectType)
-                || (null != metadata && metadata.size() > 0)) {
+        sb.append("MATCH (ee:" + (StringUtils.isBlank(graphId) ? "NODE" : CypherQueryBuilder.escape(graphId)) + ") ");
+        boolean where = StringUtils.isNotBlank(nodeType) || StringUtils.isNotBlank(objectType)
+                || (null != metadata && metadata.size() > 0);
+        if (where) {
             sb.append("WHERE ( ");
             if (StringUtils.isNotBlank(nodeType)) {
                 sb.append(" ee.").append(SystemProperties.IL_SYS_NODE_TYPE.name()).append(" = {").append(pIndex)
@@ -159,6 +176,12 @@ public class SearchCriteria implements Serializable {
             }
             sb.append(") ");
         }
+        if (StringUtils.isNotBlank(afterId)) {
+            sb.append(where ? "AND " : "WHERE ").append("ee.").append(SystemProperties.IL_UNIQUE_ID.name())
+                    .append(" > {").append(pIndex).append("} ");
+            params.put("" + pIndex, afterId);
+            pIndex += 1;
+        }
         if (null != relations && relations.size() > 0) {
             for (RelationCriterion rel : relations)
                 sb.append(rel.getCypher(this, null));
@@ -171,7 +194,7 @@ public class SearchCriteria implements Serializable {
                     sb.append("ORDER BY ");
                     for (int i = 0; i < sortOrder.size(); i++) {
                         Sort sort = sortOrder.get(i);
-                        sb.append("ee.").append(sort.getSortField()).append(" ");
+                        sb.append("ee.").append(CypherQueryBuilder.escape(sort.getSortField())).append(" ");
                         if (StringUtils.equals(Sort.SORT_DESC, sort.getSortOrder())) {
                             sb.append("DESC ");
                         }
@@ -183,12 +206,14 @@ public class SearchCriteria implements Serializable {
                     sb.append("SKIP ").append(startPosition).append(" ");
                 if (resultSize > 0)
                     sb.append("LIMIT ").append(resultSize).append(" ");
-                sb.append("OPTIONAL MATCH (ee)-[r]-() RETURN ee, r, startNode(r) as __startNode, endNode(r) as __endNode ");
+                // one record for each node, with its relations in a list, in the order of the search.
+                sb.append("RETURN ee, [(ee)-[r]-() | [r, startNode(r), endNode(r)]] as __relations ");
             } else {
             	returnNode = false;
                 sb.append("RETURN ");
                 for (int i = 0; i < fields.size(); i++) {
-                    sb.append("ee.").append(fields.get(i)).append(" as ").append(fields.get(i)).append(" ");
+                    String field = CypherQueryBuilder.escape(fields.get(i));
+                    sb.append("ee.").append(field).append(" as ").append(field).append(" ");
                     if (i < fields.size() - 1)
                         sb.append(", ");
                 }
@@ -198,7 +223,7 @@ public class SearchCriteria implements Serializable {
                     sb.append("ORDER BY ");
                     for (int i = 0; i < sortOrder.size(); i++) {
                         Sort sort = sortOrder.get(i);
-                        sb.append("ee.").append(sort.getSortField()).append(" ");
+                        sb.append("ee.").append(CypherQueryBuilder.escape(sort.getSortField())).append(" ");
                         if (StringUtils.equals(Sort.SORT_DESC, sort.getSortOrder())) {
                             sb.append("DESC ");
                         }
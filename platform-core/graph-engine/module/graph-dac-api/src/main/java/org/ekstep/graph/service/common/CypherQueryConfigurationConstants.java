@@ -36,6 +36,8 @@ public class CypherQueryConfigurationConstants {
 
 	public final static String DEFAULT_CYPHER_END_NODE_OBJECT = "__endNode";
 
+	public final static String DEFAULT_CYPHER_RELATIONS_OBJECT = "__relations";
+
 	public final static String DEFAULT_CYPHER_COUNT_OBJECT = "__count";
 
 	public final static String OPEN_SQUARE_BRACKETS = "[";
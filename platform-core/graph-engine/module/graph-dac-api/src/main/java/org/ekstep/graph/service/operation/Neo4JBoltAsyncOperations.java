@@ -0,0 +1,72 @@
+package org.ekstep.graph.service.operation;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.ekstep.common.Platform;
+import org.ekstep.common.dto.ExecutionContext;
+import org.ekstep.graph.service.common.DACConfigurationConstants;
+
+/**
+ * Runs graph operations on a pool of their own, so that the callers (the
+ * graph engine actors) are not blocked while the statements run. The pool is
+ * sized to the sessions kept open with the database by default, so that the
+ * operations running at a time are bound by the database and not by the
+ * number of actors.
+ *
+ * The operations waiting for the pool are bound by the queue size. Once the
+ * queue is full, the operation is run by the caller, as it was before the
+ * pool, which slows the callers down instead of queueing without bound.
+ */
+public class Neo4JBoltAsyncOperations {
+
+	private static final int POOL_SIZE = Platform.config.hasPath("graph.dac.async.pool_size")
+			? Platform.config.getInt("graph.dac.async.pool_size")
+			: DACConfigurationConstants.NEO4J_SERVER_MAX_IDLE_SESSION;
+
+	private static final int QUEUE_SIZE = Platform.config.hasPath("graph.dac.async.queue_size")
+			? Platform.config.getInt("graph.dac.async.queue_size")
+			: 10 * POOL_SIZE;
+
+	private static final ThreadPoolExecutor executor = new ThreadPoolExecutor(POOL_SIZE, POOL_SIZE, 0L,
+			TimeUnit.MILLISECONDS, new ArrayBlockingQueue<Runnable>(QUEUE_SIZE), new ThreadFactory(),
+			new ThreadPoolExecutor.CallerRunsPolicy());
+
+	/**
+	 * Runs the operation on the graph operations pool, with a copy of the
+	 * execution context of the calling thread, which goes on using its own.
+	 *
+	 * @param operation
+	 *            the operation
+	 * @return the stage completed with the result of the operation, or with
+	 *         the exception thrown by it
+	 */
+	public static <T> CompletionStage<T> supplyAsync(Supplier<T> operation) {
+		ExecutionContext context = ExecutionContext.getCurrent().copy();
+		return CompletableFuture.supplyAsync(() -> {
+			ExecutionContext previous = ExecutionContext.getCurrent();
+			ExecutionContext.setCurrent(context);
+			try {
+				return operation.get();
+			} finally {
+				ExecutionContext.setCurrent(previous);
+			}
+		}, executor);
+	}
+
+	private static class ThreadFactory implements java.util.concurrent.ThreadFactory {
+		private final AtomicInteger count = new AtomicInteger();
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable, "graph-dac-async-" + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+}
@@ -8,21 +8,18 @@ import java.util.Map.Entry;
 
 import org.apache.commons.lang3.StringUtils;
 import org.ekstep.common.dto.Request;
-import org.ekstep.common.exception.ResourceNotFoundException;
 import org.ekstep.common.exception.ServerException;
 import org.ekstep.graph.cache.mgr.impl.NodeCacheManager;
 import org.ekstep.graph.cache.util.RedisStoreUtil;
-import org.ekstep.graph.common.Identifier;
-import org.ekstep.graph.common.enums.GraphEngineParams;
 import org.ekstep.graph.dac.enums.GraphDACParams;
 import org.ekstep.graph.dac.enums.SystemNodeTypes;
 import org.ekstep.graph.dac.enums.SystemProperties;
 import org.ekstep.graph.dac.model.Node;
-import org.ekstep.graph.dac.model.Relation;
 import org.ekstep.graph.importer.ImportData;
 import org.ekstep.graph.service.common.DACErrorCodeConstants;
 import org.ekstep.graph.service.common.DACErrorMessageConstants;
 import org.ekstep.graph.service.common.GraphOperation;
+import org.ekstep.graph.service.util.CypherQuery;
 import org.ekstep.graph.service.util.DriverUtil;
 import org.ekstep.graph.service.util.GraphQueryGenerationUtil;
 import org.ekstep.telemetry.logger.TelemetryManager;
@@ -360,7 +357,8 @@ public class Neo4JBoltGraphOperations {
 			parameterMap.put(GraphDACParams.request.name(), request);
 
 			try ( Transaction tx = session.beginTransaction() ) {
-				StatementResult result = tx.run(GraphQueryGenerationUtil.generateDeleteRelationCypherQuery(parameterMap));
+				CypherQuery cypherQuery = GraphQueryGenerationUtil.generateDeleteRelationCypherQuery(parameterMap);
+				StatementResult result = tx.run(cypherQuery.getQuery(), cypherQuery.getParams());
 				tx.success();
 				for (Record record : result.list()) {
 					TelemetryManager.log("'Delete Relation' Operation Finished.", record.asMap());
@@ -596,8 +594,8 @@ public class Neo4JBoltGraphOperations {
 			parameterMap.put(GraphDACParams.key.name(), key);
 			parameterMap.put(GraphDACParams.request.name(), request);
 
-			StatementResult result = session
-					.run(GraphQueryGenerationUtil.generateRemoveRelationMetadataCypherQuery(parameterMap));
+			CypherQuery cypherQuery = GraphQueryGenerationUtil.generateRemoveRelationMetadataCypherQuery(parameterMap);
+			StatementResult result = session.run(cypherQuery.getQuery(), cypherQuery.getParams());
 			for (Record record : result.list()) {
 				TelemetryManager.log("'Remove Relation Metadata' Operation Finished.", record.asMap());
 			}
@@ -698,259 +696,83 @@ public class Neo4JBoltGraphOperations {
 		if (null == input)
 			throw new ClientException(DACErrorCodeConstants.INVALID_DATA.name(),
 					DACErrorMessageConstants.INVALID_IMPORT_DATA + " | ['Import Graph' Operation Failed.]");
-		Map<String, List<String>> messages = new HashMap<String, List<String>>();
-		// CHECK - write driver, session and transaction created for this - START
-		Map<String, org.ekstep.graph.dac.model.Node> existingNodes = new HashMap<String, org.ekstep.graph.dac.model.Node>();
-		Map<String, Map<String, List<Relation>>> existingRelations = new HashMap<String, Map<String, List<Relation>>>();
-		List<org.ekstep.graph.dac.model.Node> importedNodes = new ArrayList<org.ekstep.graph.dac.model.Node>(
-				input.getDataNodes());
-		int nodesCount = createNodes(graphId, request, existingNodes, existingRelations, importedNodes);
-		int relationsCount = createRelations(graphId, request, existingRelations, existingNodes, importedNodes,
-				messages);
-		upsertRootNode(graphId, nodesCount, relationsCount, request);
-		if (StringUtils.isNotBlank(taskId))
-			updateTaskStatus(graphId, taskId, request);
-		// CHECK - write driver and session created for this - END
-		return messages;
-	}
-
-	private static void updateTaskStatus(String graphId, String taskId, Request request) throws Exception {
-		Node taskNode = new Node();
-		taskNode.setGraphId(graphId);
-		taskNode.setIdentifier(taskId);
-		taskNode.setMetadata(new HashMap<String, Object>());
-		taskNode.getMetadata().put(GraphEngineParams.status.name(), GraphEngineParams.Completed.name());
-		Neo4JBoltNodeOperations.upsertNode(graphId, taskNode, request);
+		return Neo4JBoltImportOperations.importGraph(graphId, taskId, input.getDataNodes(), request);
 	}
 
-	private static int createNodes(String graphId, Request request, Map<String, Node> existingNodes,
-			Map<String, Map<String, List<Relation>>> existingRelations, List<Node> nodes) {
-		int nodesCount = 0;
-		for (Node node : nodes) {
-			if (null == node || StringUtils.isBlank(node.getIdentifier()) || StringUtils.isBlank(node.getNodeType())) {
-				// ERROR(GraphDACErrorCodes.ERR_CREATE_NODE_MISSING_REQ_PARAMS.name(),
-				// "Invalid input node", request, getSender());
-			} else {
-				Node neo4jNode = null;
-				if (existingNodes.containsKey(node.getIdentifier())) {
-					neo4jNode = existingNodes.get(node.getIdentifier());
-				} else {
-					neo4jNode = Neo4JBoltNodeOperations.upsertNode(graphId, node, request);
-					nodesCount++;
-				}
-				neo4jNode = Neo4JBoltSearchOperations.getNodeByUniqueId(graphId, node.getIdentifier(), true, request);
-				existingNodes.put(node.getIdentifier(), neo4jNode);
-				List<Relation> relations = new ArrayList<Relation>();
-				if (null != neo4jNode.getOutRelations())
-					relations.addAll(neo4jNode.getOutRelations());
-				if (null != neo4jNode.getInRelations())
-					relations.addAll(neo4jNode.getInRelations());
-				getExistingRelations(relations, existingRelations);
-			}
-		}
-		return nodesCount;
-	}
-
-	private static Map<String, Map<String, List<Relation>>> getExistingRelations(List<Relation> dbRelations,
-			Map<String, Map<String, List<Relation>>> existingRelations) {
-		if (null != dbRelations && null != dbRelations.iterator()) {
-			for (Relation relationship : dbRelations) {
-				String startNodeId = relationship.getStartNodeId();
-				String relationType = relationship.getRelationType();
-				if (existingRelations.containsKey(startNodeId)) {
-					Map<String, List<Relation>> relationMap = existingRelations.get(startNodeId);
-					if (relationMap.containsKey(relationType)) {
-						List<Relation> relationList = relationMap.get(relationType);
-						relationList.add(relationship);
-					} else {
-						List<Relation> relationList = new ArrayList<Relation>();
-						relationList.add(relationship);
-						relationMap.put(relationType, relationList);
-					}
-				} else {
-					Map<String, List<Relation>> relationMap = new HashMap<String, List<Relation>>();
-					List<Relation> relationList = new ArrayList<Relation>();
-					relationList.add(relationship);
-					relationMap.put(relationType, relationList);
-					existingRelations.put(startNodeId, relationMap);
-				}
-			}
-		}
-		return existingRelations;
+	/**
+	 * Imports the data nodes of a part of an import, without their relations.
+	 *
+	 * @param graphId
+	 *            the graph id
+	 * @param taskId
+	 *            the task id
+	 * @param input
+	 *            the part of the import
+	 * @param request
+	 *            the request
+	 * @return the number of nodes created
+	 * @throws Exception
+	 *             the exception
+	 */
+	public static int importNodes(String graphId, String taskId, ImportData input, Request request)
+			throws Exception {
+		validateImport(graphId, input, "Import Nodes");
+		return Neo4JBoltImportOperations.importNodes(graphId, taskId, input.getDataNodes(), request);
 	}
 
-	private static int createRelations(String graphId, Request request,
-			Map<String, Map<String, List<Relation>>> existingRelations,
-			Map<String, Node> existingNodes, List<Node> nodes,
-			Map<String, List<String>> messages) {
-		int relationsCount = 0;
-		for (Node node : nodes) {
-			List<Relation> nodeRelations = node.getOutRelations();
-			if (nodeRelations != null) {
-				Map<String, List<String>> nodeRelMap = new HashMap<String, List<String>>();
-				Map<String, Map<String, Relation>> nodeRelation = new HashMap<String, Map<String, Relation>>();
-				for (Relation rel : nodeRelations) {
-					String relType = rel.getRelationType();
-					Map<String, Relation> relMap = nodeRelation.get(relType);
-					if (null == relMap) {
-						relMap = new HashMap<String, Relation>();
-						nodeRelation.put(relType, relMap);
-					}
-					if (nodeRelMap.containsKey(relType)) {
-						List<String> endNodeIds = nodeRelMap.get(relType);
-						if (endNodeIds == null) {
-							endNodeIds = new ArrayList<String>();
-							nodeRelMap.put(relType, endNodeIds);
-						}
-						if (StringUtils.isNotBlank(rel.getEndNodeId())) {
-							endNodeIds.add(rel.getEndNodeId().trim());
-							relMap.put(rel.getEndNodeId().trim(), rel);
-						}
-					} else {
-						List<String> endNodeIds = new ArrayList<String>();
-						if (StringUtils.isNotBlank(rel.getEndNodeId())) {
-							endNodeIds.add(rel.getEndNodeId().trim());
-							relMap.put(rel.getEndNodeId().trim(), rel);
-						}
-						nodeRelMap.put(relType, endNodeIds);
-					}
-				}
-				String uniqueId = node.getIdentifier();
-				Node neo4jNode = existingNodes.get(uniqueId);
-				if (existingRelations.containsKey(uniqueId)) {
-					Map<String, List<Relation>> relationMap = existingRelations.get(uniqueId);
-					for (String relType : relationMap.keySet()) {
-						if (nodeRelMap.containsKey(relType)) {
-							List<String> relEndNodeIds = nodeRelMap.get(relType);
-							Map<String, Relation> relMap = nodeRelation.get(relType);
-							for (Relation rel : relationMap.get(relType)) {
-								String endNodeId = rel.getEndNodeId();
-								if (relEndNodeIds.contains(endNodeId)) {
-									relEndNodeIds.remove(endNodeId);
-									Relation relation = relMap.get(endNodeId);
-									request.put(GraphDACParams.metadata.name(), relation.getMetadata());
-									updateRelation(graphId, rel.getStartNodeId(), rel.getEndNodeId(),
-											rel.getRelationType(), request);
-								} else {
-									deleteRelation(graphId, rel.getStartNodeId(), rel.getEndNodeId(),
-											rel.getRelationType(), request);
-									relationsCount--;
-								}
-							}
-							for (String endNodeId : relEndNodeIds) {
-								Node otherNode = existingNodes.get(endNodeId);
-								if (otherNode != null) {
-									Relation relation = relMap.get(endNodeId);
-									request.put(GraphDACParams.metadata.name(), relation.getMetadata());
-									createRelation(graphId, neo4jNode.getIdentifier(), otherNode.getIdentifier(),
-											relType, request);
-									relationsCount++;
-								} else {
-									otherNode = Neo4JBoltSearchOperations.getNodeByUniqueId(graphId, endNodeId, true,
-											request);
-									if (null == otherNode) {
-										List<String> rowMsgs = messages.get(uniqueId);
-										if (rowMsgs == null) {
-											rowMsgs = new ArrayList<String>();
-											messages.put(uniqueId, rowMsgs);
-										}
-										rowMsgs.add("Node with id: " + endNodeId + " not found to create relation:"
-												+ relType);
-									} else {
-										existingNodes.put(endNodeId, otherNode);
-										Relation relation = relMap.get(endNodeId);
-										request.put(GraphDACParams.metadata.name(), relation.getMetadata());
-										createRelation(graphId, neo4jNode.getIdentifier(), otherNode.getIdentifier(),
-												relType, request);
-										relationsCount++;
-									}
-								}
-
-							}
-						} else {
-							for (Relation rel : relationMap.get(relType)) {
-								deleteRelation(graphId, rel.getStartNodeId(), rel.getEndNodeId(), rel.getRelationType(),
-										request);
-								relationsCount--;
-							}
-						}
-					}
-					for (String relType : nodeRelMap.keySet()) {
-						if (!relationMap.containsKey(relType)) {
-							relationsCount += createNewRelations(neo4jNode, nodeRelMap, relType, nodeRelation, uniqueId,
-									existingNodes, messages, graphId, request);
-						}
-					}
-				} else {
-					for (String relType : nodeRelMap.keySet()) {
-						relationsCount += createNewRelations(neo4jNode, nodeRelMap, relType, nodeRelation, uniqueId,
-								existingNodes, messages, graphId, request);
-					}
-				}
-			}
-		}
-		return relationsCount;
+	/**
+	 * Imports the out relations of the data nodes of a part of an import. The
+	 * nodes of all the parts should be imported before.
+	 *
+	 * @param graphId
+	 *            the graph id
+	 * @param taskId
+	 *            the task id
+	 * @param input
+	 *            the part of the import
+	 * @param messages
+	 *            the messages of the import, by node id
+	 * @return the change in the number of relations
+	 * @throws Exception
+	 *             the exception
+	 */
+	public static int importRelations(String graphId, String taskId, ImportData input,
+			Map<String, List<String>> messages) throws Exception {
+		validateImport(graphId, input, "Import Relations");
+		return Neo4JBoltImportOperations.importRelations(graphId, taskId, input.getDataNodes(), messages);
 	}
 
-	private static int createNewRelations(Node neo4jNode, Map<String, List<String>> nodeRelMap,
-			String relType, Map<String, Map<String, Relation>> nodeRelation, String uniqueId,
-			Map<String, Node> existingNodes, Map<String, List<String>> messages,
-			String graphId, Request request) {
-		int relationsCount = 0;
-		List<String> relEndNodeIds = nodeRelMap.get(relType);
-		Map<String, Relation> relMap = nodeRelation.get(relType);
-		for (String endNodeId : relEndNodeIds) {
-			Node otherNode = existingNodes.get(endNodeId);
-			if (null == otherNode) {
-				otherNode = Neo4JBoltSearchOperations.getNodeByUniqueId(graphId, endNodeId, true, request);
-				if (null == otherNode) {
-					List<String> rowMsgs = messages.get(uniqueId);
-					if (rowMsgs == null) {
-						rowMsgs = new ArrayList<String>();
-						messages.put(uniqueId, rowMsgs);
-					}
-					rowMsgs.add("Node with id: " + endNodeId + " not found to create relation:" + relType);
-				} else {
-					existingNodes.put(endNodeId, otherNode);
-					Relation relation = relMap.get(endNodeId);
-					request.put(GraphDACParams.metadata.name(), relation.getMetadata());
-					createRelation(graphId, neo4jNode.getIdentifier(), otherNode.getIdentifier(), relType, request);
-					relationsCount++;
-				}
-			} else {
-				Relation relation = relMap.get(endNodeId);
-				request.put(GraphDACParams.metadata.name(), relation.getMetadata());
-				createRelation(graphId, neo4jNode.getIdentifier(), otherNode.getIdentifier(), relType, request);
-				relationsCount++;
-			}
-		}
-		return relationsCount;
+	/**
+	 * Completes an import written in parts.
+	 *
+	 * @param graphId
+	 *            the graph id
+	 * @param taskId
+	 *            the task id
+	 * @param nodesCount
+	 *            the number of nodes created
+	 * @param relationsCount
+	 *            the change in the number of relations
+	 * @param request
+	 *            the request
+	 * @throws Exception
+	 *             the exception
+	 */
+	public static void completeImport(String graphId, String taskId, int nodesCount, int relationsCount,
+			Request request) throws Exception {
+		if (StringUtils.isBlank(graphId))
+			throw new ClientException(DACErrorCodeConstants.INVALID_GRAPH.name(),
+					DACErrorMessageConstants.INVALID_GRAPH_ID + " | ['Complete Import' Operation Failed.]");
+		Neo4JBoltImportOperations.completeImport(graphId, taskId, nodesCount, relationsCount, request);
 	}
 
-	private static void upsertRootNode(String graphId, Integer nodesCount, Integer relationsCount, Request request) {
-		String rootNodeUniqueId = Identifier.getIdentifier(graphId, SystemNodeTypes.ROOT_NODE.name());
-		Node node = null;
-		try {
-			node = Neo4JBoltSearchOperations.getNodeByUniqueId(graphId, rootNodeUniqueId, true, request);
-		} catch(ResourceNotFoundException e) {
-			if (null == node) {
-				node = new Node();
-				node.setGraphId(graphId);
-				node.setIdentifier(rootNodeUniqueId);
-				node.setMetadata(new HashMap<String, Object>());
-			}
-		}
-		node.getMetadata().put(SystemProperties.IL_SYS_NODE_TYPE.name(), SystemNodeTypes.ROOT_NODE.name());
-
-		Long dbNodesCount = (Long) node.getMetadata().get("nodesCount");
-		if (null == dbNodesCount)
-			dbNodesCount = 0l;
-		Long dbRelationsCount = (Long) node.getMetadata().get("relationsCount");
-		if (null == dbRelationsCount)
-			dbRelationsCount = 0l;
-		node.getMetadata().put("nodesCount", dbNodesCount + nodesCount);
-		node.getMetadata().put("relationsCount", dbRelationsCount + relationsCount);
-		Neo4JBoltNodeOperations.upsertNode(graphId, node, request);
+	private static void validateImport(String graphId, ImportData input, String operation) {
+		if (StringUtils.isBlank(graphId))
+			throw new ClientException(DACErrorCodeConstants.INVALID_GRAPH.name(),
+					DACErrorMessageConstants.INVALID_GRAPH_ID + " | ['" + operation + "' Operation Failed.]");
+		if (null == input)
+			throw new ClientException(DACErrorCodeConstants.INVALID_DATA.name(),
+					DACErrorMessageConstants.INVALID_IMPORT_DATA + " | ['" + operation + "' Operation Failed.]");
 	}
 
 	public static void bulkUpdateNodes(String graphId, List<Map<String, Object>> newNodes,
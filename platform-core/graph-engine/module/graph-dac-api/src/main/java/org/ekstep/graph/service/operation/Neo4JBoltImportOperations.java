@@ -0,0 +1,521 @@
+package org.ekstep.graph.service.operation;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import org.apache.commons.lang3.StringUtils;
+import org.ekstep.common.Platform;
+import org.ekstep.common.dto.Request;
+import org.ekstep.common.exception.MiddlewareException;
+import org.ekstep.common.exception.ResourceNotFoundException;
+import org.ekstep.common.exception.ServerException;
+import org.ekstep.graph.cache.mgr.impl.NodeCacheManager;
+import org.ekstep.graph.cache.util.RedisStoreUtil;
+import org.ekstep.graph.common.DateUtils;
+import org.ekstep.graph.common.Identifier;
+import org.ekstep.graph.common.enums.GraphEngineParams;
+import org.ekstep.graph.dac.enums.AuditProperties;
+import org.ekstep.graph.dac.enums.GraphDACParams;
+import org.ekstep.graph.dac.enums.RelationTypes;
+import org.ekstep.graph.dac.enums.SystemNodeTypes;
+import org.ekstep.graph.dac.enums.SystemProperties;
+import org.ekstep.graph.dac.model.Node;
+import org.ekstep.graph.dac.model.Relation;
+import org.ekstep.graph.service.common.DACErrorCodeConstants;
+import org.ekstep.graph.service.common.DACErrorMessageConstants;
+import org.ekstep.graph.service.common.GraphOperation;
+import org.ekstep.graph.service.request.validator.Neo4jBoltValidator;
+import org.ekstep.graph.service.util.DriverUtil;
+import org.ekstep.telemetry.logger.TelemetryManager;
+import org.neo4j.driver.v1.Driver;
+import org.neo4j.driver.v1.Record;
+import org.neo4j.driver.v1.Session;
+import org.neo4j.driver.v1.StatementResult;
+import org.neo4j.driver.v1.Transaction;
+import org.neo4j.driver.v1.Value;
+
+/**
+ * Bulk import of data nodes and their out relations. The import data is
+ * compared with the nodes and relations in the graph using batched UNWIND
+ * queries, and the resulting node upserts and relation changes are written in
+ * transactions of at most 'graph.import.batch_size' rows each. The number of
+ * rows written so far is updated on the task node after every transaction.
+ * 
+ * A large import can be written in parts: the nodes of every part first with
+ * {@link #importNodes}, then their relations with {@link #importRelations} and
+ * finally {@link #completeImport} once.
+ */
+public class Neo4JBoltImportOperations {
+
+	private static final String DEFAULT_CYPHER_NODE_OBJECT = "n";
+	static final int BATCH_SIZE = Platform.config.hasPath("graph.import.batch_size")
+			? Platform.config.getInt("graph.import.batch_size") : 1000;
+	private static Neo4jBoltValidator versionValidator = new Neo4jBoltValidator();
+
+	public static Map<String, List<String>> importGraph(String graphId, String taskId, List<Node> dataNodes,
+			Request request) throws Exception {
+		Map<String, List<String>> messages = new HashMap<String, List<String>>();
+		int nodesCount = importNodes(graphId, taskId, dataNodes, request);
+		int relationsCount = importRelations(graphId, taskId, dataNodes, messages);
+		completeImport(graphId, taskId, nodesCount, relationsCount, request);
+		return messages;
+	}
+
+	/**
+	 * Upserts the given data nodes, without their relations.
+	 *
+	 * @return the number of nodes created.
+	 */
+	public static int importNodes(String graphId, String taskId, List<Node> dataNodes, Request request)
+			throws Exception {
+		Map<String, Node> nodes = getImportNodes(graphId, dataNodes, request);
+		TelemetryManager.log("Import Graph | [Graph Id: " + graphId + "] | Nodes: " + nodes.size());
+		if (nodes.isEmpty())
+			return 0;
+		Driver driver = DriverUtil.getDriver(graphId, GraphOperation.WRITE);
+		int nodesCount = 0;
+		try (Session session = driver.session()) {
+			Set<String> existingNodeIds = getExistingNodeIds(session, graphId, nodes.keySet());
+			for (String identifier : nodes.keySet()) {
+				if (!existingNodeIds.contains(identifier))
+					nodesCount++;
+			}
+			writeNodes(session, graphId, new ArrayList<Node>(nodes.values()), new ImportProgress(graphId, taskId));
+		} catch (Exception e) {
+			if (e instanceof MiddlewareException)
+				throw e;
+			throw new ServerException(DACErrorCodeConstants.CONNECTION_PROBLEM.name(),
+					DACErrorMessageConstants.CONNECTION_PROBLEM + " | " + e.getMessage(), e);
+		}
+		return nodesCount;
+	}
+
+	/**
+	 * Replaces the out relations of the given data nodes with the imported
+	 * ones. The nodes are expected to be imported already, so an end node
+	 * which is not in the graph is reported in the messages of the start node.
+	 *
+	 * @return the change in the number of relations.
+	 */
+	public static int importRelations(String graphId, String taskId, List<Node> dataNodes,
+			Map<String, List<String>> messages) throws Exception {
+		Map<String, Node> nodes = new LinkedHashMap<String, Node>();
+		if (null != dataNodes) {
+			for (Node node : dataNodes) {
+				if (null != node && StringUtils.isNotBlank(node.getIdentifier())
+						&& StringUtils.isNotBlank(node.getNodeType()))
+					nodes.putIfAbsent(node.getIdentifier(), node);
+			}
+		}
+		nodes.values().removeIf(node -> null == node.getOutRelations());
+		if (nodes.isEmpty())
+			return 0;
+		Driver driver = DriverUtil.getDriver(graphId, GraphOperation.WRITE);
+		int relationsCount = 0;
+		try (Session session = driver.session()) {
+			Set<String> nodeIds = new HashSet<String>();
+			for (Node node : nodes.values()) {
+				for (Relation rel : node.getOutRelations())
+					if (StringUtils.isNotBlank(rel.getEndNodeId()))
+						nodeIds.add(rel.getEndNodeId().trim());
+			}
+			Set<String> existingNodeIds = getExistingNodeIds(session, graphId, nodeIds);
+			Map<String, Map<String, List<Map<String, Object>>>> existingRelations = getExistingRelations(session,
+					graphId, new ArrayList<String>(nodes.keySet()));
+
+			Map<String, List<Map<String, Object>>> upsertRelations = new LinkedHashMap<String, List<Map<String, Object>>>();
+			Map<String, List<Map<String, Object>>> deleteRelations = new LinkedHashMap<String, List<Map<String, Object>>>();
+			for (Node node : nodes.values()) {
+				relationsCount += diffRelations(node, existingRelations.get(node.getIdentifier()), existingNodeIds,
+						upsertRelations, deleteRelations, messages);
+			}
+
+			ImportProgress progress = new ImportProgress(graphId, taskId);
+			writeRelations(session, graphId, deleteRelations, false, progress);
+			writeRelations(session, graphId, upsertRelations, true, progress);
+		} catch (Exception e) {
+			if (e instanceof MiddlewareException)
+				throw e;
+			throw new ServerException(DACErrorCodeConstants.CONNECTION_PROBLEM.name(),
+					DACErrorMessageConstants.CONNECTION_PROBLEM + " | " + e.getMessage(), e);
+		}
+		return relationsCount;
+	}
+
+	/**
+	 * Adds the imported counts to the root node of the graph and marks the
+	 * task of the import as completed.
+	 */
+	public static void completeImport(String graphId, String taskId, int nodesCount, int relationsCount,
+			Request request) throws Exception {
+		upsertRootNode(graphId, nodesCount, relationsCount, request);
+		if (StringUtils.isNotBlank(taskId))
+			updateTaskStatus(graphId, taskId, request);
+	}
+
+	/**
+	 * Returns the valid nodes of the import by identifier, first row wins,
+	 * with the request context set and the version key validated.
+	 */
+	private static Map<String, Node> getImportNodes(String graphId, List<Node> dataNodes, Request request) {
+		Map<String, Node> nodes = new LinkedHashMap<String, Node>();
+		if (null == dataNodes)
+			return nodes;
+		for (Node node : dataNodes) {
+			if (null == node || StringUtils.isBlank(node.getIdentifier()) || StringUtils.isBlank(node.getNodeType())
+					|| nodes.containsKey(node.getIdentifier()))
+				continue;
+			node.setGraphId(graphId);
+			if (null == node.getMetadata())
+				node.setMetadata(new HashMap<String, Object>());
+			setRequestContextToNode(node, request);
+			versionValidator.validateUpdateOperation(graphId, node);
+			node.getMetadata().remove(GraphDACParams.versionKey.name());
+			nodes.put(node.getIdentifier(), node);
+		}
+		return nodes;
+	}
+
+	private static void setRequestContextToNode(Node node, Request request) {
+		if (null != request && null != request.getContext()) {
+			String channel = (String) request.getContext().get(GraphDACParams.CHANNEL_ID.name());
+			if (StringUtils.isNotBlank(channel))
+				node.getMetadata().put(GraphDACParams.channel.name(), channel);
+			String consumerId = (String) request.getContext().get(GraphDACParams.CONSUMER_ID.name());
+			if (StringUtils.isNotBlank(consumerId))
+				node.getMetadata().put(GraphDACParams.consumerId.name(), consumerId);
+			String appId = (String) request.getContext().get(GraphDACParams.APP_ID.name());
+			if (StringUtils.isNotBlank(appId))
+				node.getMetadata().put(GraphDACParams.appId.name(), appId);
+		}
+	}
+
+	private static Set<String> getExistingNodeIds(Session session, String graphId, Set<String> nodeIds) {
+		Set<String> existingIds = new HashSet<String>();
+		String query = "UNWIND {ids} AS id MATCH (n:" + graphId + " {" + SystemProperties.IL_UNIQUE_ID.name()
+				+ ": id}) RETURN n." + SystemProperties.IL_UNIQUE_ID.name() + " AS id";
+		for (List<String> batch : partition(new ArrayList<String>(nodeIds))) {
+			Map<String, Object> params = new HashMap<String, Object>();
+			params.put("ids", batch);
+			StatementResult result = session.run(query, params);
+			while (result.hasNext())
+				existingIds.add(result.next().get("id").asString());
+		}
+		return existingIds;
+	}
+
+	/**
+	 * Returns the out relations of the given nodes, by start node id and
+	 * relation type.
+	 */
+	private static Map<String, Map<String, List<Map<String, Object>>>> getExistingRelations(Session session,
+			String graphId, List<String> startNodeIds) {
+		Map<String, Map<String, List<Map<String, Object>>>> relations = new HashMap<String, Map<String, List<Map<String, Object>>>>();
+		String query = "UNWIND {ids} AS id MATCH (n:" + graphId + " {" + SystemProperties.IL_UNIQUE_ID.name()
+				+ ": id})-[r]->(m:" + graphId + ") RETURN id AS startNodeId, type(r) AS relationType, m."
+				+ SystemProperties.IL_UNIQUE_ID.name() + " AS endNodeId, r."
+				+ SystemProperties.IL_SEQUENCE_INDEX.name() + " AS sequenceIndex";
+		for (List<String> batch : partition(startNodeIds)) {
+			Map<String, Object> params = new HashMap<String, Object>();
+			params.put("ids", batch);
+			StatementResult result = session.run(query, params);
+			while (result.hasNext()) {
+				Record record = result.next();
+				Map<String, Object> relation = new HashMap<String, Object>();
+				relation.put("endNodeId", record.get("endNodeId").asString());
+				Value index = record.get("sequenceIndex");
+				if (!index.isNull())
+					relation.put("sequenceIndex", index.asObject());
+				String startNodeId = record.get("startNodeId").asString();
+				String relationType = record.get("relationType").asString();
+				Map<String, List<Map<String, Object>>> relationMap = relations.get(startNodeId);
+				if (null == relationMap) {
+					relationMap = new HashMap<String, List<Map<String, Object>>>();
+					relations.put(startNodeId, relationMap);
+				}
+				List<Map<String, Object>> list = relationMap.get(relationType);
+				if (null == list) {
+					list = new ArrayList<Map<String, Object>>();
+					relationMap.put(relationType, list);
+				}
+				list.add(relation);
+			}
+		}
+		return relations;
+	}
+
+	/**
+	 * Compares the out relations of the import node with the relations in the
+	 * graph. The out relations of the node are replaced by the imported ones:
+	 * relations which are not in the import are deleted and the others are
+	 * created or updated with the imported metadata.
+	 *
+	 * @return the change in the number of relations.
+	 */
+	static int diffRelations(Node node, Map<String, List<Map<String, Object>>> existing,
+			Set<String> existingNodeIds, Map<String, List<Map<String, Object>>> upsertRelations,
+			Map<String, List<Map<String, Object>>> deleteRelations, Map<String, List<String>> messages) {
+		int relationsCount = 0;
+		String startNodeId = node.getIdentifier();
+		Map<String, Map<String, Relation>> imported = new LinkedHashMap<String, Map<String, Relation>>();
+		for (Relation rel : node.getOutRelations()) {
+			Map<String, Relation> relMap = imported.get(rel.getRelationType());
+			if (null == relMap) {
+				relMap = new LinkedHashMap<String, Relation>();
+				imported.put(rel.getRelationType(), relMap);
+			}
+			if (StringUtils.isNotBlank(rel.getEndNodeId()) && !relMap.containsKey(rel.getEndNodeId().trim()))
+				relMap.put(rel.getEndNodeId().trim(), rel);
+		}
+		if (null == existing)
+			existing = new HashMap<String, List<Map<String, Object>>>();
+
+		for (Entry<String, List<Map<String, Object>>> entry : existing.entrySet()) {
+			Map<String, Relation> relMap = imported.get(entry.getKey());
+			for (Map<String, Object> rel : entry.getValue()) {
+				String endNodeId = (String) rel.get("endNodeId");
+				if (null != relMap && relMap.containsKey(endNodeId)) {
+					addRelationRow(upsertRelations, entry.getKey(), startNodeId, endNodeId,
+							relMap.remove(endNodeId).getMetadata());
+				} else {
+					addRelationRow(deleteRelations, entry.getKey(), startNodeId, endNodeId, null);
+					rel.put("deleted", true);
+					relationsCount--;
+				}
+			}
+		}
+
+		for (Entry<String, Map<String, Relation>> entry : imported.entrySet()) {
+			String relType = entry.getKey();
+			int sequenceIndex = getMaxSequenceIndex(existing.get(relType));
+			for (Entry<String, Relation> relEntry : entry.getValue().entrySet()) {
+				String endNodeId = relEntry.getKey();
+				if (!existingNodeIds.contains(endNodeId)) {
+					List<String> rowMsgs = messages.get(startNodeId);
+					if (rowMsgs == null) {
+						rowMsgs = new ArrayList<String>();
+						messages.put(startNodeId, rowMsgs);
+					}
+					rowMsgs.add("Node with id: " + endNodeId + " not found to create relation:" + relType);
+				} else {
+					Map<String, Object> metadata = new HashMap<String, Object>();
+					if (null != relEntry.getValue().getMetadata())
+						metadata.putAll(relEntry.getValue().getMetadata());
+					if (StringUtils.equalsIgnoreCase(RelationTypes.SEQUENCE_MEMBERSHIP.relationName(), relType)
+							&& null == metadata.get(SystemProperties.IL_SEQUENCE_INDEX.name()))
+						metadata.put(SystemProperties.IL_SEQUENCE_INDEX.name(), ++sequenceIndex);
+					addRelationRow(upsertRelations, relType, startNodeId, endNodeId, metadata);
+					relationsCount++;
+				}
+			}
+		}
+		return relationsCount;
+	}
+
+	private static int getMaxSequenceIndex(List<Map<String, Object>> relations) {
+		int max = 0;
+		if (null != relations) {
+			for (Map<String, Object> rel : relations) {
+				Object index = rel.get("sequenceIndex");
+				if (null != index && null == rel.get("deleted")) {
+					try {
+						max = Math.max(max, Integer.parseInt(index.toString()));
+					} catch (Exception e) {
+					}
+				}
+			}
+		}
+		return max;
+	}
+
+	private static void addRelationRow(Map<String, List<Map<String, Object>>> relations, String relType,
+			String startNodeId, String endNodeId, Map<String, Object> metadata) {
+		List<Map<String, Object>> rows = relations.get(relType);
+		if (null == rows) {
+			rows = new ArrayList<Map<String, Object>>();
+			relations.put(relType, rows);
+		}
+		Map<String, Object> row = new HashMap<String, Object>();
+		row.put("startNodeId", startNodeId);
+		row.put("endNodeId", endNodeId);
+		row.put("metadata", null == metadata ? new HashMap<String, Object>() : metadata);
+		rows.add(row);
+	}
+
+	static void writeNodes(Session session, String graphId, List<Node> nodes, ImportProgress progress) {
+		String date = DateUtils.formatCurrentDate();
+		String versionKey = Long.toString(DateUtils.parse(date).getTime());
+		String query = "UNWIND {batch} AS row MERGE (n:" + graphId + " {" + SystemProperties.IL_UNIQUE_ID.name()
+				+ ": row.identifier}) ON CREATE SET n." + AuditProperties.createdOn.name() + " = coalesce(row.metadata."
+				+ AuditProperties.createdOn.name() + ", {date}), n." + AuditProperties.lastStatusChangedOn.name()
+				+ " = coalesce(row.metadata." + AuditProperties.createdOn.name() + ", {date}) SET n += row.metadata, n."
+				+ SystemProperties.IL_SYS_NODE_TYPE.name() + " = row.nodeType, n."
+				+ SystemProperties.IL_FUNC_OBJECT_TYPE.name() + " = coalesce(row.objectType, n."
+				+ SystemProperties.IL_FUNC_OBJECT_TYPE.name() + "), n." + AuditProperties.lastUpdatedOn.name()
+				+ " = CASE WHEN row.touch THEN {date} ELSE n." + AuditProperties.lastUpdatedOn.name() + " END, n."
+				+ GraphDACParams.versionKey.name() + " = {versionKey} RETURN n";
+		for (List<Node> batch : partition(nodes)) {
+			List<Map<String, Object>> rows = new ArrayList<Map<String, Object>>();
+			for (Node node : batch) {
+				Map<String, Object> row = new HashMap<String, Object>();
+				row.put("identifier", node.getIdentifier());
+				row.put("nodeType", node.getNodeType());
+				row.put("objectType", StringUtils.isBlank(node.getObjectType()) ? null : node.getObjectType());
+				row.put("metadata", node.getMetadata());
+				row.put("touch", null == node.getMetadata().get(GraphDACParams.SYS_INTERNAL_LAST_UPDATED_ON.name()));
+				rows.add(row);
+			}
+			Map<String, Object> params = new HashMap<String, Object>();
+			params.put("batch", rows);
+			params.put("date", date);
+			params.put("versionKey", versionKey);
+			List<Record> records;
+			try (Transaction tx = session.beginTransaction()) {
+				records = tx.run(query, params).list();
+				progress.nodes += batch.size();
+				progress.update(tx);
+				tx.success();
+			}
+			TelemetryManager.log("Import Graph | [Graph Id: " + graphId + "] | Nodes written: " + progress.nodes);
+			for (Node node : batch)
+				node.getMetadata().put(GraphDACParams.versionKey.name(), versionKey);
+			updateRedisCache(graphId, records);
+		}
+	}
+
+	static void writeRelations(Session session, String graphId,
+			Map<String, List<Map<String, Object>>> relations, boolean upsert, ImportProgress progress) {
+		for (Entry<String, List<Map<String, Object>>> entry : relations.entrySet()) {
+			String query;
+			if (upsert)
+				query = "UNWIND {batch} AS row MATCH (a:" + graphId + " {" + SystemProperties.IL_UNIQUE_ID.name()
+						+ ": row.startNodeId}), (b:" + graphId + " {" + SystemProperties.IL_UNIQUE_ID.name()
+						+ ": row.endNodeId}) MERGE (a)-[r:" + entry.getKey() + "]->(b) SET r += row.metadata";
+			else
+				query = "UNWIND {batch} AS row MATCH (a:" + graphId + " {" + SystemProperties.IL_UNIQUE_ID.name()
+						+ ": row.startNodeId})-[r:" + entry.getKey() + "]->(b:" + graphId + " {"
+						+ SystemProperties.IL_UNIQUE_ID.name() + ": row.endNodeId}) DELETE r";
+			for (List<Map<String, Object>> batch : partition(entry.getValue())) {
+				Map<String, Object> params = new HashMap<String, Object>();
+				params.put("batch", batch);
+				try (Transaction tx = session.beginTransaction()) {
+					tx.run(query, params);
+					progress.relations += batch.size();
+					progress.update(tx);
+					tx.success();
+				}
+				for (Map<String, Object> row : batch) {
+					NodeCacheManager.deleteDataNode(graphId, (String) row.get("startNodeId"));
+					NodeCacheManager.deleteDataNode(graphId, (String) row.get("endNodeId"));
+				}
+			}
+			TelemetryManager.log("Import Graph | [Graph Id: " + graphId + "] | Relations written: " + progress.relations);
+		}
+	}
+
+	private static void updateRedisCache(String graphId, List<Record> records) {
+		if (!graphId.equalsIgnoreCase("domain"))
+			return;
+		for (Record record : records) {
+			try {
+				org.neo4j.driver.v1.types.Node neo4JNode = record.get(DEFAULT_CYPHER_NODE_OBJECT).asNode();
+				String nodeId = neo4JNode.get(SystemProperties.IL_UNIQUE_ID.name()).asString();
+				String nodeType = neo4JNode.get(SystemProperties.IL_SYS_NODE_TYPE.name()).asString();
+				if (!SystemNodeTypes.DATA_NODE.name().equalsIgnoreCase(nodeType))
+					continue;
+				String versionKey = neo4JNode.get(GraphDACParams.versionKey.name()).asString();
+				if (StringUtils.isNotBlank(versionKey)) {
+					Map<String, Object> cacheMap = new HashMap<>();
+					cacheMap.put(GraphDACParams.versionKey.name(), versionKey);
+					RedisStoreUtil.saveNodeProperties(graphId, nodeId, cacheMap);
+				}
+				NodeCacheManager.deleteDataNode(graphId, nodeId);
+			} catch (Exception e) {
+				throw new ServerException(DACErrorCodeConstants.CACHE_ERROR.name(),
+						DACErrorMessageConstants.CACHE_ERROR + " | " + e.getMessage());
+			}
+		}
+	}
+
+	private static void updateTaskStatus(String graphId, String taskId, Request request) throws Exception {
+		Node taskNode = new Node();
+		taskNode.setGraphId(graphId);
+		taskNode.setIdentifier(taskId);
+		taskNode.setMetadata(new HashMap<String, Object>());
+		taskNode.getMetadata().put(GraphEngineParams.status.name(), GraphEngineParams.Completed.name());
+		Neo4JBoltNodeOperations.upsertNode(graphId, taskNode, request);
+	}
+
+	private static void upsertRootNode(String graphId, Integer nodesCount, Integer relationsCount, Request request) {
+		String rootNodeUniqueId = Identifier.getIdentifier(graphId, SystemNodeTypes.ROOT_NODE.name());
+		Node node = null;
+		try {
+			node = Neo4JBoltSearchOperations.getNodeByUniqueId(graphId, rootNodeUniqueId, true, request);
+		} catch(ResourceNotFoundException e) {
+			if (null == node) {
+				node = new Node();
+				node.setGraphId(graphId);
+				node.setIdentifier(rootNodeUniqueId);
+				node.setMetadata(new HashMap<String, Object>());
+			}
+		}
+		node.getMetadata().put(SystemProperties.IL_SYS_NODE_TYPE.name(), SystemNodeTypes.ROOT_NODE.name());
+
+		Long dbNodesCount = (Long) node.getMetadata().get("nodesCount");
+		if (null == dbNodesCount)
+			dbNodesCount = 0l;
+		Long dbRelationsCount = (Long) node.getMetadata().get("relationsCount");
+		if (null == dbRelationsCount)
+			dbRelationsCount = 0l;
+		node.getMetadata().put("nodesCount", dbNodesCount + nodesCount);
+		node.getMetadata().put("relationsCount", dbRelationsCount + relationsCount);
+		Neo4JBoltNodeOperations.upsertNode(graphId, node, request);
+	}
+
+	private static <T> List<List<T>> partition(List<T> list) {
+		List<List<T>> batches = new ArrayList<List<T>>();
+		int size = Math.max(1, BATCH_SIZE);
+		for (int i = 0; i < list.size(); i += size)
+			batches.add(list.subList(i, Math.min(list.size(), i + size)));
+		return batches;
+	}
+
+	/**
+	 * Number of nodes and relations written so far, added to the counts on the
+	 * task node of the import after every transaction, so that an import
+	 * written in several calls keeps a running total.
+	 */
+	static class ImportProgress {
+		private final String graphId;
+		private final String taskId;
+		int nodes;
+		int relations;
+		private int reportedNodes;
+		private int reportedRelations;
+
+		ImportProgress(String graphId, String taskId) {
+			this.graphId = graphId;
+			this.taskId = taskId;
+		}
+
+		private void update(Transaction tx) {
+			if (StringUtils.isBlank(taskId))
+				return;
+			Map<String, Object> params = new HashMap<String, Object>();
+			params.put("taskId", taskId);
+			params.put("nodes", nodes - reportedNodes);
+			params.put("relations", relations - reportedRelations);
+			tx.run("MATCH (n:" + graphId + " {" + SystemProperties.IL_UNIQUE_ID.name()
+					+ ": {taskId}}) SET n.importedNodes = coalesce(n.importedNodes, 0) + {nodes}, "
+					+ "n.importedRelations = coalesce(n.importedRelations, 0) + {relations}", params);
+			reportedNodes = nodes;
+			reportedRelations = relations;
+		}
+	}
+}
@@ -0,0 +1,45 @@
+package org.ekstep.graph.service.operation;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.ekstep.graph.dac.model.Node;
+import org.neo4j.driver.v1.Record;
+import org.neo4j.driver.v1.Session;
+import org.neo4j.driver.v1.StatementResult;
+
+/**
+ * Iterator over the nodes of a search result. Each record is a node, with its
+ * relations in a list returned by the pattern comprehension of the queries,
+ * so a node is built from its record alone and the nodes are read as the
+ * server returns them. When the query returns fields instead of nodes, the
+ * node is built from the fields of the record.
+ */
+public class Neo4JBoltNodeIterator extends Neo4JBoltResultIterator<Node> {
+
+	private final boolean returnNode;
+
+	public Neo4JBoltNodeIterator(String graphId, Session session, StatementResult result, boolean returnNode) {
+		super(graphId, session, result);
+		this.returnNode = returnNode;
+	}
+
+	@Override
+	protected Node readNext() {
+		Record record = nextRecord();
+		while (null != record) {
+			if (!returnNode)
+				return new Node(graphId, record.asMap());
+			Map<Long, Object> nodeMap = new HashMap<Long, Object>();
+			Map<Long, Object> relationMap = new HashMap<Long, Object>();
+			Map<Long, Object> startNodeMap = new HashMap<Long, Object>();
+			Map<Long, Object> endNodeMap = new HashMap<Long, Object>();
+			Neo4JBoltSearchOperations.getRecordValues(record, nodeMap, relationMap, startNodeMap, endNodeMap);
+			if (!nodeMap.isEmpty())
+				return new Node(graphId, (org.neo4j.driver.v1.types.Node) nodeMap.values().iterator().next(),
+						relationMap, startNodeMap, endNodeMap);
+			record = nextRecord();
+		}
+		return null;
+	}
+}
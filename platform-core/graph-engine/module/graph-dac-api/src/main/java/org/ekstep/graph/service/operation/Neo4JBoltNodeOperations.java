@@ -29,6 +29,7 @@ import org.ekstep.graph.service.common.DACErrorCodeConstants;
 import org.ekstep.graph.service.common.DACErrorMessageConstants;
 import org.ekstep.graph.service.common.GraphOperation;
 import org.ekstep.graph.service.request.validator.Neo4jBoltValidator;
+import org.ekstep.graph.service.util.CypherQuery;
 import org.ekstep.graph.service.util.DriverUtil;
 import org.ekstep.graph.service.util.NodeQueryGenerationUtil;
 import org.ekstep.telemetry.logger.TelemetryManager;
@@ -385,8 +386,8 @@ public class Neo4JBoltNodeOperations {
 			parameterMap.put(GraphDACParams.request.name(), request);
 
 			try (Transaction tx = session.beginTransaction()) {
-				StatementResult result = tx
-						.run(NodeQueryGenerationUtil.generateRemovePropertyValueCypherQuery(parameterMap));
+				CypherQuery cypherQuery = NodeQueryGenerationUtil.generateRemovePropertyValueCypherQuery(parameterMap);
+				StatementResult result = tx.run(cypherQuery.getQuery(), cypherQuery.getParams());
 				tx.success();
 				for (Record record : result.list())
 					TelemetryManager.log("Remove Property Value Operation | ", record.asMap());
@@ -424,8 +425,8 @@ public class Neo4JBoltNodeOperations {
 			parameterMap.put(GraphDACParams.request.name(), request);
 
 			try (Transaction tx = session.beginTransaction()) {
-				StatementResult result = tx
-						.run(NodeQueryGenerationUtil.generateRemovePropertyValuesCypherQuery(parameterMap));
+				CypherQuery cypherQuery = NodeQueryGenerationUtil.generateRemovePropertyValuesCypherQuery(parameterMap);
+				StatementResult result = tx.run(cypherQuery.getQuery(), cypherQuery.getParams());
 				tx.success();
 				for (Record record : result.list())
 					TelemetryManager.log("Update Property Values Operation | ", record.asMap());
@@ -457,7 +458,8 @@ public class Neo4JBoltNodeOperations {
 			parameterMap.put(GraphDACParams.request.name(), request);
 
 			try (Transaction tx = session.beginTransaction()) {
-				StatementResult result = tx.run(NodeQueryGenerationUtil.generateDeleteNodeCypherQuery(parameterMap));
+				CypherQuery cypherQuery = NodeQueryGenerationUtil.generateDeleteNodeCypherQuery(parameterMap);
+				StatementResult result = tx.run(cypherQuery.getQuery(), cypherQuery.getParams());
 				tx.success();
 				for (Record record : result.list())
 					TelemetryManager.log("Delete Node Operation | ", record.asMap());
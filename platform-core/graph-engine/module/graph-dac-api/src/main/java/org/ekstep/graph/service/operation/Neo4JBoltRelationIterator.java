@@ -0,0 +1,37 @@
+package org.ekstep.graph.service.operation;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.ekstep.graph.dac.model.Relation;
+import org.neo4j.driver.v1.Record;
+import org.neo4j.driver.v1.Session;
+import org.neo4j.driver.v1.StatementResult;
+
+/**
+ * Iterator over the relations of a result, with a relation and its start and
+ * end nodes in each record.
+ */
+public class Neo4JBoltRelationIterator extends Neo4JBoltResultIterator<Relation> {
+
+	public Neo4JBoltRelationIterator(String graphId, Session session, StatementResult result) {
+		super(graphId, session, result);
+	}
+
+	@Override
+	protected Relation readNext() {
+		Record record = nextRecord();
+		while (null != record) {
+			Map<Long, Object> relationMap = new HashMap<Long, Object>();
+			Map<Long, Object> startNodeMap = new HashMap<Long, Object>();
+			Map<Long, Object> endNodeMap = new HashMap<Long, Object>();
+			Neo4JBoltSearchOperations.getRecordValues(record, null, relationMap, startNodeMap, endNodeMap);
+			if (!relationMap.isEmpty())
+				return new Relation(graphId,
+						(org.neo4j.driver.v1.types.Relationship) relationMap.values().iterator().next(), startNodeMap,
+						endNodeMap);
+			record = nextRecord();
+		}
+		return null;
+	}
+}
@@ -0,0 +1,88 @@
+package org.ekstep.graph.service.operation;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.neo4j.driver.v1.Record;
+import org.neo4j.driver.v1.Session;
+import org.neo4j.driver.v1.StatementResult;
+
+/**
+ * Iterator over the records of a statement result, which maps the records to
+ * the graph objects only as they are read. The records are read as they are
+ * received from the server, so the first objects are returned before the
+ * query finishes and the result is never held as a whole.
+ *
+ * The iterator owns the session of the statement, and it should be closed once
+ * done with, even when it is not read till the end.
+ *
+ * @param <T>
+ *            the type of the graph objects
+ */
+public abstract class Neo4JBoltResultIterator<T> implements Iterator<T>, AutoCloseable {
+
+	protected final String graphId;
+	private final Session session;
+	private final StatementResult result;
+	private T nextObject;
+	private boolean closed = false;
+
+	protected Neo4JBoltResultIterator(String graphId, Session session, StatementResult result) {
+		this.graphId = graphId;
+		this.session = session;
+		this.result = result;
+	}
+
+	@Override
+	public boolean hasNext() {
+		if (null == nextObject && !closed) {
+			nextObject = readNext();
+			if (null == nextObject)
+				close();
+		}
+		return null != nextObject;
+	}
+
+	@Override
+	public T next() {
+		if (!hasNext())
+			throw new NoSuchElementException();
+		T object = nextObject;
+		nextObject = null;
+		return object;
+	}
+
+	/**
+	 * Returns up to the given number of the next objects, empty once the
+	 * result is read fully.
+	 */
+	public List<T> next(int batchSize) {
+		List<T> batch = new ArrayList<T>();
+		while (batch.size() < batchSize && hasNext())
+			batch.add(next());
+		return batch;
+	}
+
+	@Override
+	public void close() {
+		if (!closed) {
+			closed = true;
+			session.close();
+		}
+	}
+
+	/**
+	 * Maps the next records to the next object, null when there are no more
+	 * records.
+	 */
+	protected abstract T readNext();
+
+	/**
+	 * Returns the next record, null when there are no more records.
+	 */
+	protected Record nextRecord() {
+		return null != result && result.hasNext() ? result.next() : null;
+	}
+}
@@ -13,6 +13,7 @@ import org.ekstep.common.dto.Request;
 import org.ekstep.common.exception.ResourceNotFoundException;
 import org.ekstep.graph.cache.mgr.impl.NodeCacheManager;
 import org.ekstep.graph.dac.enums.GraphDACParams;
+import org.ekstep.graph.dac.enums.SystemProperties;
 import org.ekstep.graph.dac.model.Graph;
 import org.ekstep.graph.dac.model.Node;
 import org.ekstep.graph.dac.model.Relation;
@@ -23,6 +24,7 @@ import org.ekstep.graph.service.common.CypherQueryConfigurationConstants;
 import org.ekstep.graph.service.common.DACErrorCodeConstants;
 import org.ekstep.graph.service.common.DACErrorMessageConstants;
 import org.ekstep.graph.service.common.GraphOperation;
+import org.ekstep.graph.service.util.CypherQuery;
 import org.ekstep.graph.service.util.DriverUtil;
 import org.ekstep.graph.service.util.SearchQueryGenerationUtil;
 import org.ekstep.telemetry.logger.TelemetryManager;
@@ -69,8 +71,8 @@ public class Neo4JBoltSearchOperations {
 			parameterMap.put(GraphDACParams.getTags.name(), getTags);
 			parameterMap.put(GraphDACParams.request.name(), request);
 
-			StatementResult result = session
-					.run(SearchQueryGenerationUtil.generateGetNodeByIdCypherQuery(parameterMap));
+			CypherQuery cypherQuery = SearchQueryGenerationUtil.generateGetNodeByIdCypherQuery(parameterMap);
+			StatementResult result = session.run(cypherQuery.getQuery(), cypherQuery.getParams());
 			if (null == result || !result.hasNext())
 				throw new ResourceNotFoundException(DACErrorCodeConstants.NOT_FOUND.name(),
 						DACErrorMessageConstants.NODE_NOT_FOUND + " | [Invalid Node Id.]");
@@ -134,8 +136,8 @@ public class Neo4JBoltSearchOperations {
 				parameterMap.put(GraphDACParams.getTags.name(), getTags);
 				parameterMap.put(GraphDACParams.request.name(), request);
 
-				StatementResult result = session
-						.run(SearchQueryGenerationUtil.generateGetNodeByUniqueIdCypherQuery(parameterMap));
+				CypherQuery cypherQuery = SearchQueryGenerationUtil.generateGetNodeByUniqueIdCypherQuery(parameterMap);
+				StatementResult result = session.run(cypherQuery.getQuery(), cypherQuery.getParams());
 				if (null == result || !result.hasNext())
 					throw new ResourceNotFoundException(DACErrorCodeConstants.NOT_FOUND.name(),
 							DACErrorMessageConstants.NODE_NOT_FOUND + " | [Invalid Node Id.]: " + nodeId, nodeId);
@@ -194,8 +196,8 @@ public class Neo4JBoltSearchOperations {
 			parameterMap.put(GraphDACParams.getTags.name(), getTags);
 			parameterMap.put(GraphDACParams.request.name(), request);
 
-			StatementResult result = session
-					.run(SearchQueryGenerationUtil.generateGetNodesByPropertyCypherQuery(parameterMap));
+			CypherQuery cypherQuery = SearchQueryGenerationUtil.generateGetNodesByPropertyCypherQuery(parameterMap);
+			StatementResult result = session.run(cypherQuery.getQuery(), cypherQuery.getParams());
 			Map<Long, Object> nodeMap = new HashMap<Long, Object>();
 			Map<Long, Object> relationMap = new HashMap<Long, Object>();
 			Map<Long, Object> startNodeMap = new HashMap<Long, Object>();
@@ -342,8 +344,8 @@ public class Neo4JBoltSearchOperations {
 			parameterMap.put(GraphDACParams.key.name(), key);
 			parameterMap.put(GraphDACParams.request.name(), request);
 
-			StatementResult result = session
-					.run(SearchQueryGenerationUtil.generateGetNodePropertyCypherQuery(parameterMap));
+			CypherQuery cypherQuery = SearchQueryGenerationUtil.generateGetNodePropertyCypherQuery(parameterMap);
+			StatementResult result = session.run(cypherQuery.getQuery(), cypherQuery.getParams());
 			if (null != result) {
 				for (Record record : result.list()) {
 					TelemetryManager.log("'Get Node Property' Operation Finished.", record.asMap());
@@ -367,11 +369,69 @@ public class Neo4JBoltSearchOperations {
 	 * @return the all nodes
 	 */
 	public static List<Node> getAllNodes(String graphId, Request request) {
+		List<Node> nodes = new ArrayList<Node>();
+		try (Neo4JBoltNodeIterator iterator = streamAllNodes(graphId, request)) {
+			while (iterator.hasNext())
+				nodes.add(iterator.next());
+		}
+		TelemetryManager.log("Returning All Nodes: {}", nodes.size());
+		return nodes;
+	}
+
+	/**
+	 * Streams all the nodes of the graph, with their relations. The iterator
+	 * should be closed once done with.
+	 *
+	 * @param graphId
+	 *            the graph id
+	 * @param request
+	 *            the request
+	 * @return the iterator over the nodes
+	 */
+	public static Neo4JBoltNodeIterator streamAllNodes(String graphId, Request request) {
 
 		if (StringUtils.isBlank(graphId))
 			throw new ClientException(DACErrorCodeConstants.INVALID_GRAPH.name(),
 					DACErrorMessageConstants.INVALID_GRAPH_ID + " | ['Get All Nodes' Operation Failed.]");
 
+		Driver driver = DriverUtil.getDriver(graphId, GraphOperation.READ);
+		TelemetryManager.log("Driver Initialised. | [Graph Id: {}]", graphId);
+		Session session = driver.session();
+		try {
+			Map<String, Object> parameterMap = new HashMap<String, Object>();
+			parameterMap.put(GraphDACParams.graphId.name(), graphId);
+			parameterMap.put(GraphDACParams.request.name(), request);
+
+			CypherQuery cypherQuery = SearchQueryGenerationUtil.generateGetAllNodesCypherQuery(parameterMap);
+			StatementResult result = session.run(cypherQuery.getQuery(), cypherQuery.getParams());
+			return new Neo4JBoltNodeIterator(graphId, session, result, true);
+		} catch (RuntimeException e) {
+			session.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Gets a page of the nodes of the graph, ordered by their identifier, with
+	 * their relations.
+	 *
+	 * @param graphId
+	 *            the graph id
+	 * @param afterId
+	 *            identifier of the last node of the previous page, blank for
+	 *            the first page
+	 * @param limit
+	 *            the maximum number of nodes in the page
+	 * @param request
+	 *            the request
+	 * @return the nodes of the page
+	 */
+	public static List<Node> getNodesPage(String graphId, String afterId, int limit, Request request) {
+
+		if (StringUtils.isBlank(graphId))
+			throw new ClientException(DACErrorCodeConstants.INVALID_GRAPH.name(),
+					DACErrorMessageConstants.INVALID_GRAPH_ID + " | ['Get Nodes Page' Operation Failed.]");
+
 		List<Node> nodes = new ArrayList<Node>();
 		Driver driver = DriverUtil.getDriver(graphId, GraphOperation.READ);
 		TelemetryManager.log("Driver Initialised. | [Graph Id: " + graphId + "]");
@@ -379,79 +439,163 @@ public class Neo4JBoltSearchOperations {
 			Map<String, Object> parameterMap = new HashMap<String, Object>();
 			parameterMap.put(GraphDACParams.graphId.name(), graphId);
 			parameterMap.put(GraphDACParams.request.name(), request);
+			parameterMap.put(GraphDACParams.after_id.name(), afterId);
+			parameterMap.put(GraphDACParams.limit.name(), limit);
 
-			StatementResult result = session
-					.run(SearchQueryGenerationUtil.generateGetAllNodesCypherQuery(parameterMap));
-			Map<Long, Object> nodeMap = new HashMap<Long, Object>();
+			CypherQuery cypherQuery = SearchQueryGenerationUtil.generateGetNodesPageCypherQuery(parameterMap);
+			StatementResult result = session.run(cypherQuery.getQuery(), cypherQuery.getParams());
+			Map<Long, Object> nodeMap = new LinkedHashMap<Long, Object>();
 			Map<Long, Object> relationMap = new HashMap<Long, Object>();
 			Map<Long, Object> startNodeMap = new HashMap<Long, Object>();
 			Map<Long, Object> endNodeMap = new HashMap<Long, Object>();
 			if (null != result) {
-				for (Record record : result.list()) {
-					TelemetryManager.log("'Get All Nodes' Operation Finished.", record.asMap());
+				while (result.hasNext()) {
+					Record record = result.next();
 					if (null != record)
 						getRecordValues(record, nodeMap, relationMap, startNodeMap, endNodeMap);
 				}
 			}
-			
+
 			if (!nodeMap.isEmpty()) {
 				for (Entry<Long, Object> entry : nodeMap.entrySet())
 					nodes.add(new Node(graphId, (org.neo4j.driver.v1.types.Node) entry.getValue(), relationMap,
 							startNodeMap, endNodeMap));
 			}
 		}
-		TelemetryManager.log("Returning All Nodes: " + nodes.size());
+		TelemetryManager.log("Returning Nodes Page: " + nodes.size() + " | [After Id: " + afterId + "]");
 		return nodes;
 	}
 
 	/**
-	 * Gets the all relations.
+	 * Gets the nodes of the sub trees under the given start nodes, along the
+	 * given relation, with their relations, in one query. A node reached along
+	 * more than one path is returned once, with a position for each distinct
+	 * (depth, parent, index) it is reached at.
 	 *
 	 * @param graphId
 	 *            the graph id
+	 * @param startNodeIds
+	 *            the identifiers of the roots of the sub trees
+	 * @param relationType
+	 *            the relation from a parent to its children
+	 * @param depth
+	 *            the maximum depth of the sub trees
+	 * @param positions
+	 *            receives the positions of the nodes, as maps of identifier,
+	 *            depth, parent and index. The roots are at depth 0, are their
+	 *            own parent and have no index.
 	 * @param request
 	 *            the request
-	 * @return the all relations
+	 * @return the nodes of the sub trees
 	 */
-	public static List<Relation> getAllRelations(String graphId, Request request) {
-		
+	@SuppressWarnings("unchecked")
+	public static List<Node> getHierarchyNodes(String graphId, List<String> startNodeIds, String relationType,
+			int depth, List<Map<String, Object>> positions, Request request) {
+
 		if (StringUtils.isBlank(graphId))
 			throw new ClientException(DACErrorCodeConstants.INVALID_GRAPH.name(),
-					DACErrorMessageConstants.INVALID_GRAPH_ID + " | ['Get All Relations' Operation Failed.]");
+					DACErrorMessageConstants.INVALID_GRAPH_ID + " | ['Get Hierarchy Nodes' Operation Failed.]");
 
-		List<Relation> relations = new ArrayList<Relation>();
+		List<Node> nodes = new ArrayList<Node>();
 		Driver driver = DriverUtil.getDriver(graphId, GraphOperation.READ);
 		TelemetryManager.log("Driver Initialised. | [Graph Id: " + graphId + "]");
 		try (Session session = driver.session()) {
 			Map<String, Object> parameterMap = new HashMap<String, Object>();
 			parameterMap.put(GraphDACParams.graphId.name(), graphId);
+			parameterMap.put(GraphDACParams.startNodeIds.name(), startNodeIds);
+			parameterMap.put(GraphDACParams.relationType.name(), relationType);
+			parameterMap.put(GraphDACParams.depth.name(), depth);
 			parameterMap.put(GraphDACParams.request.name(), request);
 
-			StatementResult result = session
-					.run(SearchQueryGenerationUtil.generateGetAllRelationsCypherQuery(parameterMap));
-			Map<Long, Object> relationMap = new HashMap<Long, Object>();
+			CypherQuery cypherQuery = SearchQueryGenerationUtil.generateGetHierarchyNodesCypherQuery(parameterMap);
+			StatementResult result = session.run(cypherQuery.getQuery(), cypherQuery.getParams());
+			Map<Long, Object> nodeMap = new LinkedHashMap<Long, Object>();
+			// the relations are kept by node, so that a node is built from its own relations only.
+			Map<Long, Map<Long, Object>> relationMaps = new HashMap<Long, Map<Long, Object>>();
 			Map<Long, Object> startNodeMap = new HashMap<Long, Object>();
 			Map<Long, Object> endNodeMap = new HashMap<Long, Object>();
 			if (null != result) {
-				for (Record record : result.list()) {
-					TelemetryManager.log("'Get All Relations' Operation Finished.", record.asMap());
-					if (null != record)
-						getRecordValues(record, null, relationMap, startNodeMap, endNodeMap);
+				while (result.hasNext()) {
+					Record record = result.next();
+					if (null == record)
+						continue;
+					org.neo4j.driver.v1.types.Node node = record
+							.get(CypherQueryConfigurationConstants.DEFAULT_CYPHER_NODE_OBJECT).asNode();
+					Map<Long, Object> relationMap = relationMaps.get(node.id());
+					if (null == relationMap) {
+						relationMap = new HashMap<Long, Object>();
+						relationMaps.put(node.id(), relationMap);
+						String identifier = node.get(SystemProperties.IL_UNIQUE_ID.name()).asString();
+						for (Object value : record.get("__positions").asList()) {
+							Map<String, Object> position = new HashMap<String, Object>((Map<String, Object>) value);
+							position.put(GraphDACParams.identifier.name(), identifier);
+							positions.add(position);
+						}
+					}
+					getRecordValues(record, nodeMap, relationMap, startNodeMap, endNodeMap);
 				}
 			}
-			TelemetryManager.log("Relation Map: " + relationMap + "\nStart Node Map: " + startNodeMap + "\nEnd Node Map: "
-					+ endNodeMap);
 
-			if (!relationMap.isEmpty()) {
-				for (Entry<Long, Object> entry : relationMap.entrySet())
-					relations.add(new Relation(graphId, (org.neo4j.driver.v1.types.Relationship) entry.getValue(),
-							startNodeMap, endNodeMap));
-			}
+			for (Entry<Long, Object> entry : nodeMap.entrySet())
+				nodes.add(new Node(graphId, (org.neo4j.driver.v1.types.Node) entry.getValue(),
+						relationMaps.get(entry.getKey()), startNodeMap, endNodeMap));
+		}
+		TelemetryManager.log("Returning Hierarchy Nodes: " + nodes.size() + " | [Start Node Ids: " + startNodeIds + "]");
+		return nodes;
+	}
+
+	/**
+	 * Gets the all relations.
+	 *
+	 * @param graphId
+	 *            the graph id
+	 * @param request
+	 *            the request
+	 * @return the all relations
+	 */
+	public static List<Relation> getAllRelations(String graphId, Request request) {
+		List<Relation> relations = new ArrayList<Relation>();
+		try (Neo4JBoltRelationIterator iterator = streamAllRelations(graphId, request)) {
+			while (iterator.hasNext())
+				relations.add(iterator.next());
 		}
-		TelemetryManager.log("Returning All Relations: " + relations.size());
+		TelemetryManager.log("Returning All Relations: {}", relations.size());
 		return relations;
 	}
 
+	/**
+	 * Streams all the relations of the graph. The iterator should be closed
+	 * once done with.
+	 *
+	 * @param graphId
+	 *            the graph id
+	 * @param request
+	 *            the request
+	 * @return the iterator over the relations
+	 */
+	public static Neo4JBoltRelationIterator streamAllRelations(String graphId, Request request) {
+
+		if (StringUtils.isBlank(graphId))
+			throw new ClientException(DACErrorCodeConstants.INVALID_GRAPH.name(),
+					DACErrorMessageConstants.INVALID_GRAPH_ID + " | ['Get All Relations' Operation Failed.]");
+
+		Driver driver = DriverUtil.getDriver(graphId, GraphOperation.READ);
+		TelemetryManager.log("Driver Initialised. | [Graph Id: {}]", graphId);
+		Session session = driver.session();
+		try {
+			Map<String, Object> parameterMap = new HashMap<String, Object>();
+			parameterMap.put(GraphDACParams.graphId.name(), graphId);
+			parameterMap.put(GraphDACParams.request.name(), request);
+
+			CypherQuery cypherQuery = SearchQueryGenerationUtil.generateGetAllRelationsCypherQuery(parameterMap);
+			StatementResult result = session.run(cypherQuery.getQuery(), cypherQuery.getParams());
+			return new Neo4JBoltRelationIterator(graphId, session, result);
+		} catch (RuntimeException e) {
+			session.close();
+			throw e;
+		}
+	}
+
 	/**
 	 * Gets the relation property.
 	 *
@@ -508,8 +652,8 @@ public class Neo4JBoltSearchOperations {
 			parameterMap.put(GraphDACParams.key.name(), key);
 			parameterMap.put(GraphDACParams.request.name(), request);
 
-			StatementResult result = session
-					.run(SearchQueryGenerationUtil.generateGetRelationPropertyCypherQuery(parameterMap));
+			CypherQuery cypherQuery = SearchQueryGenerationUtil.generateGetRelationPropertyCypherQuery(parameterMap);
+			StatementResult result = session.run(cypherQuery.getQuery(), cypherQuery.getParams());
 			if (null != result) {
 				for (Record record : result.list()) {
 					TelemetryManager.log("'Get Relation Property' Operation Finished.", record.asMap());
@@ -543,8 +687,8 @@ public class Neo4JBoltSearchOperations {
 			parameterMap.put(GraphDACParams.identifier.name(), relationId);
 			parameterMap.put(GraphDACParams.request.name(), request);
 			
-			StatementResult result = session
-					.run(SearchQueryGenerationUtil.generateGetRelationByIdCypherQuery(parameterMap));
+			CypherQuery cypherQuery = SearchQueryGenerationUtil.generateGetRelationByIdCypherQuery(parameterMap);
+			StatementResult result = session.run(cypherQuery.getQuery(), cypherQuery.getParams());
 			Map<Long, Object> relationMap = new HashMap<Long, Object>();
 			Map<Long, Object> startNodeMap = new HashMap<Long, Object>();
 			Map<Long, Object> endNodeMap = new HashMap<Long, Object>();
@@ -612,8 +756,8 @@ public class Neo4JBoltSearchOperations {
 			parameterMap.put(GraphDACParams.endNodeId.name(), endNodeId);
 			parameterMap.put(GraphDACParams.request.name(), request);
 			
-			StatementResult result = session
-					.run(SearchQueryGenerationUtil.generateGetRelationCypherQuery(parameterMap));
+			CypherQuery cypherQuery = SearchQueryGenerationUtil.generateGetRelationCypherQuery(parameterMap);
+			StatementResult result = session.run(cypherQuery.getQuery(), cypherQuery.getParams());
 			if (null == result || !result.hasNext())
 				throw new ResourceNotFoundException(DACErrorCodeConstants.NOT_FOUND.name(),
 						DACErrorMessageConstants.NODE_NOT_FOUND + " | [No Relation found.]");
@@ -686,8 +830,8 @@ public class Neo4JBoltSearchOperations {
 			parameterMap.put(GraphDACParams.endNodeId.name(), endNodeId);
 			parameterMap.put(GraphDACParams.request.name(), request);
 
-			StatementResult result = session
-					.run(SearchQueryGenerationUtil.generateCheckCyclicLoopCypherQuery(parameterMap));
+			CypherQuery cypherQuery = SearchQueryGenerationUtil.generateCheckCyclicLoopCypherQuery(parameterMap);
+			StatementResult result = session.run(cypherQuery.getQuery(), cypherQuery.getParams());
 			if (null != result && result.hasNext()) {
 				cyclicLoopMap.put(GraphDACParams.loop.name(), new Boolean(true));
 				cyclicLoopMap.put(GraphDACParams.message.name(),
@@ -774,6 +918,32 @@ public class Neo4JBoltSearchOperations {
 	 */
 	public static List<Node> searchNodes(String graphId, SearchCriteria searchCriteria, Boolean getTags,
 			Request request) {
+		List<Node> nodes = new ArrayList<Node>();
+		try (Neo4JBoltNodeIterator iterator = streamNodes(graphId, searchCriteria, getTags, request)) {
+			while (iterator.hasNext())
+				nodes.add(iterator.next());
+		}
+		TelemetryManager.log("Returning Search Nodes: {}", nodes.size());
+		return nodes;
+	}
+
+	/**
+	 * Streams the nodes matching the search criteria, in the order of the
+	 * search. The nodes are read from the result only as the iterator is
+	 * read, so it should be closed once done with.
+	 *
+	 * @param graphId
+	 *            the graph id
+	 * @param searchCriteria
+	 *            the search criteria
+	 * @param getTags
+	 *            the get tags
+	 * @param request
+	 *            the request
+	 * @return the iterator over the nodes
+	 */
+	public static Neo4JBoltNodeIterator streamNodes(String graphId, SearchCriteria searchCriteria, Boolean getTags,
+			Request request) {
 
 		if (StringUtils.isBlank(graphId))
 			throw new ClientException(DACErrorCodeConstants.INVALID_GRAPH.name(),
@@ -783,15 +953,12 @@ public class Neo4JBoltSearchOperations {
 			throw new ClientException(DACErrorCodeConstants.INVALID_CRITERIA.name(),
 					DACErrorMessageConstants.INVALID_SEARCH_CRITERIA + " | ['Search Nodes' Operation Failed.]");
 
-		List<Node> nodes = new ArrayList<Node>();
 		Driver driver = DriverUtil.getDriver(graphId, GraphOperation.READ);
-		TelemetryManager.log("Driver Initialised. | [Graph Id: " + graphId + "]");
-		try (Session session = driver.session()) {
-			TelemetryManager.log("Session Initialised. | [Graph Id: " + graphId + "]");
+		TelemetryManager.log("Driver Initialised. | [Graph Id: {}]", graphId);
+		Session session = driver.session();
+		try {
 			List<String> fields = searchCriteria.getFields();
-			boolean returnNode = true;
-			if (null != fields && !fields.isEmpty())
-				returnNode = false;
+			boolean returnNode = null == fields || fields.isEmpty();
 			Map<String, Object> parameterMap = new HashMap<String, Object>();
 			parameterMap.put(GraphDACParams.graphId.name(), graphId);
 			parameterMap.put(GraphDACParams.searchCriteria.name(), searchCriteria);
@@ -799,39 +966,14 @@ public class Neo4JBoltSearchOperations {
 			parameterMap.put(GraphDACParams.request.name(), request);
 
 			String query = SearchQueryGenerationUtil.generateSearchNodesCypherQuery(parameterMap);
-			TelemetryManager.log("Search Query: " + query);
 			Map<String, Object> params = searchCriteria.getParams();
-			TelemetryManager.log("Search Params: " + params);
+			TelemetryManager.log("Search Query: {} | Params: {}", query, params);
 			StatementResult result = session.run(query, params);
-			Map<Long, Object> nodeMap = new LinkedHashMap<Long, Object>();
-			Map<Long, Object> relationMap = new HashMap<Long, Object>();
-			Map<Long, Object> startNodeMap = new HashMap<Long, Object>();
-			Map<Long, Object> endNodeMap = new HashMap<Long, Object>();
-			if (null != result) {
-				TelemetryManager.log("'Search Nodes' result: " + result);
-				for (Record record : result.list()) {
-					TelemetryManager.log("'Search Nodes' Operation Finished.", record.asMap());
-					if (null != record) {
-						if (returnNode)
-							getRecordValues(record, nodeMap, relationMap, startNodeMap, endNodeMap);
-						else {
-							Node node = new Node(graphId, record.asMap());
-							nodes.add(node);
-						}
-					}
-				}
-			}
-			TelemetryManager.log("Node Map: " + nodeMap + "\nRelation Map: " + relationMap + "\nStart Node Map: "
-					+ startNodeMap + "\nEnd Node Map: " + endNodeMap);
-
-			if (!nodeMap.isEmpty()) {
-				for (Entry<Long, Object> entry : nodeMap.entrySet())
-					nodes.add(new Node(graphId, (org.neo4j.driver.v1.types.Node) entry.getValue(), relationMap,
-							startNodeMap, endNodeMap));
-			}
+			return new Neo4JBoltNodeIterator(graphId, session, result, returnNode);
+		} catch (RuntimeException e) {
+			session.close();
+			throw e;
 		}
-		TelemetryManager.log("Returning Search Nodes: " + nodes);
-		return nodes;
 	}
 
 	/**
@@ -967,7 +1109,7 @@ public class Neo4JBoltSearchOperations {
 		return subGraph;
 	}
 
-	private static void getRecordValues(Record record, Map<Long, Object> nodeMap, Map<Long, Object> relationMap,
+	static void getRecordValues(Record record, Map<Long, Object> nodeMap, Map<Long, Object> relationMap,
 			Map<Long, Object> startNodeMap, Map<Long, Object> endNodeMap) {
 		if (null != nodeMap) {
 			Value nodeValue = record.get(CypherQueryConfigurationConstants.DEFAULT_CYPHER_NODE_OBJECT);
@@ -985,6 +1127,17 @@ public class Neo4JBoltSearchOperations {
 				relationMap.put(relationship.id(), relationship);
 			}
 		}
+		if (null != relationMap && record.containsKey(CypherQueryConfigurationConstants.DEFAULT_CYPHER_RELATIONS_OBJECT)) {
+			// the relations of the node as [relation, start node, end node] lists.
+			for (Value relation : record.get(CypherQueryConfigurationConstants.DEFAULT_CYPHER_RELATIONS_OBJECT).values()) {
+				org.neo4j.driver.v1.types.Relationship relationship = relation.get(0).asRelationship();
+				relationMap.put(relationship.id(), relationship);
+				if (null != startNodeMap)
+					startNodeMap.put(relationship.startNodeId(), relation.get(1).asNode());
+				if (null != endNodeMap)
+					endNodeMap.put(relationship.endNodeId(), relation.get(2).asNode());
+			}
+		}
 		if (null != startNodeMap) {
 			Value startNodeValue = record.get(CypherQueryConfigurationConstants.DEFAULT_CYPHER_START_NODE_OBJECT);
 			if (null != startNodeValue && StringUtils.equalsIgnoreCase("NODE", startNodeValue.type().name())) {
@@ -1,5 +1,7 @@
 package org.ekstep.graph.service.request.validator;
 
+import java.util.function.Function;
+
 import org.apache.commons.lang3.StringUtils;
 import org.ekstep.graph.cache.util.RedisStoreUtil;
 import org.ekstep.graph.dac.enums.GraphDACParams;
@@ -7,10 +9,16 @@ import org.ekstep.graph.dac.enums.SystemNodeTypes;
 import org.ekstep.graph.dac.model.Node;
 import org.ekstep.graph.service.common.NodeUpdateMode;
 import org.ekstep.graph.service.util.LocalCache;
-import org.ekstep.telemetry.logger.TelemetryManager;
 
 public class Neo4jBoltValidator extends Neo4JBoltDataVersionKeyValidator {
 
+	// the cache key of a definition node property is its Redis key, so the
+	// loader does not capture the request and is not allocated on every call.
+	private static final Function<String, Object> REDIS_LOADER = key -> {
+		String value = RedisStoreUtil.get(key);
+		return StringUtils.isNotBlank(value) ? value : null;
+	};
+
 	public boolean validateUpdateOperation(String graphId, Node node) {
 
 		String nodeId = node.getIdentifier();
@@ -21,37 +29,22 @@ public class Neo4jBoltValidator extends Neo4JBoltDataVersionKeyValidator {
 		if (!nodeType.equalsIgnoreCase(SystemNodeTypes.DATA_NODE.name()))
 			return true;
 
-		String versionCheckMode = LocalCache.getDefNodeProperty(graphId, nodeObjType, GraphDACParams.versionCheckMode.name());
-		TelemetryManager.log(
-				"Version Check Mode in Local Cache: " + versionCheckMode + " for Object Type: " + node.getObjectType());
+		// versionCheckMode is read from Redis on a local cache miss and
+		// refreshed from Redis in the background when it is close to expiry
+		String versionCheckMode = LocalCache.getDefNodeProperty(graphId, nodeObjType,
+				GraphDACParams.versionCheckMode.name(), REDIS_LOADER);
 
-		if (StringUtils.isNotBlank(versionCheckMode)) {// from Local cache
-			// versionCheckMode is from Local cache, check versionKey in Redis
+		if (StringUtils.isNotBlank(versionCheckMode)) {// from cache
+			// versionCheckMode is from cache, check versionKey in Redis
 			// or graph
 			if (!StringUtils.equalsIgnoreCase(NodeUpdateMode.OFF.name(), versionCheckMode)) {
 				String storedVersionKey = RedisStoreUtil.getNodeProperty(graphId, nodeId,
 						GraphDACParams.versionKey.name());
 				return validateUpdateOperation(graphId, node, versionCheckMode, storedVersionKey);
 			}
-		} else {
-			versionCheckMode = RedisStoreUtil.getNodeProperty(graphId, nodeObjType,
-					GraphDACParams.versionCheckMode.name());
-			if (StringUtils.isNotBlank(versionCheckMode)) { // from Redis cache
-				// versionCheckMode is from Redis cache, check versionKey in
-				// Redis or graph
-				// store versionCheckMode in local cache
-				LocalCache.setDefNodeProperty(graphId, nodeObjType, GraphDACParams.versionCheckMode.name(), versionCheckMode);
-				TelemetryManager.log(
-						"setting Version Check Mode in Local Cache: " + versionCheckMode + " for Object Type: " + node.getObjectType());
-				if (!StringUtils.equalsIgnoreCase(NodeUpdateMode.OFF.name(), versionCheckMode)) {
-					String storedVersionKey = RedisStoreUtil.getNodeProperty(graphId, nodeId,
-							GraphDACParams.versionKey.name());
-					return validateUpdateOperation(graphId, node, versionCheckMode, storedVersionKey);
-				}
-			} else { // from graph - fall back
-				// check both versionCheckMode and versionKey in graph
-				return validateUpdateOperation(graphId, node, versionCheckMode, null);
-			}
+		} else { // from graph - fall back
+			// check both versionCheckMode and versionKey in graph
+			return validateUpdateOperation(graphId, node, versionCheckMode, null);
 		}
 
 		return true;
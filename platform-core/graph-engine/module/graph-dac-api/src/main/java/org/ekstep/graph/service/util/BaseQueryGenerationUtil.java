@@ -77,6 +77,26 @@ public class BaseQueryGenerationUtil {
 		return matchCriteria;
 	}
 
+	protected static Map<String, Object> getMatchCriteriaQueryMap(String graphId, Node node) {
+
+		Map<String, Object> queryMap = new HashMap<String, Object>();
+		Map<String, Object> paramValuesMap = new HashMap<String, Object>();
+		String query = "";
+		if (StringUtils.isNotBlank(graphId) && null != node) {
+			if (StringUtils.isBlank(node.getIdentifier()))
+				node.setIdentifier(Identifier.getIdentifier(graphId, Identifier.getUniqueIdFromTimestamp()));
+			if (StringUtils.isBlank(node.getGraphId()))
+				node.setGraphId(graphId);
+
+			// Sample: IL_UNIQUE_ID: { MC_IL_UNIQUE_ID }
+			query = SystemProperties.IL_UNIQUE_ID.name() + ": { MC_" + SystemProperties.IL_UNIQUE_ID.name() + " }";
+			paramValuesMap.put("MC_" + SystemProperties.IL_UNIQUE_ID.name(), node.getIdentifier());
+		}
+		queryMap.put(GraphDACParams.query.name(), query);
+		queryMap.put(GraphDACParams.paramValueMap.name(), paramValuesMap);
+		return queryMap;
+	}
+
 	protected static Map<String, Object> getMetadataCypherQueryMap(Node node) {
 
 		Map<String, Object> queryMap = new HashMap<String, Object>();
@@ -0,0 +1,35 @@
+package org.ekstep.graph.service.util;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * A cypher statement and the values of its parameters. The statement holds
+ * only "{name}" placeholders for values, so that it is the same text for every
+ * call of an operation and neo4j can reuse the plan cached for it.
+ * 
+ * @see CypherQueryBuilder
+ */
+public class CypherQuery {
+
+	private final String query;
+	private final Map<String, Object> params;
+
+	public CypherQuery(String query, Map<String, Object> params) {
+		this.query = query;
+		this.params = Collections.unmodifiableMap(params);
+	}
+
+	public String getQuery() {
+		return query;
+	}
+
+	public Map<String, Object> getParams() {
+		return params;
+	}
+
+	@Override
+	public String toString() {
+		return query;
+	}
+}
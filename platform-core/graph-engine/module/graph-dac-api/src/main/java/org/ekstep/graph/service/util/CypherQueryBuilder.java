@@ -0,0 +1,60 @@
+package org.ekstep.graph.service.util;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Builds a {@link CypherQuery}. Values are always bound as parameters. Labels,
+ * relation types and property keys can not be parameters in cypher, they are
+ * written into the statement, escaped when they are not plain identifiers.
+ * 
+ * <pre>
+ * new CypherQueryBuilder().append("MATCH (ee:").identifier(graphId).append(" {IL_UNIQUE_ID: ")
+ * 		.param("nodeId", nodeId).append("}) RETURN ee").build();
+ * </pre>
+ */
+public class CypherQueryBuilder {
+
+	private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*");
+
+	private final StringBuilder query = new StringBuilder();
+	private final Map<String, Object> params = new HashMap<String, Object>();
+
+	public CypherQueryBuilder append(String text) {
+		query.append(text);
+		return this;
+	}
+
+	/**
+	 * Appends a label, relation type or property key.
+	 */
+	public CypherQueryBuilder identifier(String name) {
+		query.append(escape(name));
+		return this;
+	}
+
+	/**
+	 * Appends the placeholder of the parameter and binds its value.
+	 */
+	public CypherQueryBuilder param(String name, Object value) {
+		query.append("{").append(name).append("}");
+		params.put(name, value);
+		return this;
+	}
+
+	@Override
+	public String toString() {
+		return query.toString();
+	}
+
+	public CypherQuery build() {
+		return new CypherQuery(query.toString(), params);
+	}
+
+	public static String escape(String name) {
+		if (IDENTIFIER.matcher(name).matches())
+			return name;
+		return "`" + name.replace("`", "``") + "`";
+	}
+}
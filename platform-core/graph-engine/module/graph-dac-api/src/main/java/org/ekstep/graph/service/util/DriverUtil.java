@@ -1,41 +1,69 @@
 package org.ekstep.graph.service.util;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
-import java.util.Iterator;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.apache.commons.lang3.StringUtils;
+import org.ekstep.common.Platform;
 import org.ekstep.graph.service.common.DACConfigurationConstants;
 import org.ekstep.graph.service.common.GraphOperation;
 import org.ekstep.telemetry.logger.TelemetryManager;
 import org.neo4j.driver.v1.Config;
 import org.neo4j.driver.v1.Driver;
 import org.neo4j.driver.v1.GraphDatabase;
+import org.neo4j.driver.v1.Session;
 
+/**
+ * Registry of the Neo4j drivers, one per route. The graphs and operations
+ * routed to the same server share the driver, and with it the connection pool.
+ * The pool settings are read from the application configuration, under
+ * <code>graph.dac.driver</code>.
+ */
 public class DriverUtil {
 
-	private static Map<String, Driver> driverMap = new HashMap<String, Driver>();
+	private static final String CONFIG_PREFIX = "graph.dac.driver.";
+
+	private static final int MAX_IDLE_SESSIONS = getInt("max_idle_sessions",
+			DACConfigurationConstants.NEO4J_SERVER_MAX_IDLE_SESSION);
+	private static final long CONNECTION_TIMEOUT = getLong("connection_timeout", 5000);
+	private static final long LIVENESS_CHECK_TIMEOUT = getLong("liveness_check_timeout", 60000);
+	private static final long MAX_RETRY_TIME = getLong("max_retry_time", 30000);
+	private static final boolean ENCRYPTED = Platform.config.hasPath(CONFIG_PREFIX + "encrypted")
+			? Platform.config.getBoolean(CONFIG_PREFIX + "encrypted") : false;
+
+	private static Map<String, Driver> driverMap = new ConcurrentHashMap<String, Driver>();
+	private static Map<String, Driver> routeDriverMap = new ConcurrentHashMap<String, Driver>();
+
+	private static LongAdder acquireCount = new LongAdder();
+	private static LongAdder acquireWaitTime = new LongAdder();
+	private static LongAdder acquireFailure = new LongAdder();
 
 	public static Driver getDriver(String graphId, GraphOperation graphOperation) {
-		TelemetryManager.log("Get Driver for Graph Id: "+ graphId);
 		String driverKey = graphId + DACConfigurationConstants.UNDERSCORE
 				+ StringUtils.lowerCase(graphOperation.name());
-		TelemetryManager.log("Driver Configuration Key: " + driverKey);
-
 		Driver driver = driverMap.get(driverKey);
-		if (null == driver) {
-			driver = loadDriver(graphId, graphOperation);
-			driverMap.put(driverKey, driver);
-		}
+		if (null == driver)
+			driver = driverMap.computeIfAbsent(driverKey, key -> loadDriver(graphId, graphOperation));
 		return driver;
 	}
 
 	private static Driver loadDriver(String graphId, GraphOperation graphOperation) {
 		String route = RoutingUtil.getRoute(graphId, graphOperation);
-		Driver driver = GraphDatabase.driver(route, getConfig());
-		if (null != driver)
-			registerShutdownHook(driver);
-		return driver;
+		TelemetryManager.log("Driver for graph: {}, operation: {} uses route: {}", graphId, graphOperation, route);
+		return routeDriverMap.computeIfAbsent(route, key -> {
+			Driver driver = GraphDatabase.driver(route, getConfig());
+			if (null != driver)
+				registerShutdownHook(driver);
+			return driver;
+		});
 	}
 
 	private static void registerShutdownHook(Driver driver) {
@@ -50,17 +78,112 @@ public class DriverUtil {
 
 	public static Config getConfig() {
 		Config.ConfigBuilder config = Config.build();
-		config.withEncryptionLevel(Config.EncryptionLevel.NONE);
-		config.withMaxIdleSessions(DACConfigurationConstants.NEO4J_SERVER_MAX_IDLE_SESSION);
+		config.withEncryptionLevel(ENCRYPTED ? Config.EncryptionLevel.REQUIRED : Config.EncryptionLevel.NONE);
+		config.withMaxIdleSessions(MAX_IDLE_SESSIONS);
+		config.withConnectionTimeout(CONNECTION_TIMEOUT, TimeUnit.MILLISECONDS);
+		config.withConnectionLivenessCheckTimeout(LIVENESS_CHECK_TIMEOUT, TimeUnit.MILLISECONDS);
+		config.withMaxTransactionRetryTime(MAX_RETRY_TIME, TimeUnit.MILLISECONDS);
 		config.withTrustStrategy(Config.TrustStrategy.trustAllCertificates());
 		return config.toConfig();
 	}
+
+	/**
+	 * Opens the configured number of connections with the servers of the
+	 * configured graphs, on a background thread, so that the first requests
+	 * do not wait for the connections to be made. The connections are kept
+	 * idle in the pools of the drivers, up to the maximum idle sessions.
+	 */
+	public static void warmUp() {
+		List<String> graphIds = Platform.config.hasPath(CONFIG_PREFIX + "warm_up.graph_ids")
+				? Platform.config.getStringList(CONFIG_PREFIX + "warm_up.graph_ids") : Arrays.asList("domain");
+		int connections = Math.min(getInt("warm_up.connections", MAX_IDLE_SESSIONS), MAX_IDLE_SESSIONS);
+		if (graphIds.isEmpty() || connections <= 0)
+			return;
+		Thread warmUp = new Thread(() -> {
+			Set<Driver> warmedUp = new HashSet<Driver>();
+			for (String graphId : graphIds) {
+				for (GraphOperation graphOperation : GraphOperation.values()) {
+					try {
+						if (warmedUp.add(getDriver(graphId, graphOperation)))
+							warmUp(graphId, graphOperation, connections);
+					} catch (Exception e) {
+						TelemetryManager.error("Error while loading the driver of graph: " + graphId + ", operation: "
+								+ graphOperation + ". " + e.getMessage(), e);
+					}
+				}
+			}
+		}, "graph-dac-driver-warm-up");
+		warmUp.setDaemon(true);
+		warmUp.start();
+	}
+
+	/**
+	 * Opens the given number of sessions on the driver of the graph and
+	 * operation, checks each of them with a trivial statement and returns
+	 * them to the pool.
+	 *
+	 * @return the number of connections opened
+	 */
+	public static int warmUp(String graphId, GraphOperation graphOperation, int connections) {
+		List<Session> sessions = new ArrayList<Session>();
+		try {
+			Driver driver = getDriver(graphId, graphOperation);
+			for (int i = 0; i < connections; i++) {
+				long startTime = System.nanoTime();
+				Session session = driver.session();
+				sessions.add(session);
+				session.run("RETURN 1").consume();
+				acquireWaitTime.add(System.nanoTime() - startTime);
+				acquireCount.increment();
+			}
+		} catch (Exception e) {
+			acquireFailure.increment();
+			TelemetryManager.error("Error while warming up the connections of graph: " + graphId + ", operation: "
+					+ graphOperation + ". " + e.getMessage(), e);
+		} finally {
+			for (Session session : sessions)
+				session.close();
+		}
+		TelemetryManager.log("Warmed up {} connections of graph: {}, operation: {}", sessions.size(), graphId,
+				graphOperation);
+		return sessions.size();
+	}
+
+	/**
+	 * Returns a snapshot of the driver registry, the pool settings and the
+	 * connections acquired to warm up the pools.
+	 */
+	public static Map<String, Object> getStats() {
+		Map<String, Object> stats = new HashMap<String, Object>();
+		long count = acquireCount.sum();
+		stats.put("routes", new ArrayList<String>(routeDriverMap.keySet()));
+		stats.put("driverCount", routeDriverMap.size());
+		stats.put("maxIdleSessions", MAX_IDLE_SESSIONS);
+		stats.put("connectionTimeout", CONNECTION_TIMEOUT);
+		stats.put("livenessCheckTimeout", LIVENESS_CHECK_TIMEOUT);
+		stats.put("maxRetryTime", MAX_RETRY_TIME);
+		stats.put("acquireCount", count);
+		stats.put("acquireFailureCount", acquireFailure.sum());
+		stats.put("acquireWaitTimeAvg", count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(acquireWaitTime.sum() / count));
+		return stats;
+	}
+
 	public static void closeDrivers() {
-		for (Iterator<Map.Entry<String, Driver>> it = driverMap.entrySet().iterator(); it.hasNext(); ) {
-			Map.Entry<String, Driver> entry = it.next();
-			Driver driver = entry.getValue();
-			driver.close();
-			it.remove();
+		driverMap.clear();
+		for (String route : new ArrayList<String>(routeDriverMap.keySet())) {
+			Driver driver = routeDriverMap.remove(route);
+			if (null != driver)
+				driver.close();
 		}
 	}
+
+	private static int getInt(String key, int defaultValue) {
+		return Platform.config.hasPath(CONFIG_PREFIX + key) ? Platform.config.getInt(CONFIG_PREFIX + key)
+				: defaultValue;
+	}
+
+	private static long getLong(String key, long defaultValue) {
+		return Platform.config.hasPath(CONFIG_PREFIX + key) ? Platform.config.getLong(CONFIG_PREFIX + key)
+				: defaultValue;
+	}
 }
@@ -1,51 +1,36 @@
 package org.ekstep.graph.service.util;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Function;
 
 import org.ekstep.common.Platform;
+import org.ekstep.graph.cache.local.BoundedLocalCache;
 import org.ekstep.graph.cache.util.CacheKeyGenerator;
-import org.ekstep.telemetry.logger.TelemetryManager;
 
 /**
  * The Class LocalCache, is used to cache any object in current java instance
  * local heap until the cached object time to live(ttl) expired as per
- * configured ttl
+ * configured ttl. The number of cached objects is bounded and expired objects
+ * are removed by a background sweeper.
  *
  * @author karthik
  */
 public class LocalCache {
 
-	/** The cache map. */
-	private static Map<String, CacheObject> cacheMap = null;
+	/** The cache. */
+	private static volatile BoundedLocalCache<Object> cache = null;
 
 	/** The ttl. */
 	private static long ttl = 36000000; // default 10 hour
 
-	/**
-	 * The Class CacheObject.
-	 *
-	 * @author karthik
-	 */
-	protected static class CacheObject {
-
-		/** The create on. */
-		public long createOn = System.currentTimeMillis();
-
-		/** The value. */
-		public Object value;
-
-		/**
-		 * Instantiates a new cache object.
-		 *
-		 * @param value
-		 *            the value
-		 */
-		protected CacheObject(Object value) {
-			this.value = value;
-			TelemetryManager.log("Local cache object value=" + value.toString() + "createOn=" + createOn);
-		}
-	}
+	/** The maximum number of cached objects. */
+	private static int maxSize = 10000;
+
+	/** The time before expiry from when an object is refreshed on access. */
+	private static long refreshAhead = 3600000; // default 1 hour
+
+	/** The interval of the expired object sweeper. */
+	private static long sweepInterval = 60000; // default 1 minute
 
 	static {
 		init();
@@ -55,8 +40,13 @@ public class LocalCache {
 	 * Inits the.
 	 */
 	public static void init() {
-		cacheMap = new HashMap<String, CacheObject>();
-		setTTL();
+		setConfig();
+		long refreshAfter = (refreshAhead > 0 && refreshAhead < ttl) ? ttl - refreshAhead : 0;
+		BoundedLocalCache<Object> newCache = new BoundedLocalCache<>("local", maxSize, ttl, refreshAfter);
+		newCache.scheduleCleanUp(sweepInterval);
+		if (null != cache)
+			cache.scheduleCleanUp(0);
+		cache = newCache;
 	}
 
 	/**
@@ -67,20 +57,21 @@ public class LocalCache {
 	 * @return the object
 	 */
 	public static Object get(String key) {
-		CacheObject c = (CacheObject) cacheMap.get(key);
-
-		if (c == null)
-			return null;
-		else {
-			long now = System.currentTimeMillis();
-			if (now - c.createOn > ttl) {
-				TelemetryManager.log("Local cache object value=" + c.value.toString() + "createOn=" + c.createOn
-						+ " is expired now");
-				cacheMap.remove(key);
-				return null;
-			}
-			return c.value;
-		}
+		return cache.get(key);
+	}
+
+	/**
+	 * Gets the object, loading it with the loader if it is not cached. The
+	 * object is reloaded in the background when it is close to expiry.
+	 *
+	 * @param key
+	 *            the key
+	 * @param loader
+	 *            the loader
+	 * @return the object
+	 */
+	public static Object get(String key, Function<String, Object> loader) {
+		return cache.get(key, loader);
 	}
 
 	/**
@@ -92,21 +83,30 @@ public class LocalCache {
 	 *            the value
 	 */
 	public static void set(String key, Object value) {
-
-		CacheObject cacheObj = new CacheObject(value);
-		cacheMap.put(key, cacheObj);
-		TelemetryManager.log("Local cache object value=" + cacheObj.value.toString() + "cacheObj.createOn="
-				+ cacheObj.createOn + " is set now");
+		cache.put(key, value);
 	}
 
 	/**
-	 * sets the ttl.
+	 * Gets the hit, miss and eviction counters of the cache.
 	 *
-	 * @return the ttl
+	 * @return the stats
+	 */
+	public static Map<String, Object> getStats() {
+		return cache.getStats();
+	}
+
+	/**
+	 * sets the ttl, size and refresh configuration.
 	 */
-	private static void setTTL() {
+	private static void setConfig() {
 		if(Platform.config.hasPath("platform.cache.ttl"))
 			ttl = Long.parseLong(Platform.config.getString("platform.cache.ttl"));
+		if(Platform.config.hasPath("platform.cache.max_size"))
+			maxSize = Platform.config.getInt("platform.cache.max_size");
+		if(Platform.config.hasPath("platform.cache.refresh_ahead"))
+			refreshAhead = Platform.config.getLong("platform.cache.refresh_ahead");
+		if(Platform.config.hasPath("platform.cache.sweep_interval"))
+			sweepInterval = Platform.config.getLong("platform.cache.sweep_interval");
 	}
 
 	/**
@@ -125,6 +125,26 @@ public class LocalCache {
 		return value == null ? null : value.toString();
 	}
 
+	/**
+	 * Gets the def node property, loading it with the loader if it is not
+	 * cached or is close to expiry.
+	 *
+	 * @param graphId
+	 *            the graph id
+	 * @param objectType
+	 *            the object type
+	 * @param nodeProperty
+	 *            the node property
+	 * @param loader
+	 *            the loader
+	 * @return the def node property
+	 */
+	public static String getDefNodeProperty(String graphId, String objectType, String nodeProperty,
+			Function<String, Object> loader) {
+		Object value = get(getDefNodePropertyKey(graphId, objectType, nodeProperty), loader);
+		return value == null ? null : value.toString();
+	}
+
 	/**
 	 * Sets the def node property.
 	 *
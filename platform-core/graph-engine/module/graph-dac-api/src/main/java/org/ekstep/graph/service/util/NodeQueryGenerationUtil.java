@@ -5,7 +5,6 @@ import java.util.List;
 import java.util.Map;
 
 import org.apache.commons.lang3.StringUtils;
-import org.ekstep.common.dto.Property;
 import org.ekstep.graph.common.DateUtils;
 import org.ekstep.graph.common.Identifier;
 import org.ekstep.graph.dac.enums.GraphDACParams;
@@ -97,13 +96,14 @@ public class NodeQueryGenerationUtil extends BaseQueryGenerationUtil {
 			StringBuilder templateQuery = new StringBuilder();
 			Map<String, Object> templateParamValueMap = new HashMap<String, Object>();
 			// Template Query
+			Map<String, Object> mcMap = getMatchCriteriaQueryMap(graphId, node);
 			Map<String, Object> ocsMap = getOnCreateSetQueryMap("ee", date, node);
 			Map<String, Object> omsMap = getOnMatchSetQueryMap("ee", date, node, true);
 			templateQuery.append(GraphDACParams.MERGE.name()).append(CypherQueryConfigurationConstants.BLANK_SPACE)
 					.append(CypherQueryConfigurationConstants.OPEN_COMMON_BRACKETS)
 					.append("ee" + CypherQueryConfigurationConstants.COLON).append(graphId)
 					.append(CypherQueryConfigurationConstants.OPEN_CURLY_BRACKETS)
-					.append(getMatchCriteriaString(graphId, node))
+					.append(mcMap.get(GraphDACParams.query.name()))
 					.append(CypherQueryConfigurationConstants.BLANK_SPACE)
 					.append(CypherQueryConfigurationConstants.CLOSE_CURLY_BRACKETS)
 					.append(CypherQueryConfigurationConstants.CLOSE_COMMON_BRACKETS)
@@ -115,6 +115,7 @@ public class NodeQueryGenerationUtil extends BaseQueryGenerationUtil {
 			// Return Node
 			templateQuery.append(CypherQueryConfigurationConstants.BLANK_SPACE).append(GraphDACParams.RETURN.name())
 					.append(CypherQueryConfigurationConstants.BLANK_SPACE).append("ee");
+			templateParamValueMap.putAll((Map<String, Object>) mcMap.get(GraphDACParams.paramValueMap.name()));
 			templateParamValueMap.putAll((Map<String, Object>) ocsMap.get(GraphDACParams.paramValueMap.name()));
 			templateParamValueMap.putAll((Map<String, Object>) omsMap.get(GraphDACParams.paramValueMap.name()));
 			
@@ -153,12 +154,13 @@ public class NodeQueryGenerationUtil extends BaseQueryGenerationUtil {
 			StringBuilder templateQuery = new StringBuilder();
 			Map<String, Object> templateParamValueMap = new HashMap<String, Object>();
 			// Template Query
+			Map<String, Object> mcMap = getMatchCriteriaQueryMap(graphId, node);
 			Map<String, Object> omsMap = getOnMatchSetQueryMap("ee", date, node, false);
 			templateQuery.append(GraphDACParams.MATCH.name()).append(CypherQueryConfigurationConstants.BLANK_SPACE)
 					.append(CypherQueryConfigurationConstants.OPEN_COMMON_BRACKETS)
 					.append("ee" + CypherQueryConfigurationConstants.COLON).append(graphId)
 					.append(CypherQueryConfigurationConstants.OPEN_CURLY_BRACKETS)
-					.append(getMatchCriteriaString(graphId, node))
+					.append(mcMap.get(GraphDACParams.query.name()))
 					.append(CypherQueryConfigurationConstants.BLANK_SPACE)
 					.append(CypherQueryConfigurationConstants.CLOSE_CURLY_BRACKETS)
 					.append(CypherQueryConfigurationConstants.CLOSE_COMMON_BRACKETS)
@@ -168,6 +170,7 @@ public class NodeQueryGenerationUtil extends BaseQueryGenerationUtil {
 			// Return Node
 			templateQuery.append(CypherQueryConfigurationConstants.BLANK_SPACE).append(GraphDACParams.RETURN.name())
 					.append(CypherQueryConfigurationConstants.BLANK_SPACE).append("ee");
+			templateParamValueMap.putAll((Map<String, Object>) mcMap.get(GraphDACParams.paramValueMap.name()));
 			templateParamValueMap.putAll((Map<String, Object>) omsMap.get(GraphDACParams.paramValueMap.name()));
 			
 			TelemetryManager.log("Returning Update Node Cypher Query: " + templateQuery);
@@ -182,94 +185,6 @@ public class NodeQueryGenerationUtil extends BaseQueryGenerationUtil {
 		return "";
 	}
 
-	@SuppressWarnings("unchecked")
-	public static String generateImportNodesCypherQuery(Map<String, Object> parameterMap) {
-		StringBuilder query = new StringBuilder();
-		if (null != parameterMap) {
-			String graphId = (String) parameterMap.get(GraphDACParams.graphId.name());
-			if (StringUtils.isBlank(graphId))
-				throw new ClientException(DACErrorCodeConstants.INVALID_GRAPH.name(),
-						DACErrorMessageConstants.INVALID_GRAPH_ID + " | ['Import Nodes' Query Generation Failed.]");
-
-			List<Node> nodes = (List<Node>) parameterMap.get(GraphDACParams.nodes.name());
-			if (null == nodes || nodes.size() <= 0)
-				throw new ClientException(DACErrorCodeConstants.INVALID_NODE.name(),
-						DACErrorMessageConstants.INVALID_NODE_LIST + " | [Import Nodes Query Generation Failed.]");
-
-			String date = DateUtils.formatCurrentDate();
-
-			Map<String, Object> queryMap = new HashMap<String, Object>();
-
-			int index = 1;
-			for (Node node : nodes) {
-				String objPrefix = getString(index);
-				StringBuilder templateQuery = new StringBuilder();
-				Map<String, Object> templateQueryMap = new HashMap<String, Object>();
-				Map<String, Object> templateParamValueMap = new HashMap<String, Object>();
-				// Sample: CREATE (ee:Person { name: "Emil", from: "Sweden",
-				// klout:99 })
-				query.append(GraphDACParams.MERGE.name()).append(CypherQueryConfigurationConstants.BLANK_SPACE)
-						.append(CypherQueryConfigurationConstants.OPEN_COMMON_BRACKETS)
-						.append(objPrefix + CypherQueryConfigurationConstants.COLON).append(graphId)
-						.append(CypherQueryConfigurationConstants.OPEN_CURLY_BRACKETS)
-						.append(getMatchCriteriaString(graphId, node))
-						.append(getPropertyObjectAttributeString(node)).append(CypherQueryConfigurationConstants.COMMA)
-						.append(getSystemPropertyString(node, date)).append(CypherQueryConfigurationConstants.COMMA)
-						.append(getAuditPropertyString(node, date, false))
-						.append(CypherQueryConfigurationConstants.COMMA)
-						.append(getVersionKeyPropertyString(node, date, false))
-						.append(CypherQueryConfigurationConstants.CLOSE_CURLY_BRACKETS)
-						.append(CypherQueryConfigurationConstants.CLOSE_COMMON_BRACKETS)
-						.append(CypherQueryConfigurationConstants.BLANK_SPACE);
-
-				// Adding 'ON CREATE SET n.created=timestamp()' Clause
-				query.append(getOnCreateSetString(objPrefix, date, node))
-						.append(CypherQueryConfigurationConstants.BLANK_SPACE);
-
-				// Adding 'ON MATCH SET' Clause
-				query.append(getOnMatchSetString(objPrefix, date, node))
-						.append(CypherQueryConfigurationConstants.BLANK_SPACE);
-
-				// Return Node
-				query.append(CypherQueryConfigurationConstants.BLANK_SPACE).append(GraphDACParams.RETURN.name())
-						.append(CypherQueryConfigurationConstants.BLANK_SPACE).append(objPrefix);
-
-				// Template Query
-				Map<String, Object> mpMap = getMetadataCypherQueryMap(node);
-				Map<String, Object> ocsMap = getOnCreateSetQueryMap(objPrefix, date, node);
-				Map<String, Object> omsMap = getOnMatchSetQueryMap(objPrefix, date, node, false);
-				templateQuery.append(GraphDACParams.MERGE.name()).append(CypherQueryConfigurationConstants.BLANK_SPACE)
-						.append(CypherQueryConfigurationConstants.OPEN_COMMON_BRACKETS)
-						.append(objPrefix + CypherQueryConfigurationConstants.COLON).append(graphId)
-						.append(CypherQueryConfigurationConstants.OPEN_CURLY_BRACKETS)
-						.append(getMatchCriteriaString(graphId, node))
-						.append(CypherQueryConfigurationConstants.BLANK_SPACE)
-						.append(CypherQueryConfigurationConstants.CLOSE_CURLY_BRACKETS)
-						.append(CypherQueryConfigurationConstants.CLOSE_COMMON_BRACKETS)
-						.append(CypherQueryConfigurationConstants.BLANK_SPACE)
-						.append(ocsMap.get(GraphDACParams.query.name()))
-						.append(CypherQueryConfigurationConstants.BLANK_SPACE)
-						.append(omsMap.get(GraphDACParams.query.name()));
-
-				// Return Node
-				templateQuery.append(CypherQueryConfigurationConstants.BLANK_SPACE).append(GraphDACParams.RETURN.name())
-						.append(CypherQueryConfigurationConstants.BLANK_SPACE).append(objPrefix);
-				templateParamValueMap.putAll((Map<String, Object>) mpMap.get(GraphDACParams.paramValueMap.name()));
-				templateParamValueMap.putAll((Map<String, Object>) ocsMap.get(GraphDACParams.paramValueMap.name()));
-				templateParamValueMap.putAll((Map<String, Object>) omsMap.get(GraphDACParams.paramValueMap.name()));
-
-				templateQueryMap.put(GraphDACParams.query.name(), templateQuery.toString());
-				templateQueryMap.put(GraphDACParams.paramValueMap.name(), templateParamValueMap);
-
-				queryMap.put(node.getIdentifier(), templateQueryMap);
-			}
-			parameterMap.put(GraphDACParams.queryStatementMap.name(), queryMap);
-		}
-
-		TelemetryManager.log("Returning Create Node Cypher Query: " + query);
-		return query.toString();
-	}
-
 	public static String generateUpsertRootNodeCypherQuery(Map<String, Object> parameterMap) {
 		StringBuilder query = new StringBuilder();
 		if (null != parameterMap) {
@@ -301,97 +216,9 @@ public class NodeQueryGenerationUtil extends BaseQueryGenerationUtil {
 		return query.toString();
 	}
 
-	public static String generateUpdatePropertyValueCypherQuery(Map<String, Object> parameterMap) {
-
-		StringBuilder query = new StringBuilder();
-		if (null != parameterMap) {
-			String graphId = (String) parameterMap.get(GraphDACParams.graphId.name());
-			if (StringUtils.isBlank(graphId))
-				throw new ClientException(DACErrorCodeConstants.INVALID_GRAPH.name(),
-						DACErrorMessageConstants.INVALID_GRAPH_ID
-								+ " | [Update Property Value Query Generation Failed.]");
-
-			String nodeId = (String) parameterMap.get(GraphDACParams.nodeId.name());
-			if (StringUtils.isBlank(nodeId))
-				throw new ClientException(DACErrorCodeConstants.INVALID_IDENTIFIER.name(),
-						DACErrorMessageConstants.INVALID_IDENTIFIER
-								+ " | [Update Property Value Query Generation Failed.]");
-
-			Property property = (Property) parameterMap.get(GraphDACParams.property.name());
-			if (null == property)
-				throw new ClientException(DACErrorCodeConstants.INVALID_PROPERTY.name(),
-						DACErrorMessageConstants.INVALID_PROPERTY
-								+ " | [Update Property Value Query Generation Failed.]");
-
-			query.append(GraphDACParams.MATCH.name())
-					.append(CypherQueryConfigurationConstants.OPEN_COMMON_BRACKETS_WITH_NODE_OBJECT_VARIABLE)
-					.append(graphId).append(CypherQueryConfigurationConstants.BLANK_SPACE)
-					.append(GraphDACParams.WHERE.name()).append(CypherQueryConfigurationConstants.BLANK_SPACE)
-					.append(CypherQueryConfigurationConstants.DEFAULT_CYPHER_NODE_OBJECT)
-					.append(CypherQueryConfigurationConstants.DOT).append(SystemProperties.IL_UNIQUE_ID.name())
-					.append(CypherQueryConfigurationConstants.EQUALS)
-					.append(CypherQueryConfigurationConstants.SINGLE_QUOTE).append(nodeId)
-					.append(CypherQueryConfigurationConstants.SINGLE_QUOTE)
-					.append(CypherQueryConfigurationConstants.BLANK_SPACE).append(GraphDACParams.SET.name())
-					.append(CypherQueryConfigurationConstants.BLANK_SPACE)
-					.append(CypherQueryConfigurationConstants.DEFAULT_CYPHER_NODE_OBJECT)
-					.append(CypherQueryConfigurationConstants.DOT).append(property.getPropertyName())
-					.append(CypherQueryConfigurationConstants.EQUALS)
-					.append(CypherQueryConfigurationConstants.SINGLE_QUOTE).append(property.getPropertyValue())
-					.append(CypherQueryConfigurationConstants.SINGLE_QUOTE);
-
-		}
-
-		TelemetryManager.log("Returning Create Node Cypher Query: " + query);
-		return query.toString();
-	}
-
-	@SuppressWarnings("unchecked")
-	public static String generateUpdatePropertyValuesCypherQuery(Map<String, Object> parameterMap) {
-
-		StringBuilder query = new StringBuilder();
-		if (null != parameterMap) {
-			TelemetryManager.log("Fetching the Parameters From Parameter Map");
-			String graphId = (String) parameterMap.get(GraphDACParams.graphId.name());
-			if (StringUtils.isBlank(graphId))
-				throw new ClientException(DACErrorCodeConstants.INVALID_GRAPH.name(),
-						DACErrorMessageConstants.INVALID_GRAPH_ID
-								+ " | [Update Property Values Query Generation Failed.]");
-
-			String nodeId = (String) parameterMap.get(GraphDACParams.nodeId.name());
-			if (StringUtils.isBlank(nodeId))
-				throw new ClientException(DACErrorCodeConstants.INVALID_IDENTIFIER.name(),
-						DACErrorMessageConstants.INVALID_IDENTIFIER
-								+ " | [Update Property Values Query Generation Failed.]");
-
-			Map<String, Object> metadata = (Map<String, Object>) parameterMap.get(GraphDACParams.metadata.name());
-			if (null == metadata)
-				throw new ClientException(DACErrorCodeConstants.INVALID_METADATA.name(),
-						DACErrorMessageConstants.INVALID_PROPERTIES
-								+ " | [Update Property Values Query Generation Failed.]");
-
-			query.append(GraphDACParams.MATCH.name())
-					.append(CypherQueryConfigurationConstants.OPEN_COMMON_BRACKETS_WITH_NODE_OBJECT_VARIABLE)
-					.append(graphId).append(CypherQueryConfigurationConstants.BLANK_SPACE)
-					.append(GraphDACParams.WHERE.name()).append(CypherQueryConfigurationConstants.BLANK_SPACE)
-					.append(CypherQueryConfigurationConstants.DEFAULT_CYPHER_NODE_OBJECT)
-					.append(CypherQueryConfigurationConstants.DOT).append(SystemProperties.IL_UNIQUE_ID.name())
-					.append(CypherQueryConfigurationConstants.EQUALS)
-					.append(CypherQueryConfigurationConstants.SINGLE_QUOTE).append(nodeId)
-					.append(CypherQueryConfigurationConstants.SINGLE_QUOTE)
-					.append(CypherQueryConfigurationConstants.BLANK_SPACE).append(GraphDACParams.SET.name())
-					.append(CypherQueryConfigurationConstants.BLANK_SPACE).append(getMetadataStringForCypherQuery(
-							CypherQueryConfigurationConstants.DEFAULT_CYPHER_NODE_OBJECT, metadata));
-
-		}
-
-		TelemetryManager.log("Returning Create Node Cypher Query: " + query);
-		return query.toString();
-	}
-
-	public static String generateRemovePropertyValueCypherQuery(Map<String, Object> parameterMap) {
+	public static CypherQuery generateRemovePropertyValueCypherQuery(Map<String, Object> parameterMap) {
 
-		StringBuilder query = new StringBuilder();
+		CypherQueryBuilder query = new CypherQueryBuilder();
 		if (null != parameterMap) {
 			String graphId = (String) parameterMap.get(GraphDACParams.graphId.name());
 			if (StringUtils.isBlank(graphId))
@@ -413,30 +240,28 @@ public class NodeQueryGenerationUtil extends BaseQueryGenerationUtil {
 
 			query.append(GraphDACParams.MATCH.name())
 					.append(CypherQueryConfigurationConstants.OPEN_COMMON_BRACKETS_WITH_NODE_OBJECT_VARIABLE)
-					.append(graphId).append(CypherQueryConfigurationConstants.CLOSE_COMMON_BRACKETS)
+					.identifier(graphId).append(CypherQueryConfigurationConstants.CLOSE_COMMON_BRACKETS)
 					.append(CypherQueryConfigurationConstants.BLANK_SPACE)
 					.append(GraphDACParams.WHERE.name()).append(CypherQueryConfigurationConstants.BLANK_SPACE)
 					.append(CypherQueryConfigurationConstants.DEFAULT_CYPHER_NODE_OBJECT)
 					.append(CypherQueryConfigurationConstants.DOT).append(SystemProperties.IL_UNIQUE_ID.name())
-					.append(CypherQueryConfigurationConstants.EQUALS)
-					.append(CypherQueryConfigurationConstants.SINGLE_QUOTE).append(nodeId)
-					.append(CypherQueryConfigurationConstants.SINGLE_QUOTE)
+					.append(CypherQueryConfigurationConstants.EQUALS).param("nodeId", nodeId)
 					.append(CypherQueryConfigurationConstants.BLANK_SPACE).append(GraphDACParams.SET.name())
 					.append(CypherQueryConfigurationConstants.BLANK_SPACE)
 					.append(CypherQueryConfigurationConstants.DEFAULT_CYPHER_NODE_OBJECT)
-					.append(CypherQueryConfigurationConstants.DOT).append(key)
+					.append(CypherQueryConfigurationConstants.DOT).identifier(key)
 					.append(CypherQueryConfigurationConstants.EQUALS).append("null");
 
 		}
 
-		TelemetryManager.log("Returning Create Node Cypher Query: " + query);
-		return query.toString();
+		TelemetryManager.log("Returning Create Node Cypher Query: {}", query);
+		return query.build();
 	}
 
 	@SuppressWarnings("unchecked")
-	public static String generateRemovePropertyValuesCypherQuery(Map<String, Object> parameterMap) {
+	public static CypherQuery generateRemovePropertyValuesCypherQuery(Map<String, Object> parameterMap) {
 
-		StringBuilder query = new StringBuilder();
+		CypherQueryBuilder query = new CypherQueryBuilder();
 		if (null != parameterMap) {
 			String graphId = (String) parameterMap.get(GraphDACParams.graphId.name());
 			if (StringUtils.isBlank(graphId))
@@ -458,26 +283,30 @@ public class NodeQueryGenerationUtil extends BaseQueryGenerationUtil {
 
 			query.append(GraphDACParams.MATCH.name())
 					.append(CypherQueryConfigurationConstants.OPEN_COMMON_BRACKETS_WITH_NODE_OBJECT_VARIABLE)
-					.append(graphId).append(CypherQueryConfigurationConstants.CLOSE_COMMON_BRACKETS)
+					.identifier(graphId).append(CypherQueryConfigurationConstants.CLOSE_COMMON_BRACKETS)
 					.append(CypherQueryConfigurationConstants.BLANK_SPACE)
 					.append(GraphDACParams.WHERE.name()).append(CypherQueryConfigurationConstants.BLANK_SPACE)
 					.append(CypherQueryConfigurationConstants.DEFAULT_CYPHER_NODE_OBJECT)
 					.append(CypherQueryConfigurationConstants.DOT).append(SystemProperties.IL_UNIQUE_ID.name())
-					.append(CypherQueryConfigurationConstants.EQUALS)
-					.append(CypherQueryConfigurationConstants.SINGLE_QUOTE).append(nodeId)
-					.append(CypherQueryConfigurationConstants.SINGLE_QUOTE)
+					.append(CypherQueryConfigurationConstants.EQUALS).param("nodeId", nodeId)
 					.append(CypherQueryConfigurationConstants.BLANK_SPACE).append(GraphDACParams.SET.name())
-					.append(CypherQueryConfigurationConstants.BLANK_SPACE).append(getRemoveKeysStringForCypherQuery(
-							CypherQueryConfigurationConstants.DEFAULT_CYPHER_NODE_OBJECT, keys));
+					.append(CypherQueryConfigurationConstants.BLANK_SPACE);
+			String separator = "";
+			for (String key : keys) {
+				query.append(separator).append(CypherQueryConfigurationConstants.DEFAULT_CYPHER_NODE_OBJECT)
+						.append(CypherQueryConfigurationConstants.DOT).identifier(key)
+						.append(CypherQueryConfigurationConstants.EQUALS).append("null");
+				separator = CypherQueryConfigurationConstants.COMMA;
+			}
 
 		}
 
-		TelemetryManager.log("Returning Create Node Cypher Query: " + query);
-		return query.toString();
+		TelemetryManager.log("Returning Create Node Cypher Query: {}", query);
+		return query.build();
 	}
 
-	public static String generateDeleteNodeCypherQuery(Map<String, Object> parameterMap) {
-		StringBuilder query = new StringBuilder();
+	public static CypherQuery generateDeleteNodeCypherQuery(Map<String, Object> parameterMap) {
+		CypherQueryBuilder query = new CypherQueryBuilder();
 		if (null != parameterMap) {
 			String graphId = (String) parameterMap.get(GraphDACParams.graphId.name());
 			if (StringUtils.isBlank(graphId))
@@ -491,12 +320,12 @@ public class NodeQueryGenerationUtil extends BaseQueryGenerationUtil {
 						DACErrorMessageConstants.INVALID_IDENTIFIER
 								+ " | [Remove Property Values Query Generation Failed.]");
 
-			query.append("MATCH (a:" + graphId + " {" + SystemProperties.IL_UNIQUE_ID.name() + ": '" + nodeId
-					+ "'}) DETACH DELETE a");
+			query.append("MATCH (a:").identifier(graphId).append(" {" + SystemProperties.IL_UNIQUE_ID.name() + ": ")
+					.param("nodeId", nodeId).append("}) DETACH DELETE a");
 		}
 
-		TelemetryManager.log("Returning Create Node Cypher Query: " + query);
-		return query.toString();
+		TelemetryManager.log("Returning Create Node Cypher Query: {}", query);
+		return query.build();
 	}
 
 	@SuppressWarnings("unused")
@@ -1,5 +1,6 @@
 package org.ekstep.graph.service.util;
 
+import java.util.List;
 import java.util.Map;
 
 import org.apache.commons.lang3.StringUtils;
@@ -15,8 +16,8 @@ import org.neo4j.driver.v1.exceptions.ClientException;
 
 public class SearchQueryGenerationUtil {
 
-	public static String generateGetNodeByIdCypherQuery(Map<String, Object> parameterMap) {
-		StringBuilder query = new StringBuilder();
+	public static CypherQuery generateGetNodeByIdCypherQuery(Map<String, Object> parameterMap) {
+		CypherQueryBuilder query = new CypherQueryBuilder();
 		if (null != parameterMap) {
 			String graphId = (String) parameterMap.get(GraphDACParams.graphId.name());
 			if (StringUtils.isBlank(graphId))
@@ -28,18 +29,18 @@ public class SearchQueryGenerationUtil {
 				throw new ClientException(DACErrorCodeConstants.INVALID_IDENTIFIER.name(),
 						DACErrorMessageConstants.INVALID_NODE_ID + " | ['Get Node By Id' Query Generation Failed.]");
 
-			query.append("MATCH (ee:" + graphId + ") WHERE id(ee) = " + nodeId
-					+ " OPTIONAL MATCH (ee)-[r]-() RETURN ee, r, startNode(r) as __startNode, endNode(r) as __endNode");
+			query.append("MATCH (ee:").identifier(graphId).append(") WHERE id(ee) = ").param("nodeId", nodeId)
+					.append(" OPTIONAL MATCH (ee)-[r]-() RETURN ee, r, startNode(r) as __startNode, endNode(r) as __endNode");
 
 		}
 
-		TelemetryManager.log("Returning Get Node By Id Cypher Query: " + query);
-		return query.toString();
+		TelemetryManager.log("Returning Get Node By Id Cypher Query: {}", query);
+		return query.build();
 	}
 
-	public static String generateGetNodeByUniqueIdCypherQuery(Map<String, Object> parameterMap) {
+	public static CypherQuery generateGetNodeByUniqueIdCypherQuery(Map<String, Object> parameterMap) {
 
-		StringBuilder query = new StringBuilder();
+		CypherQueryBuilder query = new CypherQueryBuilder();
 		if (null != parameterMap) {
 			String graphId = (String) parameterMap.get(GraphDACParams.graphId.name());
 			if (StringUtils.isBlank(graphId))
@@ -52,17 +53,18 @@ public class SearchQueryGenerationUtil {
 						DACErrorMessageConstants.INVALID_IDENTIFIER
 								+ " | ['Get Node By Unique Id' Query Generation Failed.]");
 
-			query.append("MATCH (ee:" + graphId + " {" + SystemProperties.IL_UNIQUE_ID.name() + ": '" + nodeId
-					+ "'}) OPTIONAL MATCH (ee)-[r]-() RETURN ee, r, startNode(r) as __startNode, endNode(r) as __endNode");
+			query.append("MATCH (ee:").identifier(graphId).append(" {" + SystemProperties.IL_UNIQUE_ID.name() + ": ")
+					.param("nodeId", nodeId)
+					.append("}) OPTIONAL MATCH (ee)-[r]-() RETURN ee, r, startNode(r) as __startNode, endNode(r) as __endNode");
 
 		}
 
-		TelemetryManager.log("Returning Get Node By Unique Id Cypher Query: " + query);
-		return query.toString();
+		TelemetryManager.log("Returning Get Node By Unique Id Cypher Query: {}", query);
+		return query.build();
 	}
 
-	public static String generateGetNodesByPropertyCypherQuery(Map<String, Object> parameterMap) {
-		StringBuilder query = new StringBuilder();
+	public static CypherQuery generateGetNodesByPropertyCypherQuery(Map<String, Object> parameterMap) {
+		CypherQueryBuilder query = new CypherQueryBuilder();
 		if (null != parameterMap) {
 			String graphId = (String) parameterMap.get(GraphDACParams.graphId.name());
 			if (StringUtils.isBlank(graphId))
@@ -76,13 +78,14 @@ public class SearchQueryGenerationUtil {
 						DACErrorMessageConstants.INVALID_PROPERTY
 								+ " | ['Get Nodes By Property' Query Generation Failed.]");
 
-			query.append("MATCH (ee:" + graphId + " {" + property.getPropertyName() + ": '"
-					+ property.getPropertyValue()
-					+ "'}) OPTIONAL MATCH (ee)-[r]-() RETURN ee, r, startNode(r) as __startNode, endNode(r) as __endNode");
+			// the value was always matched as a string literal, it is bound as one.
+			query.append("MATCH (ee:").identifier(graphId).append(" {").identifier(property.getPropertyName())
+					.append(": ").param("value", String.valueOf(property.getPropertyValue()))
+					.append("}) OPTIONAL MATCH (ee)-[r]-() RETURN ee, r, startNode(r) as __startNode, endNode(r) as __endNode");
 		}
 
-		TelemetryManager.log("Returning Get Nodes By Property Cypher Query: " + query);
-		return query.toString();
+		TelemetryManager.log("Returning Get Nodes By Property Cypher Query: {}", query);
+		return query.build();
 	}
 
 	public static String generateGetNodeByUniqueIdsCypherQuery(Map<String, Object> parameterMap) {
@@ -108,8 +111,8 @@ public class SearchQueryGenerationUtil {
 		return query.toString();
 	}
 
-	public static String generateGetNodePropertyCypherQuery(Map<String, Object> parameterMap) {
-		StringBuilder query = new StringBuilder();
+	public static CypherQuery generateGetNodePropertyCypherQuery(Map<String, Object> parameterMap) {
+		CypherQueryBuilder query = new CypherQueryBuilder();
 		if (null != parameterMap) {
 			String graphId = (String) parameterMap.get(GraphDACParams.graphId.name());
 			if (StringUtils.isBlank(graphId))
@@ -129,32 +132,98 @@ public class SearchQueryGenerationUtil {
 						DACErrorMessageConstants.INVALID_PROPERTY_KEY
 								+ " | ['Get Node Property' Query Generation Failed.]");
 
-			query.append("MATCH (ee:" + graphId + " {" + SystemProperties.IL_UNIQUE_ID.name() + ": '" + nodeId
-					+ "'}) OPTIONAL MATCH (ee)-[r]-() RETURN ee." + key + " as " + key + "");
+			query.append("MATCH (ee:").identifier(graphId).append(" {" + SystemProperties.IL_UNIQUE_ID.name() + ": ")
+					.param("nodeId", nodeId).append("}) OPTIONAL MATCH (ee)-[r]-() RETURN ee.").identifier(key)
+					.append(" as ").identifier(key);
 		}
 
-		TelemetryManager.log("Returning Get Node Property Cypher Query: " + query);
-		return query.toString();
+		TelemetryManager.log("Returning Get Node Property Cypher Query: {}", query);
+		return query.build();
 	}
 
-	public static String generateGetAllNodesCypherQuery(Map<String, Object> parameterMap) {
-		StringBuilder query = new StringBuilder();
+	public static CypherQuery generateGetAllNodesCypherQuery(Map<String, Object> parameterMap) {
+		CypherQueryBuilder query = new CypherQueryBuilder();
 		if (null != parameterMap) {
 			String graphId = (String) parameterMap.get(GraphDACParams.graphId.name());
 			if (StringUtils.isBlank(graphId))
 				throw new ClientException(DACErrorCodeConstants.INVALID_GRAPH.name(),
 						DACErrorMessageConstants.INVALID_GRAPH_ID + " | ['Get All Nodes' Query Generation Failed.]");
 
-			query.append("MATCH (ee:" + graphId
-					+ ") OPTIONAL MATCH (ee)-[r]-() RETURN ee, r, startNode(r) as __startNode, endNode(r) as __endNode");
+			// one record for each node, with its relations in a list, so that the nodes are read as they are matched.
+			query.append("MATCH (ee:").identifier(graphId)
+					.append(") RETURN ee, [(ee)-[r]-() | [r, startNode(r), endNode(r)]] as __relations");
 		}
 
-		TelemetryManager.log("Returning Get All Nodes Cypher Query: " + query);
-		return query.toString();
+		TelemetryManager.log("Returning Get All Nodes Cypher Query: {}", query);
+		return query.build();
 	}
 
-	public static String generateGetAllRelationsCypherQuery(Map<String, Object> parameterMap) {
-		StringBuilder query = new StringBuilder();
+	public static CypherQuery generateGetNodesPageCypherQuery(Map<String, Object> parameterMap) {
+		CypherQueryBuilder query = new CypherQueryBuilder();
+		if (null != parameterMap) {
+			String graphId = (String) parameterMap.get(GraphDACParams.graphId.name());
+			if (StringUtils.isBlank(graphId))
+				throw new ClientException(DACErrorCodeConstants.INVALID_GRAPH.name(),
+						DACErrorMessageConstants.INVALID_GRAPH_ID + " | ['Get Nodes Page' Query Generation Failed.]");
+
+			String afterId = (String) parameterMap.get(GraphDACParams.after_id.name());
+			Integer limit = (Integer) parameterMap.get(GraphDACParams.limit.name());
+
+			// keyset paging on the unique id, so that every page is an index range seek instead of a skip.
+			query.append("MATCH (ee:").identifier(graphId).append(") WHERE ee." + SystemProperties.IL_UNIQUE_ID.name() + " > ")
+					.param("afterId", null == afterId ? "" : afterId)
+					.append(" WITH ee ORDER BY ee." + SystemProperties.IL_UNIQUE_ID.name() + " LIMIT ")
+					.param("limit", limit)
+					.append(" OPTIONAL MATCH (ee)-[r]-() RETURN ee, r, startNode(r) as __startNode, endNode(r) as __endNode");
+		}
+
+		TelemetryManager.log("Returning Get Nodes Page Cypher Query: {}", query);
+		return query.build();
+	}
+
+	@SuppressWarnings("unchecked")
+	public static CypherQuery generateGetHierarchyNodesCypherQuery(Map<String, Object> parameterMap) {
+		CypherQueryBuilder query = new CypherQueryBuilder();
+		if (null != parameterMap) {
+			String graphId = (String) parameterMap.get(GraphDACParams.graphId.name());
+			if (StringUtils.isBlank(graphId))
+				throw new ClientException(DACErrorCodeConstants.INVALID_GRAPH.name(),
+						DACErrorMessageConstants.INVALID_GRAPH_ID + " | ['Get Hierarchy Nodes' Query Generation Failed.]");
+
+			List<String> startNodeIds = (List<String>) parameterMap.get(GraphDACParams.startNodeIds.name());
+			if (null == startNodeIds || startNodeIds.isEmpty())
+				throw new ClientException(DACErrorCodeConstants.INVALID_IDENTIFIER.name(),
+						DACErrorMessageConstants.INVALID_START_NODE_ID_LIST
+								+ " | ['Get Hierarchy Nodes' Query Generation Failed.]");
+
+			String relationType = (String) parameterMap.get(GraphDACParams.relationType.name());
+			if (StringUtils.isBlank(relationType))
+				throw new ClientException(DACErrorCodeConstants.INVALID_RELATION.name(),
+						DACErrorMessageConstants.INVALID_RELATION_TYPE
+								+ " | ['Get Hierarchy Nodes' Query Generation Failed.]");
+
+			Integer depth = (Integer) parameterMap.get(GraphDACParams.depth.name());
+			if (null == depth || depth < 0)
+				throw new ClientException(DACErrorCodeConstants.INVALID_DEPTH.name(),
+						DACErrorMessageConstants.INVALID_DEPTH + " | ['Get Hierarchy Nodes' Query Generation Failed.]");
+
+			// every node of the sub trees once, with the positions it is reached at and all its relations.
+			query.append("MATCH p=(nn:").identifier(graphId).append(")-[:").identifier(relationType)
+					.append("*0.." + depth + "]->(ee:").identifier(graphId).append(") WHERE nn."
+							+ SystemProperties.IL_UNIQUE_ID.name() + " IN ")
+					.param("startNodeIds", startNodeIds)
+					.append(" WITH ee, collect(DISTINCT {depth: length(p), parent: (nodes(p)[length(p)-1])."
+							+ SystemProperties.IL_UNIQUE_ID.name() + ", index: (rels(p)[length(p)-1])."
+							+ SystemProperties.IL_SEQUENCE_INDEX.name() + "}) as __positions")
+					.append(" OPTIONAL MATCH (ee)-[r]-() RETURN ee, __positions, r, startNode(r) as __startNode, endNode(r) as __endNode");
+		}
+
+		TelemetryManager.log("Returning Get Hierarchy Nodes Cypher Query: {}", query);
+		return query.build();
+	}
+
+	public static CypherQuery generateGetAllRelationsCypherQuery(Map<String, Object> parameterMap) {
+		CypherQueryBuilder query = new CypherQueryBuilder();
 		if (null != parameterMap) {
 			String graphId = (String) parameterMap.get(GraphDACParams.graphId.name());
 			if (StringUtils.isBlank(graphId))
@@ -162,16 +231,17 @@ public class SearchQueryGenerationUtil {
 						DACErrorMessageConstants.INVALID_GRAPH_ID
 								+ " | ['Get All Relations' Query Generation Failed.]");
 
-			query.append("MATCH (ee:" + graphId + ")-[r]-(aa:" + graphId
-					+ ") RETURN r, startNode(r) as __startNode, endNode(r) as __endNode");
+			// directed, so that every relation is returned once.
+			query.append("MATCH (ee:").identifier(graphId).append(")-[r]->(aa:").identifier(graphId)
+					.append(") RETURN r, startNode(r) as __startNode, endNode(r) as __endNode");
 		}
 
-		TelemetryManager.log("Returning Get All Relations Cypher Query: " + query);
-		return query.toString();
+		TelemetryManager.log("Returning Get All Relations Cypher Query: {}", query);
+		return query.build();
 	}
 
-	public static String generateGetRelationPropertyCypherQuery(Map<String, Object> parameterMap) {
-		StringBuilder query = new StringBuilder();
+	public static CypherQuery generateGetRelationPropertyCypherQuery(Map<String, Object> parameterMap) {
+		CypherQueryBuilder query = new CypherQueryBuilder();
 		if (null != parameterMap) {
 			String graphId = (String) parameterMap.get(GraphDACParams.graphId.name());
 			if (StringUtils.isBlank(graphId))
@@ -203,17 +273,16 @@ public class SearchQueryGenerationUtil {
 						DACErrorMessageConstants.INVALID_PROPERTY_KEY
 								+ " | ['Get Relation Property' Query Generation Failed.]");
 
-			query.append("MATCH (ee:" + graphId + " {" + SystemProperties.IL_UNIQUE_ID.name() + ": '" + startNodeId
-					+ "'})-[r:" + relationType + "]-(aa:" + graphId + " {" + SystemProperties.IL_UNIQUE_ID.name()
-					+ ": '" + endNodeId + "'}) RETURN r." + key + " as " + key + "");
+			appendRelationMatch(query, graphId, startNodeId, relationType, endNodeId);
+			query.append(" RETURN r.").identifier(key).append(" as ").identifier(key);
 		}
 
-		TelemetryManager.log("Returning Get Relation Property Cypher Query: " + query);
-		return query.toString();
+		TelemetryManager.log("Returning Get Relation Property Cypher Query: {}", query);
+		return query.build();
 	}
 	
-	public static String generateGetRelationByIdCypherQuery(Map<String, Object> parameterMap) {
-		StringBuilder query = new StringBuilder();
+	public static CypherQuery generateGetRelationByIdCypherQuery(Map<String, Object> parameterMap) {
+		CypherQueryBuilder query = new CypherQueryBuilder();
 		if (null != parameterMap) {
 			String graphId = (String) parameterMap.get(GraphDACParams.graphId.name());
 			if (StringUtils.isBlank(graphId))
@@ -226,15 +295,16 @@ public class SearchQueryGenerationUtil {
 						DACErrorMessageConstants.INVALID_IDENTIFIER
 								+ " | ['Get Relation By Id' Query Generation Failed.]");
 
-			query.append("MATCH ()-[r]-() where ID(r)= " + id + " RETURN r, startNode(r) as __startNode, endNode(r) as __endNode");
+			query.append("MATCH ()-[r]-() where ID(r)= ").param("id", id)
+					.append(" RETURN r, startNode(r) as __startNode, endNode(r) as __endNode");
 		}
 
-		TelemetryManager.log("Returning Get Relation By Id Cypher Query: " + query);
-		return query.toString();
+		TelemetryManager.log("Returning Get Relation By Id Cypher Query: {}", query);
+		return query.build();
 	}
 
-	public static String generateGetRelationCypherQuery(Map<String, Object> parameterMap) {
-		StringBuilder query = new StringBuilder();
+	public static CypherQuery generateGetRelationCypherQuery(Map<String, Object> parameterMap) {
+		CypherQueryBuilder query = new CypherQueryBuilder();
 		if (null != parameterMap) {
 			String graphId = (String) parameterMap.get(GraphDACParams.graphId.name());
 			if (StringUtils.isBlank(graphId))
@@ -258,18 +328,17 @@ public class SearchQueryGenerationUtil {
 				throw new ClientException(DACErrorCodeConstants.INVALID_IDENTIFIER.name(),
 						DACErrorMessageConstants.INVALID_END_NODE_ID + " | ['Get Relation' Query Generation Failed.]");
 
-			query.append("MATCH (ee:" + graphId + " {" + SystemProperties.IL_UNIQUE_ID.name() + ": '" + startNodeId
-					+ "'})-[r:" + relationType + "]-(aa:" + graphId + " {" + SystemProperties.IL_UNIQUE_ID.name()
-					+ ": '" + endNodeId + "'}) RETURN r, startNode(r) as __startNode, endNode(r) as __endNode");
+			appendRelationMatch(query, graphId, startNodeId, relationType, endNodeId);
+			query.append(" RETURN r, startNode(r) as __startNode, endNode(r) as __endNode");
 
 		}
 
-		TelemetryManager.log("Returning Get Relation Cypher Query: " + query);
-		return query.toString();
+		TelemetryManager.log("Returning Get Relation Cypher Query: {}", query);
+		return query.build();
 	}
 
-	public static String generateCheckCyclicLoopCypherQuery(Map<String, Object> parameterMap) {
-		StringBuilder query = new StringBuilder();
+	public static CypherQuery generateCheckCyclicLoopCypherQuery(Map<String, Object> parameterMap) {
+		CypherQueryBuilder query = new CypherQueryBuilder();
 		if (null != parameterMap) {
 			String graphId = (String) parameterMap.get(GraphDACParams.graphId.name());
 			if (StringUtils.isBlank(graphId))
@@ -295,14 +364,15 @@ public class SearchQueryGenerationUtil {
 						DACErrorMessageConstants.INVALID_END_NODE_ID
 								+ " | ['Check Cyclic Loop' Query Generation Failed.]");
 
-			query.append("MATCH (ee:" + graphId + " { " + SystemProperties.IL_UNIQUE_ID.name() + ": '" + startNodeId
-					+ "' })-[:" + relationType + "*1..]->(aa:" + graphId + "{" + SystemProperties.IL_UNIQUE_ID.name()
-					+ ": '" + endNodeId + "'}) RETURN aa");
+			query.append("MATCH (ee:").identifier(graphId).append(" { " + SystemProperties.IL_UNIQUE_ID.name() + ": ")
+					.param("startNodeId", startNodeId).append(" })-[:").identifier(relationType).append("*1..]->(aa:")
+					.identifier(graphId).append("{" + SystemProperties.IL_UNIQUE_ID.name() + ": ")
+					.param("endNodeId", endNodeId).append("}) RETURN aa");
 
 		}
 
-		TelemetryManager.log("Returning Check Cyclic Loop Cypher Query: " + query);
-		return query.toString();
+		TelemetryManager.log("Returning Check Cyclic Loop Cypher Query: {}", query);
+		return query.build();
 	}
 
 	@SuppressWarnings("unchecked")
@@ -443,4 +513,12 @@ public class SearchQueryGenerationUtil {
 		return query.toString();
 	}
 
+	private static void appendRelationMatch(CypherQueryBuilder query, String graphId, String startNodeId,
+			String relationType, String endNodeId) {
+		query.append("MATCH (ee:").identifier(graphId).append(" {" + SystemProperties.IL_UNIQUE_ID.name() + ": ")
+				.param("startNodeId", startNodeId).append("})-[r:").identifier(relationType).append("]-(aa:")
+				.identifier(graphId).append(" {" + SystemProperties.IL_UNIQUE_ID.name() + ": ")
+				.param("endNodeId", endNodeId).append("})");
+	}
+
 }
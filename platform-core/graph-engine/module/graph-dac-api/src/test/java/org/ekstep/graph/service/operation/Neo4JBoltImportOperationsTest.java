@@ -0,0 +1,184 @@
+package org.ekstep.graph.service.operation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.ekstep.graph.dac.enums.SystemProperties;
+import org.ekstep.graph.dac.model.Node;
+import org.ekstep.graph.dac.model.Relation;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.neo4j.driver.v1.Record;
+import org.neo4j.driver.v1.Session;
+import org.neo4j.driver.v1.StatementResult;
+import org.neo4j.driver.v1.Transaction;
+
+public class Neo4JBoltImportOperationsTest {
+
+	private Session session;
+	private Transaction tx;
+
+	@Before
+	public void setUp() {
+		session = Mockito.mock(Session.class);
+		tx = Mockito.mock(Transaction.class);
+		StatementResult result = Mockito.mock(StatementResult.class);
+		Mockito.when(result.list()).thenReturn(new ArrayList<Record>());
+		Mockito.when(tx.run(Mockito.anyString(), Mockito.anyMapOf(String.class, Object.class))).thenReturn(result);
+		Mockito.when(session.beginTransaction()).thenReturn(tx);
+	}
+
+	@Test
+	public void testDiffRelations() {
+		Node node = new Node("do_1", "DATA_NODE", "Content");
+		node.setOutRelations(Arrays.asList(new Relation("do_1", "associatedTo", "do_2"),
+				new Relation("do_1", "associatedTo", "do_3"), new Relation("do_1", "associatedTo", "do_9"),
+				new Relation("do_1", "hasSequenceMember", "do_5"), new Relation("do_1", "hasSequenceMember", "do_7")));
+		Map<String, List<Map<String, Object>>> existing = new HashMap<String, List<Map<String, Object>>>();
+		existing.put("associatedTo", new ArrayList<Map<String, Object>>(
+				Arrays.asList(getRelation("do_2", null), getRelation("do_4", null))));
+		existing.put("hasSequenceMember", new ArrayList<Map<String, Object>>(
+				Arrays.asList(getRelation("do_5", 1), getRelation("do_6", 2))));
+		Set<String> existingNodeIds = new HashSet<String>(Arrays.asList("do_2", "do_3", "do_5", "do_7", "do_9"));
+
+		Map<String, List<Map<String, Object>>> upserts = new LinkedHashMap<String, List<Map<String, Object>>>();
+		Map<String, List<Map<String, Object>>> deletes = new LinkedHashMap<String, List<Map<String, Object>>>();
+		Map<String, List<String>> messages = new HashMap<String, List<String>>();
+		int count = Neo4JBoltImportOperations.diffRelations(node, existing, existingNodeIds, upserts, deletes,
+				messages);
+
+		// do_3, do_9 and do_7 are created, do_4 and do_6 are deleted.
+		Assert.assertEquals(1, count);
+		Assert.assertEquals(Arrays.asList("do_2", "do_3", "do_9"), getEndNodeIds(upserts.get("associatedTo")));
+		Assert.assertEquals(Arrays.asList("do_5", "do_7"), getEndNodeIds(upserts.get("hasSequenceMember")));
+		Assert.assertEquals(Arrays.asList("do_4"), getEndNodeIds(deletes.get("associatedTo")));
+		Assert.assertEquals(Arrays.asList("do_6"), getEndNodeIds(deletes.get("hasSequenceMember")));
+		// the new member follows the last member which is kept.
+		Map<String, Object> metadata = (Map<String, Object>) upserts.get("hasSequenceMember").get(1).get("metadata");
+		Assert.assertEquals(2, metadata.get(SystemProperties.IL_SEQUENCE_INDEX.name()));
+		Assert.assertTrue(messages.isEmpty());
+	}
+
+	@Test
+	public void testDiffRelationsWithMissingEndNode() {
+		Node node = new Node("do_1", "DATA_NODE", "Content");
+		node.setOutRelations(Arrays.asList(new Relation("do_1", "associatedTo", "do_2"),
+				new Relation("do_1", "associatedTo", "do_missing")));
+		Map<String, List<Map<String, Object>>> upserts = new LinkedHashMap<String, List<Map<String, Object>>>();
+		Map<String, List<Map<String, Object>>> deletes = new LinkedHashMap<String, List<Map<String, Object>>>();
+		Map<String, List<String>> messages = new HashMap<String, List<String>>();
+		int count = Neo4JBoltImportOperations.diffRelations(node, null, new HashSet<String>(Arrays.asList("do_2")),
+				upserts, deletes, messages);
+
+		Assert.assertEquals(1, count);
+		Assert.assertEquals(Arrays.asList("do_2"), getEndNodeIds(upserts.get("associatedTo")));
+		Assert.assertTrue(deletes.isEmpty());
+		Assert.assertEquals(Arrays.asList("Node with id: do_missing not found to create relation:associatedTo"),
+				messages.get("do_1"));
+	}
+
+	@Test
+	public void testWriteNodesInBatches() {
+		int size = 2 * Neo4JBoltImportOperations.BATCH_SIZE + 1;
+		List<Node> nodes = new ArrayList<Node>();
+		for (int i = 0; i < size; i++) {
+			Node node = new Node("do_" + i, "DATA_NODE", "Content");
+			node.setMetadata(new HashMap<String, Object>());
+			nodes.add(node);
+		}
+		Neo4JBoltImportOperations.ImportProgress progress = new Neo4JBoltImportOperations.ImportProgress("test",
+				"task_1");
+		Neo4JBoltImportOperations.writeNodes(session, "test", nodes, progress);
+
+		Mockito.verify(session, Mockito.times(3)).beginTransaction();
+		Mockito.verify(tx, Mockito.times(3)).success();
+		List<Integer> batches = new ArrayList<Integer>();
+		int reported = 0;
+		for (Map<String, Object> params : getParams()) {
+			if (params.containsKey("batch"))
+				batches.add(((List<?>) params.get("batch")).size());
+			else
+				reported += (Integer) params.get("nodes");
+		}
+		Assert.assertEquals(Arrays.asList(Neo4JBoltImportOperations.BATCH_SIZE, Neo4JBoltImportOperations.BATCH_SIZE,
+				1), batches);
+		Assert.assertEquals(size, progress.nodes);
+		Assert.assertEquals(size, reported);
+		Assert.assertNotNull(nodes.get(0).getMetadata().get("versionKey"));
+	}
+
+	@Test
+	public void testWriteNodesSetsCreatedDates() {
+		Node node = new Node("do_1", "DATA_NODE", "Content");
+		node.setMetadata(new HashMap<String, Object>());
+		Neo4JBoltImportOperations.writeNodes(session, "test", Arrays.asList(node),
+				new Neo4JBoltImportOperations.ImportProgress("test", null));
+
+		ArgumentCaptor<String> query = ArgumentCaptor.forClass(String.class);
+		Mockito.verify(tx).run(query.capture(), Mockito.anyMapOf(String.class, Object.class));
+		Assert.assertTrue(query.getValue().contains("ON CREATE SET n.createdOn = coalesce(row.metadata.createdOn, {date}), "
+				+ "n.lastStatusChangedOn = coalesce(row.metadata.createdOn, {date})"));
+	}
+
+	@Test
+	public void testWriteRelationsInBatches() {
+		int size = Neo4JBoltImportOperations.BATCH_SIZE + 1;
+		List<Map<String, Object>> rows = new ArrayList<Map<String, Object>>();
+		for (int i = 0; i < size; i++) {
+			Map<String, Object> row = new HashMap<String, Object>();
+			row.put("startNodeId", "do_" + i);
+			row.put("endNodeId", "do_end");
+			rows.add(row);
+		}
+		Map<String, List<Map<String, Object>>> relations = new LinkedHashMap<String, List<Map<String, Object>>>();
+		relations.put("associatedTo", rows);
+		Neo4JBoltImportOperations.ImportProgress progress = new Neo4JBoltImportOperations.ImportProgress("test",
+				"task_1");
+		Neo4JBoltImportOperations.writeRelations(session, "test", relations, false, progress);
+
+		Mockito.verify(session, Mockito.times(2)).beginTransaction();
+		ArgumentCaptor<String> queries = ArgumentCaptor.forClass(String.class);
+		Mockito.verify(tx, Mockito.times(4)).run(queries.capture(), Mockito.anyMapOf(String.class, Object.class));
+		Assert.assertTrue(queries.getAllValues().get(0).endsWith("DELETE r"));
+		Assert.assertEquals(size, progress.relations);
+		int reported = 0;
+		for (Map<String, Object> params : getParams()) {
+			if (params.containsKey("relations"))
+				reported += (Integer) params.get("relations");
+		}
+		Assert.assertEquals(size, reported);
+	}
+
+	private List<Map<String, Object>> getParams() {
+		ArgumentCaptor<Map> params = ArgumentCaptor.forClass(Map.class);
+		Mockito.verify(tx, Mockito.atLeastOnce()).run(Mockito.anyString(), params.capture());
+		List<Map<String, Object>> list = new ArrayList<Map<String, Object>>();
+		for (Map value : params.getAllValues())
+			list.add(value);
+		return list;
+	}
+
+	private Map<String, Object> getRelation(String endNodeId, Integer sequenceIndex) {
+		Map<String, Object> relation = new HashMap<String, Object>();
+		relation.put("endNodeId", endNodeId);
+		if (null != sequenceIndex)
+			relation.put("sequenceIndex", sequenceIndex);
+		return relation;
+	}
+
+	private List<String> getEndNodeIds(List<Map<String, Object>> rows) {
+		List<String> ids = new ArrayList<String>();
+		for (Map<String, Object> row : rows)
+			ids.add((String) row.get("endNodeId"));
+		return ids;
+	}
+}
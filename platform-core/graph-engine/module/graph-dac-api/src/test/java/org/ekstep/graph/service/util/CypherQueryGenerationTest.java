@@ -0,0 +1,101 @@
+package org.ekstep.graph.service.util;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.ekstep.graph.dac.enums.GraphDACParams;
+import org.ekstep.graph.dac.model.SearchCriteria;
+import org.ekstep.graph.dac.model.Sort;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CypherQueryGenerationTest {
+
+	@Test
+	public void testGetNodeByUniqueIdQueryIsSameForAllNodes() {
+		CypherQuery first = SearchQueryGenerationUtil.generateGetNodeByUniqueIdCypherQuery(getNodeParams("do_1"));
+		CypherQuery second = SearchQueryGenerationUtil.generateGetNodeByUniqueIdCypherQuery(getNodeParams("do_2"));
+		Assert.assertEquals(first.getQuery(), second.getQuery());
+		Assert.assertFalse(first.getQuery().contains("do_1"));
+		Assert.assertEquals("do_1", first.getParams().get("nodeId"));
+		Assert.assertEquals("do_2", second.getParams().get("nodeId"));
+	}
+
+	@Test
+	public void testDeleteNodeQueryIsSameForAllNodes() {
+		CypherQuery first = NodeQueryGenerationUtil.generateDeleteNodeCypherQuery(getNodeParams("do_1"));
+		CypherQuery second = NodeQueryGenerationUtil.generateDeleteNodeCypherQuery(getNodeParams("do_2' OR 1=1"));
+		Assert.assertEquals(first.getQuery(), second.getQuery());
+		Assert.assertEquals("do_2' OR 1=1", second.getParams().get("nodeId"));
+	}
+
+	@Test
+	public void testDeleteRelationQueryIsSameForAllNodes() {
+		CypherQuery first = GraphQueryGenerationUtil.generateDeleteRelationCypherQuery(getRelationParams("do_1", "do_2"));
+		CypherQuery second = GraphQueryGenerationUtil
+				.generateDeleteRelationCypherQuery(getRelationParams("do_3", "do_4"));
+		Assert.assertEquals(first.getQuery(), second.getQuery());
+		Assert.assertEquals("do_3", second.getParams().get("startNodeId"));
+		Assert.assertEquals("do_4", second.getParams().get("endNodeId"));
+	}
+
+	@Test
+	public void testGetNodesPageQueryIsSameForAllPages() {
+		CypherQuery first = SearchQueryGenerationUtil.generateGetNodesPageCypherQuery(getPageParams(null, 100));
+		CypherQuery second = SearchQueryGenerationUtil.generateGetNodesPageCypherQuery(getPageParams("do_1", 100));
+		Assert.assertEquals(first.getQuery(), second.getQuery());
+		Assert.assertEquals("", first.getParams().get("afterId"));
+		Assert.assertEquals("do_1", second.getParams().get("afterId"));
+		Assert.assertEquals(100, second.getParams().get("limit"));
+	}
+
+	@Test
+	public void testNodeQueriesReturnOneRecordPerNode() {
+		Map<String, Object> parameterMap = new HashMap<String, Object>();
+		parameterMap.put(GraphDACParams.graphId.name(), "domain");
+		String query = SearchQueryGenerationUtil.generateGetAllNodesCypherQuery(parameterMap).getQuery();
+		Assert.assertTrue(query.endsWith(" RETURN ee, [(ee)-[r]-() | [r, startNode(r), endNode(r)]] as __relations"));
+		Assert.assertFalse(query.contains("ORDER BY"));
+
+		SearchCriteria sc = new SearchCriteria();
+		sc.setGraphId("domain");
+		sc.setSortOrder(Arrays.asList(new Sort("name", Sort.SORT_DESC)));
+		// the nodes are sorted before their relations are read, and not after.
+		query = sc.getQuery();
+		Assert.assertTrue(query.contains("WITH DISTINCT ee ORDER BY ee.name DESC RETURN ee, [(ee)-[r]-() | "));
+		Assert.assertEquals(query.indexOf("ORDER BY"), query.lastIndexOf("ORDER BY"));
+		Assert.assertFalse(query.contains("OPTIONAL MATCH"));
+	}
+
+	@Test
+	public void testEscapeIdentifier() {
+		Assert.assertEquals("domain", CypherQueryBuilder.escape("domain"));
+		Assert.assertEquals("`en-US`", CypherQueryBuilder.escape("en-US"));
+		Assert.assertEquals("`a``b`", CypherQueryBuilder.escape("a`b"));
+	}
+
+	private Map<String, Object> getNodeParams(String nodeId) {
+		Map<String, Object> parameterMap = new HashMap<String, Object>();
+		parameterMap.put(GraphDACParams.graphId.name(), "domain");
+		parameterMap.put(GraphDACParams.nodeId.name(), nodeId);
+		return parameterMap;
+	}
+
+	private Map<String, Object> getPageParams(String afterId, int limit) {
+		Map<String, Object> parameterMap = new HashMap<String, Object>();
+		parameterMap.put(GraphDACParams.graphId.name(), "domain");
+		parameterMap.put(GraphDACParams.after_id.name(), afterId);
+		parameterMap.put(GraphDACParams.limit.name(), limit);
+		return parameterMap;
+	}
+
+	private Map<String, Object> getRelationParams(String startNodeId, String endNodeId) {
+		Map<String, Object> parameterMap = new HashMap<String, Object>();
+		parameterMap.put(GraphDACParams.graphId.name(), "domain");
+		parameterMap.put(GraphDACParams.startNodeId.name(), startNodeId);
+		parameterMap.put(GraphDACParams.endNodeId.name(), endNodeId);
+		parameterMap.put(GraphDACParams.relationType.name(), "hasSequenceMember");
+		return parameterMap;
+	}
+}
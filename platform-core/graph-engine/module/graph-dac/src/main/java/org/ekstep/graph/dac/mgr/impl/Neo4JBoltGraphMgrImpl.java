@@ -1,5 +1,6 @@
 package org.ekstep.graph.dac.mgr.impl;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -308,6 +309,62 @@ public class Neo4JBoltGraphMgrImpl extends BaseDACMgr implements IGraphDACGraphM
 		}
 	}
 
+	@Override
+	public Response importNodes(Request request) {
+		String graphId = (String) request.getContext().get(GraphHeaderParams.graph_id.name());
+		String taskId = (String) request.get(GraphDACParams.task_id.name());
+		ImportData input = (ImportData) request.get(GraphDACParams.import_input_object.name());
+		if (StringUtils.isBlank(graphId)) {
+			throw new ClientException(GraphEngineErrorCodes.ERR_INVALID_GRAPH_ID.name(), "Graph Id cannot be blank");
+		} else {
+			try {
+				int nodesCount = Neo4JBoltGraphOperations.importNodes(graphId, taskId, input, request);
+				return OK(GraphDACParams.nodesCount.name(), nodesCount);
+			} catch (Exception e) {
+				return ERROR(e);
+			}
+		}
+	}
+
+	@Override
+	public Response importRelations(Request request) {
+		String graphId = (String) request.getContext().get(GraphHeaderParams.graph_id.name());
+		String taskId = (String) request.get(GraphDACParams.task_id.name());
+		ImportData input = (ImportData) request.get(GraphDACParams.import_input_object.name());
+		if (StringUtils.isBlank(graphId)) {
+			throw new ClientException(GraphEngineErrorCodes.ERR_INVALID_GRAPH_ID.name(), "Graph Id cannot be blank");
+		} else {
+			try {
+				Map<String, List<String>> messages = new HashMap<String, List<String>>();
+				int relationsCount = Neo4JBoltGraphOperations.importRelations(graphId, taskId, input, messages);
+				Response response = OK(GraphDACParams.relationsCount.name(), relationsCount);
+				response.put(GraphDACParams.messages.name(), messages);
+				return response;
+			} catch (Exception e) {
+				return ERROR(e);
+			}
+		}
+	}
+
+	@Override
+	public Response completeImport(Request request) {
+		String graphId = (String) request.getContext().get(GraphHeaderParams.graph_id.name());
+		String taskId = (String) request.get(GraphDACParams.task_id.name());
+		Integer nodesCount = (Integer) request.get(GraphDACParams.nodesCount.name());
+		Integer relationsCount = (Integer) request.get(GraphDACParams.relationsCount.name());
+		if (StringUtils.isBlank(graphId)) {
+			throw new ClientException(GraphEngineErrorCodes.ERR_INVALID_GRAPH_ID.name(), "Graph Id cannot be blank");
+		} else {
+			try {
+				Neo4JBoltGraphOperations.completeImport(graphId, taskId, null == nodesCount ? 0 : nodesCount,
+						null == relationsCount ? 0 : relationsCount, request);
+				return OK();
+			} catch (Exception e) {
+				return ERROR(e);
+			}
+		}
+	}
+
 	@SuppressWarnings("unchecked")
 	@Override
 	public Response bulkUpdateNodes(Request request) {
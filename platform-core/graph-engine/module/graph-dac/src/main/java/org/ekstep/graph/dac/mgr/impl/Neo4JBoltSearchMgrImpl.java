@@ -1,8 +1,11 @@
 package org.ekstep.graph.dac.mgr.impl;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletionStage;
 
 import org.ekstep.common.dto.Property;
 import org.ekstep.common.dto.Request;
@@ -22,6 +25,7 @@ import org.ekstep.graph.dac.model.SearchConditions;
 import org.ekstep.graph.dac.model.SearchCriteria;
 import org.ekstep.graph.dac.model.SubGraph;
 import org.ekstep.graph.dac.model.Traverser;
+import org.ekstep.graph.service.operation.Neo4JBoltAsyncOperations;
 import org.ekstep.graph.service.operation.Neo4JBoltSearchOperations;
 
 public class Neo4JBoltSearchMgrImpl extends BaseDACMgr implements IGraphDACSearchMgr {
@@ -149,6 +153,21 @@ public class Neo4JBoltSearchMgrImpl extends BaseDACMgr implements IGraphDACSearc
         }
     }
 
+    @Override
+	public Response getNodesPage(Request request) {
+        String graphId = (String) request.getContext().get(GraphHeaderParams.graph_id.name());
+        String afterId = (String) request.get(GraphDACParams.after_id.name());
+        Integer limit = (Integer) request.get(GraphDACParams.limit.name());
+        if (null == limit || limit <= 0)
+            throw new ClientException(GraphDACErrorCodes.ERR_GET_NODES_PAGE_INVALID_LIMIT.name(), "Page limit should be greater than zero");
+        try {
+			List<Node> nodes = Neo4JBoltSearchOperations.getNodesPage(graphId, afterId, limit, request);
+			return OK(GraphDACParams.node_list.name(), nodes);
+        } catch (Exception e) {
+			return ERROR(e);
+        }
+    }
+
     @Override
 	public Response getAllRelations(Request request) {
         String graphId = (String) request.getContext().get(GraphHeaderParams.graph_id.name());
@@ -254,6 +273,16 @@ public class Neo4JBoltSearchMgrImpl extends BaseDACMgr implements IGraphDACSearc
         }
     }
 
+    @Override
+	public Iterator<Node> streamNodes(Request request) {
+        String graphId = (String) request.getContext().get(GraphHeaderParams.graph_id.name());
+        SearchCriteria searchCriteria = (SearchCriteria) request.get(GraphDACParams.search_criteria.name());
+        Boolean getTags = (Boolean) request.get(GraphDACParams.get_tags.name());
+        if (!validateRequired(searchCriteria))
+            throw new ClientException(GraphDACErrorCodes.ERR_SEARCH_NODES_MISSING_REQ_PARAMS.name(), "Required parameters are missing");
+        return Neo4JBoltSearchOperations.streamNodes(graphId, searchCriteria, getTags, request);
+    }
+
     @Override
 	public Response getNodesCount(Request request) {
         String graphId = (String) request.getContext().get(GraphHeaderParams.graph_id.name());
@@ -321,4 +350,62 @@ public class Neo4JBoltSearchMgrImpl extends BaseDACMgr implements IGraphDACSearc
         }
     }
 
+    @SuppressWarnings("unchecked")
+    @Override
+	public Response getHierarchyNodes(Request request) {
+        String graphId = (String) request.getContext().get(GraphHeaderParams.graph_id.name());
+        List<String> startNodeIds = (List<String>) request.get(GraphDACParams.node_ids.name());
+        String relationType = (String) request.get(GraphDACParams.relation_type.name());
+        Integer depth = (Integer) request.get(GraphDACParams.depth.name());
+        if (!validateRequired(startNodeIds, relationType, depth)) {
+            throw new ClientException(GraphDACErrorCodes.ERR_TRAVERSAL_MISSING_REQ_PARAMS.name(), "Required parameters are missing");
+        } else {
+            try {
+				List<Map<String, Object>> positions = new ArrayList<Map<String, Object>>();
+				List<Node> nodes = Neo4JBoltSearchOperations.getHierarchyNodes(graphId, startNodeIds, relationType,
+						depth, positions, request);
+				Response response = OK(GraphDACParams.node_list.name(), nodes);
+				response.put(GraphDACParams.properties.name(), positions);
+				return response;
+            } catch (Exception e) {
+				return ERROR(e);
+            }
+        }
+    }
+
+    @Override
+	public CompletionStage<Response> getNodesByUniqueIdsAsync(Request request) {
+		return Neo4JBoltAsyncOperations.supplyAsync(() -> getNodesByUniqueIds(request));
+    }
+
+    @Override
+	public CompletionStage<Response> executeQueryForPropsAsync(Request request) {
+		return Neo4JBoltAsyncOperations.supplyAsync(() -> executeQueryForProps(request));
+    }
+
+    @Override
+	public CompletionStage<Response> searchNodesAsync(Request request) {
+		return Neo4JBoltAsyncOperations.supplyAsync(() -> searchNodes(request));
+    }
+
+    @Override
+	public CompletionStage<Response> traverseAsync(Request request) {
+		return Neo4JBoltAsyncOperations.supplyAsync(() -> traverse(request));
+    }
+
+    @Override
+	public CompletionStage<Response> traverseSubGraphAsync(Request request) {
+		return Neo4JBoltAsyncOperations.supplyAsync(() -> traverseSubGraph(request));
+    }
+
+    @Override
+	public CompletionStage<Response> getSubGraphAsync(Request request) {
+		return Neo4JBoltAsyncOperations.supplyAsync(() -> getSubGraph(request));
+    }
+
+    @Override
+	public CompletionStage<Response> getHierarchyNodesAsync(Request request) {
+		return Neo4JBoltAsyncOperations.supplyAsync(() -> getHierarchyNodes(request));
+    }
+
 }
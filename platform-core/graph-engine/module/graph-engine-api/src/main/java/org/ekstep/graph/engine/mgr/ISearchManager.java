@@ -148,6 +148,21 @@ public interface ISearchManager {
      * @response - STATUS: API call status
      */
     void getSubGraph(Request request);
+
+    /**
+     * Get the nodes of the sub trees under the given nodes, along a relation,
+     * in one read
+     * 
+     * @request - GRAPH_ID as request context variable
+     * @request - NODE_IDS ids of the roots of the sub trees
+     * @request - RELATION_TYPE relation from a parent to its children
+     * @request - DEPTH maximum depth of the sub trees
+     * @response - NODE_LIST the nodes of the sub trees, each once
+     * @response - PROPERTIES the identifier, depth, parent and index of each
+     *           position of the nodes in the sub trees
+     * @response - STATUS: API call status
+     */
+    void getHierarchyNodes(Request request);
     
     void traverseSubGraph(Request request);
     
@@ -1,6 +1,5 @@
 package org.ekstep.graph.engine.mgr.impl;
 
-import java.lang.reflect.Method;
 import java.util.List;
 
 import org.ekstep.common.dto.Request;
@@ -23,14 +22,9 @@ import akka.actor.ActorRef;
 public class CollectionManagerImpl extends BaseGraphManager implements ICollectionManager {
 
     protected void invokeMethod(Request request, ActorRef parent) {
-        String methodName = request.getOperation();
         try {
-            Method method = GraphEngineActorPoolMgr.getMethod(GraphEngineManagers.COLLECTION_MANAGER, methodName);
-            if (null == method) {
-                throw new ClientException("ERR_GRAPH_INVALID_OPERATION", "Operation '" + methodName + "' not found");
-            } else {
-                method.invoke(this, request);
-            }
+            GraphEngineActorPoolMgr.<CollectionManagerImpl> getHandlers(GraphEngineManagers.COLLECTION_MANAGER)
+                    .invoke(this, request);
         } catch (Exception e) {
             ERROR(e, parent);
         }
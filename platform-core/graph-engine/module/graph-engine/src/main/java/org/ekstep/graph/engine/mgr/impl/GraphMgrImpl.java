@@ -1,6 +1,5 @@
 package org.ekstep.graph.engine.mgr.impl;
 
-import java.lang.reflect.Method;
 import java.util.List;
 import java.util.Map;
 
@@ -29,14 +28,9 @@ import akka.actor.ActorRef;
 public class GraphMgrImpl extends BaseGraphManager implements IGraphManager {
 
     protected void invokeMethod(Request request, ActorRef parent) {
-        String methodName = request.getOperation();
         try {
-            Method method = GraphEngineActorPoolMgr.getMethod(GraphEngineManagers.GRAPH_MANAGER, methodName);
-            if (null == method) {
-                throw new ClientException("ERR_GRAPH_INVALID_OPERATION", "Operation '" + methodName + "' not found");
-            } else {
-                method.invoke(this, request);
-            }
+            GraphEngineActorPoolMgr.<GraphMgrImpl> getHandlers(GraphEngineManagers.GRAPH_MANAGER)
+                    .invoke(this, request);
         } catch (Exception e) {
             ERROR(e, parent);
         }
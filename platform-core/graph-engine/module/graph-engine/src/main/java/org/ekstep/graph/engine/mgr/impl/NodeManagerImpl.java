@@ -1,6 +1,5 @@
 package org.ekstep.graph.engine.mgr.impl;
 
-import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -54,16 +53,11 @@ public class NodeManagerImpl extends BaseGraphManager implements INodeManager {
 	 * .Request, akka.actor.ActorRef)
 	 */
 	protected void invokeMethod(Request request, ActorRef parent) {
-		String methodName = request.getOperation();
 		try {
-			Method method = GraphEngineActorPoolMgr.getMethod(GraphEngineManagers.NODE_MANAGER, methodName);
-			if (null == method) {
-				throw new ClientException("ERR_GRAPH_INVALID_OPERATION", "Operation '" + methodName + "' not found");
-			} else {
-				method.invoke(this, request);
-			}
+			GraphEngineActorPoolMgr.<NodeManagerImpl> getHandlers(GraphEngineManagers.NODE_MANAGER)
+					.invoke(this, request);
 		} catch (Exception e) {
-			ERROR(e.getCause(), parent);
+			ERROR(e, parent);
 		}
 	}
 
@@ -1,6 +1,5 @@
 package org.ekstep.graph.engine.mgr.impl;
 
-import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -34,16 +33,11 @@ import akka.actor.ActorRef;
 public class SearchManagerImpl extends BaseGraphManager implements ISearchManager {
 
     protected void invokeMethod(Request request, ActorRef parent) {
-        String methodName = request.getOperation();
         try {
-            Method method = GraphEngineActorPoolMgr.getMethod(GraphEngineManagers.SEARCH_MANAGER, methodName);
-            if (null == method) {
-                throw new ClientException("ERR_GRAPH_INVALID_OPERATION", "Operation '" + methodName + "' not found");
-            } else {
-                method.invoke(this, request);
-            }
+            GraphEngineActorPoolMgr.<SearchManagerImpl> getHandlers(GraphEngineManagers.SEARCH_MANAGER)
+                    .invoke(this, request);
         } catch (Exception e) {
-            ERROR(e.getCause(), parent);
+            ERROR(e, parent);
         }
     }
 
@@ -314,6 +308,26 @@ public class SearchManagerImpl extends BaseGraphManager implements ISearchManage
         }
     }
 
+    @SuppressWarnings("unchecked")
+    @Override
+    public void getHierarchyNodes(Request request) {
+        List<String> nodeIds = (List<String>) request.get(GraphDACParams.node_ids.name());
+        String relationType = (String) request.get(GraphDACParams.relation_type.name());
+        Integer depth = (Integer) request.get(GraphDACParams.depth.name());
+        if (!validateRequired(nodeIds, relationType, depth)) {
+            throw new ClientException(GraphEngineErrorCodes.ERR_GRAPH_TRAVERSAL_MISSING_REQ_PARAMS.name(),
+                    "Required parameters are missing...");
+        } else {
+            String graphId = (String) request.getContext().get(GraphHeaderParams.graph_id.name());
+            try {
+                Graph graph = new Graph(this, graphId);
+                graph.getHierarchyNodes(request);
+            } catch (Exception e) {
+                handleException(e, getSender());
+            }
+        }
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public void searchRelations(Request request) {
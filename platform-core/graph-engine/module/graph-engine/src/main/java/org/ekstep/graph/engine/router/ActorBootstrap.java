@@ -1,7 +1,10 @@
 package org.ekstep.graph.engine.router;
 
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import javax.xml.parsers.DocumentBuilder;
@@ -13,6 +16,7 @@ import org.ekstep.graph.engine.mgr.impl.CollectionManagerImpl;
 import org.ekstep.graph.engine.mgr.impl.GraphMgrImpl;
 import org.ekstep.graph.engine.mgr.impl.NodeManagerImpl;
 import org.ekstep.graph.engine.mgr.impl.SearchManagerImpl;
+import org.ekstep.graph.service.util.DriverUtil;
 import org.ekstep.telemetry.logger.TelemetryManager;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
@@ -57,6 +61,9 @@ public class ActorBootstrap {
     }
 
     public static void loadConfiguration() {
+        // the operation handlers are built before the actors, so that a
+        // manager which cannot serve its operations fails the startup.
+        initMethodMap();
         try {
             if (null != document) {
                 // init actor configuration
@@ -69,7 +76,8 @@ public class ActorBootstrap {
                         if (StringUtils.isBlank(systemName))
                             systemName = DEFAULT_SYSTEM_NAME;
                         try {
-                            system = ActorSystem.create(systemName, Platform.config.getConfig(systemName));
+                            system = ActorSystem.create(systemName, ManagerPool
+                                    .withDispatchers(Platform.config.getConfig(systemName), getManagerNames()));
                             registerShutdownHook();
                         } catch (Exception e) {
                         	e.printStackTrace();
@@ -81,10 +89,13 @@ public class ActorBootstrap {
                 createManagersPool("cache-managers");
                 createRoutersPool();
             } else {
-                system = ActorSystem.create(DEFAULT_SYSTEM_NAME, Platform.config.getConfig(DEFAULT_SYSTEM_NAME));
+                system = ActorSystem.create(DEFAULT_SYSTEM_NAME,
+                        ManagerPool.withDispatchers(Platform.config.getConfig(DEFAULT_SYSTEM_NAME),
+                                Arrays.asList(GraphEngineManagers.GRAPH_MANAGER, GraphEngineManagers.NODE_MANAGER,
+                                        GraphEngineManagers.COLLECTION_MANAGER, GraphEngineManagers.SEARCH_MANAGER)));
                 createLocatConfig();
             }
-            initMethodMap();
+            DriverUtil.warmUp();
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -93,20 +104,16 @@ public class ActorBootstrap {
     private static void createLocatConfig() {
         int poolSize = 4;
 
-        Props graphMgrProps = Props.create(GraphMgrImpl.class);
-        ActorRef graphMgr = system.actorOf(new SmallestMailboxPool(poolSize).props(graphMgrProps));
+        ActorRef graphMgr = system.actorOf(ManagerPool.get(GraphMgrImpl.class.getName()).props(GraphMgrImpl.class, poolSize));
         GraphEngineActorPoolMgr.addActorRefToPool(null, GraphEngineManagers.GRAPH_MANAGER, graphMgr);
 
-        Props nodeMgrProps = Props.create(NodeManagerImpl.class);
-        ActorRef nodeMgr = system.actorOf(new SmallestMailboxPool(poolSize).props(nodeMgrProps));
+        ActorRef nodeMgr = system.actorOf(ManagerPool.get(NodeManagerImpl.class.getName()).props(NodeManagerImpl.class, poolSize));
         GraphEngineActorPoolMgr.addActorRefToPool(null, GraphEngineManagers.NODE_MANAGER, nodeMgr);
 
-        Props collMgrProps = Props.create(CollectionManagerImpl.class);
-        ActorRef collMgr = system.actorOf(new SmallestMailboxPool(poolSize).props(collMgrProps));
+        ActorRef collMgr = system.actorOf(ManagerPool.get(CollectionManagerImpl.class.getName()).props(CollectionManagerImpl.class, poolSize));
         GraphEngineActorPoolMgr.addActorRefToPool(null, GraphEngineManagers.COLLECTION_MANAGER, collMgr);
 
-        Props searchMgrProps = Props.create(SearchManagerImpl.class);
-        ActorRef searchMgr = system.actorOf(new SmallestMailboxPool(poolSize).props(searchMgrProps));
+        ActorRef searchMgr = system.actorOf(ManagerPool.get(SearchManagerImpl.class.getName()).props(SearchManagerImpl.class, poolSize));
         GraphEngineActorPoolMgr.addActorRefToPool(null, GraphEngineManagers.SEARCH_MANAGER, searchMgr);
 
     }
@@ -222,16 +229,34 @@ public class ActorBootstrap {
         }
     }
 
+    /**
+     * Returns the class names of the managers in the actor configuration.
+     */
+    private static List<String> getManagerNames() {
+        List<String> managerNames = new ArrayList<String>();
+        NodeList nList = document.getElementsByTagName("manager");
+        for (int i = 0; i < nList.getLength(); i++) {
+            Node nNode = nList.item(i);
+            if (nNode.getNodeType() == Node.ELEMENT_NODE) {
+                String classes = ((Element) nNode).getAttribute("classes");
+                if (StringUtils.isNotBlank(classes)) {
+                    for (String className : classes.split(","))
+                        managerNames.add(className);
+                }
+            }
+        }
+        return managerNames;
+    }
+
     private static void addActorsToPool(String[] arr, int count, String id, String poolName, Address[] addresses) {
         for (String className : arr) {
             try {
                 Class<?> cls = Class.forName(className);
-                Props actorProps = Props.create(cls);
                 ActorRef actor = null;
                 if (null != addresses && addresses.length > 0) {
                     actor = system.actorOf(new RemoteRouterConfig(new RoundRobinPool(count), addresses).props(Props.create(cls)));
                 } else {
-                    actor = system.actorOf(new SmallestMailboxPool(count).props(actorProps));
+                    actor = system.actorOf(ManagerPool.get(className).props(cls, count));
                 }
                 if (StringUtils.equalsIgnoreCase("graph-managers", poolName))
                     GraphEngineActorPoolMgr.addActorRefToPool(id, className, actor);
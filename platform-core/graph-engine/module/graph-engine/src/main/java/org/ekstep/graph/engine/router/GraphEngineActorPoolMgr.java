@@ -1,11 +1,10 @@
 package org.ekstep.graph.engine.router;
 
-import java.lang.reflect.Method;
 import java.util.HashMap;
 import java.util.Map;
 
 import org.apache.commons.lang3.StringUtils;
-import org.ekstep.graph.common.BaseRequestRouter;
+import org.ekstep.graph.common.OperationHandlers;
 import org.ekstep.graph.engine.mgr.impl.CollectionManagerImpl;
 import org.ekstep.graph.engine.mgr.impl.GraphMgrImpl;
 import org.ekstep.graph.engine.mgr.impl.NodeManagerImpl;
@@ -18,7 +17,7 @@ public class GraphEngineActorPoolMgr {
     private static final String DEFAULT_GRAPH_ID = "*";
 
     private static Map<String, Map<String, ActorRef>> actorMap = null;
-    private static Map<String, Map<String, Method>> methodMap = null;
+    private static Map<String, OperationHandlers<?>> handlersMap = null;
 
     private static ActorRef reqRouter;
 
@@ -27,7 +26,7 @@ public class GraphEngineActorPoolMgr {
         Map<String, ActorRef> defaultActorMap = new HashMap<String, ActorRef>();
         actorMap.put(DEFAULT_GRAPH_ID, defaultActorMap);
 
-        methodMap = new HashMap<String, Map<String, Method>>();
+        handlersMap = new HashMap<String, OperationHandlers<?>>();
     }
 
     public static ActorRef getRequestRouter() {
@@ -49,19 +48,17 @@ public class GraphEngineActorPoolMgr {
         } else if (StringUtils.equals(GraphEngineManagers.SEARCH_MANAGER, managerName)) {
             cls = SearchManagerImpl.class;
         }
-        if (null != cls) {
-            Map<String, Method> map = BaseRequestRouter.getMethodMap(cls);
-            if (null != map && !map.isEmpty())
-                methodMap.put(managerName, map);
-        }
+        if (null != cls)
+            handlersMap.put(managerName, OperationHandlers.of(cls));
     }
 
-    public static Method getMethod(String managerName, String operation) {
-        Map<String, Method> map = methodMap.get(managerName);
-        if (null != map && !map.isEmpty()) {
-            return map.get(operation);
-        }
-        return null;
+    /**
+     * Returns the operation handlers of the manager, built on startup by
+     * {@link #initMethodMap(String)}.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> OperationHandlers<T> getHandlers(String managerName) {
+        return (OperationHandlers<T>) handlersMap.get(managerName);
     }
 
     static void addActorRefToPool(String graphId, String managerName, ActorRef ref) {
@@ -0,0 +1,197 @@
+package org.ekstep.graph.engine.router;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.commons.lang3.StringUtils;
+import org.ekstep.common.Platform;
+
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+
+import akka.actor.Props;
+import akka.routing.DefaultResizer;
+import akka.routing.SmallestMailboxPool;
+
+/**
+ * Settings and metrics of the actor pool of a graph engine manager.
+ *
+ * Each manager runs on a dispatcher of its own, a thread pool sized for the
+ * blocking calls made by the manager, so that a manager which is slow or
+ * overloaded does not hold up the other managers or the request routers. The
+ * requests pending with a manager are bounded, and the request router rejects
+ * the requests over the bound at once, instead of leaving them in the mailbox
+ * till they time out.
+ *
+ * The settings are read from <code>graph.engine.manager.default</code> and
+ * overridden for a manager by <code>graph.engine.manager.&lt;class simple
+ * name&gt;</code>:
+ * <ul>
+ * <li>pool_size: the number of actors, defaults to the count in the actor
+ * configuration</li>
+ * <li>resizer_upper_bound: the number of actors the pool can grow to, no
+ * resizing by default</li>
+ * <li>dispatcher_pool_size: the number of threads of the dispatcher</li>
+ * <li>throughput: the messages processed by an actor before its thread is
+ * handed over</li>
+ * <li>max_pending: the requests which can be pending with the manager</li>
+ * </ul>
+ */
+public class ManagerPool {
+
+	private static final String CONFIG_PREFIX = "graph.engine.manager.";
+	private static final String DEFAULT_CONFIG_KEY = "default";
+	private static final String DISPATCHER_PREFIX = "graph-engine-dispatchers.";
+	private static final String MAILBOX_PREFIX = "graph-engine-mailboxes.";
+
+	private static Map<String, ManagerPool> pools = new ConcurrentHashMap<String, ManagerPool>();
+
+	private final String managerName;
+	private final String configKey;
+	private final int dispatcherPoolSize;
+	private final int throughput;
+	private final int maxPending;
+
+	private final AtomicInteger pending = new AtomicInteger();
+	private final LongAccumulator maxPendingSeen = new LongAccumulator(Long::max, 0);
+	private final LongAdder completed = new LongAdder();
+	private final LongAdder rejected = new LongAdder();
+	private final LongAdder totalTime = new LongAdder();
+	private final LongAccumulator maxTime = new LongAccumulator(Long::max, 0);
+
+	private ManagerPool(String managerName) {
+		this.managerName = managerName;
+		this.configKey = StringUtils.substringAfterLast("." + managerName, ".");
+		this.dispatcherPoolSize = getInt("dispatcher_pool_size", 16);
+		this.throughput = getInt("throughput", 1);
+		this.maxPending = getInt("max_pending", 1000);
+	}
+
+	public static ManagerPool get(String managerName) {
+		return pools.computeIfAbsent(managerName, ManagerPool::new);
+	}
+
+	/**
+	 * Adds the dispatchers and mailboxes of the given managers to the actor
+	 * system configuration. The dispatchers and mailboxes defined in the actor
+	 * system configuration are kept as they are.
+	 */
+	public static Config withDispatchers(Config systemConfig, Collection<String> managerNames) {
+		StringBuilder sb = new StringBuilder();
+		for (String managerName : managerNames) {
+			ManagerPool pool = get(managerName);
+			sb.append(pool.getDispatcherId()).append(" {\n")
+					.append("type = Dispatcher\n")
+					.append("executor = \"thread-pool-executor\"\n")
+					.append("thread-pool-executor {\n")
+					.append("core-pool-size-min = ").append(pool.dispatcherPoolSize).append("\n")
+					.append("core-pool-size-max = ").append(pool.dispatcherPoolSize).append("\n")
+					.append("max-pool-size-min = ").append(pool.dispatcherPoolSize).append("\n")
+					.append("max-pool-size-max = ").append(pool.dispatcherPoolSize).append("\n")
+					.append("}\n")
+					.append("throughput = ").append(pool.throughput).append("\n")
+					.append("}\n");
+			sb.append(pool.getMailboxId()).append(" {\n")
+					.append("mailbox-type = \"akka.dispatch.BoundedMailbox\"\n")
+					.append("mailbox-capacity = ").append(pool.maxPending).append("\n")
+					.append("mailbox-push-timeout-time = 0s\n")
+					.append("}\n");
+		}
+		return systemConfig.withFallback(ConfigFactory.parseString(sb.toString()));
+	}
+
+	/**
+	 * Returns the props of the pool of the manager actors, running on the
+	 * dispatcher of the manager.
+	 */
+	public Props props(Class<?> cls, int defaultPoolSize) {
+		int poolSize = getInt("pool_size", defaultPoolSize);
+		int upperBound = getInt("resizer_upper_bound", 0);
+		SmallestMailboxPool pool = new SmallestMailboxPool(poolSize);
+		if (upperBound > poolSize)
+			pool = pool.withResizer(new DefaultResizer(poolSize, upperBound));
+		Props actorProps = Props.create(cls).withDispatcher(getDispatcherId()).withMailbox(getMailboxId());
+		return pool.withDispatcher(getDispatcherId()).props(actorProps);
+	}
+
+	/**
+	 * Admits a request to the manager, unless the requests pending with it
+	 * are at the bound. An admitted request should be released once its
+	 * response is received.
+	 */
+	public boolean tryAcquire() {
+		while (true) {
+			int current = pending.get();
+			if (current >= maxPending) {
+				rejected.increment();
+				return false;
+			}
+			if (pending.compareAndSet(current, current + 1)) {
+				maxPendingSeen.accumulate(current + 1);
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Releases an admitted request.
+	 *
+	 * @param processingTime
+	 *            the time taken by the manager to respond, in milliseconds
+	 */
+	public void release(long processingTime) {
+		pending.decrementAndGet();
+		completed.increment();
+		totalTime.add(processingTime);
+		maxTime.accumulate(processingTime);
+	}
+
+	/**
+	 * Returns a snapshot of the pending, rejected and completed requests of
+	 * the manager and their processing time.
+	 */
+	public Map<String, Object> getStats() {
+		Map<String, Object> stats = new HashMap<String, Object>();
+		long count = completed.sum();
+		stats.put("manager", managerName);
+		stats.put("pending", pending.get());
+		stats.put("maxPending", maxPending);
+		stats.put("peakPending", maxPendingSeen.get());
+		stats.put("completedCount", count);
+		stats.put("rejectedCount", rejected.sum());
+		stats.put("processingTimeAvg", count == 0 ? 0 : totalTime.sum() / count);
+		stats.put("processingTimeMax", maxTime.get());
+		return stats;
+	}
+
+	/**
+	 * Returns the stats of all the managers, by manager name.
+	 */
+	public static Map<String, Map<String, Object>> getAllStats() {
+		Map<String, Map<String, Object>> stats = new HashMap<String, Map<String, Object>>();
+		for (ManagerPool pool : pools.values())
+			stats.put(pool.managerName, pool.getStats());
+		return stats;
+	}
+
+	private String getDispatcherId() {
+		return DISPATCHER_PREFIX + configKey;
+	}
+
+	private String getMailboxId() {
+		return MAILBOX_PREFIX + configKey;
+	}
+
+	private int getInt(String key, int defaultValue) {
+		String path = CONFIG_PREFIX + configKey + "." + key;
+		if (Platform.config.hasPath(path))
+			return Platform.config.getInt(path);
+		path = CONFIG_PREFIX + DEFAULT_CONFIG_KEY + "." + key;
+		return Platform.config.hasPath(path) ? Platform.config.getInt(path) : defaultValue;
+	}
+}
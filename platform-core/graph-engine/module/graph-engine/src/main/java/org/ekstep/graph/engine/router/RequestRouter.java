@@ -3,11 +3,14 @@ package org.ekstep.graph.engine.router;
 import org.apache.commons.lang3.StringUtils;
 import org.ekstep.common.dto.Request;
 import org.ekstep.common.exception.ClientException;
+import org.ekstep.common.exception.ServerException;
 import org.ekstep.graph.common.BaseRequestRouter;
 import org.ekstep.graph.common.enums.GraphHeaderParams;
 import org.ekstep.graph.exception.RequestRouterErrorCodes;
 
 import akka.actor.ActorRef;
+import akka.dispatch.OnComplete;
+import scala.concurrent.Future;
 
 /**
  * Actor to handle all requests to Graph Engine. A pool of Graph Engine actors
@@ -36,7 +39,26 @@ public class RequestRouter extends BaseRequestRouter {
         if (null == ref)
             throw new ClientException(RequestRouterErrorCodes.ERR_ROUTER_ACTOR_NOT_FOUND.name(),
                     "Actor not found in the pool for manager: " + manager);
+        if (!ManagerPool.get(manager).tryAcquire())
+            throw new ServerException(RequestRouterErrorCodes.ERR_ROUTER_MANAGER_OVERLOADED.name(),
+                    "Too many requests pending with manager: " + manager);
         return ref;
     }
 
+    /**
+     * Releases the request admitted to the manager once its response, or the
+     * timeout, is received.
+     */
+    @Override
+    protected void handleFuture(final Request request, Future<Object> future, final ActorRef parent) {
+        final long startTime = System.currentTimeMillis();
+        future.onComplete(new OnComplete<Object>() {
+            @Override
+            public void onComplete(Throwable failure, Object success) throws Throwable {
+                ManagerPool.get(request.getManagerName()).release(System.currentTimeMillis() - startTime);
+            }
+        }, getContext().dispatcher());
+        super.handleFuture(request, future, parent);
+    }
+
 }
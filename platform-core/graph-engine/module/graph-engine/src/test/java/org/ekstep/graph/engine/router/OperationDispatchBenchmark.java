@@ -0,0 +1,52 @@
+package org.ekstep.graph.engine.router;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+
+import org.ekstep.common.dto.Request;
+import org.ekstep.graph.common.BaseRequestRouter;
+import org.ekstep.graph.common.OperationHandlers;
+import org.ekstep.graph.engine.router.OperationDispatchTest.TestManager;
+
+/**
+ * Compares the time taken to dispatch a request through the reflection lookup
+ * and invoke with the time taken through the operation handlers. It is not a
+ * test, so that it is not run by the build; run its main method from the test
+ * classpath, with the number of iterations as the optional argument.
+ */
+public class OperationDispatchBenchmark {
+
+	public static void main(String[] args) throws Exception {
+		int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 2000000;
+		int warmUpIterations = iterations / 10;
+		Request request = new Request();
+		request.setOperation("getNode");
+		TestManager manager = new TestManager();
+		Map<String, Method> methodMap = BaseRequestRouter.getMethodMap(TestManager.class);
+		OperationHandlers<TestManager> handlers = OperationHandlers.of(TestManager.class);
+
+		runReflection(methodMap, manager, request, warmUpIterations);
+		runHandlers(handlers, manager, request, warmUpIterations);
+
+		long reflectionTime = runReflection(methodMap, manager, request, iterations);
+		long handlerTime = runHandlers(handlers, manager, request, iterations);
+		System.out.println("Reflection dispatch: " + (reflectionTime / iterations) + " ns/op, handler dispatch: "
+				+ (handlerTime / iterations) + " ns/op");
+	}
+
+	private static long runReflection(Map<String, Method> methodMap, TestManager manager, Request request,
+			int iterations) throws Exception {
+		long startTime = System.nanoTime();
+		for (int i = 0; i < iterations; i++)
+			methodMap.get(request.getOperation()).invoke(manager, request);
+		return System.nanoTime() - startTime;
+	}
+
+	private static long runHandlers(OperationHandlers<TestManager> handlers, TestManager manager, Request request,
+			int iterations) {
+		long startTime = System.nanoTime();
+		for (int i = 0; i < iterations; i++)
+			handlers.invoke(manager, request);
+		return System.nanoTime() - startTime;
+	}
+}
@@ -0,0 +1,61 @@
+package org.ekstep.graph.engine.router;
+
+import org.ekstep.common.dto.Request;
+import org.ekstep.common.exception.ClientException;
+import org.ekstep.graph.common.OperationHandlers;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class OperationDispatchTest {
+
+	public static class TestManager {
+		private long count;
+
+		public void getNode(Request request) {
+			count++;
+		}
+
+		public void failNode(Request request) {
+			throw new ClientException("ERR_TEST", "Failed");
+		}
+	}
+
+	@Test
+	public void testDispatchToOperation() {
+		OperationHandlers<TestManager> handlers = OperationHandlers.of(TestManager.class);
+		TestManager manager = new TestManager();
+		handlers.invoke(manager, getRequest("getNode"));
+		Assert.assertEquals(1, manager.count);
+		Assert.assertTrue(handlers.hasOperation("failNode"));
+	}
+
+	@Test(expected = ClientException.class)
+	public void testDispatchToUnknownOperation() {
+		OperationHandlers.of(TestManager.class).invoke(new TestManager(), getRequest("deleteNode"));
+	}
+
+	@Test
+	public void testExceptionIsNotWrapped() {
+		try {
+			OperationHandlers.of(TestManager.class).invoke(new TestManager(), getRequest("failNode"));
+			Assert.fail("Exception expected");
+		} catch (ClientException e) {
+			Assert.assertEquals("ERR_TEST", e.getErrCode());
+		}
+	}
+
+	@Test
+	public void testHandlersForManagers() {
+		for (String managerName : new String[] { GraphEngineManagers.GRAPH_MANAGER, GraphEngineManagers.NODE_MANAGER,
+				GraphEngineManagers.COLLECTION_MANAGER, GraphEngineManagers.SEARCH_MANAGER }) {
+			GraphEngineActorPoolMgr.initMethodMap(managerName);
+			Assert.assertFalse(GraphEngineActorPoolMgr.getHandlers(managerName).getOperations().isEmpty());
+		}
+	}
+
+	private Request getRequest(String operation) {
+		Request request = new Request();
+		request.setOperation(operation);
+		return request;
+	}
+}
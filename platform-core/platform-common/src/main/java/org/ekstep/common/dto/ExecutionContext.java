@@ -28,6 +28,14 @@ public class ExecutionContext {
     public static ExecutionContext getCurrent() {
         return context.get();
     }
+
+    /**
+     * Sets the context of the current thread, to carry the context of a
+     * request to the thread running a part of it.
+     */
+    public static void setCurrent(ExecutionContext current) {
+        context.set(current);
+    }
     
     public static void setRequestId(String requestId) {
         ExecutionContext.getCurrent().getGlobalContext().put(HeaderParam.REQUEST_ID.getParamName(), requestId);
@@ -111,6 +119,20 @@ public class ExecutionContext {
         return serviceCallPath;
     }
 
+    /**
+     * Returns a copy of this context, with copies of its maps and of its call
+     * stack, for a thread running a part of the request while this thread
+     * goes on using this context.
+     */
+    public ExecutionContext copy() {
+        ExecutionContext copy = new ExecutionContext();
+        copy.serviceCallStack.addAll(serviceCallStack);
+        for (Map.Entry<String, Map<String, Object>> entry : contextStackValues.entrySet())
+            copy.contextStackValues.put(entry.getKey(), new HashMap<String, Object>(entry.getValue()));
+        copy.globalContext.putAll(globalContext);
+        return copy;
+    }
+
     public Map<String, Object> getGlobalContext() {
         return globalContext;
     }
@@ -0,0 +1,143 @@
+package org.ekstep.telemetry.handler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Handler which hands the events over to a background thread through a
+ * bounded ring buffer, and sends them in batches with the given handler, so
+ * that the callers do not wait on the appenders. When the buffer is full the
+ * event is sent by the caller itself, so that no event is lost. An event
+ * which the handler fails to send is dropped, logged and counted.
+ *
+ * @author mahesh
+ *
+ */
+public class AsyncTelemetryHandler implements TelemetryHandler {
+
+	private static final Logger logger = LogManager.getLogger(AsyncTelemetryHandler.class);
+
+	private final TelemetryHandler handler;
+	private final BlockingQueue<Event> buffer;
+	private final int batchSize;
+	private final LongAdder overflowCount = new LongAdder();
+	private final LongAdder dropCount = new LongAdder();
+
+	/**
+	 *
+	 * @param handler
+	 *            the handler used to send the events
+	 * @param bufferSize
+	 *            the number of events which can wait to be sent
+	 * @param batchSize
+	 *            the maximum number of events sent at a time
+	 */
+	public AsyncTelemetryHandler(TelemetryHandler handler, int bufferSize, int batchSize) {
+		this.handler = handler;
+		this.buffer = new ArrayBlockingQueue<Event>(Math.max(1, bufferSize));
+		this.batchSize = Math.max(1, batchSize);
+		Thread sender = new Thread(this::sendEvents, "telemetry-async-handler");
+		sender.setDaemon(true);
+		sender.start();
+		Runtime.getRuntime().addShutdownHook(new Thread(this::flush, "telemetry-async-handler-flush"));
+	}
+
+	@Override
+	public boolean isEnabled(Level level) {
+		return handler.isEnabled(level);
+	}
+
+	@Override
+	public void send(String event, Level level) {
+		send(event, level, false);
+	}
+
+	@Override
+	public void send(String event, Level level, boolean telemetry) {
+		if (!buffer.offer(new Event(event, level, telemetry))) {
+			overflowCount.increment();
+			handler.send(event, level, telemetry);
+		}
+	}
+
+	/**
+	 * Returns the number of events sent by the callers because the buffer was
+	 * full.
+	 */
+	public long getOverflowCount() {
+		return overflowCount.sum();
+	}
+
+	/**
+	 * Returns the number of events dropped because the handler failed to send
+	 * them.
+	 */
+	public long getDropCount() {
+		return dropCount.sum();
+	}
+
+	/**
+	 * Sends the events waiting in the buffer.
+	 */
+	public void flush() {
+		List<Event> batch = new ArrayList<Event>(batchSize);
+		while (buffer.drainTo(batch, batchSize) > 0) {
+			send(batch);
+			batch.clear();
+		}
+	}
+
+	private void sendEvents() {
+		List<Event> batch = new ArrayList<Event>(batchSize);
+		while (true) {
+			try {
+				Event first = buffer.poll(1, TimeUnit.SECONDS);
+				if (null == first)
+					continue;
+				batch.add(first);
+				buffer.drainTo(batch, batchSize - 1);
+				send(batch);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			} finally {
+				batch.clear();
+			}
+		}
+	}
+
+	// a failing appender drops only the event it fails on, not the events which follow.
+	private void send(List<Event> batch) {
+		for (Event event : batch) {
+			try {
+				handler.send(event.event, event.level, event.telemetry);
+			} catch (Exception e) {
+				dropCount.increment();
+				try {
+					logger.error("Dropped a telemetry event, " + dropCount.sum() + " dropped so far.", e);
+				} catch (Exception le) {
+					// the logger may be failing as well.
+				}
+			}
+		}
+	}
+
+	private static class Event {
+		private final String event;
+		private final Level level;
+		private final boolean telemetry;
+
+		private Event(String event, Level level, boolean telemetry) {
+			this.event = event;
+			this.level = level;
+			this.telemetry = telemetry;
+		}
+	}
+}
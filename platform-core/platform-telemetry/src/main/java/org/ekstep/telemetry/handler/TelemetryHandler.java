@@ -21,4 +21,14 @@ public interface TelemetryHandler {
 	public void send(String event, Level level);
 	
 	public void send(String event, Level level, boolean telemetry);
+
+	/**
+	 * Returns false if log events of the given level are dropped, so that
+	 * they need not be generated at all.
+	 * 
+	 * @param level
+	 */
+	public default boolean isEnabled(Level level) {
+		return true;
+	}
 }
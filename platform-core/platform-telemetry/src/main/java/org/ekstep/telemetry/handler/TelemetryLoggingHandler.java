@@ -19,6 +19,26 @@ public class TelemetryLoggingHandler implements TelemetryHandler {
 	private static final Logger telemetryLogger = LogManager.getLogger("TelemetryEventLogger");
 	
 
+	@Override
+	public boolean isEnabled(Level level) {
+		switch (level) {
+			case INFO:
+				return rootLogger.isInfoEnabled();
+			case DEBUG:
+				return rootLogger.isDebugEnabled();
+			case ERROR:
+				return rootLogger.isErrorEnabled();
+			case WARN:
+				return rootLogger.isWarnEnabled();
+			case TRACE:
+				return rootLogger.isTraceEnabled();
+			case FATAL:
+				return rootLogger.isFatalEnabled();
+			default:
+				return true;
+		}
+	}
+
 	public void send(String event, Level level) {
 		send(event, level, false);
 	}
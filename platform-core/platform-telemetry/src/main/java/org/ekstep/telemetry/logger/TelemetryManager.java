@@ -3,9 +3,11 @@ package org.ekstep.telemetry.logger;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.apache.logging.log4j.message.ParameterizedMessage;
 import org.ekstep.common.Platform;
 import org.ekstep.common.dto.ExecutionContext;
 import org.ekstep.common.dto.HeaderParam;
@@ -13,6 +15,7 @@ import org.ekstep.common.exception.MiddlewareException;
 import org.ekstep.common.exception.ResponseCode;
 import org.ekstep.telemetry.TelemetryGenerator;
 import org.ekstep.telemetry.TelemetryParams;
+import org.ekstep.telemetry.handler.AsyncTelemetryHandler;
 import org.ekstep.telemetry.handler.Level;
 import org.ekstep.telemetry.handler.TelemetryHandler;
 import org.ekstep.telemetry.handler.TelemetryLoggingHandler;
@@ -26,9 +29,10 @@ import org.ekstep.telemetry.handler.TelemetryLoggingHandler;
 public class TelemetryManager {
 
 	/**
-	 * 
+	 * Events are sent from a background thread when telemetry.async.enabled
+	 * is set.
 	 */
-	private static TelemetryHandler telemetryHandler = new TelemetryLoggingHandler();
+	private static TelemetryHandler telemetryHandler = getHandler();
 
 	private static final String DEFAULT_CHANNEL_ID = Platform.config.hasPath("channel.default") ? Platform.config.getString("channel.default") : "in.ekstep";
 
@@ -62,6 +66,26 @@ public class TelemetryManager {
 	public static void log(String message, Map<String, Object> params) {
 		log(message, params, Level.DEBUG.name());
 	}
+
+	/**
+	 * To log a message with "{}" placeholders replaced by the given
+	 * arguments. The message is formatted only if debug logging is enabled.
+	 * 
+	 * @param message
+	 * @param args
+	 */
+	public static void log(String message, Object... args) {
+		log(Level.DEBUG, message, args);
+	}
+
+	/**
+	 * To log a message which is built only if debug logging is enabled.
+	 * 
+	 * @param message
+	 */
+	public static void log(Supplier<String> message) {
+		log(Level.DEBUG, message);
+	}
 	
 	/**
 	 * To log only message as a telemetry event.
@@ -81,6 +105,14 @@ public class TelemetryManager {
 	public static void info(String message, Map<String, Object> params) {
 		log(message, params, Level.INFO.name());
 	}
+
+	public static void info(String message, Object... args) {
+		log(Level.INFO, message, args);
+	}
+
+	public static void info(Supplier<String> message) {
+		log(Level.INFO, message);
+	}
 	
 	/**
 	 * 
@@ -100,6 +132,27 @@ public class TelemetryManager {
 	public static void warn(String message, Map<String, Object> params) {
 		log(message, params, Level.WARN.name());
 	}
+
+	public static void warn(String message, Object... args) {
+		log(Level.WARN, message, args);
+	}
+
+	public static void warn(Supplier<String> message) {
+		log(Level.WARN, message);
+	}
+
+	/**
+	 * Returns true if log events of the given level are logged.
+	 * 
+	 * @param level
+	 */
+	public static boolean isEnabled(Level level) {
+		return telemetryHandler.isEnabled(level);
+	}
+
+	public static boolean isDebugEnabled() {
+		return isEnabled(Level.DEBUG);
+	}
 	
 	/**
 	 * 
@@ -135,6 +188,8 @@ public class TelemetryManager {
 	 * @param object
 	 */
 	public static void error(String message, Throwable e, Object object) {
+		if (!isEnabled(Level.ERROR))
+			return;
 		Map<String, String> context = getContext();
 		String stacktrace = ExceptionUtils.getStackTrace(e);
 		String code = ResponseCode.SERVER_ERROR.name();
@@ -221,9 +276,46 @@ public class TelemetryManager {
 	 * @param logLevel
 	 */
 	private static void log(String message, Map<String, Object> params, String logLevel) {
+		Level level = Level.getLevel(logLevel);
+		if (!isEnabled(level))
+			return;
 		Map<String, String> context = getContext();
 		String event = TelemetryGenerator.log(context, "system", logLevel, message, null, params);
-		telemetryHandler.send(event, Level.getLevel(logLevel));
+		telemetryHandler.send(event, level);
+	}
+
+	/**
+	 * Returns the counts of the events sent by the callers because the async
+	 * buffer was full, and of the events dropped because they failed to be
+	 * sent. Empty if the events are not sent asynchronously.
+	 */
+	public static Map<String, Object> getStats() {
+		Map<String, Object> stats = new HashMap<String, Object>();
+		if (telemetryHandler instanceof AsyncTelemetryHandler) {
+			stats.put("overflowCount", ((AsyncTelemetryHandler) telemetryHandler).getOverflowCount());
+			stats.put("dropCount", ((AsyncTelemetryHandler) telemetryHandler).getDropCount());
+		}
+		return stats;
+	}
+
+	private static void log(Level level, String message, Object... args) {
+		if (isEnabled(level))
+			log(ParameterizedMessage.format(message, args), null, level.name());
+	}
+
+	private static void log(Level level, Supplier<String> message) {
+		if (isEnabled(level))
+			log(message.get(), null, level.name());
+	}
+
+	private static TelemetryHandler getHandler() {
+		TelemetryHandler handler = new TelemetryLoggingHandler();
+		if (Platform.config.hasPath("telemetry.async.enabled") && Platform.config.getBoolean("telemetry.async.enabled")) {
+			int bufferSize = Platform.config.hasPath("telemetry.async.buffer_size") ? Platform.config.getInt("telemetry.async.buffer_size") : 8192;
+			int batchSize = Platform.config.hasPath("telemetry.async.batch_size") ? Platform.config.getInt("telemetry.async.batch_size") : 256;
+			handler = new AsyncTelemetryHandler(handler, bufferSize, batchSize);
+		}
+		return handler;
 	}
 
 	private static Map<String, String> getContext() {
@@ -22,6 +22,10 @@ public class JobMetrics {
 	private final Counter failedMessageCount;
 	private final Counter skippedMessageCount;
 	private final Counter errorMessageCount;
+	private final Counter batchCount;
+	private final Counter batchMessageCount;
+	private final Counter batchTime;
+	private long batchMaxTime;
 	private int partition;
 
 	public JobMetrics(TaskContext context) {
@@ -34,6 +38,9 @@ public class JobMetrics {
 		failedMessageCount = metricsRegistry.newCounter(getClass().getName(), "failed-message-count");
 		skippedMessageCount = metricsRegistry.newCounter(getClass().getName(), "skipped-message-count");
 		errorMessageCount = metricsRegistry.newCounter(getClass().getName(), "error-message-count");
+		batchCount = metricsRegistry.newCounter(getClass().getName(), "batch-count");
+		batchMessageCount = metricsRegistry.newCounter(getClass().getName(), "batch-message-count");
+		batchTime = metricsRegistry.newCounter(getClass().getName(), "batch-time-ms");
 		jobName = jName;
 		this.topic = topic;
 		this.context=context;
@@ -44,6 +51,10 @@ public class JobMetrics {
 		failedMessageCount.clear();
 		skippedMessageCount.clear();
 		errorMessageCount.clear();
+		batchCount.clear();
+		batchMessageCount.clear();
+		batchTime.clear();
+		batchMaxTime = 0;
 	}
 
 	public void incSuccessCounter() {
@@ -62,6 +73,21 @@ public class JobMetrics {
         errorMessageCount.inc();
     }
 
+	/**
+	 * Records a batch of messages processed together.
+	 *
+	 * @param messageCount
+	 *            the messages in the batch
+	 * @param time
+	 *            the time taken to process the batch, in milliseconds
+	 */
+	public void incBatchCounter(long messageCount, long time) {
+		batchCount.inc();
+		batchMessageCount.inc(messageCount);
+		batchTime.inc(time);
+		batchMaxTime = Math.max(batchMaxTime, time);
+	}
+
 	public String getJobName() {
 		return jobName;
 	}
@@ -118,6 +144,12 @@ public class JobMetrics {
 		metricsEvent.put("failed-message-count", failedMessageCount.getCount());
 		metricsEvent.put("error-message-count", errorMessageCount.getCount());		
 		metricsEvent.put("skipped-message-count", skippedMessageCount.getCount());
+		if (batchCount.getCount() > 0) {
+			metricsEvent.put("batch-count", batchCount.getCount());
+			metricsEvent.put("batch-message-count", batchMessageCount.getCount());
+			metricsEvent.put("batch-avg-time-ms", batchTime.getCount() / batchCount.getCount());
+			metricsEvent.put("batch-max-time-ms", batchMaxTime);
+		}
 		metricsEvent.put("partition",partition);
 		metricsEvent.put("consumer-lag",
 				computeConsumerLag(((MetricsRegistryMap) context.getSamzaContainerContext().metricsRegistry).metrics()));
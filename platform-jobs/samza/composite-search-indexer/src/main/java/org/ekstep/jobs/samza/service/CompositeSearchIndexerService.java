@@ -1,6 +1,7 @@
 package org.ekstep.jobs.samza.service;
 
 import org.apache.commons.lang3.BooleanUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.samza.config.Config;
 import org.apache.samza.system.SystemStream;
 import org.apache.samza.task.MessageCollector;
@@ -17,6 +18,8 @@ import org.ekstep.learning.router.LearningRequestRouterPool;
 import org.ekstep.searchindex.util.CompositeSearchConstants;
 import org.elasticsearch.client.transport.NoNodeAvailableException;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 public class CompositeSearchIndexerService implements ISamzaService {
@@ -27,6 +30,9 @@ public class CompositeSearchIndexerService implements ISamzaService {
 	private DialCodeIndexer dcIndexer = null;
 	private DialCodeMetricsIndexer dcMetricsIndexer;
 	private SystemStream systemStream = null;
+	private boolean batchEnabled = false;
+	private List<Map<String, Object>> batch = new ArrayList<Map<String, Object>>();
+	private long batchStartTime = 0;
 
 	public CompositeSearchIndexerService() {}
 
@@ -44,6 +50,7 @@ public class CompositeSearchIndexerService implements ISamzaService {
 		LearningRequestRouterPool.init();
 		LOGGER.info("Learning actors initialized");
 		systemStream = new SystemStream("kafka", config.get("output.failed.events.topic.name"));
+		batchEnabled = config.getBoolean("compositesearch.batch.enabled", false) && isBatchConfigValid(config);
 		csIndexer = csIndexer == null ? new CompositeSearchIndexer(): csIndexer;
 		csIndexer.createCompositeSearchIndex();
 		LOGGER.info(CompositeSearchConstants.COMPOSITE_SEARCH_INDEX + " created");
@@ -61,6 +68,12 @@ public class CompositeSearchIndexerService implements ISamzaService {
 		Object index = message.get("index");
 		Boolean shouldindex = BooleanUtils.toBoolean(null == index ? "true" : index.toString());
 		if (!BooleanUtils.isFalse(shouldindex)) {
+			if (batchEnabled && isBatched(message)) {
+				if (batch.isEmpty())
+					batchStartTime = System.currentTimeMillis();
+				batch.add(message);
+				return;
+			}
 			LOGGER.debug("Indexing event into ES");
 			try {
 				processMessage(message, metrics);
@@ -86,6 +99,76 @@ public class CompositeSearchIndexerService implements ISamzaService {
 		}
 	}
 
+	/**
+	 * In the batch mode, the offsets are committed once a batch is indexed and
+	 * the window checks the pending batch, so the batch mode needs
+	 * task.commit.ms=-1 and task.window.ms within the batch window.
+	 */
+	private boolean isBatchConfigValid(Config config) {
+		long batchWindow = config.getLong("compositesearch.batch.window.ms", 1000);
+		long commitMs = config.getLong("task.commit.ms", 60000);
+		long windowMs = config.getLong("task.window.ms", -1);
+		if (commitMs == -1 && windowMs > 0 && windowMs <= batchWindow)
+			return true;
+		LOGGER.info("Batch mode disabled, as it needs task.commit.ms=-1 and task.window.ms within " + batchWindow
+				+ "ms, but task.commit.ms is " + commitMs + " and task.window.ms is " + windowMs);
+		return false;
+	}
+
+	public boolean isBatchEnabled() {
+		return batchEnabled;
+	}
+
+	private boolean isBatched(Map<String, Object> message) {
+		String nodeType = (String) message.get("nodeType");
+		return null != message.get("operationType") && null != message.get("nodeUniqueId")
+				&& (StringUtils.equals(CompositeSearchConstants.NODE_TYPE_DATA, nodeType)
+						|| StringUtils.equals(CompositeSearchConstants.NODE_TYPE_SET, nodeType));
+	}
+
+	public int getBatchSize() {
+		return batch.size();
+	}
+
+	/**
+	 * Returns the time the first message of the pending batch was received.
+	 */
+	public long getBatchStartTime() {
+		return batchStartTime;
+	}
+
+	/**
+	 * Indexes the pending batch of composite search messages. The messages
+	 * which could not be indexed are pushed for retry.
+	 *
+	 * @throws Exception
+	 *             if the batch could not be indexed, in which case none of the
+	 *             messages of the batch should be committed
+	 */
+	public void flushBatch(JobMetrics metrics, MessageCollector collector) throws Exception {
+		if (batch.isEmpty())
+			return;
+		List<Map<String, Object>> messages = batch;
+		batch = new ArrayList<Map<String, Object>>();
+		long startTime = System.currentTimeMillis();
+		Map<String, String> failures = csIndexer.processESMessages(messages);
+		for (Map<String, Object> message : messages) {
+			String failure = failures.get((String) message.get("nodeUniqueId"));
+			if (null == failure) {
+				metrics.incSuccessCounter();
+			} else {
+				PlatformException ex = new PlatformException(PlatformErrorCodes.PROCESSING_ERROR.name(), failure);
+				LOGGER.error("Error while processing message:", message, ex);
+				metrics.incFailedCounter();
+				FailedEventsUtil.pushEventForRetry(systemStream, message, metrics, collector,
+						PlatformErrorCodes.PROCESSING_ERROR.name(), ex);
+			}
+		}
+		metrics.incBatchCounter(messages.size(), System.currentTimeMillis() - startTime);
+		LOGGER.info("Indexed a batch of " + messages.size() + " messages in "
+				+ (System.currentTimeMillis() - startTime) + "ms");
+	}
+
 	public void processMessage(Map<String, Object> message, JobMetrics metrics) throws Exception {
 		if (message != null && message.get("operationType") != null) {
 			String nodeType = (String) message.get("nodeType");
@@ -14,6 +14,7 @@ import org.ekstep.jobs.samza.exception.PlatformException;
 import org.ekstep.jobs.samza.service.task.JobMetrics;
 import org.ekstep.jobs.samza.util.JobLogger;
 import org.ekstep.learning.util.ControllerUtil;
+import org.ekstep.searchindex.elasticsearch.BulkIndexer;
 import org.ekstep.searchindex.elasticsearch.ElasticSearchUtil;
 import org.ekstep.searchindex.util.CompositeSearchConstants;
 
@@ -24,6 +25,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author pradyumna
@@ -35,9 +41,15 @@ public class CompositeSearchIndexer extends AbstractESIndexer {
 	private ObjectMapper mapper = new ObjectMapper();
 	private List<String> nestedFields = new ArrayList<String>();
 	private ControllerUtil util = new ControllerUtil();
+	private List<String> restrictedObjectTypes;
+	private Map<String, IndexDefinition> indexDefinitions = new ConcurrentHashMap<String, IndexDefinition>();
+	private BulkIndexer bulkIndexer;
 
 	public CompositeSearchIndexer() {
 		setNestedFields();
+		//List of objectTypes for which only the indexable metadata of the definition is indexed.
+		restrictedObjectTypes = Platform.config.hasPath("restrict.metadata.objectTypes") ?
+				Arrays.asList(Platform.config.getString("restrict.metadata.objectTypes").split(",")) : Collections.emptyList();
 	}
 
 	@Override
@@ -77,20 +89,22 @@ public class CompositeSearchIndexer extends AbstractESIndexer {
 		return indexDocument;
 	}
 
-	@SuppressWarnings({ "rawtypes", "unchecked" })
 	private Map<String, Object> getIndexDocument(Map<String, Object> message,
 												 Map<String, String> relationMap, boolean updateRequest, List<String> indexableProps) throws Exception {
 		Map<String, Object> indexDocument = new HashMap<String, Object>();
 		String uniqueId = (String) message.get("nodeUniqueId");
-		if (updateRequest) {
-			String documentJson = ElasticSearchUtil.getDocumentAsStringById(
-					CompositeSearchConstants.COMPOSITE_SEARCH_INDEX,
-					CompositeSearchConstants.COMPOSITE_SEARCH_INDEX_TYPE, uniqueId);
-			if (documentJson != null && !documentJson.isEmpty()) {
-				indexDocument = mapper.readValue(documentJson, new TypeReference<Map<String, Object>>() {
-				});
-			}
-		}
+		if (updateRequest)
+			indexDocument = getIndexDocument(uniqueId);
+		applyTransaction(indexDocument, message, relationMap, indexableProps);
+		return indexDocument;
+	}
+
+	/**
+	 * Applies the transaction data of the message to the document.
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private void applyTransaction(Map<String, Object> indexDocument, Map<String, Object> message,
+			Map<String, String> relationMap, List<String> indexableProps) throws Exception {
 		Map transactionData = (Map) message.get("transactionData");
 		if (transactionData != null) {
 			Map<String, Object> addedProperties = (Map<String, Object>) transactionData.get("properties");
@@ -151,7 +165,6 @@ public class CompositeSearchIndexer extends AbstractESIndexer {
 		indexDocument.put("identifier", (String) message.get("nodeUniqueId"));
 		indexDocument.put("objectType", (String) message.get("objectType"));
 		indexDocument.put("nodeType", (String) message.get("nodeType"));
-		return indexDocument;
 	}
 
 	private void upsertDocument(String uniqueId, String jsonIndexDocument) throws Exception {
@@ -187,7 +200,12 @@ public class CompositeSearchIndexer extends AbstractESIndexer {
 
 	public void processESMessage(String graphId, String objectType, String uniqueId, String messageId,
 			 Map<String, Object> message, JobMetrics metrics) throws Exception {
-		List<String> indexablePropslist = new ArrayList<String>();
+		IndexDefinition indexDefinition = getIndexDefinition(graphId, objectType);
+		LOGGER.info("Message Id: " + messageId + ", " + "Unique Id: " + uniqueId + " is indexing into compositesearch.");
+		upsertDocument(uniqueId, message, indexDefinition.relationMap, indexDefinition.indexableProps);
+	}
+
+	private IndexDefinition getIndexDefinition(String graphId, String objectType) throws Exception {
 		DefinitionDTO definitionNode = util.getDefinition(graphId, objectType);
 		if (null == definitionNode) {
 			LOGGER.info("Failed to fetch definition node from cache");
@@ -195,18 +213,161 @@ public class CompositeSearchIndexer extends AbstractESIndexer {
 					"defnition node for graphId:" + graphId + " and objectType:" + objectType
 							+ " is null due to some issue");
 		}
-		Map<String, Object> definition = mapper.convertValue(definitionNode, new TypeReference<Map<String, Object>>() {
-		});
-		LOGGER.debug("definition fetched from cache: " + definitionNode.getIdentifier());
-		//Create List of metadata which should be indexed, if objectType is enabled for metadata filtration.
-		List<String> objectTypeList = Platform.config.hasPath("restrict.metadata.objectTypes") ?
-				Arrays.asList(Platform.config.getString("restrict.metadata.objectTypes").split(",")) : Collections.emptyList();
-		if (objectTypeList.contains(objectType))
-			indexablePropslist = getIndexableProperties(definition);
+		String key = graphId + ":" + objectType;
+		IndexDefinition indexDefinition = indexDefinitions.get(key);
+		// the definition is converted again only when the cache returns a new definition node.
+		if (null == indexDefinition || indexDefinition.definitionNode != definitionNode) {
+			Map<String, Object> definition = mapper.convertValue(definitionNode,
+					new TypeReference<Map<String, Object>>() {
+					});
+			LOGGER.debug("definition fetched from cache: " + definitionNode.getIdentifier());
+			List<String> indexableProps = restrictedObjectTypes.contains(objectType)
+					? getIndexableProperties(definition) : new ArrayList<String>();
+			indexDefinition = new IndexDefinition(definitionNode, getRelationMap(objectType, definition),
+					indexableProps);
+			indexDefinitions.put(key, indexDefinition);
+		}
+		return indexDefinition;
+	}
 
-		LOGGER.info("Message Id: " + messageId + ", " + "Unique Id: " + uniqueId + " is indexing into compositesearch.");
-		Map<String, String> relationMap = getRelationMap(objectType, definition);
-		upsertDocument(uniqueId, message, relationMap, indexablePropslist);
+	/**
+	 * Indexes a batch of messages. The messages of an identifier are applied
+	 * in order and written as one document. The current documents needed to
+	 * apply the messages are fetched in one request, and the documents are
+	 * written in one bulk request. An update which only sets properties is
+	 * written as a partial update, without fetching the current document.
+	 *
+	 * @return the failure message of the identifiers which could not be
+	 *         indexed
+	 * @throws Exception
+	 *             if the documents could not be fetched or the bulk request
+	 *             failed as a whole
+	 */
+	public Map<String, String> processESMessages(List<Map<String, Object>> messages) throws Exception {
+		Map<String, String> failures = new HashMap<String, String>();
+		Map<String, List<Map<String, Object>>> messagesById = new LinkedHashMap<String, List<Map<String, Object>>>();
+		for (Map<String, Object> message : messages)
+			messagesById.computeIfAbsent((String) message.get("nodeUniqueId"), id -> new ArrayList<>()).add(message);
+
+		Map<String, List<IndexDefinition>> definitionsById = new HashMap<String, List<IndexDefinition>>();
+		Set<String> fetchIds = new HashSet<String>();
+		for (Entry<String, List<Map<String, Object>>> entry : messagesById.entrySet()) {
+			try {
+				List<IndexDefinition> definitions = new ArrayList<IndexDefinition>();
+				for (Map<String, Object> message : entry.getValue())
+					definitions.add(getIndexDefinition((String) message.get("graphId"),
+							(String) message.get("objectType")));
+				definitionsById.put(entry.getKey(), definitions);
+				if (needsCurrentDocument(entry.getValue()))
+					fetchIds.add(entry.getKey());
+			} catch (Exception e) {
+				failures.put(entry.getKey(), e.getMessage());
+			}
+		}
+		Map<String, Map<String, Object>> currentDocuments = ElasticSearchUtil.getMultiDocumentAsMapById(
+				CompositeSearchConstants.COMPOSITE_SEARCH_INDEX, CompositeSearchConstants.COMPOSITE_SEARCH_INDEX_TYPE,
+				fetchIds);
+
+		BulkIndexer indexer = getBulkIndexer();
+		for (Entry<String, List<IndexDefinition>> entry : definitionsById.entrySet()) {
+			String uniqueId = entry.getKey();
+			try {
+				PendingDocument document = new PendingDocument(currentDocuments.get(uniqueId));
+				List<Map<String, Object>> idMessages = messagesById.get(uniqueId);
+				for (int i = 0; i < idMessages.size(); i++)
+					apply(document, idMessages.get(i), entry.getValue().get(i));
+				if (document.deleted) {
+					// the current document of a delete is always fetched, so a missing one need not be deleted.
+					if (null != currentDocuments.get(uniqueId))
+						indexer.delete(CompositeSearchConstants.COMPOSITE_SEARCH_INDEX_TYPE, uniqueId);
+				} else if (document.full) {
+					indexer.index(CompositeSearchConstants.COMPOSITE_SEARCH_INDEX_TYPE, uniqueId, document.fields);
+				} else {
+					indexer.upsert(CompositeSearchConstants.COMPOSITE_SEARCH_INDEX_TYPE, uniqueId, document.fields);
+				}
+			} catch (Exception e) {
+				failures.put(uniqueId, e.getMessage());
+			}
+		}
+		failures.putAll(indexer.flush());
+		return failures;
+	}
+
+	/**
+	 * Whether the current document is needed to apply the messages, which is
+	 * when a message is a delete, or an update of the relations or removing a
+	 * property before any create of the document.
+	 */
+	@SuppressWarnings("rawtypes")
+	private boolean needsCurrentDocument(List<Map<String, Object>> messages) {
+		for (Map<String, Object> message : messages) {
+			if (StringUtils.equals(CompositeSearchConstants.OPERATION_DELETE, (String) message.get("operationType")))
+				return true;
+		}
+		for (Map<String, Object> message : messages) {
+			if (StringUtils.equals(CompositeSearchConstants.OPERATION_CREATE, (String) message.get("operationType")))
+				return false;
+			Map transactionData = (Map) message.get("transactionData");
+			if (null != transactionData && (isNotEmpty(transactionData.get("addedRelations"))
+					|| isNotEmpty(transactionData.get("removedRelations")) || hasRemovedProperty(transactionData)))
+				return true;
+		}
+		return false;
+	}
+
+	@SuppressWarnings("rawtypes")
+	private boolean isNotEmpty(Object list) {
+		return list instanceof List && !((List) list).isEmpty();
+	}
+
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private boolean hasRemovedProperty(Map transactionData) {
+		Map<String, Object> properties = (Map<String, Object>) transactionData.get("properties");
+		if (null != properties) {
+			for (Object property : properties.values()) {
+				if (property instanceof Map && null == ((Map) property).get("nv"))
+					return true;
+			}
+		}
+		return false;
+	}
+
+	private void apply(PendingDocument document, Map<String, Object> message, IndexDefinition indexDefinition)
+			throws Exception {
+		String operationType = (String) message.get("operationType");
+		switch (operationType) {
+		case CompositeSearchConstants.OPERATION_CREATE: {
+			document.fields = new HashMap<String, Object>();
+			document.full = true;
+			document.deleted = false;
+			applyTransaction(document.fields, message, indexDefinition.relationMap, indexDefinition.indexableProps);
+			break;
+		}
+		case CompositeSearchConstants.OPERATION_UPDATE: {
+			if (needsCurrentDocument(Collections.singletonList(message)))
+				document.loadCurrent();
+			document.deleted = false;
+			applyTransaction(document.fields, message, indexDefinition.relationMap, indexDefinition.indexableProps);
+			break;
+		}
+		case CompositeSearchConstants.OPERATION_DELETE: {
+			document.loadCurrent();
+			String visibility = (String) document.fields.get("visibility");
+			if (StringUtils.equalsIgnoreCase("Parent", visibility)) {
+				LOGGER.info("Not deleting the document (visibility: Parent) with ID:" + message.get("nodeUniqueId"));
+			} else {
+				document.fields = new HashMap<String, Object>();
+				document.deleted = true;
+			}
+			break;
+		}
+		}
+	}
+
+	private synchronized BulkIndexer getBulkIndexer() {
+		if (null == bulkIndexer)
+			bulkIndexer = new BulkIndexer(CompositeSearchConstants.COMPOSITE_SEARCH_INDEX);
+		return bulkIndexer;
 	}
 
 	private void upsertDocument(String uniqueId, Map<String, Object> message, Map<String, String> relationMap, List<String> indexableProps)
@@ -267,4 +428,42 @@ public class CompositeSearchIndexer extends AbstractESIndexer {
 		}
 	}
 
+	private static class IndexDefinition {
+		private final DefinitionDTO definitionNode;
+		private final Map<String, String> relationMap;
+		private final List<String> indexableProps;
+
+		IndexDefinition(DefinitionDTO definitionNode, Map<String, String> relationMap, List<String> indexableProps) {
+			this.definitionNode = definitionNode;
+			this.relationMap = relationMap;
+			this.indexableProps = indexableProps;
+		}
+	}
+
+	/**
+	 * The document of an identifier, as the messages of a batch are applied.
+	 * The fields are the whole document when full, else only the fields to be
+	 * updated.
+	 */
+	private static class PendingDocument {
+		private final Map<String, Object> current;
+		private Map<String, Object> fields = new HashMap<String, Object>();
+		private boolean full = false;
+		private boolean deleted = false;
+
+		PendingDocument(Map<String, Object> current) {
+			this.current = current;
+		}
+
+		void loadCurrent() {
+			if (!full) {
+				Map<String, Object> document = null == current ? new HashMap<String, Object>()
+						: new HashMap<String, Object>(current);
+				document.putAll(fields);
+				fields = document;
+				full = true;
+			}
+		}
+	}
+
 }
@@ -30,6 +30,12 @@ public class CompositeSearchIndexerTask extends BaseTask {
 
 	private ISamzaService service;
 	private JobMetrics metrics;
+	private CompositeSearchIndexerService batchService;
+	private int batchSize;
+	private long batchWindow;
+	private long metricsWindow;
+	private long lastMetricsTime = System.currentTimeMillis();
+	private boolean uncommitted = false;
 
 	public ISamzaService getService() {
 		return service;
@@ -48,6 +54,15 @@ public class CompositeSearchIndexerTask extends BaseTask {
 			metrics = new JobMetrics(context, config.get("output.metrics.job.name"), config.get("output.metrics.topic.name"));
 			this.service = (service == null ? new CompositeSearchIndexerService() : service);
 			this.service.initialize(config);
+			// the service enables the batch mode only with the commit and window settings it needs.
+			if (this.service instanceof CompositeSearchIndexerService
+					&& ((CompositeSearchIndexerService) this.service).isBatchEnabled()) {
+				batchService = (CompositeSearchIndexerService) this.service;
+				batchSize = config.getInt("compositesearch.batch.size", 500);
+				batchWindow = config.getLong("compositesearch.batch.window.ms", 1000);
+				metricsWindow = config.getLong("output.metrics.window.ms", 300000);
+				LOGGER.info("Batch mode enabled with batch size: " + batchSize + ", window: " + batchWindow + "ms");
+			}
 			LOGGER.info("Task initialized");
 		} catch (Exception ex) {
 			LOGGER.error("Task initialization failed", ex);
@@ -64,6 +79,9 @@ public class CompositeSearchIndexerTask extends BaseTask {
 	@Override
 	public void process(IncomingMessageEnvelope envelope, MessageCollector collector, TaskCoordinator coordinator) throws Exception {
 		Map<String, Object> outgoingMap = getMessage(envelope);
+		// the pending messages are indexed with the definitions they were sent with.
+		if (outgoingMap.containsKey(SamzaCommonParams.edata.name()))
+			flushBatch(collector, coordinator, true);
 		try {
 			if (outgoingMap.containsKey(SamzaCommonParams.edata.name())) {
 				Map<String, Object> edata = (Map<String, Object>) outgoingMap.getOrDefault(SamzaCommonParams.edata.name(), new HashMap<String, Object>());
@@ -80,6 +98,24 @@ public class CompositeSearchIndexerTask extends BaseTask {
 			metrics.incErrorCounter();
 			LOGGER.error("Error while processing message:", outgoingMap, e);
 		}
+		uncommitted = true;
+		// a batch which fails is not caught, so that the job restarts from the last committed offsets.
+		flushBatch(collector, coordinator, false);
+	}
+
+	private void flushBatch(MessageCollector collector, TaskCoordinator coordinator, boolean force) throws Exception {
+		if (null == batchService || batchService.getBatchSize() == 0)
+			return;
+		if (force || batchService.getBatchSize() >= batchSize
+				|| System.currentTimeMillis() - batchService.getBatchStartTime() >= batchWindow) {
+			batchService.flushBatch(metrics, collector);
+			commit(coordinator);
+		}
+	}
+
+	private void commit(TaskCoordinator coordinator) {
+		coordinator.commit(TaskCoordinator.RequestScope.CURRENT_TASK);
+		uncommitted = false;
 	}
 	
 	@SuppressWarnings("unchecked")
@@ -94,7 +130,16 @@ public class CompositeSearchIndexerTask extends BaseTask {
 	}
 	
 	@Override
-	public void window(MessageCollector collector, TaskCoordinator coordinator) {
+	public void window(MessageCollector collector, TaskCoordinator coordinator) throws Exception {
+		flushBatch(collector, coordinator, false);
+		if (null != batchService) {
+			// the messages processed without batching are committed when there is no pending batch.
+			if (uncommitted && batchService.getBatchSize() == 0)
+				commit(coordinator);
+			if (System.currentTimeMillis() - lastMetricsTime < metricsWindow)
+				return;
+		}
+		lastMetricsTime = System.currentTimeMillis();
 		Map<String, Object> event = metrics.collect();
 		collector.send(new OutgoingMessageEnvelope(new SystemStream("kafka", metrics.getTopic()), event));
 		metrics.clear();
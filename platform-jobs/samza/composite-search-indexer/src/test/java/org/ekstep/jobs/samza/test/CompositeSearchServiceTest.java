@@ -88,6 +88,49 @@ public class CompositeSearchServiceTest extends BaseTest {
 		assertEquals(false, map.containsKey("collections"));
 	}
 	
+	@Test
+	public void testBatchedMessagesOfAnIdentifier() throws Exception {
+		Map<String, Object> createMessage = mapper.readValue(validMessage, new TypeReference<Map<String, Object>>() {
+		});
+		Map<String, Object> updateMessage = mapper.readValue(validMessage.replace("\"CREATE\"", "\"UPDATE\"")
+				.replace("literacy", "numeracy"), new TypeReference<Map<String, Object>>() {
+				});
+		Map<String, String> props = new HashMap<String, String>();
+		props.put("search.es_conn_info", "localhost:9200");
+		props.put("platform-api-url", "http://localhost:8080/learning-service");
+		props.put("ekstepPlatformApiUserId", "ilimi");
+		props.put("compositesearch.batch.enabled", "true");
+		props.put("task.commit.ms", "-1");
+		props.put("task.window.ms", "500");
+		Config config = new MapConfig(props);
+		CompositeSearchIndexerService batchService = new CompositeSearchIndexerService();
+		batchService.initialize(config);
+		JobMetrics metrics = mock(JobMetrics.class);
+		batchService.processMessage(createMessage, metrics, collector);
+		batchService.processMessage(updateMessage, metrics, collector);
+		assertEquals(2, batchService.getBatchSize());
+		batchService.flushBatch(metrics, collector);
+		assertEquals(0, batchService.getBatchSize());
+		Thread.sleep(2000);
+		Map<String, Object> map = findById("org.ekstep.jul03.story.test01");
+		assertEquals(true, null != map);
+		assertEquals("numeracy", map.get("subject"));
+	}
+
+	@Test
+	public void testBatchDisabledWithPeriodicCommit() throws Exception {
+		Map<String, String> props = new HashMap<String, String>();
+		props.put("search.es_conn_info", "localhost:9200");
+		props.put("platform-api-url", "http://localhost:8080/learning-service");
+		props.put("ekstepPlatformApiUserId", "ilimi");
+		props.put("compositesearch.batch.enabled", "true");
+		props.put("task.commit.ms", "60000");
+		props.put("task.window.ms", "500");
+		CompositeSearchIndexerService batchService = new CompositeSearchIndexerService();
+		batchService.initialize(new MapConfig(props));
+		assertEquals(false, batchService.isBatchEnabled());
+	}
+
 	public Map<String, Object> findById(String identifier) throws IOException {
 		SearchResponse response = client.search(new SearchRequest(CompositeSearchConstants.COMPOSITE_SEARCH_INDEX)
 				.source(new SearchSourceBuilder().query(QueryBuilders.termQuery("_id", identifier))));
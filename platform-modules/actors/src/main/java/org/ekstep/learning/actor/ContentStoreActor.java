@@ -17,6 +17,7 @@ import org.ekstep.telemetry.logger.TelemetryManager;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletionException;
 
 /**
  * The Class ContentStoreActor, provides akka actor functionality to access the
@@ -47,8 +48,13 @@ public class ContentStoreActor extends BaseGraphManager {
 				OK(sender());
 			} else if (StringUtils.equalsIgnoreCase(ContentStoreOperations.getContentBody.name(), operation)) {
 				String contentId = (String) request.get(ContentStoreParams.content_id.name());
-				String body = contentStore.getContentBody(contentId);
-				OK(ContentStoreParams.body.name(), body, sender());
+				ActorRef parent = sender();
+				contentStore.getContentBodyAsync(contentId).whenComplete((body, error) -> {
+					if (null != error)
+						handleException(unwrap(error), parent);
+					else
+						OK(ContentStoreParams.body.name(), body, parent);
+				});
 			} else if (StringUtils.equalsIgnoreCase(ContentStoreOperations.getContentProperty.name(), operation)) {
 				String contentId = (String) request.get(ContentStoreParams.content_id.name());
 				String property = (String) request.get(ContentStoreParams.property.name());
@@ -72,11 +78,16 @@ public class ContentStoreActor extends BaseGraphManager {
 				OK(sender());
 			} else if (StringUtils.equalsIgnoreCase(ContentStoreOperations.getCollectionHierarchy.name(), operation)) {
 				String contentId = (String) request.get(ContentStoreParams.content_id.name());
-				Map<String, Object> hierarchy = hierarchyStore.getHierarchy(contentId);
-				if(MapUtils.isEmpty(hierarchy)) {
-					throw new ResourceNotFoundException(ResponseCode.RESOURCE_NOT_FOUND.name(), "Resource not found : " + contentId);
-				}
-				OK(ContentStoreParams.hierarchy.name(), hierarchy, sender());
+				ActorRef parent = sender();
+				hierarchyStore.getHierarchyAsync(contentId).whenComplete((hierarchy, error) -> {
+					if (null != error)
+						handleException(unwrap(error), parent);
+					else if (MapUtils.isEmpty(hierarchy))
+						handleException(new ResourceNotFoundException(ResponseCode.RESOURCE_NOT_FOUND.name(),
+								"Resource not found : " + contentId), parent);
+					else
+						OK(ContentStoreParams.hierarchy.name(), hierarchy, parent);
+				});
 			} else if (StringUtils.equalsIgnoreCase(ContentStoreOperations.deleteHierarchy.name(), operation)) {
 				List<String> identifiers = (List<String>) request.get(ContentStoreParams.content_id.name());
 				hierarchyStore.deleteHierarchy(identifiers);
@@ -98,6 +109,10 @@ public class ContentStoreActor extends BaseGraphManager {
 		}
 	}
 
+	private Throwable unwrap(Throwable e) {
+		return (e instanceof CompletionException && null != e.getCause()) ? e.getCause() : e;
+	}
+
 	@Override
 	protected void invokeMethod(Request request, ActorRef parent) {
 		// TODO Auto-generated method stub
@@ -5,6 +5,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import org.apache.commons.lang3.StringUtils;
 import org.ekstep.cassandra.connector.util.CassandraConnector;
@@ -58,7 +59,7 @@ public class ContentStore extends CassandraStore {
 		if (StringUtils.isBlank(query))
 			throw new ClientException(ContentStoreParams.ERR_INVALID_PROPERTY_NAME.name(),
 					"Invalid property name. Please specify a valid property name");
-		PreparedStatement ps = session.prepare(query);
+		PreparedStatement ps = CassandraConnector.prepare(query);
 		BoundStatement bound = ps.bind(contentId);
 		try {
 			ResultSet rs = session.execute(bound);
@@ -77,6 +78,35 @@ public class ContentStore extends CassandraStore {
 		return null;
 	}
 
+	/**
+	 * Fetches the property of the content without blocking the caller.
+	 *
+	 * @param contentId
+	 * @param property
+	 * @return
+	 */
+	public CompletableFuture<String> getContentPropertyAsync(String contentId, String property) {
+		TelemetryManager.log("GetContentPropertyAsync | Content: " + contentId + " | Property: " + property);
+		String query = getSelectQuery(property);
+		if (StringUtils.isBlank(query))
+			throw new ClientException(ContentStoreParams.ERR_INVALID_PROPERTY_NAME.name(),
+					"Invalid property name. Please specify a valid property name");
+		return executeQueryAsync(query, contentId).handle((rs, error) -> {
+			if (null != error) {
+				TelemetryManager.error("Error! Executing get content property: " + error.getMessage(), error);
+				throw new ServerException(ContentStoreParams.ERR_SERVER_ERROR.name(),
+						"Error fetching property from Content Store.");
+			}
+			if (null != rs && rs.iterator().hasNext())
+				return rs.iterator().next().getString(property + PROPERTY_SUFFIX);
+			return null;
+		});
+	}
+
+	public CompletableFuture<String> getContentBodyAsync(String contentId) {
+		return getContentPropertyAsync(contentId, "body");
+	}
+
 	public Map<String, Object> getContentProperties(String contentId, List<String> properties) {
 		TelemetryManager.log("GetContentProperties | Content: " + contentId + " | Properties: " + properties);
 		Session session = CassandraConnector.getSession();
@@ -84,7 +114,7 @@ public class ContentStore extends CassandraStore {
 		if (StringUtils.isBlank(query))
 			throw new ClientException(ContentStoreParams.ERR_INVALID_PROPERTY_NAME.name(),
 					"Invalid properties list. Please specify a valid list of property names");
-		PreparedStatement ps = session.prepare(query);
+		PreparedStatement ps = CassandraConnector.prepare(query);
 		BoundStatement bound = ps.bind(contentId);
 		try {
 			ResultSet rs = session.execute(bound);
@@ -115,7 +145,7 @@ public class ContentStore extends CassandraStore {
 		if (StringUtils.isBlank(query))
 			throw new ClientException(ContentStoreParams.ERR_INVALID_PROPERTY_NAME.name(),
 					"Invalid property name. Please specify a valid property name");
-		PreparedStatement ps = session.prepare(query);
+		PreparedStatement ps = CassandraConnector.prepare(query);
 		BoundStatement bound = ps.bind(value, contentId);
 		try {
 			session.execute(bound);
@@ -136,7 +166,7 @@ public class ContentStore extends CassandraStore {
 			throw new ClientException(ContentStoreParams.ERR_INVALID_PROPERTY_VALUES.name(),
 					"Invalid property values. Please specify valid property values");
 		String query = getUpdateQuery(map.keySet());
-		PreparedStatement ps = session.prepare(query);
+		PreparedStatement ps = CassandraConnector.prepare(query);
 		Object[] values = new Object[map.size() + 1];
 		try {
 			int i = 0;
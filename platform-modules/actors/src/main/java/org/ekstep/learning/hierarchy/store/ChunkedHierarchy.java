@@ -0,0 +1,214 @@
+package org.ekstep.learning.hierarchy.store;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.collections.CollectionUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.ekstep.common.exception.ServerException;
+import org.ekstep.learning.contentstore.ContentStoreParams;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * A collection hierarchy split into chunks, as stored by the
+ * {@link HierarchyStore} in the chunked format.
+ *
+ * Every unit among the children of the root is a chunk, with the subtree
+ * under it. The root is kept with its other children, and with the identifier
+ * alone in place of each chunk. Every unit of the hierarchy is mapped to the
+ * chunk which holds it, or to the root, so that the subtree of a unit is read
+ * from one chunk. The chunks and the root are encoded as JSON, deflated when
+ * compressed.
+ */
+@SuppressWarnings("unchecked")
+class ChunkedHierarchy {
+
+    static final String ENCODING_JSON = "json";
+    static final String ENCODING_JSON_DEFLATE = "json+deflate";
+    /** The chunk of the units which are held by the root. */
+    static final String ROOT_CHUNK = "";
+
+    private static final String IDENTIFIER = "identifier";
+    private static final String CHILDREN = "children";
+    private static final String VISIBILITY = "visibility";
+    private static final String VISIBILITY_PARENT = "Parent";
+
+    private static ObjectMapper mapper = new ObjectMapper();
+
+    private final Map<String, Object> root;
+    private final Map<String, Map<String, Object>> chunks;
+    private final Map<String, String> units;
+
+    private ChunkedHierarchy(Map<String, Object> root, Map<String, Map<String, Object>> chunks,
+                             Map<String, String> units) {
+        this.root = root;
+        this.chunks = chunks;
+        this.units = units;
+    }
+
+    /**
+     * Splits the hierarchy into the root and the chunks. The hierarchy is not
+     * modified.
+     */
+    static ChunkedHierarchy split(Map<String, Object> hierarchy) {
+        Map<String, Object> root = new LinkedHashMap<>(hierarchy);
+        Map<String, Map<String, Object>> chunks = new LinkedHashMap<>();
+        List<Map<String, Object>> children = (List<Map<String, Object>>) hierarchy.get(CHILDREN);
+        if (null != children) {
+            List<Map<String, Object>> rootChildren = new ArrayList<>();
+            for (Map<String, Object> child : children) {
+                String identifier = (String) child.get(IDENTIFIER);
+                // a unit which is added twice is held by the root the second time.
+                if (isUnit(child) && StringUtils.isNotBlank(identifier) && !chunks.containsKey(identifier)) {
+                    chunks.put(identifier, child);
+                    rootChildren.add(Collections.singletonMap(IDENTIFIER, identifier));
+                } else {
+                    rootChildren.add(child);
+                }
+            }
+            root.put(CHILDREN, rootChildren);
+        }
+        return new ChunkedHierarchy(root, chunks, indexUnits(children, chunks));
+    }
+
+    /**
+     * Maps every unit, by its identifier in lower case, to the chunk which
+     * holds it. Same as a breadth first search, the unit nearest to the root
+     * wins.
+     */
+    private static Map<String, String> indexUnits(List<Map<String, Object>> children,
+                                                  Map<String, Map<String, Object>> chunks) {
+        Map<String, String> units = new LinkedHashMap<>();
+        Deque<Object[]> queue = new ArrayDeque<>();
+        if (null != children) {
+            for (Map<String, Object> child : children) {
+                String identifier = (String) child.get(IDENTIFIER);
+                queue.add(new Object[]{child, chunks.get(identifier) == child ? identifier : ROOT_CHUNK});
+            }
+        }
+        while (!queue.isEmpty()) {
+            Object[] entry = queue.poll();
+            Map<String, Object> node = (Map<String, Object>) entry[0];
+            String identifier = (String) node.get(IDENTIFIER);
+            if (isUnit(node) && StringUtils.isNotBlank(identifier))
+                units.putIfAbsent(identifier.toLowerCase(), (String) entry[1]);
+            List<Map<String, Object>> next = (List<Map<String, Object>>) node.get(CHILDREN);
+            if (null != next) {
+                for (Map<String, Object> child : next)
+                    queue.add(new Object[]{child, entry[1]});
+            }
+        }
+        return units;
+    }
+
+    /**
+     * Puts the chunks back in place of their identifiers among the children
+     * of the root.
+     */
+    static Map<String, Object> assemble(Map<String, Object> root, Map<String, Map<String, Object>> chunks) {
+        List<Map<String, Object>> children = (List<Map<String, Object>>) root.get(CHILDREN);
+        if (null == children)
+            return root;
+        List<Map<String, Object>> assembled = new ArrayList<>(children.size());
+        for (Map<String, Object> child : children) {
+            Map<String, Object> chunk = child.size() == 1 ? chunks.get(child.get(IDENTIFIER)) : null;
+            assembled.add(null == chunk ? child : chunk);
+        }
+        root.put(CHILDREN, assembled);
+        return root;
+    }
+
+    /**
+     * Returns the unit with the given identifier in the given nodes or under
+     * them, the one nearest to the nodes if there are many, or null if there is
+     * no such unit.
+     */
+    static Map<String, Object> findUnit(List<Map<String, Object>> nodes, String unitId) {
+        Deque<Map<String, Object>> queue = new ArrayDeque<>();
+        if (CollectionUtils.isNotEmpty(nodes))
+            queue.addAll(nodes);
+        while (!queue.isEmpty()) {
+            Map<String, Object> node = queue.poll();
+            if (StringUtils.equalsIgnoreCase(unitId, (String) node.get(IDENTIFIER)) && isUnit(node))
+                return node;
+            List<Map<String, Object>> next = (List<Map<String, Object>>) node.get(CHILDREN);
+            if (CollectionUtils.isNotEmpty(next))
+                queue.addAll(next);
+        }
+        return null;
+    }
+
+    Map<String, Object> getRoot() {
+        return root;
+    }
+
+    Map<String, Map<String, Object>> getChunks() {
+        return chunks;
+    }
+
+    Map<String, String> getUnits() {
+        return units;
+    }
+
+    static byte[] encode(Map<String, Object> map, String encoding) {
+        try {
+            byte[] json = mapper.writeValueAsBytes(map);
+            if (!ENCODING_JSON_DEFLATE.equals(encoding))
+                return json;
+            ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4 + 64);
+            try (DeflaterOutputStream deflater = new DeflaterOutputStream(out)) {
+                deflater.write(json);
+            }
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new ServerException(ContentStoreParams.ERR_SERVER_ERROR.name(),
+                    "Error encoding hierarchy: " + e.getMessage(), e);
+        }
+    }
+
+    static Map<String, Object> decode(byte[] data, String encoding) {
+        if (!ENCODING_JSON.equals(encoding) && !ENCODING_JSON_DEFLATE.equals(encoding))
+            throw new ServerException(ContentStoreParams.ERR_SERVER_ERROR.name(),
+                    "Unknown hierarchy encoding: " + encoding);
+        try (InputStream in = ENCODING_JSON_DEFLATE.equals(encoding)
+                ? new InflaterInputStream(new ByteArrayInputStream(data)) : new ByteArrayInputStream(data)) {
+            return mapper.readValue(in, Map.class);
+        } catch (IOException e) {
+            throw new ServerException(ContentStoreParams.ERR_SERVER_ERROR.name(),
+                    "Error decoding hierarchy: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Returns the digest of an encoded chunk, by which a chunk which has not
+     * changed is not written again.
+     */
+    static String digest(byte[] data) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(data);
+            StringBuilder sb = new StringBuilder(digest.length * 2);
+            for (byte b : digest)
+                sb.append(String.format("%02x", b));
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new ServerException(ContentStoreParams.ERR_SERVER_ERROR.name(), e.getMessage(), e);
+        }
+    }
+
+    private static boolean isUnit(Map<String, Object> node) {
+        return StringUtils.equalsIgnoreCase(VISIBILITY_PARENT, (String) node.get(VISIBILITY));
+    }
+}
@@ -4,7 +4,7 @@ import com.datastax.driver.core.BoundStatement;
 import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.core.Row;
-import com.datastax.driver.core.Session;
+import com.datastax.driver.core.utils.Bytes;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import org.ekstep.cassandra.connector.util.CassandraConnector;
 import org.ekstep.cassandra.store.CassandraStore;
@@ -14,11 +14,59 @@ import org.ekstep.learning.contentstore.ContentStoreParams;
 import org.ekstep.searchindex.util.CompositeSearchConstants;
 import org.ekstep.telemetry.logger.TelemetryManager;
 
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
+/**
+ * Stores collection hierarchies, by the identifier of the root.
+ *
+ * A hierarchy is stored either as one JSON string in the hierarchy column,
+ * the blob format, or in the chunked format, in which every unit among the
+ * children of the root is stored with its subtree in a row of its own of the
+ * unit table, keyed by the identifier of the root and by the identifier and
+ * the digest of the unit (see {@link ChunkedHierarchy}). In the chunked
+ * format, only the units which have changed are written on an update, the
+ * units are read in parallel, and the subtree of a unit can be read without
+ * reading the whole hierarchy. The chunks can be compressed.
+ *
+ * A chunk row is never changed once written: a changed unit is written to a
+ * new row, and the root, which holds the digests of its units, is switched to
+ * the new rows after they are written. A reader thus sees either the old or
+ * the new hierarchy, and an update which fails before the root is written
+ * leaves the old hierarchy as it was. The replaced rows are deleted after the
+ * root is switched; a reader which read the root before reads the hierarchy
+ * again if a row is deleted under it.
+ *
+ * The format is written as configured in <code>content.hierarchy.store</code>,
+ * for the content hierarchies only:
+ * <ul>
+ * <li>format: blob, the default, or chunked</li>
+ * <li>compress: whether the chunks are deflated, true by default</li>
+ * </ul>
+ * A hierarchy is read in the format in which it is stored, so that the
+ * hierarchies written in the blob format are read as before, and are written
+ * in the chunked format on their next update. The chunked format needs the
+ * columns encoding, root, units and chunks in the hierarchy table, and the
+ * unit table named by <code>content.hierarchy.unit_table</code>.
+ */
 public class HierarchyStore extends CassandraStore {
 
+    private static final String FORMAT_CHUNKED = "chunked";
+    private static final boolean CHUNKED = Platform.config.hasPath("content.hierarchy.store.format")
+            && FORMAT_CHUNKED.equalsIgnoreCase(Platform.config.getString("content.hierarchy.store.format"));
+    private static final boolean COMPRESS = Platform.config.hasPath("content.hierarchy.store.compress")
+            ? Platform.config.getBoolean("content.hierarchy.store.compress") : true;
+
+    private boolean chunked = false;
+    private String unitTable;
+
     public HierarchyStore() {
         super();
         String keyspace = Platform.config.hasPath("hierarchy.keyspace.name")
@@ -30,6 +78,10 @@ public class HierarchyStore extends CassandraStore {
         String objectType = "Content";
         initialise(keyspace, table, objectType, false);
         nodeType = CompositeSearchConstants.NODE_TYPE_DATA;
+        chunked = CHUNKED;
+        unitTable = Platform.config.hasPath("content.hierarchy.unit_table")
+                ? Platform.config.getString("content.hierarchy.unit_table")
+                : "content_hierarchy_unit";
     }
 
     public HierarchyStore(String keyspace, String table, String objectType, boolean index) {
@@ -38,48 +90,260 @@ public class HierarchyStore extends CassandraStore {
         nodeType = CompositeSearchConstants.NODE_TYPE_DATA;
     }
 
+    HierarchyStore(String keyspace, String table, String unitTable, boolean chunked) {
+        this(keyspace, table, "Content", false);
+        this.unitTable = unitTable;
+        this.chunked = chunked;
+    }
+
     public void saveOrUpdateHierarchy(String contentId, Map<String, Object> hierarchy) {
+        if (chunked) {
+            try {
+                saveChunkedHierarchy(contentId, hierarchy);
+            } catch (CompletionException e) {
+                TelemetryManager.error("Error while updating collection hierarchy for ID" + contentId, e.getCause());
+                throw new ServerException(ContentStoreParams.ERR_SERVER_ERROR.name(),
+                        "Error saving hierarchy to hierarchy Store.", e.getCause());
+            }
+            return;
+        }
         try {
             String query = "UPDATE " + getKeyspace() + "." + getTable() + " SET hierarchy = ? WHERE identifier = ?";
             String hierarchyData = mapper.writeValueAsString(hierarchy);
-            Session session = CassandraConnector.getSession();
-            PreparedStatement statement = session.prepare(query);
+            PreparedStatement statement = CassandraConnector.prepare(query);
             BoundStatement boundStatement = new BoundStatement(statement);
-            session.execute(boundStatement.bind(hierarchyData, contentId));
+            CassandraConnector.getSession().execute(boundStatement.bind(hierarchyData, contentId));
         } catch (JsonProcessingException e) {
             TelemetryManager.error("Error while updating collection hierarchy for ID" + contentId, e);
         }
 
     }
 
+    /**
+     * Writes the units which have changed since the hierarchy was last
+     * written, then the root, and then deletes the rows of the units which
+     * the root no longer refers to.
+     */
+    private void saveChunkedHierarchy(String contentId, Map<String, Object> hierarchy) {
+        String encoding = COMPRESS ? ChunkedHierarchy.ENCODING_JSON_DEFLATE : ChunkedHierarchy.ENCODING_JSON;
+        ChunkedHierarchy chunkedHierarchy = ChunkedHierarchy.split(hierarchy);
+        Map<String, String> digests = getChunkDigests(contentId);
+        Map<String, String> newDigests = new LinkedHashMap<>();
+        List<CompletableFuture<ResultSet>> writes = new ArrayList<>();
+        for (Map.Entry<String, Map<String, Object>> chunk : chunkedHierarchy.getChunks().entrySet()) {
+            byte[] data = ChunkedHierarchy.encode(chunk.getValue(), encoding);
+            String digest = ChunkedHierarchy.digest(data);
+            newDigests.put(chunk.getKey(), digest);
+            if (!digest.equals(digests.get(chunk.getKey())))
+                writes.add(executeQueryAsync(getUpdateUnitQuery(), encoding, ByteBuffer.wrap(data), contentId,
+                        getChunkKey(chunk.getKey(), digest)));
+        }
+        join(writes);
+        executeQueryAsync(getUpdateRootQuery(), encoding,
+                ByteBuffer.wrap(ChunkedHierarchy.encode(chunkedHierarchy.getRoot(), encoding)),
+                chunkedHierarchy.getUnits(), newDigests, contentId).join();
+        // the root is read again, so that a row which a concurrent update refers to is not deleted.
+        Map<String, String> currentDigests = getChunkDigests(contentId);
+        List<CompletableFuture<ResultSet>> deletes = new ArrayList<>();
+        for (Map.Entry<String, String> digest : digests.entrySet()) {
+            if (!digest.getValue().equals(currentDigests.get(digest.getKey())))
+                deletes.add(executeQueryAsync(getDeleteUnitQuery(), contentId,
+                        getChunkKey(digest.getKey(), digest.getValue())));
+        }
+        join(deletes);
+        TelemetryManager.log("Hierarchy saved for ID: " + contentId + " | units written: " + writes.size() + "/"
+                + newDigests.size() + ", deleted: " + deletes.size());
+    }
+
+    private Map<String, String> getChunkDigests(String contentId) {
+        Row row = executeQueryAsync("SELECT chunks FROM " + getKeyspace() + "." + getTable() + " WHERE identifier=?",
+                contentId).join().one();
+        return null == row ? new HashMap<>() : row.getMap("chunks", String.class, String.class);
+    }
+
     public Map<String, Object> getHierarchy(String contentId) {
-        String query = "SELECT hierarchy FROM " + getKeyspace() + "." + getTable() + " WHERE identifier=?";
+        try {
+            return getHierarchyAsync(contentId).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            throw e;
+        }
+    }
+
+    /**
+     * Fetches the hierarchy of the content without blocking the caller. The
+     * future completes with null if there is no hierarchy for the content.
+     *
+     * @param contentId
+     * @return
+     */
+    public CompletableFuture<Map<String, Object>> getHierarchyAsync(String contentId) {
+        // parsed off the driver I/O thread, as hierarchies can be large.
+        return executeQueryAsync(getSelectQuery(), contentId)
+                .thenComposeAsync(rs -> readHierarchy(contentId, rs.one(), true))
+                .handle((hierarchy, error) -> {
+                    if (null == error)
+                        return hierarchy;
+                    Throwable cause = error instanceof CompletionException && null != error.getCause()
+                            ? error.getCause() : error;
+                    TelemetryManager.error("Error! Executing get collection hierarchy: " + cause.getMessage(), cause);
+                    if (cause instanceof ServerException)
+                        throw (ServerException) cause;
+                    throw new ServerException(ContentStoreParams.ERR_SERVER_ERROR.name(),
+                            "Error fetching hierarchy from hierarchy Store.", cause);
+                });
+    }
 
-        Session session = CassandraConnector.getSession();
-        PreparedStatement ps = session.prepare(query);
-        BoundStatement bound = ps.bind(contentId);
+    /**
+     * Returns the subtree of the unit with the given identifier in the
+     * hierarchy of the given root, the one nearest to the root if there are
+     * many. In the chunked format only the chunk of the unit is read.
+     *
+     * @return the unit, or null if there is no hierarchy for the root or no
+     * such unit in it
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> getUnitHierarchy(String contentId, String unitId) {
         try {
-            ResultSet rs = session.execute(bound);
-            if (null != rs && rs.iterator().hasNext()) {
-                Row row = rs.iterator().next();
-                String value = row.getString("hierarchy");
-                return mapper.readValue(value, Map.class);
-            } else {
-               return null;
+            for (int attempt = 0; ; attempt++) {
+                Row row = executeQueryAsync(getSelectQuery(), contentId).join().one();
+                if (null == row)
+                    return null;
+                if (!isChunked(row)) {
+                    Map<String, Object> hierarchy = mapper.readValue(row.getString("hierarchy"), Map.class);
+                    return ChunkedHierarchy.findUnit((List<Map<String, Object>>) hierarchy.get("children"), unitId);
+                }
+                String chunkId = row.getMap("units", String.class, String.class).get(unitId.toLowerCase());
+                if (null == chunkId)
+                    return null;
+                if (ChunkedHierarchy.ROOT_CHUNK.equals(chunkId)) {
+                    Map<String, Object> root = decode(row, "root");
+                    return ChunkedHierarchy.findUnit((List<Map<String, Object>>) root.get("children"), unitId);
+                }
+                String digest = row.getMap("chunks", String.class, String.class).get(chunkId);
+                Map<String, Object> chunk = null == digest ? null
+                        : readChunk(contentId, getChunkKey(chunkId, digest)).join();
+                // the chunk was replaced by an update after the root was read.
+                if (null == chunk && null != digest && attempt == 0)
+                    continue;
+                return null == chunk ? null : ChunkedHierarchy.findUnit(Collections.singletonList(chunk), unitId);
             }
         } catch (Exception e) {
-            TelemetryManager.error("Error! Executing get collection hierarchy: " + e.getMessage(), e);
+            Throwable cause = e instanceof CompletionException && null != e.getCause() ? e.getCause() : e;
+            TelemetryManager.error("Error! Executing get unit hierarchy: " + cause.getMessage(), cause);
             throw new ServerException(ContentStoreParams.ERR_SERVER_ERROR.name(),
-                    "Error fetching hierarchy from hierarchy Store.", e);
+                    "Error fetching hierarchy from hierarchy Store.", cause);
         }
     }
 
     public void deleteHierarchy(List<String> identifiers) {
+        if (chunked)
+            deleteUnits(identifiers);
         String query = "DELETE FROM " + getKeyspace() + "." + getTable() + " WHERE identifier IN :ids";
 
-        Session session = CassandraConnector.getSession();
-        PreparedStatement ps = session.prepare(query);
+        PreparedStatement ps = CassandraConnector.prepare(query);
         BoundStatement bs = ps.bind();
-        session.execute(bs.setList("ids", identifiers));
+        CassandraConnector.getSession().execute(bs.setList("ids", identifiers));
+    }
+
+    private void deleteUnits(List<String> identifiers) {
+        String query = "SELECT identifier, chunks FROM " + getKeyspace() + "." + getTable() + " WHERE identifier IN :ids";
+        PreparedStatement ps = CassandraConnector.prepare(query);
+        ResultSet rs = CassandraConnector.getSession().execute(ps.bind().setList("ids", identifiers));
+        List<CompletableFuture<ResultSet>> deletes = new ArrayList<>();
+        for (Row row : rs) {
+            for (Map.Entry<String, String> digest : row.getMap("chunks", String.class, String.class).entrySet())
+                deletes.add(executeQueryAsync(getDeleteUnitQuery(), row.getString("identifier"),
+                        getChunkKey(digest.getKey(), digest.getValue())));
+        }
+        join(deletes);
+    }
+
+    private String getSelectQuery() {
+        return "SELECT * FROM " + getKeyspace() + "." + getTable() + " WHERE identifier=?";
+    }
+
+    private String getUpdateRootQuery() {
+        return "UPDATE " + getKeyspace() + "." + getTable()
+                + " SET hierarchy = null, encoding = ?, root = ?, units = ?, chunks = ? WHERE identifier = ?";
+    }
+
+    private String getUpdateUnitQuery() {
+        return "UPDATE " + getKeyspace() + "." + unitTable
+                + " SET encoding = ?, hierarchy = ? WHERE identifier = ? AND unit_id = ?";
+    }
+
+    private String getDeleteUnitQuery() {
+        return "DELETE FROM " + getKeyspace() + "." + unitTable + " WHERE identifier = ? AND unit_id = ?";
+    }
+
+    /**
+     * Returns the key of the row of the given version of a unit in the unit
+     * table.
+     */
+    static String getChunkKey(String unitId, String digest) {
+        return unitId + ":" + digest;
+    }
+
+    // a row written in the blob format has the hierarchy, whether or not the table has the chunked columns.
+    private boolean isChunked(Row row) {
+        return null == row.getString("hierarchy") && row.getColumnDefinitions().contains("root")
+                && !row.isNull("root");
+    }
+
+    /**
+     * Reads the hierarchy from the given row of the hierarchy table and, in
+     * the chunked format, the rows of its units. If a unit row was deleted by
+     * an update after the row was read, the hierarchy is read again, once if
+     * retry is set.
+     */
+    @SuppressWarnings("unchecked")
+    private CompletableFuture<Map<String, Object>> readHierarchy(String contentId, Row row, boolean retry) {
+        if (null == row)
+            return CompletableFuture.completedFuture(null);
+        if (!isChunked(row)) {
+            String value = row.getString("hierarchy");
+            try {
+                return CompletableFuture.completedFuture(null == value ? null : mapper.readValue(value, Map.class));
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }
+        Map<String, Object> root = decode(row, "root");
+        Map<String, CompletableFuture<Map<String, Object>>> futures = new LinkedHashMap<>();
+        for (Map.Entry<String, String> digest : row.getMap("chunks", String.class, String.class).entrySet())
+            futures.put(digest.getKey(), readChunk(contentId, getChunkKey(digest.getKey(), digest.getValue())));
+        return CompletableFuture.allOf(futures.values().toArray(new CompletableFuture[0])).thenCompose(v -> {
+            Map<String, Map<String, Object>> chunks = new HashMap<>();
+            for (Map.Entry<String, CompletableFuture<Map<String, Object>>> entry : futures.entrySet()) {
+                Map<String, Object> chunk = entry.getValue().join();
+                if (null == chunk && retry)
+                    return executeQueryAsync(getSelectQuery(), contentId)
+                            .thenComposeAsync(rs -> readHierarchy(contentId, rs.one(), false));
+                if (null == chunk)
+                    throw new ServerException(ContentStoreParams.ERR_SERVER_ERROR.name(),
+                            "Unit " + entry.getKey() + " of the hierarchy of " + contentId + " is missing.");
+                chunks.put(entry.getKey(), chunk);
+            }
+            return CompletableFuture.completedFuture(ChunkedHierarchy.assemble(root, chunks));
+        });
+    }
+
+    private CompletableFuture<Map<String, Object>> readChunk(String contentId, String chunkKey) {
+        String query = "SELECT encoding, hierarchy FROM " + getKeyspace() + "." + unitTable
+                + " WHERE identifier = ? AND unit_id = ?";
+        return executeQueryAsync(query, contentId, chunkKey).thenApplyAsync(rs -> {
+            Row row = rs.one();
+            return null == row ? null : decode(row, "hierarchy");
+        });
+    }
+
+    private Map<String, Object> decode(Row row, String column) {
+        return ChunkedHierarchy.decode(Bytes.getArray(row.getBytes(column)), row.getString("encoding"));
+    }
+
+    private void join(List<CompletableFuture<ResultSet>> futures) {
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
     }
 }
@@ -2,6 +2,7 @@ package org.ekstep.learning.util;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletionStage;
 
 import org.apache.logging.log4j.Logger;
 import org.ekstep.common.dto.Request;
@@ -10,16 +11,11 @@ import org.ekstep.common.enums.TaxonomyErrorCodes;
 import org.ekstep.common.exception.ResponseCode;
 import org.ekstep.common.exception.ServerException;
 import org.ekstep.common.mgr.BaseManager;
-import org.ekstep.common.router.RequestRouterPool;
 import org.ekstep.learning.common.enums.LearningErrorCodes;
 import org.ekstep.learning.router.LearningRequestRouterPool;
-import org.ekstep.telemetry.logger.TelemetryManager;
 
 import akka.actor.ActorRef;
-import akka.dispatch.Futures;
-import akka.pattern.Patterns;
-import scala.concurrent.Await;
-import scala.concurrent.Future;
+import akka.pattern.PatternsCS;
 
 // TODO: Auto-generated Javadoc
 /**
@@ -82,23 +78,32 @@ public abstract class BaseLearningManager extends BaseManager {
 	 *
 	 * @param request
 	 *            the request
-	 * @param logger
-	 *            the logger
 	 * @return the language response
 	 */
 	protected Response getLearningResponse(Request request) {
+		return await(getLearningResponseAsync(request));
+	}
+
+	/**
+	 * Sends the request to the Learning request router without waiting for
+	 * the response.
+	 *
+	 * @param request
+	 *            the request
+	 * @return the stage completed with the response, or with a
+	 *         ServerException if the response is not received in time
+	 */
+	protected CompletionStage<Response> getLearningResponseAsync(Request request) {
 		ActorRef router = LearningRequestRouterPool.getRequestRouter();
-		try {
-			Future<Object> future = Patterns.ask(router, request, LearningRequestRouterPool.REQ_TIMEOUT);
-			Object obj = Await.result(future, LearningRequestRouterPool.WAIT_TIMEOUT.duration());
+		return PatternsCS.ask(router, request, LearningRequestRouterPool.REQ_TIMEOUT).handle((obj, e) -> {
+			if (null != e)
+				throw new ServerException(LearningErrorCodes.SYSTEM_ERROR.name(), "System Error", e);
 			if (obj instanceof Response) {
 				return (Response) obj;
 			} else {
 				return ERROR(LearningErrorCodes.SYSTEM_ERROR.name(), "System Error", ResponseCode.SERVER_ERROR);
 			}
-		} catch (Exception e) {
-			throw new ServerException(LearningErrorCodes.SYSTEM_ERROR.name(), "System Error", e);
-		}
+		});
 	}
 
 	/**
@@ -118,44 +123,14 @@ public abstract class BaseLearningManager extends BaseManager {
 	protected Response getLearningResponse(List<Request> requests, Logger logger, String paramName,
 			String returnParam) {
 		if (null != requests && !requests.isEmpty()) {
-			ActorRef router = LearningRequestRouterPool.getRequestRouter();
+			List<CompletionStage<Response>> stages = new ArrayList<CompletionStage<Response>>();
+			for (Request request : requests)
+				stages.add(getLearningResponseAsync(request));
 			try {
-				List<Future<Object>> futures = new ArrayList<Future<Object>>();
-				for (Request request : requests) {
-					Future<Object> future = Patterns.ask(router, request, LearningRequestRouterPool.REQ_TIMEOUT);
-					futures.add(future);
-				}
-				Future<Iterable<Object>> objects = Futures.sequence(futures,
-						RequestRouterPool.getActorSystem().dispatcher());
-				Iterable<Object> responses = Await.result(objects, LearningRequestRouterPool.WAIT_TIMEOUT.duration());
-				if (null != responses) {
-					List<Object> list = new ArrayList<Object>();
-					Response response = new Response();
-					for (Object obj : responses) {
-						if (obj instanceof Response) {
-							Response res = (Response) obj;
-							if (!checkError(res)) {
-								Object vo = res.get(paramName);
-								response = copyResponse(response, res);
-								if (null != vo) {
-									list.add(vo);
-								}
-							} else {
-								return res;
-							}
-						} else {
-							return ERROR(LearningErrorCodes.SYSTEM_ERROR.name(), "System Error",
-									ResponseCode.SERVER_ERROR);
-						}
-					}
-					response.put(returnParam, list);
-					return response;
-				} else {
-					return ERROR(LearningErrorCodes.SYSTEM_ERROR.name(), "System Error", ResponseCode.SERVER_ERROR);
-				}
-			} catch (Exception e) {
+				return await(allOf(stages).thenApply(responses -> accumulate(responses, paramName, returnParam)));
+			} catch (RuntimeException e) {
 				logger.error(e.getMessage(), e);
-				throw new ServerException(LearningErrorCodes.SYSTEM_ERROR.name(), "System Error", e);
+				throw e;
 			}
 		} else {
 			return ERROR(LearningErrorCodes.SYSTEM_ERROR.name(), "System Error", ResponseCode.SERVER_ERROR);
@@ -10,10 +10,10 @@ import org.ekstep.common.dto.Request;
 import org.ekstep.common.dto.Response;
 import org.ekstep.common.exception.ClientException;
 import org.ekstep.common.exception.ResourceNotFoundException;
-import org.ekstep.common.exception.ResponseCode;
 import org.ekstep.common.exception.ServerException;
 import org.ekstep.common.mgr.ConvertGraphNode;
 import org.ekstep.graph.dac.enums.GraphDACParams;
+import org.ekstep.graph.dac.enums.RelationTypes;
 import org.ekstep.graph.dac.model.Node;
 import org.ekstep.graph.dac.model.SearchCriteria;
 import org.ekstep.graph.engine.router.GraphEngineManagers;
@@ -293,6 +293,24 @@ public class ControllerUtil extends BaseLearningManager {
         return null;
     }
 
+    /**
+     * Gets the nodes of the hierarchies under the given roots, along the
+     * hasSequenceMember relations, in one request.
+     *
+     * @param taxonomyId the taxonomy id
+     * @param rootIds    the identifiers of the roots
+     * @param depth      the maximum depth of the hierarchies
+     * @return the response, with the nodes and their positions in the
+     * hierarchies
+     */
+    public Response getHierarchyNodes(String taxonomyId, List<String> rootIds, int depth) {
+        Request request = getRequest(taxonomyId, GraphEngineManagers.SEARCH_MANAGER, "getHierarchyNodes",
+                GraphDACParams.node_ids.name(), rootIds);
+        request.put(GraphDACParams.relation_type.name(), RelationTypes.SEQUENCE_MEMBERSHIP.relationName());
+        request.put(GraphDACParams.depth.name(), depth);
+        return getResponse(request);
+    }
+
     public Response getHirerachy(String identifier) {
         String url = Platform.config.getString("platform-api-url") + "/content/v3/hierarchy/" + identifier + "?mode=edit";
         Response hirerachyRes = null;
@@ -444,6 +462,13 @@ public class ControllerUtil extends BaseLearningManager {
      */
     public Map<String, Object> getContentHierarchyRecursive(String graphId, Node node, DefinitionDTO definition,
                                                             String mode, boolean fetchAll) {
+        HierarchyLoader loader = new HierarchyLoader(this, graphId, StringUtils.equalsIgnoreCase("edit", mode));
+        loader.load(Arrays.asList(node.getIdentifier()));
+        return getContentHierarchyRecursive(loader, graphId, node, definition, mode, fetchAll);
+    }
+
+    private Map<String, Object> getContentHierarchyRecursive(HierarchyLoader loader, String graphId, Node node,
+                                                             DefinitionDTO definition, String mode, boolean fetchAll) {
         Map<String, Object> contentMap = ConvertGraphNode.convertGraphNode(node, graphId, definition, null);
         List<NodeDTO> children = (List<NodeDTO>) contentMap.get("children");
 
@@ -461,11 +486,11 @@ public class ControllerUtil extends BaseLearningManager {
         if (null != children && !children.isEmpty()) {
             List<Map<String, Object>> childList = new ArrayList<Map<String, Object>>();
             for (NodeDTO dto : children) {
-                Node childNode = getContentNode(graphId, dto.getIdentifier(), mode);
+                Node childNode = getContentNode(loader, dto.getIdentifier(), mode);
                 String nodeStatus = (String) childNode.getMetadata().get("status");
                 if ((!org.apache.commons.lang3.StringUtils.equalsIgnoreCase(nodeStatus, "Retired")) &&
                         (fetchAll || (org.apache.commons.lang3.StringUtils.equalsIgnoreCase(nodeStatus, "Live") || org.apache.commons.lang3.StringUtils.equalsIgnoreCase(nodeStatus, "Unlisted")))) {
-                    Map<String, Object> childMap = getContentHierarchyRecursive(graphId, childNode, definition, mode, fetchAll);
+                    Map<String, Object> childMap = getContentHierarchyRecursive(loader, graphId, childNode, definition, mode, fetchAll);
                     childMap.put("index", dto.getIndex());
                     Map<String, Object> childData = contentCleanUp(childMap);
                     childList.add(childData);
@@ -494,22 +519,17 @@ public class ControllerUtil extends BaseLearningManager {
         return map;
     }
 
-    private Node getContentNode(String graphId, String contentId, String mode) {
-
+    private Node getContentNode(HierarchyLoader loader, String contentId, String mode) {
+        // loads the node, and its image in edit mode, if it is not loaded yet.
+        Node content = loader.getNode(contentId);
         if (org.apache.commons.lang3.StringUtils.equalsIgnoreCase("edit", mode)) {
-            String contentImageId = getImageId(contentId);
-            Response responseNode = getDataNode(graphId, contentImageId);
-            if (!checkError(responseNode)) {
-                Node content = (Node) responseNode.get(GraphDACParams.node.name());
-                return content;
-            }
+            Node image = loader.getLoadedNode(getImageId(contentId));
+            if (null != image)
+                return image;
         }
-        Response responseNode = getDataNode(graphId, contentId);
-        if (checkError(responseNode))
+        if (null == content)
             throw new ResourceNotFoundException(ContentErrorCodes.ERR_CONTENT_NOT_FOUND.name(),
                     "Content not found with id: " + contentId);
-
-        Node content = (Node) responseNode.get(GraphDACParams.node.name());
         return content;
     }
 
@@ -521,157 +541,94 @@ public class ControllerUtil extends BaseLearningManager {
     }
 
     public Map<String, Object> constructHierarchy(List<Map<String, Object>> list) {
-
-        Map<String, Object> hierarchy = list.stream().filter(e -> ((Number) e.get("depth")).intValue() == 0).findFirst().get();
-        if (MapUtils.isNotEmpty(hierarchy)) {
-            int max = list.stream().map(e -> ((Number) e.get("depth")).intValue()).max(Comparator.naturalOrder()).orElse(1);
-
-            for (int i = 0; i <= max; i++) {
-                final int depth = i;
-                Map<String, List<Map<String, Object>>> currentLevelNodes = new HashMap<>();
-                list.stream().filter(e -> ((Number) e.get("depth")).intValue() == depth)
-                        .collect(Collectors.toList()).forEach(e -> {
-                    String id = (String) e.get("identifier");
-                    List<Map<String, Object>> nodes = currentLevelNodes.get(id);
-                    if (CollectionUtils.isEmpty(nodes)) {
-                        nodes = new ArrayList<>();
-                        currentLevelNodes.put((String) e.get("identifier"), nodes);
-                    }
-                    nodes.add(e);
-
-                });
-
-                List<Map<String, Object>> nextLevelNodes = list.stream().filter(e -> ((Number) e.get("depth")).intValue() == depth + 1)
-                        .collect(Collectors.toList());
-                if (MapUtils.isNotEmpty(currentLevelNodes) && CollectionUtils.isNotEmpty(nextLevelNodes)) {
-                    nextLevelNodes.forEach(e -> {
-                                String parentId = (String) e.get("parent");
-                                List<Map<String, Object>> parents = currentLevelNodes.get(parentId);
-                                if (CollectionUtils.isNotEmpty(parents)) {
-                                    for (Map<String, Object> parent : parents) {
-                                        List<Object> children = (List<Object>) parent.get("children");
-                                        if (CollectionUtils.isEmpty(children)) {
-                                            children = new ArrayList<>();
-                                            parent.put("children", children);
-                                        }
-                                        //contentCleanUp(e);
-                                        children.add(e);
-                                    }
-                                }
-                            }
-                    );
-                }
-            }
-        }
-        return hierarchy;
+        return HierarchyBuilder.build(list);
     }
 
     public List<Map<String, Object>> getContentHierarchy(String graphId, String contentId, String mode) {
-        Request request = getRequest(graphId, GraphEngineManagers.SEARCH_MANAGER, "executeQueryForProps");
-        String query = "MATCH p=(n:{0})-[r:hasSequenceMember*0..10]->(s:{0}) WHERE n.IL_UNIQUE_ID=\"{1}\" RETURN s.IL_UNIQUE_ID as identifier, s.IL_FUNC_OBJECT_TYPE as objectType, s.visibility as visibility, s.status as status, length(p) as depth, (nodes(p)[length(p)-1]).IL_UNIQUE_ID as parent, (rels(p)[length(p)-1]).IL_SEQUENCE_INDEX as index order by depth,index;";
-        request.put(GraphDACParams.query.name(), MessageFormat.format(query, graphId, contentId));
-        List<String> props = Arrays.asList("identifier", "objectType", "visibility", "status", "depth", "parent", "index");
-        request.put(GraphDACParams.property_keys.name(), props);
-        Response response = getResponse(request);
-        if (!checkError(response)) {
-            Map<String, Object> result = response.getResult();
-            List<Map<String, Object>> list = (List<Map<String, Object>>) result.get("properties");
-            if (CollectionUtils.isEmpty(list)) {
-                throw new ResourceNotFoundException(ContentErrorCodes.ERR_INVALID_INPUT.name(), "No data find for the given identifier: " + contentId.replace(".img", ""));
-            }
-            List<String> invalidStatus = Arrays.asList("Flagged", "Retired");
-            list = list.stream().filter(e -> !invalidStatus.contains(e.get("status"))).distinct().collect
-                    (Collectors.toList());
-
-            // Get leaf nodes(image) from the hierarchy (graph) and remove them.
-            List<String> resourceImgIds = list.stream()
-                    .filter(e -> StringUtils.equals((String) e.get("objectType"), "ContentImage") && StringUtils.equalsIgnoreCase((String) e.get("visibility"), "default") && ((Number) e.get("depth")).intValue() > 0)
-                    .map(e -> (String) e.get("identifier"))
-                    .map(id -> id.endsWith(".img") ? id : id + ".img")
-                    .distinct().collect(Collectors.toList());
+        return getContentHierarchy(new HierarchyLoader(this, graphId, false), contentId, mode);
+    }
+
+    private List<Map<String, Object>> getContentHierarchy(HierarchyLoader loader, String contentId, String mode) {
+        loader.load(Arrays.asList(contentId));
+        List<Map<String, Object>> list = loader.getPositions().stream().map(position -> {
+            Node node = loader.getLoadedNode((String) position.get("identifier"));
+            Map<String, Object> row = new HashMap<>(position);
+            row.put("objectType", node.getObjectType());
+            row.put("visibility", node.getMetadata().get("visibility"));
+            row.put("status", node.getMetadata().get("status"));
+            return row;
+        }).collect(Collectors.toList());
+        if (CollectionUtils.isEmpty(list)) {
+            throw new ResourceNotFoundException(ContentErrorCodes.ERR_INVALID_INPUT.name(), "No data find for the given identifier: " + contentId.replace(".img", ""));
+        }
+        List<String> invalidStatus = Arrays.asList("Flagged", "Retired");
+        list = list.stream().filter(e -> !invalidStatus.contains(e.get("status"))).distinct().collect
+                (Collectors.toList());
+
+        // Get leaf nodes(image) from the hierarchy (graph) and remove them.
+        Set<String> resourceImgIds = list.stream()
+                .filter(e -> StringUtils.equals((String) e.get("objectType"), "ContentImage") && StringUtils.equalsIgnoreCase((String) e.get("visibility"), "default") && ((Number) e.get("depth")).intValue() > 0)
+                .map(e -> (String) e.get("identifier"))
+                .map(id -> id.endsWith(".img") ? id : id + ".img")
+                .collect(Collectors.toSet());
 //			Stream<Map<String, Object>> listStream = list.stream().filter(e -> !resourceImgIds.contains((String) e.get("identifier")));
 
-            // Get image nodes from the hierarchy (graph) other than root.
+        // Get image nodes from the hierarchy (graph) other than root.
 //			Stream<Map<String,Object>> imgList = list.stream().filter(e -> !resourceImgIds.contains((String) e.get("identifier")))
 //					.filter(e -> StringUtils.equals((String) e.get("objectType"), "ContentImage") && ((Number) e.get("depth")).intValue() > 0);
 
-            if (StringUtils.equalsIgnoreCase("edit", mode)) {
-                // mode=edit - remove the Content which have Image Nodes.
-                List<String> removeIds = list.stream().filter(e -> !resourceImgIds.contains((String) e.get("identifier")))
-                        .filter(e -> StringUtils.equals((String) e.get("objectType"), "ContentImage") && ((Number) e.get("depth")).intValue() > 0).map(e -> ((String) e.get("identifier")).replace(".img", "")).collect(Collectors.toList());
-                List<Map<String, Object>> contentList = list.stream().filter(e -> !resourceImgIds.contains((String) e.get("identifier")))
-                        .filter(e -> !removeIds.contains(e.get("identifier")))
-                        .collect(Collectors.toList());
-
-                return contentList;
-            } else {
-                List<String> publicStatus = Arrays.asList("Live", "Unlisted");
-                Map<String, Object> root = list.stream().filter(e -> ((Number) e.get("depth")).intValue() == 0).findFirst().get();
-                if (MapUtils.isEmpty(root) || !publicStatus.contains(root.get("status"))) {
-                    throw new ResourceNotFoundException(ContentErrorCodes.ERR_INVALID_INPUT.name(), "No data find for the given identifier: " + contentId.replace(".img", ""));
-                }
-                // mode!=edit - remove Image Nodes.
-                List<String> removeIds = list.stream().filter(e -> !resourceImgIds.contains((String) e.get("identifier")))
-                        .filter(e -> (!publicStatus.contains(e.get("status")) || StringUtils.equals((String) e.get("objectType"), "ContentImage")) && ((Number) e.get("depth")).intValue() > 0).map(e -> ((String) e.get("identifier"))).collect(Collectors.toList());
-                List<Map<String, Object>> contentList = list.stream().filter(e -> !resourceImgIds.contains((String) e.get("identifier")))
-                        .filter(e -> !removeIds.contains(e.get("identifier"))).collect(Collectors.toList());
-                return contentList;
-            }
+        if (StringUtils.equalsIgnoreCase("edit", mode)) {
+            // mode=edit - remove the Content which have Image Nodes.
+            Set<String> removeIds = list.stream().filter(e -> !resourceImgIds.contains((String) e.get("identifier")))
+                    .filter(e -> StringUtils.equals((String) e.get("objectType"), "ContentImage") && ((Number) e.get("depth")).intValue() > 0).map(e -> ((String) e.get("identifier")).replace(".img", "")).collect(Collectors.toSet());
+            List<Map<String, Object>> contentList = list.stream().filter(e -> !resourceImgIds.contains((String) e.get("identifier")))
+                    .filter(e -> !removeIds.contains(e.get("identifier")))
+                    .collect(Collectors.toList());
 
+            return contentList;
         } else {
-            if (response.getResponseCode() == ResponseCode.CLIENT_ERROR) {
-                throw new ClientException(ContentErrorCodes.ERR_INVALID_INPUT.name(), response.getParams().getErrmsg());
-            } else {
-                throw new ServerException(ContentAPIParams.SERVER_ERROR.name(), response.getParams().getErrmsg());
+            List<String> publicStatus = Arrays.asList("Live", "Unlisted");
+            Map<String, Object> root = list.stream().filter(e -> ((Number) e.get("depth")).intValue() == 0).findFirst().get();
+            if (MapUtils.isEmpty(root) || !publicStatus.contains(root.get("status"))) {
+                throw new ResourceNotFoundException(ContentErrorCodes.ERR_INVALID_INPUT.name(), "No data find for the given identifier: " + contentId.replace(".img", ""));
             }
+            // mode!=edit - remove Image Nodes.
+            Set<String> removeIds = list.stream().filter(e -> !resourceImgIds.contains((String) e.get("identifier")))
+                    .filter(e -> (!publicStatus.contains(e.get("status")) || StringUtils.equals((String) e.get("objectType"), "ContentImage")) && ((Number) e.get("depth")).intValue() > 0).map(e -> ((String) e.get("identifier"))).collect(Collectors.toSet());
+            List<Map<String, Object>> contentList = list.stream().filter(e -> !resourceImgIds.contains((String) e.get("identifier")))
+                    .filter(e -> !removeIds.contains(e.get("identifier"))).collect(Collectors.toList());
+            return contentList;
         }
     }
 
 
     public Map<String, Object> getHierarchyMap(String graphId, String contentId, DefinitionDTO
             definition, String mode, List<String> fields) {
-
-//		long startTime = System.currentTimeMillis();
-        List<Map<String, Object>> contentList = getContentHierarchy(graphId, contentId, mode);
-//		System.out.println("Time to call cypher and get hierarchy list: " + (System.currentTimeMillis() - startTime));
-
-        List<String> ids = contentList.stream().map(content -> (String) content.get("identifier")).collect(Collectors
-                .toList());
-        Map<String, Object> collectionHierarchy = new HashMap<>();
-//		startTime = System.currentTimeMillis();
-        Response getList = getDataNodes(graphId, ids);
-//		System.out.println("Time to get required data nodes: " + (System.currentTimeMillis() - startTime));
-		if (null != getList && !checkError(getList)) {
-			List<Node> nodeList = (List<Node>) getList.get("node_list");
-			Map<String, Map<String, Object>> contentsWithMetadata = nodeList.stream().map(n -> ConvertGraphNode.convertGraphNode
-					(n, graphId, definition, fields)).map(contentMap -> {
-				contentMap.remove("collections");
-				contentMap.remove("children");
-				contentMap.remove("usedByContent");
-				contentMap.remove("item_sets");
-				contentMap.remove("methods");
-				contentMap.remove("libraries");
-				contentMap.remove("editorState");
-				return contentMap;
-			}).collect(Collectors.toMap(e -> (String) e.get("identifier"), e -> e));
-
-            contentList = contentList.stream().map(n -> {
-                n.putAll(contentsWithMetadata.get(n.get("identifier")));
-                return n;
-            }).collect(Collectors.toList());
-//			startTime = System.currentTimeMillis();
-            collectionHierarchy = contentCleanUp(constructHierarchy(contentList));
-//			System.out.println("Time to construct hierarchy: " + (System.currentTimeMillis() - startTime));
-		} else {
-			if (null != getList && getList.getResponseCode() == ResponseCode.CLIENT_ERROR) {
-				throw new ClientException(ContentErrorCodes.ERR_INVALID_INPUT.name(), getList.getParams().getErrmsg());
-			} else {
-				throw new ServerException(ContentAPIParams.SERVER_ERROR.name(), getList.getParams().getErrmsg());
-			}
-		}
-		hierarchyCleanUp(collectionHierarchy);
-		return collectionHierarchy;
-	}
+        // the positions and the nodes of the hierarchy are read together.
+        HierarchyLoader loader = new HierarchyLoader(this, graphId, false);
+        List<Map<String, Object>> contentList = getContentHierarchy(loader, contentId, mode);
+
+        Map<String, Map<String, Object>> contentsWithMetadata = new HashMap<>();
+        for (Map<String, Object> content : contentList) {
+            Map<String, Object> contentMap = contentsWithMetadata.computeIfAbsent((String) content.get("identifier"),
+                    id -> {
+                        Map<String, Object> map = ConvertGraphNode.convertGraphNode(loader.getLoadedNode(id), graphId,
+                                definition, fields);
+                        map.remove("collections");
+                        map.remove("children");
+                        map.remove("usedByContent");
+                        map.remove("item_sets");
+                        map.remove("methods");
+                        map.remove("libraries");
+                        map.remove("editorState");
+                        return map;
+                    });
+            content.putAll(contentMap);
+        }
+        Map<String, Object> collectionHierarchy = contentCleanUp(constructHierarchy(contentList));
+        hierarchyCleanUp(collectionHierarchy);
+        return collectionHierarchy;
+    }
 
 
     public List<String> getPublishedCollections(String graphId, int offset, int limit) {
@@ -0,0 +1,161 @@
+package org.ekstep.learning.util;
+
+import org.apache.commons.collections.CollectionUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.ekstep.learning.common.enums.ContentAPIParams;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Builds and walks content hierarchies in time linear in the number of nodes.
+ *
+ * The nodes are indexed once, by depth and identifier or by parent, and each
+ * node is then visited once, instead of the list of nodes being filtered for
+ * every level or every parent of the hierarchy.
+ */
+public class HierarchyBuilder {
+
+    private static final String COLLECTION_MIME_TYPE = "application/vnd.ekstep.content-collection";
+
+    /**
+     * Receives the position of a node in a hierarchy.
+     */
+    public interface Visitor {
+        /**
+         * @param identifier the identifier of the node
+         * @param depth      the depth of the node, the root being at depth 0
+         * @param parent     the identifier of the parent of the node
+         * @param index      the index of the node among the children of its
+         *                   parent, from 1
+         */
+        void visit(String identifier, int depth, String parent, int index);
+    }
+
+    /**
+     * Builds the hierarchy from the flat list of the nodes of a hierarchy, each
+     * node having its identifier, depth and parent. A node is added to the
+     * children of every node with the parent identifier one level above it, in
+     * the order of the list.
+     *
+     * @return the first node at depth 0, with the children added
+     * @throws NoSuchElementException if there is no node at depth 0
+     */
+    @SuppressWarnings("unchecked")
+    public static Map<String, Object> build(List<Map<String, Object>> list) {
+        Map<String, Object> hierarchy = null;
+        Map<Integer, Map<String, List<Map<String, Object>>>> levels = new HashMap<>();
+        for (Map<String, Object> content : list) {
+            int depth = getDepth(content);
+            if (depth == 0 && null == hierarchy)
+                hierarchy = content;
+            levels.computeIfAbsent(depth, d -> new HashMap<>())
+                    .computeIfAbsent((String) content.get(ContentAPIParams.identifier.name()), id -> new ArrayList<>())
+                    .add(content);
+        }
+        if (null == hierarchy)
+            throw new NoSuchElementException("No root node in the hierarchy");
+        for (Map<String, Object> content : list) {
+            int depth = getDepth(content);
+            Map<String, List<Map<String, Object>>> parentLevel = levels.get(depth - 1);
+            if (depth == 0 || null == parentLevel)
+                continue;
+            List<Map<String, Object>> parents = parentLevel.get((String) content.get(ContentAPIParams.parent.name()));
+            if (CollectionUtils.isEmpty(parents))
+                continue;
+            for (Map<String, Object> parent : parents) {
+                List<Object> children = (List<Object>) parent.get(ContentAPIParams.children.name());
+                if (CollectionUtils.isEmpty(children)) {
+                    children = new ArrayList<>();
+                    parent.put(ContentAPIParams.children.name(), children);
+                }
+                children.add(content);
+            }
+        }
+        return hierarchy;
+    }
+
+    /**
+     * Visits the nodes under the root, depth first and in the order of the
+     * children, with the depth, parent and index of each node. A node which is
+     * under itself is not visited again under itself.
+     *
+     * @param childIdMap the identifiers of the children, by the identifier of
+     *                   the parent
+     */
+    public static void walk(String rootId, Map<String, List<String>> childIdMap, Visitor visitor) {
+        Set<String> path = new HashSet<>();
+        path.add(rootId);
+        walk(rootId, 1, childIdMap, visitor, path);
+    }
+
+    private static void walk(String parent, int depth, Map<String, List<String>> childIdMap, Visitor visitor,
+                             Set<String> path) {
+        List<String> childIds = childIdMap.get(parent);
+        if (CollectionUtils.isEmpty(childIds))
+            return;
+        int index = 1;
+        for (String childId : childIds) {
+            visitor.visit(childId, depth, parent, index++);
+            if (path.add(childId)) {
+                walk(childId, depth + 1, childIdMap, visitor, path);
+                path.remove(childId);
+            }
+        }
+    }
+
+    /**
+     * Returns the identifiers of the leaf nodes under the given children, the
+     * leaf nodes being the nodes without children which are not collections.
+     * When the units are to be counted, the leafNodesCount of every unit, a
+     * child with the visibility Parent under units only, is set in the same
+     * traversal.
+     */
+    public static Set<String> getLeafNodes(List<Map<String, Object>> children, boolean countUnits) {
+        Set<String> leafNodes = new HashSet<>();
+        if (CollectionUtils.isEmpty(children))
+            return leafNodes;
+        for (Map<String, Object> child : children) {
+            boolean unit = countUnits && StringUtils.equalsIgnoreCase("Parent",
+                    (String) child.get(ContentAPIParams.visibility.name()));
+            leafNodes = merge(leafNodes, getLeafNodes(child, unit));
+        }
+        return leafNodes;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Set<String> getLeafNodes(Map<String, Object> content, boolean unit) {
+        List<Map<String, Object>> children = (List<Map<String, Object>>) content.get(ContentAPIParams.children.name());
+        Set<String> leafNodes;
+        if (CollectionUtils.isEmpty(children)) {
+            leafNodes = new HashSet<>();
+            if (!StringUtils.equalsIgnoreCase(COLLECTION_MIME_TYPE, (String) content.get(ContentAPIParams.mimeType.name())))
+                leafNodes.add((String) content.get(ContentAPIParams.identifier.name()));
+        } else {
+            leafNodes = getLeafNodes(children, unit);
+        }
+        if (unit)
+            content.put(ContentAPIParams.leafNodesCount.name(), leafNodes.size());
+        return leafNodes;
+    }
+
+    // adds the smaller set to the larger one, so that a leaf node is copied a
+    // few times at most however deep it is.
+    private static Set<String> merge(Set<String> first, Set<String> second) {
+        if (first.size() < second.size()) {
+            second.addAll(first);
+            return second;
+        }
+        first.addAll(second);
+        return first;
+    }
+
+    private static int getDepth(Map<String, Object> content) {
+        return ((Number) content.get(ContentAPIParams.depth.name())).intValue();
+    }
+}
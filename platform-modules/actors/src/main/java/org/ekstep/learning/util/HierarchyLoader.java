@@ -0,0 +1,158 @@
+package org.ekstep.learning.util;
+
+import org.apache.commons.collections.CollectionUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.ekstep.common.Platform;
+import org.ekstep.common.dto.Response;
+import org.ekstep.common.exception.ClientException;
+import org.ekstep.common.exception.ResponseCode;
+import org.ekstep.common.exception.ServerException;
+import org.ekstep.graph.dac.enums.GraphDACParams;
+import org.ekstep.graph.dac.enums.RelationTypes;
+import org.ekstep.graph.dac.model.Node;
+import org.ekstep.graph.dac.model.Relation;
+import org.ekstep.learning.common.enums.ContentAPIParams;
+import org.ekstep.learning.common.enums.ContentErrorCodes;
+
+import java.util.*;
+
+/**
+ * Loads content hierarchies, the nodes under a root along the
+ * hasSequenceMember relations, and keeps the nodes indexed by identifier.
+ *
+ * A hierarchy is read in one request to the graph, with the nodes, their
+ * relations and the position of every node in the hierarchy. In edit mode, the
+ * image nodes of the loaded nodes are read in one more request, along with the
+ * hierarchies under them which are not loaded yet. A node which is asked for
+ * and is not loaded is read with the hierarchy under it, so that a collection
+ * is read in a few requests however many nodes it has, instead of a request
+ * per node.
+ */
+public class HierarchyLoader {
+
+    private static final String IMAGE_SUFFIX = ".img";
+    private static final int MAX_DEPTH = Platform.config.hasPath("content.hierarchy.max_depth")
+            ? Platform.config.getInt("content.hierarchy.max_depth") : 10;
+
+    private final ControllerUtil util;
+    private final String graphId;
+    private final boolean withImages;
+    private final Map<String, Node> nodes = new HashMap<>();
+    private final Set<String> requested = new HashSet<>();
+    private final List<Map<String, Object>> positions = new ArrayList<>();
+
+    /**
+     * @param withImages whether the image nodes of the loaded nodes are to be
+     *                   loaded as well, as needed to read the hierarchy in
+     *                   edit mode
+     */
+    public HierarchyLoader(ControllerUtil util, String graphId, boolean withImages) {
+        this.util = util;
+        this.graphId = graphId;
+        this.withImages = withImages;
+    }
+
+    /**
+     * Loads the hierarchies under the given roots, skipping the roots which are
+     * already loaded.
+     */
+    public HierarchyLoader load(Collection<String> rootIds) {
+        List<String> ids = new ArrayList<>();
+        for (String id : rootIds) {
+            if (requested.add(id))
+                ids.add(id);
+        }
+        if (ids.isEmpty())
+            return this;
+        Response response = util.getHierarchyNodes(graphId, ids, MAX_DEPTH);
+        if (util.checkError(response))
+            throw getException(response);
+        List<Node> loaded = getNodeList(response);
+        addNodes(loaded);
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> loadedPositions = (List<Map<String, Object>>) response.get(GraphDACParams.properties.name());
+        if (null != loadedPositions)
+            positions.addAll(loadedPositions);
+        if (withImages)
+            loadImages(loaded);
+        return this;
+    }
+
+    private void loadImages(List<Node> loaded) {
+        List<String> imageIds = new ArrayList<>();
+        for (Node node : loaded) {
+            String imageId = node.getIdentifier() + IMAGE_SUFFIX;
+            if (!StringUtils.endsWith(node.getIdentifier(), IMAGE_SUFFIX) && requested.add(imageId))
+                imageIds.add(imageId);
+        }
+        if (imageIds.isEmpty())
+            return;
+        // an image which does not exist is not returned, and is known not to exist.
+        Response response = util.getDataNodes(graphId, imageIds);
+        List<Node> images = null == response ? new ArrayList<>() : getNodeList(response);
+        addNodes(images);
+        Set<String> children = new LinkedHashSet<>();
+        for (Node image : images) {
+            if (null == image.getOutRelations())
+                continue;
+            for (Relation rel : image.getOutRelations()) {
+                if (StringUtils.equals(RelationTypes.SEQUENCE_MEMBERSHIP.relationName(), rel.getRelationType())
+                        && !requested.contains(rel.getEndNodeId()))
+                    children.add(rel.getEndNodeId());
+            }
+        }
+        if (!children.isEmpty())
+            load(children);
+    }
+
+    /**
+     * Returns the node with the given identifier, loading the hierarchy under
+     * it if it is not loaded yet.
+     *
+     * @return the node, or null if there is no such node
+     */
+    public Node getNode(String identifier) {
+        Node node = nodes.get(identifier);
+        if (null == node && !requested.contains(identifier))
+            load(Collections.singletonList(identifier));
+        return nodes.get(identifier);
+    }
+
+    /**
+     * Returns the node with the given identifier if it is loaded, without
+     * reading from the graph.
+     */
+    public Node getLoadedNode(String identifier) {
+        return nodes.get(identifier);
+    }
+
+    /**
+     * Returns the positions of the loaded nodes in their hierarchies, as maps
+     * of identifier, depth, parent and index, ordered by depth and index. The
+     * roots are at depth 0, are their own parent and have no index.
+     */
+    public List<Map<String, Object>> getPositions() {
+        List<Map<String, Object>> list = new ArrayList<>(positions);
+        list.sort(Comparator.comparing((Map<String, Object> e) -> ((Number) e.get("depth")).intValue())
+                .thenComparing(e -> (Number) e.get("index"),
+                        Comparator.nullsLast(Comparator.comparingLong(Number::longValue))));
+        return list;
+    }
+
+    private void addNodes(List<Node> list) {
+        for (Node node : list)
+            nodes.put(node.getIdentifier(), node);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Node> getNodeList(Response response) {
+        List<Node> list = (List<Node>) response.get(GraphDACParams.node_list.name());
+        return CollectionUtils.isEmpty(list) ? new ArrayList<>() : list;
+    }
+
+    private RuntimeException getException(Response response) {
+        if (response.getResponseCode() == ResponseCode.CLIENT_ERROR)
+            return new ClientException(ContentErrorCodes.ERR_INVALID_INPUT.name(), response.getParams().getErrmsg());
+        return new ServerException(ContentAPIParams.SERVER_ERROR.name(), response.getParams().getErrmsg());
+    }
+}
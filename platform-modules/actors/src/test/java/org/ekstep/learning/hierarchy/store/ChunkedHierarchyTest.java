@@ -0,0 +1,144 @@
+package org.ekstep.learning.hierarchy.store;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ChunkedHierarchyTest {
+
+	@Test
+	public void testSplitAndAssemble() throws Exception {
+		Map<String, Object> hierarchy = createHierarchy(5, 3, 4);
+		String json = toJson(hierarchy);
+		ChunkedHierarchy chunked = ChunkedHierarchy.split(hierarchy);
+		Assert.assertEquals(5, chunked.getChunks().size());
+		List<Map<String, Object>> rootChildren = (List<Map<String, Object>>) chunked.getRoot().get("children");
+		Assert.assertEquals(6, rootChildren.size());
+		Assert.assertEquals(1, rootChildren.get(0).size());
+		Assert.assertEquals("do_u0", rootChildren.get(0).get("identifier"));
+		// the resource under the root is held by the root.
+		Assert.assertEquals("Default", rootChildren.get(5).get("visibility"));
+		// the hierarchy is not modified.
+		Assert.assertEquals(json, toJson(hierarchy));
+
+		Map<String, Object> root = ChunkedHierarchy.decode(
+				ChunkedHierarchy.encode(chunked.getRoot(), ChunkedHierarchy.ENCODING_JSON_DEFLATE),
+				ChunkedHierarchy.ENCODING_JSON_DEFLATE);
+		Map<String, Map<String, Object>> chunks = new LinkedHashMap<String, Map<String, Object>>();
+		for (Map.Entry<String, Map<String, Object>> chunk : chunked.getChunks().entrySet())
+			chunks.put(chunk.getKey(), ChunkedHierarchy.decode(
+					ChunkedHierarchy.encode(chunk.getValue(), ChunkedHierarchy.ENCODING_JSON),
+					ChunkedHierarchy.ENCODING_JSON));
+		Assert.assertEquals(json, toJson(ChunkedHierarchy.assemble(root, chunks)));
+	}
+
+	@Test
+	public void testSplitWithUnitAtManyPlaces() throws Exception {
+		Map<String, Object> hierarchy = createHierarchy(2, 1, 1);
+		List<Map<String, Object>> children = (List<Map<String, Object>>) hierarchy.get("children");
+		children.add(children.get(0));
+		String json = toJson(hierarchy);
+		ChunkedHierarchy chunked = ChunkedHierarchy.split(hierarchy);
+		Assert.assertEquals(2, chunked.getChunks().size());
+		List<Map<String, Object>> rootChildren = (List<Map<String, Object>>) chunked.getRoot().get("children");
+		Assert.assertNotNull(rootChildren.get(3).get("children"));
+		Assert.assertEquals("do_u0", chunked.getUnits().get("do_u0"));
+		Assert.assertEquals(json, toJson(ChunkedHierarchy.assemble(chunked.getRoot(), chunked.getChunks())));
+	}
+
+	@Test
+	public void testUnits() {
+		Map<String, Object> hierarchy = createHierarchy(3, 2, 2);
+		Map<String, Object> inline = createNode("do_inline", "Default", "application/vnd.ekstep.content-collection");
+		List<Object> inlineChildren = new ArrayList<Object>();
+		inlineChildren.add(createNode("DO_NESTED", "Parent", "application/vnd.ekstep.content-collection"));
+		inline.put("children", inlineChildren);
+		((List<Object>) hierarchy.get("children")).add(inline);
+
+		Map<String, String> units = ChunkedHierarchy.split(hierarchy).getUnits();
+		// 3 units, 2 units under each, and the unit under the inline child.
+		Assert.assertEquals(10, units.size());
+		Assert.assertEquals("do_u1", units.get("do_u1"));
+		Assert.assertEquals("do_u1", units.get("do_u1_1"));
+		Assert.assertEquals(ChunkedHierarchy.ROOT_CHUNK, units.get("do_nested"));
+		Assert.assertNull(units.get("do_u1_1_0"));
+	}
+
+	@Test
+	public void testFindUnit() {
+		Map<String, Object> hierarchy = createHierarchy(3, 2, 2);
+		List<Map<String, Object>> children = (List<Map<String, Object>>) hierarchy.get("children");
+		Map<String, Object> unit = ChunkedHierarchy.findUnit(children, "DO_U2_1");
+		Assert.assertEquals("do_u2_1", unit.get("identifier"));
+		Assert.assertEquals(2, ((List<Object>) unit.get("children")).size());
+		// resources are not units.
+		Assert.assertNull(ChunkedHierarchy.findUnit(children, "do_u2_1_0"));
+		Assert.assertNull(ChunkedHierarchy.findUnit(children, "do_missing"));
+		Assert.assertNull(ChunkedHierarchy.findUnit(null, "do_u0"));
+	}
+
+	@Test
+	public void testEncoding() {
+		Map<String, Object> hierarchy = createHierarchy(10, 5, 10);
+		byte[] json = ChunkedHierarchy.encode(hierarchy, ChunkedHierarchy.ENCODING_JSON);
+		byte[] deflated = ChunkedHierarchy.encode(hierarchy, ChunkedHierarchy.ENCODING_JSON_DEFLATE);
+		Assert.assertTrue(deflated.length < json.length / 4);
+		Assert.assertEquals(hierarchy, ChunkedHierarchy.decode(deflated, ChunkedHierarchy.ENCODING_JSON_DEFLATE));
+		Assert.assertEquals(ChunkedHierarchy.digest(json),
+				ChunkedHierarchy.digest(ChunkedHierarchy.encode(createHierarchy(10, 5, 10),
+						ChunkedHierarchy.ENCODING_JSON)));
+		Assert.assertEquals(40, ChunkedHierarchy.digest(json).length());
+	}
+
+	@Test(expected = org.ekstep.common.exception.ServerException.class)
+	public void testDecodeUnknownEncoding() {
+		ChunkedHierarchy.decode(new byte[0], "smile");
+	}
+
+	private String toJson(Map<String, Object> map) {
+		return new String(ChunkedHierarchy.encode(map, ChunkedHierarchy.ENCODING_JSON));
+	}
+
+	/**
+	 * Creates a collection with the given number of units, each with the given
+	 * number of units under it, each with the given number of resources, and
+	 * with one resource under the root.
+	 */
+	private Map<String, Object> createHierarchy(int units, int subUnits, int resources) {
+		Map<String, Object> root = createNode("do_root", "Default", "application/vnd.ekstep.content-collection");
+		List<Object> children = new ArrayList<Object>();
+		for (int i = 0; i < units; i++) {
+			Map<String, Object> unit = createNode("do_u" + i, "Parent", "application/vnd.ekstep.content-collection");
+			List<Object> unitChildren = new ArrayList<Object>();
+			for (int j = 0; j < subUnits; j++) {
+				Map<String, Object> subUnit = createNode("do_u" + i + "_" + j, "Parent",
+						"application/vnd.ekstep.content-collection");
+				List<Object> leaves = new ArrayList<Object>();
+				for (int k = 0; k < resources; k++)
+					leaves.add(createNode("do_u" + i + "_" + j + "_" + k, "Default", "application/pdf"));
+				subUnit.put("children", leaves);
+				unitChildren.add(subUnit);
+			}
+			unit.put("children", unitChildren);
+			children.add(unit);
+		}
+		children.add(createNode("do_resource", "Default", "application/pdf"));
+		root.put("children", children);
+		return root;
+	}
+
+	private Map<String, Object> createNode(String identifier, String visibility, String mimeType) {
+		Map<String, Object> node = new LinkedHashMap<String, Object>();
+		node.put("identifier", identifier);
+		node.put("name", "Name of " + identifier);
+		node.put("description", "Description of the content " + identifier);
+		node.put("visibility", visibility);
+		node.put("mimeType", mimeType);
+		node.put("status", "Live");
+		return node;
+	}
+}
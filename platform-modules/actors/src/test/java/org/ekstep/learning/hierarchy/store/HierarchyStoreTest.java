@@ -0,0 +1,201 @@
+package org.ekstep.learning.hierarchy.store;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.ekstep.cassandra.CassandraTestSetup;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.datastax.driver.core.Row;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class HierarchyStoreTest extends CassandraTestSetup {
+	static final String keyspace = "hierarchy_store";
+	static final String table = "content_hierarchy";
+	static final String unitTable = "content_hierarchy_unit";
+
+	private static String createKeyspace = "CREATE KEYSPACE IF NOT EXISTS " + keyspace
+			+ " WITH replication = {'class': 'SimpleStrategy', 'replication_factor': '1'}";
+	private static String createTable = "CREATE TABLE IF NOT EXISTS " + keyspace + "." + table
+			+ " (identifier text, hierarchy text, encoding text, root blob, units map<text, text>, chunks map<text, text>, PRIMARY KEY (identifier));";
+	private static String createUnitTable = "CREATE TABLE IF NOT EXISTS " + keyspace + "." + unitTable
+			+ " (identifier text, unit_id text, encoding text, hierarchy blob, PRIMARY KEY ((identifier, unit_id)));";
+
+	HierarchyStore hierarchyStore = new HierarchyStore(keyspace, table, unitTable, true);
+
+	@BeforeClass
+	public static void setup() throws Exception {
+		executeScript(createKeyspace, createTable, createUnitTable);
+	}
+
+	@Test
+	public void testSaveAndGetChunkedHierarchy() {
+		Map<String, Object> hierarchy = createHierarchy("do_chunked", 3);
+		hierarchyStore.saveOrUpdateHierarchy("do_chunked", hierarchy);
+		Row row = getRow("do_chunked");
+		Assert.assertNull(row.getString("hierarchy"));
+		Assert.assertEquals(3, row.getMap("chunks", String.class, String.class).size());
+		for (int i = 0; i < 3; i++)
+			Assert.assertNotNull(getUnitRow("do_chunked", getChunkKey("do_chunked", "do_chunked_u" + i)));
+		Assert.assertEquals(hierarchy, hierarchyStore.getHierarchy("do_chunked"));
+		Assert.assertNull(hierarchyStore.getHierarchy("do_missing"));
+	}
+
+	@Test
+	public void testOnlyChangedUnitsAreWritten() {
+		Map<String, Object> hierarchy = createHierarchy("do_delta", 3);
+		hierarchyStore.saveOrUpdateHierarchy("do_delta", hierarchy);
+		String unchangedKey = getChunkKey("do_delta", "do_delta_u0");
+		long unchanged = getWriteTime("do_delta", unchangedKey);
+		String changedKey = getChunkKey("do_delta", "do_delta_u1");
+
+		getUnit(hierarchy, 1).put("name", "Changed name");
+		hierarchyStore.saveOrUpdateHierarchy("do_delta", hierarchy);
+		Assert.assertEquals(unchangedKey, getChunkKey("do_delta", "do_delta_u0"));
+		Assert.assertEquals(unchanged, getWriteTime("do_delta", unchangedKey));
+		// the changed unit is written to a new row and the replaced row is deleted.
+		String newKey = getChunkKey("do_delta", "do_delta_u1");
+		Assert.assertFalse(changedKey.equals(newKey));
+		Assert.assertNotNull(getUnitRow("do_delta", newKey));
+		Assert.assertNull(getUnitRow("do_delta", changedKey));
+		Assert.assertEquals(hierarchy, hierarchyStore.getHierarchy("do_delta"));
+	}
+
+	@Test
+	public void testUnwrittenRootKeepsOldHierarchy() {
+		Map<String, Object> hierarchy = createHierarchy("do_switch", 2);
+		hierarchyStore.saveOrUpdateHierarchy("do_switch", hierarchy);
+		Map<String, Object> oldHierarchy = hierarchyStore.getHierarchy("do_switch");
+		String oldKey = getChunkKey("do_switch", "do_switch_u0");
+
+		// a unit row written by an update which fails before the root is
+		// written is not read.
+		getSession().execute("INSERT INTO " + keyspace + "." + unitTable
+				+ " (identifier, unit_id, encoding, hierarchy) VALUES ('do_switch', 'do_switch_u0:partial', 'json', "
+				+ "textAsBlob('{}'));");
+		Assert.assertEquals(oldKey, getChunkKey("do_switch", "do_switch_u0"));
+		Assert.assertEquals(oldHierarchy, hierarchyStore.getHierarchy("do_switch"));
+
+		getUnit(hierarchy, 0).put("name", "Changed name");
+		hierarchyStore.saveOrUpdateHierarchy("do_switch", hierarchy);
+		Assert.assertEquals(hierarchy, hierarchyStore.getHierarchy("do_switch"));
+		Assert.assertEquals("Changed name", hierarchyStore.getUnitHierarchy("do_switch", "do_switch_u0").get("name"));
+		Assert.assertNull(getUnitRow("do_switch", oldKey));
+	}
+
+	@Test
+	public void testRemovedUnitsAreDeleted() {
+		Map<String, Object> hierarchy = createHierarchy("do_removed", 3);
+		hierarchyStore.saveOrUpdateHierarchy("do_removed", hierarchy);
+		String removedKey = getChunkKey("do_removed", "do_removed_u2");
+		((List<Object>) hierarchy.get("children")).remove(2);
+		hierarchyStore.saveOrUpdateHierarchy("do_removed", hierarchy);
+		Assert.assertNull(getUnitRow("do_removed", removedKey));
+		String[] keys = { getChunkKey("do_removed", "do_removed_u0"), getChunkKey("do_removed", "do_removed_u1") };
+		Assert.assertNotNull(getUnitRow("do_removed", keys[1]));
+		Assert.assertEquals(2, getRow("do_removed").getMap("chunks", String.class, String.class).size());
+		Assert.assertEquals(hierarchy, hierarchyStore.getHierarchy("do_removed"));
+
+		hierarchyStore.deleteHierarchy(Arrays.asList("do_removed"));
+		Assert.assertNull(getRow("do_removed"));
+		Assert.assertNull(getUnitRow("do_removed", keys[0]));
+		Assert.assertNull(getUnitRow("do_removed", keys[1]));
+	}
+
+	@Test
+	public void testLegacyHierarchyIsRead() throws Exception {
+		Map<String, Object> hierarchy = createHierarchy("do_legacy", 2);
+		getSession().execute("INSERT INTO " + keyspace + "." + table + " (identifier, hierarchy) VALUES ('do_legacy', '"
+				+ new ObjectMapper().writeValueAsString(hierarchy) + "');");
+		Assert.assertEquals(hierarchy, hierarchyStore.getHierarchy("do_legacy"));
+		Assert.assertEquals(getUnit(hierarchy, 1).get("children"),
+				hierarchyStore.getUnitHierarchy("do_legacy", "do_legacy_u1").get("children"));
+
+		// the hierarchy is written in the chunked format on its next update.
+		hierarchyStore.saveOrUpdateHierarchy("do_legacy", hierarchy);
+		Assert.assertNull(getRow("do_legacy").getString("hierarchy"));
+		Assert.assertNotNull(getUnitRow("do_legacy", getChunkKey("do_legacy", "do_legacy_u0")));
+		Assert.assertEquals(hierarchy, hierarchyStore.getHierarchy("do_legacy"));
+	}
+
+	@Test
+	public void testGetUnitHierarchy() {
+		Map<String, Object> hierarchy = createHierarchy("do_unit", 3);
+		hierarchyStore.saveOrUpdateHierarchy("do_unit", hierarchy);
+		Assert.assertEquals(getUnit(hierarchy, 2), hierarchyStore.getUnitHierarchy("do_unit", "do_unit_u2"));
+		Map<String, Object> subUnit = hierarchyStore.getUnitHierarchy("do_unit", "DO_UNIT_U1_0");
+		Assert.assertEquals("do_unit_u1_0", subUnit.get("identifier"));
+		Assert.assertEquals(2, ((List<Object>) subUnit.get("children")).size());
+		Assert.assertNull(hierarchyStore.getUnitHierarchy("do_unit", "do_unit_resource"));
+		Assert.assertNull(hierarchyStore.getUnitHierarchy("do_unit", "do_missing"));
+		Assert.assertNull(hierarchyStore.getUnitHierarchy("do_missing", "do_unit_u0"));
+	}
+
+	private Row getRow(String identifier) {
+		return getSession().execute("SELECT * FROM " + keyspace + "." + table + " WHERE identifier='" + identifier
+				+ "';").one();
+	}
+
+	private Row getUnitRow(String identifier, String chunkKey) {
+		return getSession().execute("SELECT * FROM " + keyspace + "." + unitTable + " WHERE identifier='"
+				+ identifier + "' AND unit_id='" + chunkKey + "';").one();
+	}
+
+	private long getWriteTime(String identifier, String chunkKey) {
+		return getSession().execute("SELECT writetime(hierarchy) AS written FROM " + keyspace + "." + unitTable
+				+ " WHERE identifier='" + identifier + "' AND unit_id='" + chunkKey + "';").one().getLong("written");
+	}
+
+	// the key of the unit row which the root refers to.
+	private String getChunkKey(String identifier, String unitId) {
+		String digest = getRow(identifier).getMap("chunks", String.class, String.class).get(unitId);
+		return null == digest ? null : HierarchyStore.getChunkKey(unitId, digest);
+	}
+
+	private Map<String, Object> getUnit(Map<String, Object> hierarchy, int index) {
+		return ((List<Map<String, Object>>) hierarchy.get("children")).get(index);
+	}
+
+	/**
+	 * Creates a collection with the given number of units, each with two
+	 * units of two resources under it, and with one resource under the root.
+	 */
+	private Map<String, Object> createHierarchy(String identifier, int units) {
+		Map<String, Object> root = createNode(identifier, "Default", "application/vnd.ekstep.content-collection");
+		List<Object> children = new ArrayList<Object>();
+		for (int i = 0; i < units; i++) {
+			Map<String, Object> unit = createNode(identifier + "_u" + i, "Parent",
+					"application/vnd.ekstep.content-collection");
+			List<Object> unitChildren = new ArrayList<Object>();
+			for (int j = 0; j < 2; j++) {
+				Map<String, Object> subUnit = createNode(identifier + "_u" + i + "_" + j, "Parent",
+						"application/vnd.ekstep.content-collection");
+				List<Object> leaves = new ArrayList<Object>();
+				for (int k = 0; k < 2; k++)
+					leaves.add(createNode(identifier + "_u" + i + "_" + j + "_" + k, "Default", "application/pdf"));
+				subUnit.put("children", leaves);
+				unitChildren.add(subUnit);
+			}
+			unit.put("children", unitChildren);
+			children.add(unit);
+		}
+		children.add(createNode(identifier + "_resource", "Default", "application/pdf"));
+		root.put("children", children);
+		return root;
+	}
+
+	private Map<String, Object> createNode(String identifier, String visibility, String mimeType) {
+		Map<String, Object> node = new LinkedHashMap<String, Object>();
+		node.put("identifier", identifier);
+		node.put("name", "Name of " + identifier);
+		node.put("visibility", visibility);
+		node.put("mimeType", mimeType);
+		node.put("status", "Live");
+		return node;
+	}
+}
@@ -0,0 +1,116 @@
+package org.ekstep.learning.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class HierarchyBuilderTest {
+
+	private static final int FAN_OUT = 10;
+
+	@Test
+	public void testBuild() {
+		List<Map<String, Object>> list = createList(111);
+		Map<String, Object> hierarchy = HierarchyBuilder.build(list);
+		Assert.assertEquals("do_0", hierarchy.get("identifier"));
+		List<Map<String, Object>> children = (List<Map<String, Object>>) hierarchy.get("children");
+		Assert.assertEquals(FAN_OUT, children.size());
+		for (int i = 0; i < FAN_OUT; i++)
+			Assert.assertEquals("do_" + (i + 1), children.get(i).get("identifier"));
+		List<Map<String, Object>> grandChildren = (List<Map<String, Object>>) children.get(0).get("children");
+		Assert.assertEquals("do_11", grandChildren.get(0).get("identifier"));
+		Assert.assertEquals(111, count(hierarchy));
+	}
+
+	@Test
+	public void testBuildWithNodeAtManyPlaces() {
+		List<Map<String, Object>> list = new ArrayList<Map<String, Object>>();
+		list.add(createRow("do_0", 0, "do_0", null, "application/vnd.ekstep.content-collection"));
+		list.add(createRow("do_1", 1, "do_0", 1, "application/vnd.ekstep.content-collection"));
+		list.add(createRow("do_1", 1, "do_0", 2, "application/vnd.ekstep.content-collection"));
+		list.add(createRow("do_2", 2, "do_1", 1, "application/pdf"));
+		Map<String, Object> hierarchy = HierarchyBuilder.build(list);
+		List<Map<String, Object>> children = (List<Map<String, Object>>) hierarchy.get("children");
+		Assert.assertEquals(2, children.size());
+		for (Map<String, Object> child : children)
+			Assert.assertEquals(1, ((List<Object>) child.get("children")).size());
+	}
+
+	@Test
+	public void testWalk() {
+		Map<String, List<String>> childIdMap = new HashMap<String, List<String>>();
+		childIdMap.put("do_0", Arrays.asList("do_1", "do_2"));
+		childIdMap.put("do_1", Arrays.asList("do_3", "do_4"));
+		childIdMap.put("do_4", Arrays.asList("do_1"));
+		List<String> visited = new ArrayList<String>();
+		HierarchyBuilder.walk("do_0", childIdMap,
+				(identifier, depth, parent, index) -> visited.add(identifier + ":" + depth + ":" + parent + ":" + index));
+		Assert.assertEquals(Arrays.asList("do_1:1:do_0:1", "do_3:2:do_1:1", "do_4:2:do_1:2", "do_1:3:do_4:1",
+				"do_2:1:do_0:2"), visited);
+	}
+
+	@Test
+	public void testLeafNodes() {
+		Map<String, Object> hierarchy = HierarchyBuilder.build(createList(111));
+		List<Map<String, Object>> children = (List<Map<String, Object>>) hierarchy.get("children");
+		Set<String> leafNodes = HierarchyBuilder.getLeafNodes(children, true);
+		Assert.assertEquals(100, leafNodes.size());
+		for (Map<String, Object> child : children)
+			Assert.assertEquals(10, child.get("leafNodesCount"));
+		Assert.assertNull(hierarchy.get("leafNodesCount"));
+	}
+
+	private int count(Map<String, Object> hierarchy) {
+		int count = 1;
+		List<Map<String, Object>> children = (List<Map<String, Object>>) hierarchy.get("children");
+		if (null != children) {
+			for (Map<String, Object> child : children)
+				count += count(child);
+		}
+		return count;
+	}
+
+	/**
+	 * Creates the rows of a collection of the given number of nodes, level by
+	 * level, with each node having up to {@value #FAN_OUT} children.
+	 */
+	private List<Map<String, Object>> createList(int size) {
+		return createList(size, FAN_OUT);
+	}
+
+	private List<Map<String, Object>> createList(int size, int fanOut) {
+		List<Map<String, Object>> list = new ArrayList<Map<String, Object>>();
+		int[] depths = new int[size];
+		for (int i = 0; i < size; i++) {
+			boolean leaf = (long) i * fanOut + 1 >= size;
+			String mimeType = leaf ? "application/pdf" : "application/vnd.ekstep.content-collection";
+			if (i == 0) {
+				list.add(createRow("do_0", 0, "do_0", null, mimeType));
+			} else {
+				int parent = (i - 1) / fanOut;
+				depths[i] = depths[parent] + 1;
+				list.add(createRow("do_" + i, depths[i], "do_" + parent, (i - 1) % fanOut + 1, mimeType));
+			}
+		}
+		return list;
+	}
+
+	private Map<String, Object> createRow(String identifier, int depth, String parent, Integer index,
+			String mimeType) {
+		Map<String, Object> row = new LinkedHashMap<String, Object>();
+		row.put("identifier", identifier);
+		row.put("depth", depth);
+		row.put("parent", parent);
+		row.put("index", index);
+		row.put("mimeType", mimeType);
+		row.put("visibility", (depth == 0 || "application/pdf".equals(mimeType)) ? "Default" : "Parent");
+		return row;
+	}
+}
@@ -0,0 +1,72 @@
+package org.ekstep.learning.util;
+
+import java.util.Map;
+
+import org.ekstep.graph.dac.model.Node;
+import org.ekstep.graph.model.node.DefinitionDTO;
+import org.ekstep.learning.util.HierarchyLoaderTest.GraphStub;
+
+/**
+ * Compares the time taken to read the hierarchy of synthetic collections of
+ * 10, 1000 and 10000 nodes through getHierarchyMap and
+ * getContentHierarchyRecursive with the time taken to read the children node
+ * by node, with the number of graph requests made by each. The graph is in
+ * memory, so the times leave out the round trip of each request. It is not a
+ * test, so that it is not run by the build; run its main method from the
+ * test classpath, with the number of runs for each size as the optional
+ * argument.
+ */
+public class HierarchyLoaderBenchmark {
+
+	public static void main(String[] args) {
+		int runs = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+		for (int size : new int[] { 10, 1000, 10000 }) {
+			Map<String, Node> tree = HierarchyLoaderTest.createTree(size);
+			// warm up, and check that each read returns the whole tree.
+			read(tree, runs);
+			long[] times = read(tree, runs);
+			System.out.println("Hierarchy of " + size + " nodes: getHierarchyMap " + (times[0] / runs / 1000)
+					+ " us, " + times[3] + " requests; getContentHierarchyRecursive " + (times[1] / runs / 1000)
+					+ " us, " + times[4] + " requests; node by node " + (times[2] / runs / 1000) + " us, "
+					+ times[5] + " requests");
+		}
+	}
+
+	/**
+	 * Returns the total time taken by each of the three reads, followed by
+	 * the requests made by one read of each.
+	 */
+	private static long[] read(Map<String, Node> tree, int runs) {
+		long[] times = new long[6];
+		DefinitionDTO definition = HierarchyLoaderTest.getDefinition();
+		for (int i = 0; i < runs; i++) {
+			GraphStub graph = new GraphStub(tree);
+			long startTime = System.nanoTime();
+			Map<String, Object> hierarchy = graph.getHierarchyMap(HierarchyLoaderTest.GRAPH_ID, "do_0", definition,
+					null, null);
+			times[0] += System.nanoTime() - startTime;
+			times[3] = graph.requests;
+			check(tree, hierarchy);
+
+			graph = new GraphStub(tree);
+			startTime = System.nanoTime();
+			hierarchy = graph.getContentHierarchyRecursive(HierarchyLoaderTest.GRAPH_ID, tree.get("do_0"),
+					definition, null, false);
+			times[1] += System.nanoTime() - startTime;
+			times[4] = graph.requests;
+			check(tree, hierarchy);
+
+			graph = new GraphStub(tree);
+			startTime = System.nanoTime();
+			HierarchyLoaderTest.readNodeByNode(graph, "do_0");
+			times[2] += System.nanoTime() - startTime;
+			times[5] = graph.requests;
+		}
+		return times;
+	}
+
+	private static void check(Map<String, Node> tree, Map<String, Object> hierarchy) {
+		if (HierarchyLoaderTest.count(hierarchy) != tree.size())
+			throw new IllegalStateException("Hierarchy read does not have all the " + tree.size() + " nodes");
+	}
+}
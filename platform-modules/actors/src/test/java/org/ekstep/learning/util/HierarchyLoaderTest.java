@@ -0,0 +1,250 @@
+package org.ekstep.learning.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.ekstep.common.dto.Response;
+import org.ekstep.graph.dac.enums.GraphDACParams;
+import org.ekstep.graph.dac.enums.RelationTypes;
+import org.ekstep.graph.dac.enums.SystemNodeTypes;
+import org.ekstep.graph.dac.enums.SystemProperties;
+import org.ekstep.graph.dac.model.Node;
+import org.ekstep.graph.dac.model.Relation;
+import org.ekstep.graph.model.node.DefinitionDTO;
+import org.ekstep.graph.model.node.RelationDefinition;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Reads synthetic collections of 10, 1000 and 10000 nodes from an in memory
+ * graph, and checks the requests made by the hierarchy loader against the
+ * request per node made by reading the children one by one.
+ */
+public class HierarchyLoaderTest {
+
+	static final String GRAPH_ID = "domain";
+	private static final int FAN_OUT = 10;
+
+	@Test
+	public void testHierarchyMap() {
+		GraphStub graph = new GraphStub(createTree(50));
+		Map<String, Object> hierarchy = graph.getHierarchyMap(GRAPH_ID, "do_0", getDefinition(), null, null);
+		Assert.assertEquals(1, graph.requests);
+		Assert.assertEquals("do_0", hierarchy.get("identifier"));
+		List<Map<String, Object>> children = (List<Map<String, Object>>) hierarchy.get("children");
+		Assert.assertEquals(FAN_OUT, children.size());
+		for (int i = 0; i < children.size(); i++) {
+			Assert.assertEquals("do_" + (i + 1), children.get(i).get("identifier"));
+			Assert.assertEquals((long) (i + 1), ((Number) children.get(i).get("index")).longValue());
+			Assert.assertEquals("do_0", children.get(i).get("parent"));
+		}
+		Assert.assertEquals(50, count(hierarchy));
+	}
+
+	@Test
+	public void testContentHierarchyRecursive() {
+		Map<String, Node> tree = createTree(50);
+		GraphStub graph = new GraphStub(tree);
+		Map<String, Object> hierarchy = graph.getContentHierarchyRecursive(GRAPH_ID, tree.get("do_0"), getDefinition(),
+				null, false);
+		Assert.assertEquals(1, graph.requests);
+		Assert.assertEquals(50, count(hierarchy));
+	}
+
+	@Test
+	public void testContentHierarchyRecursiveWithImages() {
+		Map<String, Node> tree = createTree(50);
+		Node image = copy(tree.get("do_3"), "do_3.img");
+		image.getMetadata().put("name", "Draft");
+		tree.put(image.getIdentifier(), image);
+		GraphStub graph = new GraphStub(tree);
+		Map<String, Object> hierarchy = graph.getContentHierarchyRecursive(GRAPH_ID, tree.get("do_0"), getDefinition(),
+				"edit", true);
+		// the hierarchy, and the images of its nodes.
+		Assert.assertEquals(2, graph.requests);
+		List<Map<String, Object>> children = (List<Map<String, Object>>) hierarchy.get("children");
+		Assert.assertEquals("do_3", children.get(2).get("identifier"));
+		Assert.assertEquals("Draft", children.get(2).get("name"));
+		Assert.assertEquals(50, count(hierarchy));
+	}
+
+	@Test
+	public void testRequestsForHierarchySize() {
+		for (int size : new int[] { 10, 1000, 10000 }) {
+			Map<String, Node> tree = createTree(size);
+
+			GraphStub graph = new GraphStub(tree);
+			Map<String, Object> hierarchy = graph.getHierarchyMap(GRAPH_ID, "do_0", getDefinition(), null, null);
+			Assert.assertEquals(size, count(hierarchy));
+			Assert.assertEquals(1, graph.requests);
+
+			graph = new GraphStub(tree);
+			hierarchy = graph.getContentHierarchyRecursive(GRAPH_ID, tree.get("do_0"), getDefinition(), null, false);
+			Assert.assertEquals(size, count(hierarchy));
+			Assert.assertEquals(1, graph.requests);
+
+			// reading the children one by one takes a request per node.
+			graph = new GraphStub(tree);
+			readNodeByNode(graph, "do_0");
+			Assert.assertEquals(size - 1, graph.requests);
+		}
+	}
+
+	static void readNodeByNode(GraphStub graph, String identifier) {
+		Node node = graph.nodes.get(identifier);
+		if (null == node.getOutRelations())
+			return;
+		for (Relation rel : node.getOutRelations()) {
+			graph.getDataNode(GRAPH_ID, rel.getEndNodeId());
+			readNodeByNode(graph, rel.getEndNodeId());
+		}
+	}
+
+	static int count(Map<String, Object> hierarchy) {
+		int count = 1;
+		List<Map<String, Object>> children = (List<Map<String, Object>>) hierarchy.get("children");
+		if (null != children) {
+			for (Map<String, Object> child : children)
+				count += count(child);
+		}
+		return count;
+	}
+
+	/**
+	 * Creates a collection of the given number of nodes, with each node having
+	 * up to {@value #FAN_OUT} children, level by level. The leaves are
+	 * resources and the other nodes are units of the collection.
+	 */
+	static Map<String, Node> createTree(int size) {
+		Map<String, Node> nodes = new LinkedHashMap<String, Node>();
+		for (int i = 0; i < size; i++) {
+			boolean leaf = (long) i * FAN_OUT + 1 >= size;
+			Node node = new Node("do_" + i, SystemNodeTypes.DATA_NODE.name(), "Content");
+			node.setGraphId(GRAPH_ID);
+			Map<String, Object> metadata = new HashMap<String, Object>();
+			metadata.put("name", "Content " + i);
+			metadata.put("status", "Live");
+			metadata.put("visibility", (i == 0 || leaf) ? "Default" : "Parent");
+			metadata.put("mimeType", leaf ? "application/pdf" : "application/vnd.ekstep.content-collection");
+			node.setMetadata(metadata);
+			node.setOutRelations(new ArrayList<Relation>());
+			node.setInRelations(new ArrayList<Relation>());
+			nodes.put(node.getIdentifier(), node);
+		}
+		for (int i = 1; i < size; i++) {
+			Node parent = nodes.get("do_" + ((i - 1) / FAN_OUT));
+			Node child = nodes.get("do_" + i);
+			Relation rel = new Relation(parent.getIdentifier(), RelationTypes.SEQUENCE_MEMBERSHIP.relationName(),
+					child.getIdentifier());
+			rel.setEndNodeObjectType(child.getObjectType());
+			rel.setEndNodeName((String) child.getMetadata().get("name"));
+			rel.setEndNodeMetadata(child.getMetadata());
+			rel.setStartNodeObjectType(parent.getObjectType());
+			Map<String, Object> relMetadata = new HashMap<String, Object>();
+			relMetadata.put(SystemProperties.IL_SEQUENCE_INDEX.name(), (long) ((i - 1) % FAN_OUT + 1));
+			rel.setMetadata(relMetadata);
+			parent.getOutRelations().add(rel);
+			child.getInRelations().add(rel);
+		}
+		return nodes;
+	}
+
+	private Node copy(Node node, String identifier) {
+		Node copy = new Node(identifier, node.getNodeType(), "ContentImage");
+		copy.setGraphId(GRAPH_ID);
+		copy.setMetadata(new HashMap<String, Object>(node.getMetadata()));
+		copy.setOutRelations(node.getOutRelations());
+		copy.setInRelations(node.getInRelations());
+		return copy;
+	}
+
+	static DefinitionDTO getDefinition() {
+		RelationDefinition children = new RelationDefinition();
+		children.setRelationName(RelationTypes.SEQUENCE_MEMBERSHIP.relationName());
+		children.setObjectTypes(Arrays.asList("Content", "ContentImage"));
+		children.setTitle("children");
+		DefinitionDTO definition = new DefinitionDTO();
+		definition.setObjectType("Content");
+		definition.setOutRelations(Arrays.asList(children));
+		definition.setInRelations(new ArrayList<RelationDefinition>());
+		return definition;
+	}
+
+	/**
+	 * Serves the graph requests of the hierarchy reads from the nodes in
+	 * memory, counting the requests.
+	 */
+	static class GraphStub extends ControllerUtil {
+		final Map<String, Node> nodes;
+		int requests = 0;
+
+		GraphStub(Map<String, Node> nodes) {
+			this.nodes = nodes;
+		}
+
+		@Override
+		public Response getHierarchyNodes(String taxonomyId, List<String> rootIds, int depth) {
+			requests++;
+			List<Node> nodeList = new ArrayList<Node>();
+			List<Map<String, Object>> positions = new ArrayList<Map<String, Object>>();
+			Set<String> visited = new HashSet<String>();
+			Deque<Object[]> queue = new ArrayDeque<Object[]>();
+			for (String rootId : rootIds) {
+				if (nodes.containsKey(rootId))
+					queue.add(new Object[] { rootId, 0L, rootId, null });
+			}
+			while (!queue.isEmpty()) {
+				Object[] entry = queue.poll();
+				String identifier = (String) entry[0];
+				Map<String, Object> position = new HashMap<String, Object>();
+				position.put("identifier", identifier);
+				position.put("depth", entry[1]);
+				position.put("parent", entry[2]);
+				position.put("index", entry[3]);
+				positions.add(position);
+				Node node = nodes.get(identifier);
+				if (visited.add(identifier))
+					nodeList.add(node);
+				if ((Long) entry[1] >= depth)
+					continue;
+				for (Relation rel : node.getOutRelations()) {
+					queue.add(new Object[] { rel.getEndNodeId(), (Long) entry[1] + 1, identifier,
+							rel.getMetadata().get(SystemProperties.IL_SEQUENCE_INDEX.name()) });
+				}
+			}
+			Response response = new Response();
+			response.put(GraphDACParams.node_list.name(), nodeList);
+			response.put(GraphDACParams.properties.name(), positions);
+			return response;
+		}
+
+		@Override
+		public Response getDataNodes(String taxonomyId, List<String> ids) {
+			requests++;
+			List<Node> nodeList = new ArrayList<Node>();
+			for (String id : ids) {
+				if (nodes.containsKey(id))
+					nodeList.add(nodes.get(id));
+			}
+			Response response = new Response();
+			response.put(GraphDACParams.node_list.name(), nodeList);
+			return response;
+		}
+
+		@Override
+		public Response getDataNode(String taxonomyId, String id) {
+			requests++;
+			Response response = new Response();
+			response.put(GraphDACParams.node.name(), nodes.get(id));
+			return response;
+		}
+	}
+}
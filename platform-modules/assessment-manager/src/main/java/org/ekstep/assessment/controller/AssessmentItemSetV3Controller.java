@@ -1,6 +1,8 @@
 package org.ekstep.assessment.controller;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 import org.ekstep.assessment.dto.ItemSetSearchCriteria;
 import org.ekstep.assessment.enums.AssessmentAPIParams;
@@ -105,35 +107,41 @@ public class AssessmentItemSetV3Controller extends BaseController {
 
     @RequestMapping(value = "/read/{id:.+}", method = RequestMethod.GET)
     @ResponseBody
-    public ResponseEntity<Response> find(@PathVariable(value = "id") String id,
+    public CompletionStage<ResponseEntity<Response>> find(@PathVariable(value = "id") String id,
             @RequestParam(value = "isfields", required = false) String[] isfields) {
     	String taxonomyId = V2_GRAPH_ID;
         String apiId = "ekstep.learning.itemset.read";
         TelemetryManager.log("Find | TaxonomyId: " + taxonomyId + " | Id: " + id + " | ifields: " + isfields);
         try {
-            Response response = assessmentManager.getItemSet(id, taxonomyId, isfields, false);
-            TelemetryManager.log("Find | Response: " , response.getResult());
-            return getResponseEntity(response, apiId, null);
+            CompletionStage<Response> response = assessmentManager.getItemSetAsync(id, taxonomyId, isfields, false)
+                    .whenComplete((res, error) -> {
+                        if (null != res)
+                            TelemetryManager.log("Find | Response: ", res.getResult());
+                    });
+            return getAsyncResponseEntity(response, apiId, null);
         } catch (Exception e) {
             TelemetryManager.error("Find | Exception: " + e.getMessage(), e);
-            return getExceptionResponseEntity(e, apiId, null);
+            return CompletableFuture.completedFuture(getExceptionResponseEntity(e, apiId, null));
         }
     }
 
     @RequestMapping(value = "/generate/{id:.+}", method = RequestMethod.GET)
     @ResponseBody
-    public ResponseEntity<Response> generate(@PathVariable(value = "id") String id,
+    public CompletionStage<ResponseEntity<Response>> generate(@PathVariable(value = "id") String id,
             @RequestParam(value = "isfields", required = false) String[] isfields) {
     	String taxonomyId = V2_GRAPH_ID;
         String apiId = "ekstep.learning.itemsset.generate";
         TelemetryManager.log("Find | TaxonomyId: " + taxonomyId + " | Id: " + id + " | ifields: " + isfields);
         try {
-            Response response = assessmentManager.getItemSet(id, taxonomyId, isfields, true);
-            TelemetryManager.log("Find | Response: " , response.getResult());
-            return getResponseEntity(response, apiId, null);
+            CompletionStage<Response> response = assessmentManager.getItemSetAsync(id, taxonomyId, isfields, true)
+                    .whenComplete((res, error) -> {
+                        if (null != res)
+                            TelemetryManager.log("Find | Response: ", res.getResult());
+                    });
+            return getAsyncResponseEntity(response, apiId, null);
         } catch (Exception e) {
             TelemetryManager.error("Find | Exception: " + e.getMessage(), e);
-            return getExceptionResponseEntity(e, apiId, null);
+            return CompletableFuture.completedFuture(getExceptionResponseEntity(e, apiId, null));
         }
     }
 
@@ -8,6 +8,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.stream.Collectors;
 
 import org.apache.commons.collections.CollectionUtils;
@@ -385,14 +387,17 @@ public class AssessmentManagerImpl extends BaseManager implements IAssessmentMan
 		return metadata;
 	}
 
-	@SuppressWarnings("unchecked")
 	private List<String> getSetMembers(String taxonomyId, String setId) {
+		return await(getSetMembersAsync(taxonomyId, setId));
+	}
+
+	@SuppressWarnings("unchecked")
+	private CompletionStage<List<String>> getSetMembersAsync(String taxonomyId, String setId) {
 		Request setReq = getRequest(taxonomyId, GraphEngineManagers.COLLECTION_MANAGER, "getCollectionMembers");
 		setReq.put(GraphDACParams.collection_type.name(), SystemNodeTypes.SET.name());
 		setReq.put(GraphDACParams.collection_id.name(), setId);
-		Response setRes = getResponse(setReq);
-		List<String> members = (List<String>) setRes.get(GraphDACParams.members.name());
-		return members;
+		return getResponseAsync(setReq)
+				.thenApply(setRes -> (List<String>) setRes.get(GraphDACParams.members.name()));
 	}
 
 	@SuppressWarnings("unchecked")
@@ -524,9 +529,14 @@ public class AssessmentManagerImpl extends BaseManager implements IAssessmentMan
 		return null;
 	}
 
-	@SuppressWarnings("unchecked")
 	@Override
 	public Response getItemSet(String id, String taxonomyId, String[] isfields, boolean expandItems) {
+		return await(getItemSetAsync(id, taxonomyId, isfields, expandItems));
+	}
+
+	@Override
+	public CompletionStage<Response> getItemSetAsync(String id, String taxonomyId, String[] isfields,
+			boolean expandItems) {
 		if (StringUtils.isBlank(taxonomyId))
 			throw new ClientException(AssessmentErrorCodes.ERR_ASSESSMENT_BLANK_TAXONOMY_ID.name(),
 					"Taxonomy Id is blank");
@@ -535,65 +545,75 @@ public class AssessmentManagerImpl extends BaseManager implements IAssessmentMan
 					"ItemSet Id is blank");
 		Request request = getRequest(taxonomyId, GraphEngineManagers.COLLECTION_MANAGER, "getSet",
 				GraphDACParams.collection_id.name(), id);
-		Response getNodeRes = getResponse(request);
-		Response response = copyResponse(getNodeRes);
-		if (checkError(response)) {
-			return response;
-		}
-		Node node = (Node) getNodeRes.get(GraphDACParams.node.name());
-		if (null != node) {
-			DefinitionDTO definition = getDefinition(taxonomyId, ITEM_SET_OBJECT_TYPE);
-			List<String> jsonProps = getJSONProperties(definition);
-			List<String> items = getSetMembers(taxonomyId, id);
-			ItemSetDTO dto = new ItemSetDTO(node, items, isfields, jsonProps);
-			Map<String, Object> itemSetMap = dto.returnMap();
-			if (expandItems) {
-				itemSetMap.remove("items");
-				if (null != items && !items.isEmpty()) {
-					Response searchRes = searchItems(taxonomyId, items);
-					if (checkError(searchRes)) {
-						return response;
-					} else {
-						DefinitionDTO itemDefinition = getDefinition(taxonomyId, ITEM_SET_MEMBERS_TYPE);
-						List<String> itemJsonProps = getJSONProperties(itemDefinition);
-						List<Object> list = (List<Object>) searchRes.get(AssessmentAPIParams.assessment_items.name());
-						List<Map<String, Object>> itemMaps = new ArrayList<Map<String, Object>>();
-						if (null != list && !list.isEmpty()) {
-							for (Object obj : list) {
-								List<Node> nodeList = (List<Node>) obj;
-								for (Node itemNode : nodeList) {
-									Map<String, Object> itemDto = getAssessmentItem(itemNode, itemJsonProps, null);
-									itemMaps.add(itemDto);
-								}
-							}
+		return getResponseAsync(request).thenCompose(getNodeRes -> {
+			Response response = copyResponse(getNodeRes);
+			Node node = (Node) getNodeRes.get(GraphDACParams.node.name());
+			if (checkError(response) || null == node)
+				return CompletableFuture.completedFuture(response);
+			// the members and the definitions of the set are independent of
+			// each other, so they are fetched together.
+			List<CompletionStage<DefinitionDTO>> definitionStages = new ArrayList<CompletionStage<DefinitionDTO>>();
+			definitionStages.add(getDefinitionAsync(taxonomyId, ITEM_SET_OBJECT_TYPE));
+			definitionStages.add(expandItems ? getDefinitionAsync(taxonomyId, ITEM_SET_MEMBERS_TYPE)
+					: CompletableFuture.completedFuture(null));
+			return getSetMembersAsync(taxonomyId, id).thenCompose(items -> {
+				CompletionStage<Response> searchStage = (expandItems && null != items && !items.isEmpty())
+						? searchItemsAsync(taxonomyId, items)
+						: CompletableFuture.completedFuture(null);
+				return allOf(definitionStages).thenCombine(searchStage, (definitions, searchRes) -> {
+					ItemSetDTO dto = new ItemSetDTO(node, items, isfields, getJSONProperties(definitions.get(0)));
+					Map<String, Object> itemSetMap = dto.returnMap();
+					if (expandItems) {
+						itemSetMap.remove("items");
+						if (null != searchRes) {
+							if (checkError(searchRes))
+								return response;
+							addItems(itemSetMap, node, searchRes, definitions.get(1));
 						}
-						Integer total = null;
-						if (itemSetMap.get("total_items") instanceof Long)
-							total = Integer.valueOf(((Long) itemSetMap.get("total_items")).intValue());
-						else
-							total = (Integer) itemSetMap.get("total_items");
-						if (null == total) {
-							total = itemMaps.size();
-							itemSetMap.put("total_items", total);
-						}
-						Map<String, Object> itemSetCountMap = new HashMap<String, Object>();
-						itemSetCountMap.put("id", node.getIdentifier());
-						itemSetCountMap.put("count", total);
-						List<Map<String, Object>> itemSetCountMaps = new ArrayList<Map<String, Object>>();
-						itemSetCountMaps.add(itemSetCountMap);
-						itemSetMap.put("item_sets", itemSetCountMaps);
-						Map<String, Object> itemMap = new HashMap<String, Object>();
-						itemMap.put(node.getIdentifier(), itemMaps);
-						itemSetMap.put("items", itemMap);
 					}
+					response.put(AssessmentAPIParams.assessment_item_set.name(), itemSetMap);
+					return response;
+				});
+			});
+		});
+	}
+
+	@SuppressWarnings("unchecked")
+	private void addItems(Map<String, Object> itemSetMap, Node node, Response searchRes,
+			DefinitionDTO itemDefinition) {
+		List<String> itemJsonProps = getJSONProperties(itemDefinition);
+		List<Object> list = (List<Object>) searchRes.get(AssessmentAPIParams.assessment_items.name());
+		List<Map<String, Object>> itemMaps = new ArrayList<Map<String, Object>>();
+		if (null != list && !list.isEmpty()) {
+			for (Object obj : list) {
+				List<Node> nodeList = (List<Node>) obj;
+				for (Node itemNode : nodeList) {
+					Map<String, Object> itemDto = getAssessmentItem(itemNode, itemJsonProps, null);
+					itemMaps.add(itemDto);
 				}
 			}
-			response.put(AssessmentAPIParams.assessment_item_set.name(), itemSetMap);
 		}
-		return response;
+		Integer total = null;
+		if (itemSetMap.get("total_items") instanceof Long)
+			total = Integer.valueOf(((Long) itemSetMap.get("total_items")).intValue());
+		else
+			total = (Integer) itemSetMap.get("total_items");
+		if (null == total) {
+			total = itemMaps.size();
+			itemSetMap.put("total_items", total);
+		}
+		Map<String, Object> itemSetCountMap = new HashMap<String, Object>();
+		itemSetCountMap.put("id", node.getIdentifier());
+		itemSetCountMap.put("count", total);
+		List<Map<String, Object>> itemSetCountMaps = new ArrayList<Map<String, Object>>();
+		itemSetCountMaps.add(itemSetCountMap);
+		itemSetMap.put("item_sets", itemSetCountMaps);
+		Map<String, Object> itemMap = new HashMap<String, Object>();
+		itemMap.put(node.getIdentifier(), itemMaps);
+		itemSetMap.put("items", itemMap);
 	}
 
-	private Response searchItems(String taxonomyId, List<String> itemIds) {
+	private CompletionStage<Response> searchItemsAsync(String taxonomyId, List<String> itemIds) {
 		SearchCriteria criteria = new SearchCriteria();
 		List<Filter> filters = new ArrayList<Filter>();
 		Filter filter = new Filter("identifier", SearchConditions.OP_IN, itemIds);
@@ -613,9 +633,8 @@ public class AssessmentManagerImpl extends BaseManager implements IAssessmentMan
 				requests.add(req);
 			}
 		}
-		Response response = getResponse(requests, GraphDACParams.node_list.name(),
+		return getResponseAsync(requests, GraphDACParams.node_list.name(),
 				AssessmentAPIParams.assessment_items.name());
-		return response;
 	}
 
 	@SuppressWarnings("unchecked")
@@ -765,14 +784,17 @@ public class AssessmentManagerImpl extends BaseManager implements IAssessmentMan
 	}
 
 	protected DefinitionDTO getDefinition(String graphId, String objectType) {
+		return await(getDefinitionAsync(graphId, objectType));
+	}
+
+	protected CompletionStage<DefinitionDTO> getDefinitionAsync(String graphId, String objectType) {
 		Request request = getRequest(graphId, GraphEngineManagers.SEARCH_MANAGER, "getNodeDefinition",
 				GraphDACParams.object_type.name(), objectType);
-		Response response = getResponse(request);
-		if (!checkError(response)) {
-			DefinitionDTO definition = (DefinitionDTO) response.get(GraphDACParams.definition_node.name());
-			return definition;
-		}
-		return null;
+		return getResponseAsync(request).thenApply(response -> {
+			if (!checkError(response))
+				return (DefinitionDTO) response.get(GraphDACParams.definition_node.name());
+			return null;
+		});
 	}
 
 	protected Map<String,Object> handleExternalProperties(Map<String, Object> metadata) {
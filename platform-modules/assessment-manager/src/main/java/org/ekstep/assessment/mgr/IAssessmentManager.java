@@ -1,5 +1,7 @@
 package org.ekstep.assessment.mgr;
 
+import java.util.concurrent.CompletionStage;
+
 import org.ekstep.assessment.enums.AssessmentAPIParams;
 import org.ekstep.common.dto.Request;
 import org.ekstep.common.dto.Response;
@@ -124,6 +126,15 @@ public interface IAssessmentManager {
      *           
      */
     public Response getItemSet(String id, String taxonomyId, String[] isfields, boolean expandItems);
+
+    /**
+     * Gets Assessment Item Set for the set identifier, without blocking the
+     * calling thread while the set, its members and the items are read.
+     * 
+     * @see #getItemSet(String, String, String[], boolean)
+     */
+    public CompletionStage<Response> getItemSetAsync(String id, String taxonomyId, String[] isfields,
+            boolean expandItems);
     
     /**
      * 
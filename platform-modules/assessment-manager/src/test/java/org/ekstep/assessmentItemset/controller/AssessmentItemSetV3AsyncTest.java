@@ -0,0 +1,81 @@
+package org.ekstep.assessmentItemset.controller;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.ekstep.assessment.controller.AssessmentItemSetV3Controller;
+import org.ekstep.assessment.enums.AssessmentAPIParams;
+import org.ekstep.assessment.mgr.IAssessmentManager;
+import org.ekstep.common.dto.Response;
+import org.ekstep.common.exception.ResourceNotFoundException;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+/**
+ * Reads item sets through the v3 controller with a mocked manager, to check
+ * that the read is served as an async request and completed on dispatch.
+ */
+public class AssessmentItemSetV3AsyncTest {
+
+	@Mock
+	private IAssessmentManager assessmentManager;
+
+	@InjectMocks
+	private AssessmentItemSetV3Controller controller;
+
+	private MockMvc mockMvc;
+
+	@Before
+	public void setUp() {
+		MockitoAnnotations.initMocks(this);
+		mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+	}
+
+	@Test
+	public void testReadIsDispatchedAsync() throws Exception {
+		CompletableFuture<Response> future = new CompletableFuture<Response>();
+		Mockito.when(assessmentManager.getItemSetAsync(Mockito.eq("do_1"), Mockito.anyString(),
+				Mockito.any(String[].class), Mockito.eq(false))).thenReturn(future);
+
+		MvcResult result = mockMvc.perform(get("/assessment/v3/itemsets/read/do_1")).andExpect(request().asyncStarted())
+				.andReturn();
+		Map<String, Object> itemSet = new HashMap<String, Object>();
+		itemSet.put("identifier", "do_1");
+		Response response = new Response();
+		response.put(AssessmentAPIParams.assessment_item_set.name(), itemSet);
+		future.complete(response);
+
+		mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk())
+				.andExpect(content().string(containsString("ekstep.learning.itemset.read")))
+				.andExpect(content().string(containsString("\"identifier\":\"do_1\"")));
+	}
+
+	@Test
+	public void testReadErrorIsDispatchedAsync() throws Exception {
+		CompletableFuture<Response> future = new CompletableFuture<Response>();
+		Mockito.when(assessmentManager.getItemSetAsync(Mockito.eq("do_missing"), Mockito.anyString(),
+				Mockito.any(String[].class), Mockito.eq(true))).thenReturn(future);
+
+		MvcResult result = mockMvc.perform(get("/assessment/v3/itemsets/generate/do_missing"))
+				.andExpect(request().asyncStarted()).andReturn();
+		future.completeExceptionally(new ResourceNotFoundException("ERR_NOT_FOUND", "ItemSet not found"));
+
+		mockMvc.perform(asyncDispatch(result)).andExpect(status().isNotFound())
+				.andExpect(content().string(containsString("ERR_NOT_FOUND")));
+	}
+}
@@ -10,6 +10,8 @@ import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 
 import javax.servlet.http.HttpServletResponse;
 
@@ -51,6 +53,22 @@ public abstract class BaseController {
 		return new ResponseEntity<Response>(response, status);
 	}
 
+	/**
+	 * Returns the response entity once the response is completed, so that the
+	 * servlet thread is released while the response is processed. A request
+	 * mapping returning this is completed by Spring MVC as an async request.
+	 */
+	protected CompletionStage<ResponseEntity<Response>> getAsyncResponseEntity(CompletionStage<Response> response,
+			String apiId, String msgId) {
+		return response.handle((res, e) -> {
+			if (null == e)
+				return getResponseEntity(res, apiId, msgId);
+			Throwable cause = (e instanceof CompletionException && null != e.getCause()) ? e.getCause() : e;
+			return getExceptionResponseEntity(
+					cause instanceof Exception ? (Exception) cause : new RuntimeException(cause), apiId, msgId);
+		});
+	}
+
 	protected Response getErrorResponse(Exception e) {
 		Response response = new Response();
 		ResponseParams resStatus = new ResponseParams();
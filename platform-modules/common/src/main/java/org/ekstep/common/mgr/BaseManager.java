@@ -6,6 +6,10 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.lang3.StringUtils;
 import org.ekstep.common.dto.Property;
@@ -14,6 +18,7 @@ import org.ekstep.common.dto.Response;
 import org.ekstep.common.dto.ResponseParams;
 import org.ekstep.common.dto.ResponseParams.StatusType;
 import org.ekstep.common.enums.TaxonomyErrorCodes;
+import org.ekstep.common.exception.MiddlewareException;
 import org.ekstep.common.exception.ResponseCode;
 import org.ekstep.common.exception.ServerException;
 import org.ekstep.common.router.RequestRouterPool;
@@ -26,10 +31,7 @@ import org.ekstep.graph.engine.router.GraphEngineManagers;
 import org.ekstep.telemetry.logger.TelemetryManager;
 
 import akka.actor.ActorRef;
-import akka.dispatch.Futures;
-import akka.pattern.Patterns;
-import scala.concurrent.Await;
-import scala.concurrent.Future;
+import akka.pattern.PatternsCS;
 
 
 public abstract class BaseManager {
@@ -73,11 +75,27 @@ public abstract class BaseManager {
 	}
 
 	public Response getResponse(Request request, ActorRef router) {
+		return await(getResponseAsync(request, router));
+	}
+
+	/**
+	 * Sends the request to the graph engine without waiting for the response.
+	 *
+	 * @return the stage completed with the response, or with a
+	 *         ServerException if the response is not received in time
+	 */
+	public CompletionStage<Response> getResponseAsync(Request request) {
+		return getResponseAsync(request, null);
+	}
+
+	public CompletionStage<Response> getResponseAsync(Request request, ActorRef router) {
 		if (null == router)
 			router = RequestRouterPool.getRequestRouter();
-		try {
-			Future<Object> future = Patterns.ask(router, request, RequestRouterPool.REQ_TIMEOUT);
-			Object obj = Await.result(future, RequestRouterPool.WAIT_TIMEOUT.duration());
+		return PatternsCS.ask(router, request, RequestRouterPool.REQ_TIMEOUT).handle((obj, e) -> {
+			if (null != e) {
+				TelemetryManager.error("Error! Something went wrong: " + e.getMessage(), e);
+				throw new ServerException(TaxonomyErrorCodes.SYSTEM_ERROR.name(), "System Error", e);
+			}
 			if (obj instanceof Response) {
 				Response response = (Response) obj;
 				TelemetryManager.log("Response Params: " + response.getParams() + " | Code: "
@@ -86,10 +104,7 @@ public abstract class BaseManager {
 			} else {
 				return ERROR(TaxonomyErrorCodes.SYSTEM_ERROR.name(), "System Error", ResponseCode.SERVER_ERROR);
 			}
-		} catch (Exception e) {
-			TelemetryManager.error("Error! Something went wrong: " + e.getMessage(), e);
-			throw new ServerException(TaxonomyErrorCodes.SYSTEM_ERROR.name(), "System Error", e);
-		}
+		});
 	}
 
 	public void makeAsyncRequest(Request request) {
@@ -102,48 +117,78 @@ public abstract class BaseManager {
 	}
 
 	protected Response getResponse(List<Request> requests, String paramName, String returnParam) {
-		if (null != requests && !requests.isEmpty()) {
-			ActorRef router = RequestRouterPool.getRequestRouter();
-			try {
-				List<Future<Object>> futures = new ArrayList<Future<Object>>();
-				for (Request request : requests) {
-					Future<Object> future = Patterns.ask(router, request, RequestRouterPool.REQ_TIMEOUT);
-					futures.add(future);
-				}
-				Future<Iterable<Object>> objects = Futures.sequence(futures,
-						RequestRouterPool.getActorSystem().dispatcher());
-				Iterable<Object> responses = Await.result(objects, RequestRouterPool.WAIT_TIMEOUT.duration());
-				if (null != responses) {
-					List<Object> list = new ArrayList<Object>();
-					Response response = new Response();
-					for (Object obj : responses) {
-						if (obj instanceof Response) {
-							Response res = (Response) obj;
-							if (!checkError(res)) {
-								Object vo = res.get(paramName);
-								response = copyResponse(response, res);
-								if (null != vo) {
-									list.add(vo);
-								}
-							} else {
-								return res;
-							}
-						} else {
-							return ERROR(TaxonomyErrorCodes.SYSTEM_ERROR.name(), "System Error",
-									ResponseCode.SERVER_ERROR);
-						}
-					}
-					response.put(returnParam, list);
-					return response;
-				} else {
-					return ERROR(TaxonomyErrorCodes.SYSTEM_ERROR.name(), "System Error", ResponseCode.SERVER_ERROR);
-				}
-			} catch (Exception e) {
-				TelemetryManager.error("ERROR! Something went wrong: " + e.getMessage(), e);
-				throw new ServerException(TaxonomyErrorCodes.SYSTEM_ERROR.name(), "System Error", e);
-			}
-		} else {
-			return ERROR(TaxonomyErrorCodes.SYSTEM_ERROR.name(), "System Error", ResponseCode.SERVER_ERROR);
+		return await(getResponseAsync(requests, paramName, returnParam));
+	}
+
+	/**
+	 * Sends the requests to the graph engine at once and accumulates their
+	 * responses as a single response, as in
+	 * {@link #getResponse(List, String, String)}, without waiting for them.
+	 */
+	protected CompletionStage<Response> getResponseAsync(List<Request> requests, String paramName,
+			String returnParam) {
+		if (null == requests || requests.isEmpty())
+			return CompletableFuture.completedFuture(
+					ERROR(TaxonomyErrorCodes.SYSTEM_ERROR.name(), "System Error", ResponseCode.SERVER_ERROR));
+		List<CompletionStage<Response>> stages = new ArrayList<CompletionStage<Response>>();
+		for (Request request : requests)
+			stages.add(getResponseAsync(request));
+		return allOf(stages).thenApply(responses -> accumulate(responses, paramName, returnParam));
+	}
+
+	/**
+	 * Accumulates the given param of the responses as a list, under the
+	 * return param of a single response. The first failed response is
+	 * returned as it is.
+	 */
+	protected Response accumulate(List<Response> responses, String paramName, String returnParam) {
+		List<Object> list = new ArrayList<Object>();
+		Response response = new Response();
+		for (Response res : responses) {
+			if (checkError(res))
+				return res;
+			Object vo = res.get(paramName);
+			response = copyResponse(response, res);
+			if (null != vo)
+				list.add(vo);
+		}
+		response.put(returnParam, list);
+		return response;
+	}
+
+	/**
+	 * Returns a stage completed with the results of all the given stages, in
+	 * their order, once they are all completed. The stages run concurrently,
+	 * so independent graph calls can be sent together and joined here.
+	 */
+	public static <T> CompletionStage<List<T>> allOf(List<? extends CompletionStage<T>> stages) {
+		CompletableFuture<?>[] futures = new CompletableFuture<?>[stages.size()];
+		for (int i = 0; i < stages.size(); i++)
+			futures[i] = stages.get(i).toCompletableFuture();
+		return CompletableFuture.allOf(futures).thenApply(v -> {
+			List<T> results = new ArrayList<T>(stages.size());
+			for (CompletionStage<T> stage : stages)
+				results.add(stage.toCompletableFuture().join());
+			return results;
+		});
+	}
+
+	/**
+	 * Waits for the stage, for the configured request timeout, and returns its
+	 * result. A MiddlewareException the stage failed with is thrown as it is.
+	 */
+	protected <T> T await(CompletionStage<T> stage) {
+		try {
+			return stage.toCompletableFuture().get(RequestRouterPool.WAIT_TIMEOUT.duration().toMillis(),
+					TimeUnit.MILLISECONDS);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof MiddlewareException)
+				throw (MiddlewareException) e.getCause();
+			TelemetryManager.error("Error! Something went wrong: " + e.getMessage(), e.getCause());
+			throw new ServerException(TaxonomyErrorCodes.SYSTEM_ERROR.name(), "System Error", e.getCause());
+		} catch (Exception e) {
+			TelemetryManager.error("Error! Something went wrong: " + e.getMessage(), e);
+			throw new ServerException(TaxonomyErrorCodes.SYSTEM_ERROR.name(), "System Error", e);
 		}
 	}
 
@@ -13,6 +13,13 @@ public abstract class HealthCheckManager extends BaseManager{
 
 	public abstract Response getAllServiceHealth() throws Exception;
 
+	/**
+	 * Returns the stats of the caches and pools of the service.
+	 */
+	public Response getServiceStats() {
+		return OK("stats", new HashMap<String, Object>());
+	}
+
 	protected Map<String, Object> checkGraphHealth(String graphId){
 		Map<String, Object> check = new HashMap<String, Object>();
 		check.put("name", graphId + " graph");
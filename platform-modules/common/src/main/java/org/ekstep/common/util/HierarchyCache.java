@@ -0,0 +1,174 @@
+package org.ekstep.common.util;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.collections.CollectionUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.ekstep.common.Platform;
+import org.ekstep.graph.cache.local.BoundedLocalCache;
+import org.ekstep.graph.cache.util.RedisStoreUtil;
+import org.ekstep.telemetry.logger.TelemetryManager;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+
+/**
+ * Near cache of parsed published collection hierarchies, in front of the
+ * "hierarchy_" keys in Redis. Every hierarchy is saved with a version, in the
+ * "hierarchy_<id>_version" key, and a read fetches only the version, with the
+ * existence of the hierarchy, to check the locally held copy. The hierarchy is
+ * fetched and parsed again only when the version differs, so that the publish
+ * and retire flows which rewrite or delete the Redis key also invalidate this
+ * cache.
+ */
+public class HierarchyCache {
+
+    private static final String CACHE_KEY_PREFIX = "hierarchy_";
+    private static final String VERSION_KEY_SUFFIX = "_version";
+    private static final long LOCAL_CACHE_MAX_WEIGHT = Platform.config.hasPath("content.cache.hierarchy_local.max_weight") ? Platform.config.getLong("content.cache.hierarchy_local.max_weight") : 200000000;
+    private static final long LOCAL_CACHE_TTL = Platform.config.hasPath("content.cache.hierarchy_local.ttl") ? Platform.config.getLong("content.cache.hierarchy_local.ttl") : 3600000;
+    private static final String VISIBILITY_PARENT = "Parent";
+    private static ObjectMapper mapper = new ObjectMapper();
+
+    // weighed by the length of the hierarchy json, as a proxy for the memory held by the parsed tree.
+    private static BoundedLocalCache<CachedHierarchy> localCache = new BoundedLocalCache<>("hierarchy", LOCAL_CACHE_MAX_WEIGHT, LOCAL_CACHE_TTL, CachedHierarchy::getWeight);
+
+    /**
+     * Returns the cached hierarchy of the given root, or null if it is not in Redis.
+     *
+     * @param rootId
+     * @return
+     * @throws IOException if the cached hierarchy could not be parsed
+     */
+    public static CachedHierarchy get(String rootId) throws IOException {
+        String key = getKey(rootId);
+        String version = RedisStoreUtil.getIfExists(key, getVersionKey(rootId));
+        CachedHierarchy cached = localCache.get(key);
+        if (null != cached && null != version && version.equals(cached.version))
+            return cached;
+        String hierarchy = RedisStoreUtil.get(key);
+        if (StringUtils.isBlank(hierarchy)) {
+            localCache.remove(key);
+            return null;
+        }
+        cached = new CachedHierarchy(version, hierarchy, mapper.readValue(hierarchy, new TypeReference<Map<String, Object>>() {}));
+        // a hierarchy saved without a version is not held, as it could not be checked.
+        if (null != version)
+            localCache.put(key, cached);
+        else
+            localCache.remove(key);
+        return cached;
+    }
+
+    /**
+     * Saves the hierarchy with a new version, both with the same expiry.
+     *
+     * @param rootId
+     * @param hierarchy
+     * @param ttl
+     */
+    public static void save(String rootId, Map<String, Object> hierarchy, int ttl) {
+        try {
+            Map<String, String> keyValues = new HashMap<>();
+            keyValues.put(getKey(rootId), mapper.writeValueAsString(hierarchy));
+            keyValues.put(getVersionKey(rootId), UUID.randomUUID().toString());
+            RedisStoreUtil.mset(keyValues, ttl);
+        } catch (Exception e) {
+            TelemetryManager.error("Error while saving hierarchy to Redis for Identifier : " + rootId + " | Error is : ", e);
+        }
+    }
+
+    public static Map<String, Object> getStats() {
+        return localCache.getStats();
+    }
+
+    private static String getKey(String rootId) {
+        return CACHE_KEY_PREFIX + rootId;
+    }
+
+    private static String getVersionKey(String rootId) {
+        return CACHE_KEY_PREFIX + rootId + VERSION_KEY_SUFFIX;
+    }
+
+    /**
+     * Parsed, read only hierarchy of a collection with an index of its units by identifier.
+     */
+    @SuppressWarnings("unchecked")
+    public static class CachedHierarchy {
+
+        private final String version;
+        private final int length;
+        private final Map<String, Object> hierarchy;
+        private final Map<String, Map<String, Object>> units = new HashMap<>();
+
+        private CachedHierarchy(String version, String json, Map<String, Object> hierarchy) {
+            this.version = version;
+            this.length = json.length();
+            this.hierarchy = (Map<String, Object>) readOnly(hierarchy);
+            indexUnits((List<Map<String, Object>>) this.hierarchy.get("children"));
+        }
+
+        public Map<String, Object> getHierarchy() {
+            return hierarchy;
+        }
+
+        /**
+         * Returns the subtree of the given unit, if it is a unit of this collection.
+         * Same as a breadth first search of the children for the identifier, the
+         * nearest match to the root wins.
+         *
+         * @param identifier
+         * @return
+         */
+        public Map<String, Object> getUnit(String identifier) {
+            if (StringUtils.isBlank(identifier))
+                return null;
+            Map<String, Object> unit = units.get(identifier.toLowerCase());
+            if (null != unit && StringUtils.equalsIgnoreCase(VISIBILITY_PARENT, (String) unit.get("visibility")))
+                return unit;
+            return null;
+        }
+
+        private int getWeight() {
+            return length;
+        }
+
+        private void indexUnits(List<Map<String, Object>> children) {
+            Queue<Map<String, Object>> queue = new LinkedList<>();
+            if (CollectionUtils.isNotEmpty(children))
+                queue.addAll(children);
+            while (!queue.isEmpty()) {
+                Map<String, Object> child = queue.poll();
+                String identifier = (String) child.get("identifier");
+                if (StringUtils.isNotBlank(identifier))
+                    units.putIfAbsent(identifier.toLowerCase(), child);
+                List<Map<String, Object>> next = (List<Map<String, Object>>) child.get("children");
+                if (CollectionUtils.isNotEmpty(next))
+                    queue.addAll(next);
+            }
+        }
+
+        private static Object readOnly(Object value) {
+            if (value instanceof Map) {
+                Map<String, Object> map = new LinkedHashMap<>();
+                for (Map.Entry<String, Object> entry : ((Map<String, Object>) value).entrySet())
+                    map.put(entry.getKey(), readOnly(entry.getValue()));
+                return Collections.unmodifiableMap(map);
+            } else if (value instanceof List) {
+                List<Object> list = new ArrayList<>();
+                for (Object item : (List<Object>) value)
+                    list.add(readOnly(item));
+                return Collections.unmodifiableList(list);
+            }
+            return value;
+        }
+    }
+}
@@ -17,6 +17,7 @@ import org.ekstep.common.dto.Request;
 import org.ekstep.common.dto.Response;
 import org.ekstep.common.enums.TaxonomyErrorCodes;
 import org.ekstep.common.exception.ClientException;
+import org.ekstep.common.exception.ResourceNotFoundException;
 import org.ekstep.common.exception.ResponseCode;
 import org.ekstep.common.exception.ServerException;
 import org.ekstep.common.mgr.ConvertGraphNode;
@@ -46,10 +47,12 @@ import org.ekstep.graph.model.node.DefinitionDTO;
 import org.ekstep.graph.service.common.DACConfigurationConstants;
 import org.ekstep.itemset.publish.ItemsetPublishManager;
 import org.ekstep.learning.common.enums.ContentAPIParams;
+import org.ekstep.learning.common.enums.ContentErrorCodes;
 import org.ekstep.learning.contentstore.VideoStreamingJobRequest;
 import org.ekstep.learning.hierarchy.store.HierarchyStore;
 import org.ekstep.learning.util.CloudStore;
 import org.ekstep.learning.util.ControllerUtil;
+import org.ekstep.learning.util.HierarchyBuilder;
 import org.ekstep.searchindex.elasticsearch.ElasticSearchUtil;
 import org.ekstep.searchindex.util.CompositeSearchConstants;
 import org.ekstep.telemetry.logger.TelemetryManager;
@@ -284,7 +287,7 @@ public class PublishFinalizer extends BaseFinalizer {
 		if(MapUtils.isNotEmpty(collectionHierarchy)) {
 			Set<String> collectionResourceChildNodes = new HashSet<>();
 			children = (List<Map<String,Object>>)collectionHierarchy.get("children");
-			enrichChildren(children, collectionResourceChildNodes, node);
+			enrichChildren(children, collectionResourceChildNodes, node, getResourceNodes(children));
 			if(!collectionResourceChildNodes.isEmpty()) {
 				List<String> collectionChildNodes = getList(node.getMetadata().get(ContentWorkflowPipelineParams.childNodes.name()));
 				collectionChildNodes.addAll(collectionResourceChildNodes);
@@ -366,7 +369,43 @@ public class PublishFinalizer extends BaseFinalizer {
 		}
 	}
 
-	private void enrichChildren(List<Map<String, Object>> children, Set<String> collectionResourceChildNodes, Node node) {
+	/**
+	 * Reads the resources of the hierarchy, the children which are enriched
+	 * from their nodes, in one request.
+	 */
+	private Map<String, Node> getResourceNodes(List<Map<String, Object>> children) {
+		List<String> identifiers = new ArrayList<>();
+		collectResourceIds(children, identifiers);
+		return getNodes(identifiers);
+	}
+
+	private void collectResourceIds(List<Map<String, Object>> children, List<String> identifiers) {
+		if (CollectionUtils.isEmpty(children))
+			return;
+		for (Map<String, Object> child : children) {
+			String visibility = (String) child.get(ContentWorkflowPipelineParams.visibility.name());
+			boolean collection = StringUtils.equalsIgnoreCase((String) child.get(ContentWorkflowPipelineParams.mimeType.name()), COLLECTION_MIMETYPE);
+			if (StringUtils.equalsIgnoreCase(visibility, "Parent") && collection)
+				collectResourceIds((List<Map<String, Object>>) child.get(ContentWorkflowPipelineParams.children.name()), identifiers);
+			if (StringUtils.equalsIgnoreCase(visibility, "Default") && !collection)
+				identifiers.add((String) child.get(ContentWorkflowPipelineParams.identifier.name()));
+		}
+	}
+
+	private Map<String, Node> getNodes(List<String> identifiers) {
+		Map<String, Node> nodes = new HashMap<>();
+		if (identifiers.isEmpty())
+			return nodes;
+		Response response = util.getDataNodes(TAXONOMY_ID, identifiers.stream().distinct().collect(toList()));
+		if (null != response) {
+			List<Node> nodeList = (List<Node>) response.get(GraphDACParams.node_list.name());
+			if (null != nodeList)
+				nodeList.forEach(n -> nodes.put(n.getIdentifier(), n));
+		}
+		return nodes;
+	}
+
+	private void enrichChildren(List<Map<String, Object>> children, Set<String> collectionResourceChildNodes, Node node, Map<String, Node> resourceNodes) {
 		try {
 			if (CollectionUtils.isNotEmpty(children)) {
 				List<Map<String, Object>> newChildren = new ArrayList<>(children);
@@ -374,7 +413,7 @@ public class PublishFinalizer extends BaseFinalizer {
 					for (Map<String, Object> child : newChildren) {
 						if (StringUtils.equalsIgnoreCase((String) child.get(ContentWorkflowPipelineParams.visibility.name()), "Parent") &&
 								StringUtils.equalsIgnoreCase((String) child.get(ContentWorkflowPipelineParams.mimeType.name()), COLLECTION_MIMETYPE))
-							enrichChildren((List<Map<String, Object>>) child.get(ContentWorkflowPipelineParams.children.name()), collectionResourceChildNodes, node);
+							enrichChildren((List<Map<String, Object>>) child.get(ContentWorkflowPipelineParams.children.name()), collectionResourceChildNodes, node, resourceNodes);
 						if (StringUtils.equalsIgnoreCase((String) child.get(ContentWorkflowPipelineParams.visibility.name()), "Default") &&
 								StringUtils.equalsIgnoreCase((String) child.get(ContentWorkflowPipelineParams.mimeType.name()), COLLECTION_MIMETYPE)) {
 							Map<String, Object> collectionHierarchy = getHierarchy((String) child.get(ContentWorkflowPipelineParams.identifier.name()), false);
@@ -393,11 +432,10 @@ public class PublishFinalizer extends BaseFinalizer {
 						}
 						if (StringUtils.equalsIgnoreCase((String) child.get(ContentWorkflowPipelineParams.visibility.name()), "Default") &&
 								!StringUtils.equalsIgnoreCase((String) child.get(ContentWorkflowPipelineParams.mimeType.name()), COLLECTION_MIMETYPE)) {
-							Response readResponse = getDataNode(TAXONOMY_ID, (String) child.get(ContentWorkflowPipelineParams.identifier.name()));
+							Node resNode = resourceNodes.get((String) child.get(ContentWorkflowPipelineParams.identifier.name()));
 							children.remove(child);
 							List<String> childNodes = getList(node.getMetadata().get(ContentWorkflowPipelineParams.childNodes.name()));
-							if (!checkError(readResponse)) {
-								Node resNode = (Node) readResponse.get(GraphDACParams.node.name());
+							if (null != resNode) {
 								if (PUBLISHED_STATUS_LIST.contains(resNode.getMetadata().get(ContentWorkflowPipelineParams.status.name()))) {
 									DefinitionDTO definition = util.getDefinition(TAXONOMY_ID, ContentWorkflowPipelineParams.Content.name());
 
@@ -495,12 +533,30 @@ public class PublishFinalizer extends BaseFinalizer {
 	}
 	
 	private void getNodeMap(List<Map<String, Object>> children, List<Node> nodes, List<String> nodeIds, DefinitionDTO definition) {
+		List<String> identifiers = new ArrayList<>();
+		collectDefaultChildIds(children, identifiers);
+		getNodeMap(children, nodes, nodeIds, definition, getNodes(identifiers));
+	}
+
+	private void collectDefaultChildIds(List<Map<String, Object>> children, List<String> identifiers) {
+		if (CollectionUtils.isEmpty(children))
+			return;
+		for (Map<String, Object> child : children) {
+			if (StringUtils.equalsIgnoreCase("Default", (String) child.get("visibility")))
+				identifiers.add((String) child.get("identifier"));
+			collectDefaultChildIds((List<Map<String, Object>>) child.get("children"), identifiers);
+		}
+	}
+
+	private void getNodeMap(List<Map<String, Object>> children, List<Node> nodes, List<String> nodeIds, DefinitionDTO definition, Map<String, Node> defaultNodes) {
         if (CollectionUtils.isNotEmpty(children)) {
             children.stream().forEach(child -> {
                 Node node = null;
                 try {
                     if(StringUtils.equalsIgnoreCase("Default", (String) child.get("visibility"))) {
-                        node = util.getNode(ContentWorkflowPipelineParams.domain.name(), (String)child.get("identifier"));//getContentNode(TAXONOMY_ID, (String) child.get("identifier"), null);
+                        node = defaultNodes.get((String) child.get("identifier"));
+                        if (null == node)
+                            throw new ResourceNotFoundException(ContentErrorCodes.ERR_CONTENT_NOT_FOUND.name(), "Content not found with id: " + child.get("identifier"));
                         node.getMetadata().remove("children");
                         Map<String, Object> childData = new HashMap<>();
                         childData.putAll(child);
@@ -552,7 +608,7 @@ public class PublishFinalizer extends BaseFinalizer {
                 } catch (Exception e) {
                 		TelemetryManager.error("Error while generating node map. ", e);
                 }
-                getNodeMap((List<Map<String, Object>>) child.get("children"), nodes, nodeIds, definition);
+                getNodeMap((List<Map<String, Object>>) child.get("children"), nodes, nodeIds, definition, defaultNodes);
             });
         }
     }
@@ -636,13 +692,19 @@ public class PublishFinalizer extends BaseFinalizer {
 	}
 	
 	private void updateHierarchyMetadata(List<Map<String, Object>> children, Node node) {
+		// sets the leafNodesCount of all the units in one traversal.
+		HierarchyBuilder.getLeafNodes(children, true);
+		populateHierarchyMetadata(children, node);
+	}
+
+	private void populateHierarchyMetadata(List<Map<String, Object>> children, Node node) {
 		if(CollectionUtils.isNotEmpty(children)) {
 			for(Map<String, Object> child : children) {
 				if(StringUtils.equalsIgnoreCase("Parent", 
 						(String)child.get("visibility"))){
 					//set child metadata -- compatibilityLevel, appIcon, posterImage, lastPublishedOn, pkgVersion, status
 					populatePublishMetadata(child, node);
-					updateHierarchyMetadata((List<Map<String,Object>>)child.get("children"), node);
+					populateHierarchyMetadata((List<Map<String,Object>>)child.get("children"), node);
 				}
 			}
 		}
@@ -654,20 +716,12 @@ public class PublishFinalizer extends BaseFinalizer {
 		//TODO:  For appIcon, posterImage and screenshot createThumbNail method has to be implemented.
 		content.put(ContentWorkflowPipelineParams.lastPublishedOn.name(), node.getMetadata().get(ContentWorkflowPipelineParams.lastPublishedOn.name()));
 		content.put(ContentWorkflowPipelineParams.pkgVersion.name(), node.getMetadata().get(ContentWorkflowPipelineParams.pkgVersion.name()));
-		content.put(ContentWorkflowPipelineParams.leafNodesCount.name(), getLeafNodeCount(content));
 		content.put(ContentWorkflowPipelineParams.status.name(), node.getMetadata().get(ContentWorkflowPipelineParams.status.name()));
 		content.put(ContentWorkflowPipelineParams.lastUpdatedOn.name(), node.getMetadata().get(ContentWorkflowPipelineParams.lastUpdatedOn.name()));
 		content.put(ContentWorkflowPipelineParams.downloadUrl.name(), node.getMetadata().get(ContentWorkflowPipelineParams.downloadUrl.name()));
 		content.put(ContentWorkflowPipelineParams.variants.name(), node.getMetadata().get(ContentWorkflowPipelineParams.variants.name()));
 	}
 
-	@SuppressWarnings("unchecked")
-	private Integer getLeafNodeCount(Map<String, Object> data) {
-	    Set<String> leafNodeIds = new HashSet<>();
-	    getLeafNodesIds(data, leafNodeIds);
-	    return leafNodeIds.size();
-	}
-
 	private double getTotalCompressedSize(Map<String, Object> data, double totalCompressed) {
 		List<Map<String,Object>> children = (List<Map<String,Object>>) data.get("children");
 		if(CollectionUtils.isNotEmpty(children)) {
@@ -1087,14 +1141,15 @@ public class PublishFinalizer extends BaseFinalizer {
 			Map<String, Object> content = getContentMap(node, children);
 			if(MapUtils.isEmpty(content))
 				return;
-			int leafCount = getLeafNodeCount(content);
+			Set<String> leafNodeIds = HierarchyBuilder.getLeafNodes(children, false);
+			int leafCount = leafNodeIds.size();
 			double totalCompressedSize = 0.0;
 			totalCompressedSize = getTotalCompressedSize(content, totalCompressedSize);
 			content.put(ContentAPIParams.leafNodesCount.name(), leafCount);
 			node.getMetadata().put(ContentAPIParams.leafNodesCount.name(), leafCount);
 			content.put(ContentAPIParams.totalCompressedSize.name(), totalCompressedSize);
 			node.getMetadata().put(ContentAPIParams.totalCompressedSize.name(), totalCompressedSize);
-			updateLeafNodeIds(node, content);
+			node.getMetadata().put(ContentAPIParams.leafNodes.name(), new ArrayList<>(leafNodeIds));
 
 
 			Map<String, Object> mimeTypeMap = new HashMap<>();
@@ -1119,12 +1174,6 @@ public class PublishFinalizer extends BaseFinalizer {
 		}
 	}
 
-	private void updateLeafNodeIds(Node node, Map<String, Object> content) {
-        Set<String> leafNodeIds = new HashSet<>();
-        getLeafNodesIds(content, leafNodeIds);
-        node.getMetadata().put(ContentAPIParams.leafNodes.name(), new ArrayList<>(leafNodeIds));
-	}
-
 	private String convertToString(Object obj) throws Exception {
 		return mapper.writeValueAsString(obj);
 	}
@@ -1282,19 +1331,6 @@ public class PublishFinalizer extends BaseFinalizer {
 		return list;
 	}
 
-    private void getLeafNodesIds(Map<String, Object> data, Set<String> leafNodeIds) {
-        List<Map<String,Object>> children = (List<Map<String,Object>>)data.get("children");
-        if(CollectionUtils.isNotEmpty(children)) {
-            for(Map<String, Object> child : children) {
-                getLeafNodesIds(child, leafNodeIds);
-            }
-        } else {
-            if (!StringUtils.equalsIgnoreCase(COLLECTION_MIMETYPE, (String) data.get(ContentAPIParams.mimeType.name()))) {
-                leafNodeIds.add((String) data.get(ContentAPIParams.identifier.name()));
-            }
-        }
-    }
-    
     protected String getItemsetPreviewUrl(Node node) throws Exception {
     	
     		List<Relation> outRelations = node.getOutRelations();
@@ -1,10 +1,6 @@
 package org.ekstep.content.util;
 
-import java.io.BufferedOutputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
@@ -15,17 +11,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.*;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipOutputStream;
 
 
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.collections.MapUtils;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.FilenameUtils;
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.codehaus.jackson.map.ObjectMapper;
 import org.ekstep.common.Platform;
 import org.ekstep.common.Slug;
 import org.ekstep.common.exception.ClientException;
@@ -56,8 +48,6 @@ public class ContentBundle {
 
 	/** The logger. */
 
-	/** The mapper. */
-	private static ObjectMapper mapper = new ObjectMapper();
 	public final String TAXONOMY_ID = "domain";
 	public final ControllerUtil util = new ControllerUtil();
 
@@ -77,6 +67,12 @@ public class ContentBundle {
 	private static final List<String> EXCLUDE_ECAR_METADATA_FIELDS=Arrays.asList("screenshots","posterImage");
 	private static final String COLLECTION_MIMETYPE = "application/vnd.ekstep.content-collection";
 
+	private static final int DOWNLOAD_THREADS = Platform.config.hasPath("content.bundle.download.threads")
+			? Platform.config.getInt("content.bundle.download.threads") : 10;
+
+	/** The downloader of the assets and artifacts, shared by all the bundles for its cache. */
+	private static ContentDownloader downloader = new ContentDownloader();
+
 
 	/**
 	 * Creates the content manifest data.
@@ -258,9 +254,7 @@ public class ContentBundle {
 			if (StringUtils.isBlank(bundleFileName))
 				throw new ClientException(ContentErrorCodeConstants.BUNDLE_FILE_WRITE.name(),
 						ContentErrorMessageConstants.INVALID_BUNDLE_FILE_NAME + " | [Bundle File Name is Required.]");
-			try (FileOutputStream stream = new FileOutputStream(bundleFileName)) {
-				stream.write(createECAR(files));
-			}
+			ContentBundleWriter.writeECAR(files, bundleFile);
 		} catch (Throwable e) {
 			throw new ServerException(ContentErrorCodeConstants.BUNDLE_FILE_WRITE.name(),
 					ContentErrorMessageConstants.BUNDLE_FILE_WRITE_ERROR + " | [Unable to Bundle File.]", e);
@@ -302,10 +296,7 @@ public class ContentBundle {
 			convertStringToMapInMetadata(contents, ContentWorkflowPipelineParams.variants.name());
 			convertStringToMapInMetadata(contents, ContentWorkflowPipelineParams.originData.name());
 
-			// Convert to JSON String
-			String manifestJSON = header + mapper.writeValueAsString(contents) + "}}";
-
-			FileUtils.writeStringToFile(manifestFileName, manifestJSON);
+			ContentBundleWriter.writeJSON(manifestFileName, header.toString(), contents, "}}");
 			TelemetryManager.log("Manifest JSON Written");
 		} catch (Exception e) {
 			throw new ServerException(ContentErrorCodeConstants.MANIFEST_FILE_WRITE.name(),
@@ -367,8 +358,8 @@ public class ContentBundle {
 	 */
 	private List<File> getContentBundle(final Map<Object, List<String>> downloadUrls, final String bundlePath) {
 		List<File> files = new ArrayList<File>();
+		ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, Math.min(DOWNLOAD_THREADS, downloadUrls.size())));
 		try {
-			ExecutorService pool = Executors.newFixedThreadPool(1);
 			List<Callable<List<File>>> tasks = new ArrayList<Callable<List<File>>>(downloadUrls.size());
 
 			for (final Object val : downloadUrls.keySet()) {
@@ -387,7 +378,7 @@ public class ContentBundle {
 							} else {
 								String url = val.toString();
 								if (url.endsWith(".ecar")) {
-									File ecarFile = HttpDownloadUtility.downloadFile(url, destPath + "_ecar");
+									File ecarFile = downloader.download(url, destPath + "_ecar");
 									UnzipUtility unzipper = new UnzipUtility();
 									unzipper.unzip(ecarFile.getPath(), destPath + "_ecar");
 									File ecarFolder = new File(destPath + "_ecar" + File.separator + id);
@@ -414,7 +405,7 @@ public class ContentBundle {
 										// do nothing
 									}
 								} else {
-									File newFile = HttpDownloadUtility.downloadFile(url, destPath);
+									File newFile = downloader.download(url, destPath);
 									if (null != newFile)
 										files.add(newFile);
 								}
@@ -430,66 +421,16 @@ public class ContentBundle {
 				if (null != f && !f.isEmpty())
 					files.addAll(f);
 			}
-			pool.shutdown();
 		} catch (InterruptedException | ExecutionException | TimeoutException e ) {
 			e.printStackTrace();
 			throw new ServerException(ContentErrorCodeConstants.MANIFEST_FILE_WRITE.name(),
 					ContentErrorMessageConstants.MANIFEST_FILE_WRITE_ERROR + "Error while creating contentBundle", e);
+		} finally {
+			pool.shutdown();
 		}
 		return files;
 	}
 
-	/**
-	 * Creates the ECAR.
-	 *
-	 * @param files
-	 *            the files
-	 * @return the byte[]
-	 * @throws IOException
-	 *             Signals that an I/O exception has occurred.
-	 */
-	private byte[] createECAR(List<File> files) throws IOException {
-		// creating byteArray stream, make it bufforable and passing this buffor
-		// to ZipOutputStream
-		try (ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
-				BufferedOutputStream bufferedOutputStream = new BufferedOutputStream(byteArrayOutputStream);
-				ZipOutputStream zipOutputStream = new ZipOutputStream(bufferedOutputStream)) {
-			// packing files
-			for (File file : files) {
-				if (null != file) {
-					String fileName = null;
-					if (file.getName().toLowerCase().endsWith(ContentConfigurationConstants.CONTENT_BUNDLE_MANIFEST_FILE_NAME)
-							|| file.getName().equalsIgnoreCase(ContentConfigurationConstants.CONTENT_BUNDLE_HIERARCHY_FILE_NAME)) {
-						fileName = file.getName();
-					} else if (file.getParentFile().getName().toLowerCase().endsWith("screenshots")) {
-						fileName = file.getParent()
-								.substring(file.getParentFile().getParent().lastIndexOf(File.separator) + 1)
-								+ File.separator + file.getName();
-					} else {
-						fileName = file.getParent().substring(file.getParent().lastIndexOf(File.separator) + 1)
-								+ File.separator + file.getName();
-					}
-					// new zip entry and copying inputstream with file to
-					// zipOutputStream, after all closing streams
-					zipOutputStream.putNextEntry(new ZipEntry(fileName));
-					try (FileInputStream fileInputStream = new FileInputStream(file)) {
-						IOUtils.copy(fileInputStream, zipOutputStream);
-						zipOutputStream.closeEntry();
-					}
-				}
-			}
-
-			if (zipOutputStream != null) {
-				zipOutputStream.finish();
-				zipOutputStream.flush();
-				IOUtils.closeQuietly(zipOutputStream);
-			}
-			IOUtils.closeQuietly(bufferedOutputStream);
-			IOUtils.closeQuietly(byteArrayOutputStream);
-			return byteArrayOutputStream.toByteArray();
-		}
-	}
-
 	/**
 	 * Creates the directory if needed.
 	 *
@@ -539,9 +480,7 @@ public class ContentBundle {
 				return hierarchyFile;
 			}
 			String header = getHeaderForHierarchy("1.0", null);
-			String hierarchyJSON = mapper.writeValueAsString(hierarchyMap);
-			hierarchyJSON = header + hierarchyJSON + "}";
-			FileUtils.writeStringToFile(hierarchyFile, hierarchyJSON);
+			ContentBundleWriter.writeJSON(hierarchyFile, header, hierarchyMap, "}");
 			TelemetryManager.log("Hierarchy JSON Written for identifier : " +contentId);
 		} else {
 			TelemetryManager.log("Hierarchy JSON can't be created for identifier : " +contentId);
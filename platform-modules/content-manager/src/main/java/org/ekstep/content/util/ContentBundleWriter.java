@@ -0,0 +1,109 @@
+package org.ekstep.content.util;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.FilenameUtils;
+import org.codehaus.jackson.JsonEncoding;
+import org.codehaus.jackson.JsonGenerator;
+import org.codehaus.jackson.map.ObjectMapper;
+import org.ekstep.content.common.ContentConfigurationConstants;
+
+/**
+ * Writes the files of the ECAR bundles as streams, so that the memory used is
+ * the same however large the bundle is.
+ *
+ * The JSON files are written by a generator, and the files of the bundle are
+ * copied into the zip through a buffer of fixed size. The media which are
+ * compressed already are stored in the zip without being compressed again.
+ */
+public class ContentBundleWriter {
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	/** The extensions of the files which are stored without compression. */
+	private static final List<String> STORED_EXTENSIONS = Arrays.asList("mp4", "webm", "mp3", "png", "jpg", "jpeg",
+			"gif", "zip", "ecar");
+
+	private static ObjectMapper mapper = new ObjectMapper();
+
+	/**
+	 * Writes the value as JSON into the file, between the given header and
+	 * footer.
+	 */
+	public static void writeJSON(File file, String header, Object value, String footer) throws IOException {
+		try (JsonGenerator generator = mapper.getJsonFactory().createJsonGenerator(
+				new BufferedOutputStream(FileUtils.openOutputStream(file), BUFFER_SIZE), JsonEncoding.UTF8)) {
+			generator.writeRaw(header);
+			mapper.writeValue(generator, value);
+			generator.writeRaw(footer);
+		}
+	}
+
+	/**
+	 * Writes the files into the ECAR file, each file in the folder of its
+	 * content, except the manifest and the hierarchy at the root.
+	 */
+	public static void writeECAR(List<File> files, File ecarFile) throws IOException {
+		byte[] buffer = new byte[BUFFER_SIZE];
+		try (ZipOutputStream zipOutputStream = new ZipOutputStream(
+				new BufferedOutputStream(new FileOutputStream(ecarFile), BUFFER_SIZE))) {
+			for (File file : files) {
+				if (null == file)
+					continue;
+				ZipEntry entry = new ZipEntry(getEntryName(file));
+				if (isStored(file)) {
+					entry.setMethod(ZipEntry.STORED);
+					entry.setSize(file.length());
+					entry.setCompressedSize(file.length());
+					entry.setCrc(getCrc(file, buffer));
+				}
+				zipOutputStream.putNextEntry(entry);
+				try (InputStream in = new FileInputStream(file)) {
+					int bytesRead;
+					while ((bytesRead = in.read(buffer)) != -1)
+						zipOutputStream.write(buffer, 0, bytesRead);
+				}
+				zipOutputStream.closeEntry();
+			}
+		}
+	}
+
+	private static String getEntryName(File file) {
+		if (file.getName().toLowerCase().endsWith(ContentConfigurationConstants.CONTENT_BUNDLE_MANIFEST_FILE_NAME)
+				|| file.getName().equalsIgnoreCase(ContentConfigurationConstants.CONTENT_BUNDLE_HIERARCHY_FILE_NAME)) {
+			return file.getName();
+		} else if (file.getParentFile().getName().toLowerCase().endsWith("screenshots")) {
+			return file.getParent().substring(file.getParentFile().getParent().lastIndexOf(File.separator) + 1)
+					+ File.separator + file.getName();
+		} else {
+			return file.getParent().substring(file.getParent().lastIndexOf(File.separator) + 1) + File.separator
+					+ file.getName();
+		}
+	}
+
+	private static boolean isStored(File file) {
+		return STORED_EXTENSIONS.contains(FilenameUtils.getExtension(file.getName()).toLowerCase());
+	}
+
+	private static long getCrc(File file, byte[] buffer) throws IOException {
+		CRC32 crc = new CRC32();
+		try (InputStream in = new FileInputStream(file)) {
+			int bytesRead;
+			while ((bytesRead = in.read(buffer)) != -1)
+				crc.update(buffer, 0, bytesRead);
+		}
+		return crc.getValue();
+	}
+}
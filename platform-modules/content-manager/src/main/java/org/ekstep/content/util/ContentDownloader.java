@@ -0,0 +1,366 @@
+package org.ekstep.content.util;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.commons.lang3.StringUtils;
+import org.ekstep.common.Platform;
+import org.ekstep.common.Slug;
+import org.ekstep.telemetry.logger.TelemetryManager;
+
+/**
+ * Downloads the assets and artifacts of contents for the ECAR bundles, through
+ * a cache on the local disk.
+ *
+ * The downloaded files are kept in the cache by the hash of their content, and
+ * the URLs are mapped to the hash with the ETag and Last-Modified of the
+ * response. A cached URL is requested again with If-None-Match and
+ * If-Modified-Since, and is not downloaded again while the server replies 304.
+ * The files which are the same under many URLs are kept once. The files least
+ * recently used are removed when the cache is larger than its maximum size.
+ *
+ * The number of downloads from a host at a time is limited, and failed
+ * downloads are tried again after a delay which doubles with every attempt.
+ */
+public class ContentDownloader {
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+	private static final int LOCK_STRIPES = 64;
+	private static final String OBJECTS_DIR = "objects";
+	private static final String URLS_DIR = "urls";
+	private static final String TEMP_DIR = "tmp";
+
+	private static final String ETAG = "etag";
+	private static final String LAST_MODIFIED = "lastModified";
+	private static final String HASH = "hash";
+	private static final String FILE_NAME = "fileName";
+
+	private final File objectsDir;
+	private final File urlsDir;
+	private final File tempDir;
+	private final long maxSize;
+	private final int hostConcurrency;
+	private final int maxRetries;
+	private final long backoff;
+	private final int timeout;
+
+	private final ConcurrentHashMap<String, Semaphore> hostPermits = new ConcurrentHashMap<String, Semaphore>();
+	private final ReentrantLock[] urlLocks = new ReentrantLock[LOCK_STRIPES];
+	private final AtomicLong size = new AtomicLong();
+
+	public ContentDownloader() {
+		this(Platform.config.hasPath("content.bundle.download.cache.dir")
+						? Platform.config.getString("content.bundle.download.cache.dir") : "/tmp/ecar_download_cache",
+				(Platform.config.hasPath("content.bundle.download.cache.max_size_mb")
+						? Platform.config.getLong("content.bundle.download.cache.max_size_mb") : 5120) * 1024 * 1024,
+				Platform.config.hasPath("content.bundle.download.host_concurrency")
+						? Platform.config.getInt("content.bundle.download.host_concurrency") : 4,
+				Platform.config.hasPath("content.bundle.download.retries")
+						? Platform.config.getInt("content.bundle.download.retries") : 3,
+				Platform.config.hasPath("content.bundle.download.backoff_ms")
+						? Platform.config.getLong("content.bundle.download.backoff_ms") : 500,
+				Platform.config.hasPath("content.bundle.download.timeout_ms")
+						? Platform.config.getInt("content.bundle.download.timeout_ms") : 60000);
+	}
+
+	/**
+	 * @param cacheDir
+	 *            the directory of the cache
+	 * @param maxSize
+	 *            the maximum size of the cached files, in bytes
+	 * @param hostConcurrency
+	 *            the maximum number of downloads from a host at a time
+	 * @param maxRetries
+	 *            the number of times a failed download is tried again
+	 * @param backoff
+	 *            the delay before the first retry, in milliseconds
+	 * @param timeout
+	 *            the connect and read timeout, in milliseconds
+	 */
+	public ContentDownloader(String cacheDir, long maxSize, int hostConcurrency, int maxRetries, long backoff,
+			int timeout) {
+		this.objectsDir = new File(cacheDir, OBJECTS_DIR);
+		this.urlsDir = new File(cacheDir, URLS_DIR);
+		this.tempDir = new File(cacheDir, TEMP_DIR);
+		this.maxSize = maxSize;
+		this.hostConcurrency = hostConcurrency;
+		this.maxRetries = maxRetries;
+		this.backoff = backoff;
+		this.timeout = timeout;
+		for (int i = 0; i < LOCK_STRIPES; i++)
+			urlLocks[i] = new ReentrantLock();
+		objectsDir.mkdirs();
+		urlsDir.mkdirs();
+		tempDir.mkdirs();
+		File[] objects = objectsDir.listFiles();
+		if (null != objects) {
+			for (File object : objects)
+				size.addAndGet(object.length());
+		}
+	}
+
+	/**
+	 * Downloads the file at the URL into the directory, from the cache when it
+	 * has not changed. The file is named as by
+	 * {@link org.ekstep.common.util.HttpDownloadUtility#downloadFile(String, String)}.
+	 *
+	 * @return the file, or null if it could not be downloaded
+	 */
+	public File download(String fileUrl, String saveDir) {
+		ReentrantLock lock = urlLocks[(fileUrl.hashCode() & Integer.MAX_VALUE) % LOCK_STRIPES];
+		lock.lock();
+		try {
+			Properties entry = getEntry(fileUrl);
+			for (int attempt = 0;; attempt++) {
+				try {
+					Properties fetched = fetch(fileUrl, entry);
+					if (null == fetched)
+						return null;
+					return copy(fetched, saveDir);
+				} catch (NoSuchFileException e) {
+					// the cached file was removed, download it again.
+					if (attempt >= maxRetries) {
+						TelemetryManager.error("Error! While Downloading File: " + fileUrl
+								+ ", the cached file was removed after " + (attempt + 1) + " attempts.", e);
+						return null;
+					}
+					entry = null;
+				} catch (FileNotFoundException e) {
+					TelemetryManager.log("No file to download at: " + fileUrl);
+					return null;
+				} catch (IOException e) {
+					if (attempt >= maxRetries) {
+						TelemetryManager.error("Error! While Downloading File: " + fileUrl + " after " + (attempt + 1)
+								+ " attempts: " + e.getMessage(), e);
+						return null;
+					}
+					TelemetryManager.warn("Download of " + fileUrl + " failed, retrying: " + e.getMessage());
+					Thread.sleep(backoff << attempt);
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return null;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns the cache entry of the URL after checking it with the server,
+	 * downloading the file if it has changed, or null if the server has no file
+	 * at the URL.
+	 */
+	private Properties fetch(String fileUrl, Properties entry) throws IOException {
+		Semaphore permits = hostPermits.computeIfAbsent(StringUtils.defaultString(new URL(fileUrl).getHost()),
+				host -> new Semaphore(hostConcurrency));
+		permits.acquireUninterruptibly();
+		URLConnection connection = null;
+		try {
+			connection = new URL(fileUrl).openConnection();
+			connection.setConnectTimeout(timeout);
+			connection.setReadTimeout(timeout);
+			if (connection instanceof HttpURLConnection) {
+				HttpURLConnection httpConn = (HttpURLConnection) connection;
+				if (null != entry && getObject(entry).exists()) {
+					if (StringUtils.isNotBlank(entry.getProperty(ETAG)))
+						httpConn.setRequestProperty("If-None-Match", entry.getProperty(ETAG));
+					if (StringUtils.isNotBlank(entry.getProperty(LAST_MODIFIED)))
+						httpConn.setRequestProperty("If-Modified-Since", entry.getProperty(LAST_MODIFIED));
+				}
+				int responseCode = httpConn.getResponseCode();
+				if (responseCode == HttpURLConnection.HTTP_NOT_MODIFIED && null != entry) {
+					TelemetryManager.log("File not modified, using the cached file for: " + fileUrl);
+					return entry;
+				}
+				if (responseCode >= 500 || responseCode == 429)
+					throw new IOException("Server replied HTTP code: " + responseCode);
+				if (responseCode != HttpURLConnection.HTTP_OK) {
+					TelemetryManager.log("No file to download. Server replied HTTP code: " + responseCode);
+					return null;
+				}
+			}
+			return store(fileUrl, connection);
+		} finally {
+			if (connection instanceof HttpURLConnection)
+				((HttpURLConnection) connection).disconnect();
+			permits.release();
+		}
+	}
+
+	/**
+	 * Saves the response into the cache by the hash of its content, and maps
+	 * the URL to it.
+	 */
+	private Properties store(String fileUrl, URLConnection connection) throws IOException {
+		File temp = new File(tempDir, UUID.randomUUID().toString());
+		MessageDigest digest = getDigest();
+		try {
+			try (InputStream in = new DigestInputStream(connection.getInputStream(), digest);
+					OutputStream out = new FileOutputStream(temp)) {
+				byte[] buffer = new byte[BUFFER_SIZE];
+				int bytesRead;
+				while ((bytesRead = in.read(buffer)) != -1)
+					out.write(buffer, 0, bytesRead);
+			}
+			Properties entry = new Properties();
+			entry.setProperty(HASH, toHex(digest.digest()));
+			entry.setProperty(FILE_NAME, getFileName(fileUrl, connection.getHeaderField("Content-Disposition")));
+			if (null != connection.getHeaderField("ETag"))
+				entry.setProperty(ETAG, connection.getHeaderField("ETag"));
+			if (null != connection.getHeaderField("Last-Modified"))
+				entry.setProperty(LAST_MODIFIED, connection.getHeaderField("Last-Modified"));
+			File object = getObject(entry);
+			if (!object.exists()) {
+				long length = temp.length();
+				try {
+					Files.move(temp.toPath(), object.toPath(), StandardCopyOption.ATOMIC_MOVE);
+					size.addAndGet(length);
+				} catch (FileAlreadyExistsException e) {
+					// the same file was downloaded from another URL.
+				}
+			}
+			saveEntry(fileUrl, entry);
+			evict(object);
+			return entry;
+		} finally {
+			temp.delete();
+		}
+	}
+
+	/**
+	 * Links or copies the cached file into the directory, and marks it as
+	 * recently used.
+	 */
+	private File copy(Properties entry, String saveDir) throws IOException {
+		File object = getObject(entry);
+		File dir = new File(saveDir);
+		if (!dir.exists())
+			dir.mkdirs();
+		File file = new File(dir, entry.getProperty(FILE_NAME));
+		Files.deleteIfExists(file.toPath());
+		try {
+			Files.createLink(file.toPath(), object.toPath());
+		} catch (NoSuchFileException e) {
+			throw e;
+		} catch (UnsupportedOperationException | IOException e) {
+			// the cache is on another file system.
+			Files.copy(object.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+		object.setLastModified(System.currentTimeMillis());
+		return Slug.createSlugFile(file);
+	}
+
+	/**
+	 * Removes the files least recently used until the cache is within its
+	 * maximum size, except the given file, which is about to be used. A file
+	 * which is removed while in use is downloaded again.
+	 */
+	private synchronized void evict(File keep) {
+		if (size.get() <= maxSize)
+			return;
+		File[] objects = objectsDir.listFiles();
+		if (null == objects)
+			return;
+		List<File> files = new ArrayList<File>(Arrays.asList(objects));
+		files.sort(Comparator.comparingLong(File::lastModified));
+		for (File object : files) {
+			if (size.get() <= maxSize)
+				break;
+			if (object.equals(keep))
+				continue;
+			long length = object.length();
+			if (object.delete())
+				size.addAndGet(-length);
+		}
+		TelemetryManager.log("Download cache evicted to " + size.get() + " bytes.");
+	}
+
+	long getSize() {
+		return size.get();
+	}
+
+	private Properties getEntry(String fileUrl) {
+		File file = new File(urlsDir, hash(fileUrl));
+		if (!file.exists())
+			return null;
+		Properties entry = new Properties();
+		try (InputStream in = new FileInputStream(file)) {
+			entry.load(in);
+			return entry;
+		} catch (IOException e) {
+			TelemetryManager.warn("Unable to read the download cache entry of " + fileUrl + ": " + e.getMessage());
+			return null;
+		}
+	}
+
+	private void saveEntry(String fileUrl, Properties entry) throws IOException {
+		File temp = new File(tempDir, UUID.randomUUID().toString());
+		try (OutputStream out = new FileOutputStream(temp)) {
+			entry.store(out, fileUrl);
+		}
+		Files.move(temp.toPath(), new File(urlsDir, hash(fileUrl)).toPath(), StandardCopyOption.REPLACE_EXISTING,
+				StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	private File getObject(Properties entry) {
+		return new File(objectsDir, entry.getProperty(HASH));
+	}
+
+	private String getFileName(String fileUrl, String disposition) {
+		if (StringUtils.isNotBlank(disposition)) {
+			int index = disposition.indexOf("filename=");
+			if (index > 0) {
+				String fileName = disposition.substring(index + 10, disposition.indexOf("\"", index + 10));
+				if (StringUtils.isNotBlank(fileName))
+					return fileName;
+			}
+		}
+		return fileUrl.substring(fileUrl.lastIndexOf("/") + 1);
+	}
+
+	private static String hash(String value) {
+		return toHex(getDigest().digest(value.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	private static MessageDigest getDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static String toHex(byte[] bytes) {
+		StringBuilder sb = new StringBuilder(bytes.length * 2);
+		for (byte b : bytes)
+			sb.append(String.format("%02x", b));
+		return sb.toString();
+	}
+}
@@ -0,0 +1,103 @@
+package org.ekstep.content.util;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.codehaus.jackson.map.ObjectMapper;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ContentBundleWriterTest {
+
+	private File tempDir;
+
+	@Before
+	public void setUp() throws Exception {
+		tempDir = Files.createTempDirectory("content_bundle_writer_test").toFile();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		FileUtils.deleteDirectory(tempDir);
+	}
+
+	@Test
+	public void testWriteJSON() throws Exception {
+		List<Map<String, Object>> contents = new ArrayList<Map<String, Object>>();
+		for (int i = 0; i < 3; i++) {
+			Map<String, Object> content = new LinkedHashMap<String, Object>();
+			content.put("identifier", "do_" + i);
+			content.put("name", "Content \u0915 " + i);
+			content.put("variants", new HashMap<String, Object>());
+			contents.add(content);
+		}
+		File manifest = new File(tempDir, "manifest.json");
+		ContentBundleWriter.writeJSON(manifest, "{ \"id\": \"ekstep.content.archive\", \"archive\": { \"items\": ",
+				contents, "}}");
+		Map<String, Object> json = new ObjectMapper().readValue(manifest, Map.class);
+		Assert.assertEquals("ekstep.content.archive", json.get("id"));
+		Assert.assertEquals(contents, ((Map<String, Object>) json.get("archive")).get("items"));
+	}
+
+	@Test
+	public void testWriteECAR() throws Exception {
+		File manifest = createFile("manifest.json", "{}".getBytes());
+		File artifact = createFile("do_1/do_1.zip", createData(1000));
+		File video = createFile("do_2/video.MP4", createData(1000));
+		File text = createFile("do_2/notes.txt", new byte[1000]);
+		File screenshot = createFile("do_3/screenshots/shot.png", createData(100));
+		File ecar = new File(tempDir, "bundle.ecar");
+		ContentBundleWriter.writeECAR(Arrays.asList(manifest, artifact, null, video, text, screenshot), ecar);
+
+		try (ZipFile zip = new ZipFile(ecar)) {
+			Assert.assertEquals(5, zip.size());
+			assertEntry(zip, "manifest.json", manifest, ZipEntry.DEFLATED);
+			assertEntry(zip, "do_1/do_1.zip", artifact, ZipEntry.STORED);
+			assertEntry(zip, "do_2/video.MP4", video, ZipEntry.STORED);
+			assertEntry(zip, "do_2/notes.txt", text, ZipEntry.DEFLATED);
+			assertEntry(zip, "do_3/screenshots/shot.png", screenshot, ZipEntry.STORED);
+			Assert.assertTrue(zip.getEntry("do_2/notes.txt").getCompressedSize() < 100);
+		}
+	}
+
+	private void assertEntry(ZipFile zip, String name, File file, int method) throws Exception {
+		ZipEntry entry = zip.getEntry(name);
+		Assert.assertNotNull(entry);
+		Assert.assertEquals(method, entry.getMethod());
+		try (InputStream in = zip.getInputStream(entry)) {
+			Assert.assertTrue(Arrays.equals(FileUtils.readFileToByteArray(file), IOUtils.toByteArray(in)));
+		}
+	}
+
+	private File createFile(String path, byte[] data) throws Exception {
+		File file = new File(tempDir, "bundle/" + path);
+		file.getParentFile().mkdirs();
+		try (OutputStream out = new FileOutputStream(file)) {
+			out.write(data);
+		}
+		return file;
+	}
+
+	// random data, as compressed media are.
+	private byte[] createData(int size) {
+		byte[] data = new byte[size];
+		new Random(size).nextBytes(data);
+		return data;
+	}
+}
@@ -0,0 +1,228 @@
+package org.ekstep.content.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Downloads files from an HTTP server embedded in the test, and from file
+ * URLs, through a cache in a temporary directory.
+ */
+public class ContentDownloaderTest {
+
+	private HttpServer server;
+	private ExecutorService serverPool;
+	private String baseUrl;
+	private File tempDir;
+
+	private final Map<String, String> files = new ConcurrentHashMap<String, String>();
+	private final Map<String, AtomicInteger> failures = new ConcurrentHashMap<String, AtomicInteger>();
+	private final AtomicInteger requests = new AtomicInteger();
+	private final AtomicInteger downloads = new AtomicInteger();
+	private final AtomicInteger active = new AtomicInteger();
+	private final AtomicInteger maxActive = new AtomicInteger();
+	private volatile long delay = 0;
+
+	@Before
+	public void setUp() throws Exception {
+		tempDir = Files.createTempDirectory("content_downloader_test").toFile();
+		serverPool = Executors.newFixedThreadPool(16);
+		server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.createContext("/", this::handle);
+		server.setExecutor(serverPool);
+		server.start();
+		baseUrl = "http://localhost:" + server.getAddress().getPort();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		server.stop(0);
+		serverPool.shutdownNow();
+		FileUtils.deleteDirectory(tempDir);
+	}
+
+	@Test
+	public void testConditionalDownload() throws Exception {
+		files.put("/assets/file.pdf", "first version");
+		ContentDownloader downloader = createDownloader(1024 * 1024, 4);
+		String url = baseUrl + "/assets/file.pdf";
+
+		File file = downloader.download(url, tempDir + "/do_1");
+		Assert.assertEquals("file.pdf", file.getName());
+		Assert.assertEquals("first version", FileUtils.readFileToString(file));
+		file = downloader.download(url, tempDir + "/do_2");
+		Assert.assertEquals("first version", FileUtils.readFileToString(file));
+		Assert.assertEquals(2, requests.get());
+		Assert.assertEquals(1, downloads.get());
+
+		files.put("/assets/file.pdf", "second version");
+		file = downloader.download(url, tempDir + "/do_3");
+		Assert.assertEquals("second version", FileUtils.readFileToString(file));
+		Assert.assertEquals(2, downloads.get());
+		// the file linked from the cache before is not changed.
+		Assert.assertEquals("first version", FileUtils.readFileToString(new File(tempDir + "/do_1/file.pdf")));
+	}
+
+	@Test
+	public void testCacheIsShared() throws Exception {
+		files.put("/a.png", "image");
+		files.put("/b.png", "image");
+		ContentDownloader downloader = createDownloader(1024 * 1024, 4);
+		downloader.download(baseUrl + "/a.png", tempDir + "/do_1");
+		downloader.download(baseUrl + "/b.png", tempDir + "/do_1");
+		Assert.assertEquals("image".length(), downloader.getSize());
+
+		// a new downloader on the same directory uses the cached files.
+		downloader = createDownloader(1024 * 1024, 4);
+		Assert.assertEquals("image".length(), downloader.getSize());
+		Assert.assertNotNull(downloader.download(baseUrl + "/a.png", tempDir + "/do_2"));
+		Assert.assertEquals(2, downloads.get());
+		Assert.assertEquals(3, requests.get());
+	}
+
+	@Test
+	public void testRetry() throws Exception {
+		files.put("/flaky.mp4", "video");
+		failures.put("/flaky.mp4", new AtomicInteger(2));
+		ContentDownloader downloader = createDownloader(1024 * 1024, 4);
+		File file = downloader.download(baseUrl + "/flaky.mp4", tempDir + "/do_1");
+		Assert.assertEquals("video", FileUtils.readFileToString(file));
+		Assert.assertEquals(3, requests.get());
+
+		failures.put("/flaky.mp4", new AtomicInteger(10));
+		files.put("/flaky.mp4", "changed");
+		Assert.assertNull(downloader.download(baseUrl + "/flaky.mp4", tempDir + "/do_2"));
+		Assert.assertEquals(7, requests.get());
+	}
+
+	@Test
+	public void testNotFound() throws Exception {
+		ContentDownloader downloader = createDownloader(1024 * 1024, 4);
+		Assert.assertNull(downloader.download(baseUrl + "/missing.pdf", tempDir + "/do_1"));
+		Assert.assertEquals(1, requests.get());
+	}
+
+	@Test
+	public void testFileUrl() throws Exception {
+		File source = new File(tempDir, "source/test.txt");
+		FileUtils.writeStringToFile(source, "local file");
+		ContentDownloader downloader = createDownloader(1024 * 1024, 4);
+		File file = downloader.download(source.toURI().toString(), tempDir + "/do_1");
+		Assert.assertEquals("local file", FileUtils.readFileToString(file));
+		Assert.assertNull(downloader.download(new File(tempDir, "source/missing.txt").toURI().toString(),
+				tempDir + "/do_2"));
+	}
+
+	@Test
+	public void testEviction() throws Exception {
+		ContentDownloader downloader = createDownloader(250, 4);
+		for (int i = 0; i < 3; i++) {
+			files.put("/file" + i + ".pdf", repeat((char) ('a' + i), 100));
+			Assert.assertNotNull(downloader.download(baseUrl + "/file" + i + ".pdf", tempDir + "/do_" + i));
+			Thread.sleep(50);
+		}
+		Assert.assertEquals(200, downloader.getSize());
+		// the evicted file is downloaded again.
+		File file = downloader.download(baseUrl + "/file0.pdf", tempDir + "/do_3");
+		Assert.assertEquals(repeat('a', 100), FileUtils.readFileToString(file));
+		Assert.assertEquals(4, downloads.get());
+	}
+
+	@Test
+	public void testFileLargerThanCache() throws Exception {
+		files.put("/large.pdf", repeat('a', 100));
+		ContentDownloader downloader = createDownloader(50, 4);
+		File file = downloader.download(baseUrl + "/large.pdf", tempDir + "/do_1");
+		Assert.assertEquals(repeat('a', 100), FileUtils.readFileToString(file));
+		Assert.assertEquals(1, requests.get());
+	}
+
+	@Test
+	public void testHostConcurrency() throws Exception {
+		delay = 50;
+		ContentDownloader downloader = createDownloader(1024 * 1024, 2);
+		ExecutorService pool = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<File>> results = new ArrayList<Future<File>>();
+			for (int i = 0; i < 16; i++) {
+				files.put("/file" + i + ".pdf", "file " + i);
+				final String url = baseUrl + "/file" + i + ".pdf";
+				final String dir = tempDir + "/do_" + i;
+				results.add(pool.submit(() -> downloader.download(url, dir)));
+			}
+			for (Future<File> result : results)
+				Assert.assertNotNull(result.get());
+		} finally {
+			pool.shutdown();
+		}
+		Assert.assertEquals(16, downloads.get());
+		Assert.assertTrue(maxActive.get() <= 2);
+	}
+
+	private ContentDownloader createDownloader(long maxSize, int hostConcurrency) {
+		return new ContentDownloader(tempDir + "/cache", maxSize, hostConcurrency, 3, 1, 10000);
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		requests.incrementAndGet();
+		int current = active.incrementAndGet();
+		maxActive.accumulateAndGet(current, Math::max);
+		try {
+			if (delay > 0)
+				Thread.sleep(delay);
+			String path = exchange.getRequestURI().getPath();
+			AtomicInteger failure = failures.get(path);
+			String content = files.get(path);
+			if (null != failure && failure.getAndDecrement() > 0) {
+				exchange.sendResponseHeaders(503, -1);
+			} else if (null == content) {
+				exchange.sendResponseHeaders(404, -1);
+			} else {
+				String etag = "\"" + Integer.toHexString(content.hashCode()) + "\"";
+				exchange.getResponseHeaders().add("ETag", etag);
+				if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+					exchange.sendResponseHeaders(304, -1);
+				} else {
+					downloads.incrementAndGet();
+					byte[] body = content.getBytes(StandardCharsets.UTF_8);
+					exchange.sendResponseHeaders(200, body.length);
+					try (OutputStream out = exchange.getResponseBody()) {
+						out.write(body);
+					}
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			active.decrementAndGet();
+			exchange.close();
+		}
+	}
+
+	private String repeat(char c, int count) {
+		StringBuilder sb = new StringBuilder(count);
+		for (int i = 0; i < count; i++)
+			sb.append(c);
+		return sb.toString();
+	}
+}
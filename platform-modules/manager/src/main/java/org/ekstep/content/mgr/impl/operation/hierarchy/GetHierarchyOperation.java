@@ -1,6 +1,5 @@
 package org.ekstep.content.mgr.impl.operation.hierarchy;
 
-import com.fasterxml.jackson.core.type.TypeReference;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.collections.MapUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -11,12 +10,14 @@ import org.ekstep.common.exception.ResourceNotFoundException;
 import org.ekstep.common.exception.ServerException;
 import org.ekstep.common.mgr.ConvertGraphNode;
 import org.ekstep.common.router.RequestRouterPool;
-import org.ekstep.graph.cache.util.RedisStoreUtil;
+import org.ekstep.common.util.HierarchyCache;
+import org.ekstep.common.util.HierarchyCache.CachedHierarchy;
 import org.ekstep.graph.dac.model.Node;
 import org.ekstep.graph.model.node.DefinitionDTO;
 import org.ekstep.kafka.KafkaClient;
 import org.ekstep.learning.common.enums.ContentAPIParams;
 import org.ekstep.learning.common.enums.ContentErrorCodes;
+import org.ekstep.learning.hierarchy.store.HierarchyStore;
 import org.ekstep.searchindex.dto.SearchDTO;
 import org.ekstep.searchindex.elasticsearch.ElasticSearchUtil;
 import org.ekstep.searchindex.processor.SearchProcessor;
@@ -38,6 +39,7 @@ import java.util.stream.Collectors;
 public class GetHierarchyOperation extends BaseContentManager {
 
     private SearchProcessor processor = new SearchProcessor();
+    private HierarchyStore hierarchyStore = new HierarchyStore();
 
     private static final String IMAGE_SUFFIX = ".img";
 
@@ -84,6 +86,11 @@ public class GetHierarchyOperation extends BaseContentManager {
             if(StringUtils.equalsIgnoreCase("Retired", (String) rootNode.getMetadata().get("status")))
                 throw new ResourceNotFoundException(ContentErrorCodes.ERR_CONTENT_NOT_FOUND.name(), "Content not found with id: " + rootId);
 
+            Map<String, Object> unit = getUnitHierarchy(rootId + IMAGE_SUFFIX, bookmarkId);
+            if (MapUtils.isNotEmpty(unit)) {
+                util.hierarchyCleanUp(unit);
+                return OK("content", unit);
+            }
             Response hierarchyResponse = getCollectionHierarchy(rootId + IMAGE_SUFFIX);
             DefinitionDTO definition = getDefinition(TAXONOMY_ID, rootNode.getObjectType());
             Map<String, Object> dataMap = ConvertGraphNode.convertGraphNode(rootNode, TAXONOMY_ID, definition, fields);
@@ -133,6 +140,12 @@ public class GetHierarchyOperation extends BaseContentManager {
                 bookmarkId = rootId;
                 rootId = searchRootId(bookmarkId);
                 if(StringUtils.isNotBlank(rootId)) {
+                    Map<String, Object> unit = getUnitHierarchy(rootId + IMAGE_SUFFIX, bookmarkId);
+                    if (MapUtils.isNotEmpty(unit)) {
+                        generateMigrationInstructionEvent(rootId);
+                        util.hierarchyCleanUp(unit);
+                        return OK("content", unit);
+                    }
                     Response hierarchyResponse = getCollectionHierarchy(rootId + IMAGE_SUFFIX);
                     if(checkError(hierarchyResponse)){
                         return hierarchyResponse;
@@ -166,40 +179,48 @@ public class GetHierarchyOperation extends BaseContentManager {
     private Response getPublishedHierarchy(String rootId, String bookmarkId) {
         Response response = getSuccessResponse();
         Map<String, Object> rootHierarchy = null;
-        String cacheKey = COLLECTION_CACHE_KEY_PREFIX + rootId;
-        String hierarchy = "";
-        if(CONTENT_CACHE_ENABLED)
-            hierarchy =  RedisStoreUtil.get(cacheKey);
-
-        if (StringUtils.isNotBlank(hierarchy)) {
+        CachedHierarchy cachedHierarchy = null;
+        if(CONTENT_CACHE_ENABLED) {
             try {
-                rootHierarchy = objectMapper.readValue(hierarchy, new TypeReference<Map<String, Object>>() {
-                });
+                cachedHierarchy = HierarchyCache.get(rootId);
             } catch (Exception e) {
                 TelemetryManager.error("Error Occurred While Parsing Hierarchy for Content Id : " + rootId + " | Error is: ", e);
                 throw new ServerException("ERR_CONTENT_HIERARCHY_PARSE", "Something Went Wrong While Processing the Content. ", e);
             }
-            response.getResult().put("content", rootHierarchy);
-            return getHierarchyResponse(rootHierarchy, bookmarkId);
+        }
+
+        if (null != cachedHierarchy) {
+            return getHierarchyResponse(cachedHierarchy, bookmarkId);
         } else {
+            // the whole hierarchy is read only to be cached.
+            if (!CONTENT_CACHE_ENABLED) {
+                Map<String, Object> unit = getUnitHierarchy(rootId, bookmarkId);
+                if (MapUtils.isNotEmpty(unit))
+                    return OK("content", unit);
+            }
             response = getCollectionHierarchy(rootId);
             if (!checkError(response)) {
                 rootHierarchy = (Map<String, Object>) response.getResult().get("hierarchy");
                 if (CONTENT_CACHE_ENABLED && MapUtils.isNotEmpty(rootHierarchy))
-                    RedisStoreUtil.saveData(cacheKey, rootHierarchy, CONTENT_CACHE_TTL);
+                    HierarchyCache.save(rootId, rootHierarchy, CONTENT_CACHE_TTL);
                 return getHierarchyResponse(rootHierarchy, bookmarkId);
             } else {
                 if (StringUtils.isBlank(bookmarkId)) {
                     bookmarkId = rootId;
                     rootId = searchRootId(bookmarkId);
                     if (StringUtils.isNotBlank(rootId)) {
+                        if (!CONTENT_CACHE_ENABLED) {
+                            Map<String, Object> unit = getUnitHierarchy(rootId, bookmarkId);
+                            if (MapUtils.isNotEmpty(unit))
+                                return OK("content", unit);
+                        }
                         response = getCollectionHierarchy(rootId);
                         rootHierarchy = (Map<String, Object>) response.getResult().get("hierarchy");
                         if (CONTENT_CACHE_ENABLED && MapUtils.isNotEmpty(rootHierarchy)){
                             List<Map<String, Object>> rootChildren = (List<Map<String, Object>>) rootHierarchy.get("children");
                             Map<String, Object> bookmarkHierarchy = filterBookmark(rootChildren, bookmarkId);
                             if(MapUtils.isNotEmpty(bookmarkHierarchy))
-                                RedisStoreUtil.saveData(cacheKey, bookmarkHierarchy, CONTENT_CACHE_TTL);
+                                HierarchyCache.save(bookmarkId, bookmarkHierarchy, CONTENT_CACHE_TTL);
                         }
                         return getHierarchyResponse(rootHierarchy, bookmarkId);
                     } else {
@@ -271,6 +292,34 @@ public class GetHierarchyOperation extends BaseContentManager {
         }
     }
 
+    private Response getHierarchyResponse(CachedHierarchy cachedHierarchy, String bookmarkId) {
+        if (StringUtils.isBlank(bookmarkId)) {
+            return OK("content", cachedHierarchy.getHierarchy());
+        } else {
+            Map<String, Object> hierarchy = cachedHierarchy.getUnit(bookmarkId);
+            if (MapUtils.isNotEmpty(hierarchy)) {
+                return OK("content", hierarchy);
+            } else {
+                throw new ResourceNotFoundException(ContentErrorCodes.ERR_CONTENT_NOT_FOUND.name(), "Content not found with id: " + bookmarkId);
+            }
+        }
+    }
+
+    /**
+     * Reads the hierarchy of the bookmarked unit alone from the hierarchy store.
+     * Returns null if there is no bookmark, or if the unit is not found, in
+     * which case the whole hierarchy is read as before.
+     *
+     * @param rootId
+     * @param bookmarkId
+     * @return
+     */
+    private Map<String, Object> getUnitHierarchy(String rootId, String bookmarkId) {
+        if (StringUtils.isBlank(bookmarkId))
+            return null;
+        return hierarchyStore.getUnitHierarchy(rootId, bookmarkId);
+    }
+
     /**
      * Filter and return bookMark Hierarchy
      *
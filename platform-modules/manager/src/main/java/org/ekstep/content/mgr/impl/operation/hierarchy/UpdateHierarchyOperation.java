@@ -23,10 +23,12 @@ import org.ekstep.graph.model.node.RelationDefinition;
 import org.ekstep.learning.common.enums.ContentAPIParams;
 import org.ekstep.learning.common.enums.ContentErrorCodes;
 import org.ekstep.learning.hierarchy.store.HierarchyStore;
+import org.ekstep.learning.util.HierarchyBuilder;
 import org.ekstep.taxonomy.mgr.impl.BaseContentManager;
 import org.ekstep.telemetry.logger.TelemetryManager;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -67,11 +69,12 @@ public class UpdateHierarchyOperation extends BaseContentManager {
             hierarchyData, Map<String, Object> hierarchyResponse, Map<String, String> idMap) {
         DefinitionDTO definition = getDefinition(TAXONOMY_ID, CONTENT_OBJECT_TYPE);
         List<Node> nodeList = getNodeMapFromHierarchy(hierarchyResponse, definition, rootId);
+        Map<String, Node> nodeMap = getNodeIndex(nodeList);
         Map<String, RelationDefinition> inRelDefMap = new HashMap<>();
         Map<String, RelationDefinition> outRelDefMap = new HashMap<>();
         getRelationDefMaps(definition, inRelDefMap, outRelDefMap);
-        updateNodesModified(nodesModified, idMap, nodeList, definition, inRelDefMap, outRelDefMap, rootId);
-        List<Map<String, Object>> children = prepareHierarchy(nodeList, rootId, hierarchyData,
+        updateNodesModified(nodesModified, idMap, nodeList, nodeMap, definition, inRelDefMap, outRelDefMap, rootId);
+        List<Map<String, Object>> children = prepareHierarchy(nodeList, nodeMap, rootId, hierarchyData,
                 definition, idMap);
 
         Map<String, Object> data = new HashMap<String, Object>() {{
@@ -80,7 +83,7 @@ public class UpdateHierarchyOperation extends BaseContentManager {
         }};
 
         //Adding to remove outrelation while updating node in update hierarchy
-        Node node = getTempNode(nodeList, rootId);
+        Node node = getTempNode(nodeMap, rootId);
         node.setOutRelations(null);
         Response rootNodeResponse = updateDataNode(node);
         if(checkError(rootNodeResponse)) {
@@ -94,7 +97,7 @@ public class UpdateHierarchyOperation extends BaseContentManager {
         return response;
     }
 
-    private List<Map<String,Object>> prepareHierarchy(List<Node> nodeList, String rootId, Map<String, Object> hierarchyData, DefinitionDTO definition, Map<String, String> idMap) {
+    private List<Map<String,Object>> prepareHierarchy(List<Node> nodeList, Map<String, Node> nodeMap, String rootId, Map<String, Object> hierarchyData, DefinitionDTO definition, Map<String, String> idMap) {
         List<Map<String,Object>> contentList = new ArrayList<>();
         if(MapUtils.isNotEmpty(hierarchyData)) {
             Map<String, List<String>> childIdMap = hierarchyData.keySet().stream().collect(Collectors.toMap((key)
@@ -104,23 +107,23 @@ public class UpdateHierarchyOperation extends BaseContentManager {
 
             Set<String> childNodes = new HashSet<>();
             List<Node> updatedNodeList = new ArrayList<Node>() {{
-                add(getTempNode(nodeList, rootId));
+                add(getTempNode(nodeMap, rootId));
             }};
-            updateNodeList(updatedNodeList, rootId, new HashMap<String, Object>(){{
+            updateNodeList(nodeMap, rootId, new HashMap<String, Object>(){{
                 put(ContentAPIParams.depth.name(), 0);
             }});
-            updateDepthIndexParent(childIdMap.get(rootId), 1, rootId, nodeList, childIdMap, childNodes, updatedNodeList);
-            updateNodeList(nodeList, rootId, new HashMap<String, Object>(){{
+            updateDepthIndexParent(rootId, nodeMap, childIdMap, childNodes, updatedNodeList);
+            updateNodeList(nodeMap, rootId, new HashMap<String, Object>(){{
                 put(ContentAPIParams.childNodes.name(), new ArrayList<String>(childNodes));
                 put(ContentAPIParams.depth.name(), 0);
             }});
             contentList = getContentList(updatedNodeList, definition);
         } else {
-            updateNodeList(nodeList, rootId, new HashMap<String, Object>(){{ put(ContentAPIParams.depth.name(), 0);}});
+            updateNodeList(nodeMap, rootId, new HashMap<String, Object>(){{ put(ContentAPIParams.depth.name(), 0);}});
             contentList = getContentList(nodeList, definition);
         }
         List<Map<String,Object>> filteredContentList = contentList.stream().filter(content -> (null != content.get("depth"))).collect(toList());
-        Map<String, Object> collectionHierarchy = util.constructHierarchy(filteredContentList);
+        Map<String, Object> collectionHierarchy = HierarchyBuilder.build(filteredContentList);
         util.hierarchyCleanUp(collectionHierarchy);
         return (List<Map<String, Object>>) collectionHierarchy.get(ContentAPIParams.children.name());
     }
@@ -142,47 +145,80 @@ public class UpdateHierarchyOperation extends BaseContentManager {
        }).collect(toList());
     }
 
-    private void updateDepthIndexParent(List<String> childrenIds, int depth, String parent, List<Node> nodeList, Map<String, List<String>> hierarchy, Set<String> childNodes, List<Node> updatedNodeList) {
-        int index =1;
-        for(String childId: childrenIds) {
-            Node tmpNode = getTempNode(nodeList, childId);
-
-            if(null != tmpNode && StringUtils.equalsIgnoreCase("Parent", (String) tmpNode.getMetadata().get(ContentAPIParams.visibility.name()))) {
-                tmpNode.getMetadata().put(ContentAPIParams.depth.name(), depth);
-                tmpNode.getMetadata().put(ContentAPIParams.parent.name(), parent);
-                tmpNode.getMetadata().put(ContentAPIParams.index.name(), index);
-                updatedNodeList.add(tmpNode);
-            } else {
-                tmpNode = getContentNode(TAXONOMY_ID, childId, null);
-                tmpNode.getMetadata().put(ContentAPIParams.depth.name(), depth);
-                tmpNode.getMetadata().put(ContentAPIParams.parent.name(), parent);
-                tmpNode.getMetadata().put(ContentAPIParams.index.name(), index);
-                updatedNodeList.add(tmpNode);
+    private void updateDepthIndexParent(String rootId, Map<String, Node> nodeMap, Map<String, List<String>> hierarchy, Set<String> childNodes, List<Node> updatedNodeList) {
+        Map<String, Node> resourceNodes = getResourceNodes(hierarchy, nodeMap);
+        Set<String> usedResourceIds = new HashSet<>();
+        HierarchyBuilder.walk(rootId, hierarchy, (childId, depth, parent, index) -> {
+            Node tmpNode = getTempNode(nodeMap, childId);
+            if(null == tmpNode || !StringUtils.equalsIgnoreCase("Parent", (String) tmpNode.getMetadata().get(ContentAPIParams.visibility.name()))) {
+                tmpNode = resourceNodes.get(childId);
+                if (null == tmpNode)
+                    throw new ResourceNotFoundException(ContentErrorCodes.ERR_CONTENT_NOT_FOUND.name(),
+                            "Content not found with id: " + childId);
+                // a resource added at more than one place has a position at each.
+                if (!usedResourceIds.add(childId))
+                    tmpNode = copyNode(tmpNode);
             }
+            tmpNode.getMetadata().put(ContentAPIParams.depth.name(), depth);
+            tmpNode.getMetadata().put(ContentAPIParams.parent.name(), parent);
+            tmpNode.getMetadata().put(ContentAPIParams.index.name(), index);
+            updatedNodeList.add(tmpNode);
             childNodes.add(childId);
-            index +=1;
+        });
+    }
 
-            if (CollectionUtils.isNotEmpty(hierarchy.get(childId))) {
-                updateDepthIndexParent(hierarchy.get(childId), (((Integer) tmpNode.getMetadata().get(ContentAPIParams.depth.name())) + 1),
-                        childId, nodeList, hierarchy, childNodes, updatedNodeList);
+    /**
+     * Reads the children in the hierarchy which are not units of the collection
+     * in one request.
+     */
+    private Map<String, Node> getResourceNodes(Map<String, List<String>> hierarchy, Map<String, Node> nodeMap) {
+        Set<String> resourceIds = new HashSet<>();
+        for (List<String> childIds : hierarchy.values()) {
+            for (String childId : childIds) {
+                Node node = getTempNode(nodeMap, childId);
+                if (null == node || !StringUtils.equalsIgnoreCase("Parent", (String) node.getMetadata().get(ContentAPIParams.visibility.name())))
+                    resourceIds.add(childId);
             }
         }
+        return getDataNodes(resourceIds);
+    }
+
+    private Map<String, Node> getDataNodes(Collection<String> identifiers) {
+        Map<String, Node> nodes = new HashMap<>();
+        if (identifiers.isEmpty())
+            return nodes;
+        Response response = util.getDataNodes(TAXONOMY_ID, new ArrayList<>(identifiers));
+        if (null != response) {
+            List<Node> list = (List<Node>) response.get(GraphDACParams.node_list.name());
+            if (null != list)
+                list.forEach(node -> nodes.put(node.getIdentifier(), node));
+        }
+        return nodes;
+    }
 
+    private Node copyNode(Node node) {
+        Node copy = new Node(node.getIdentifier(), node.getNodeType(), node.getObjectType());
+        copy.setGraphId(node.getGraphId());
+        copy.setMetadata(new HashMap<>(node.getMetadata()));
+        copy.setInRelations(node.getInRelations());
+        copy.setOutRelations(node.getOutRelations());
+        copy.setTags(node.getTags());
+        return copy;
     }
 
-    private void updateNodesModified(Map<String, Object> nodesModified, Map<String, String> idMap, List<Node> nodeList, DefinitionDTO definition, Map<String, RelationDefinition> inRelDefMap, Map<String,
+    private void updateNodesModified(Map<String, Object> nodesModified, Map<String, String> idMap, List<Node> nodeList, Map<String, Node> nodeMap, DefinitionDTO definition, Map<String, RelationDefinition> inRelDefMap, Map<String,
             RelationDefinition> outRelDefMap, String rootId) {
         if(MapUtils.isNotEmpty((Map<String, Object>)nodesModified.get(rootId)) && MapUtils.isNotEmpty((Map<String, Object>) ((Map<String, Object>)nodesModified.get(rootId))
                 .get("metadata"))){
         		Map<String, Object> metadata = (Map<String, Object>) ((Map<String, Object>)nodesModified.get(rootId))
             .get("metadata");
         		metadata.remove(ContentAPIParams.versionKey.name());
-                updateNodeList(nodeList, rootId, metadata);
+                updateNodeList(nodeMap, rootId, metadata);
         }
         nodesModified.remove(rootId);
         nodesModified.entrySet().forEach(entry -> {
             Map<String, Object> map = (Map<String, Object>) entry.getValue();
-            createNodeObject(entry, idMap, nodeList, new HashMap<>(), definition,
+            createNodeObject(entry, idMap, nodeList, nodeMap, new HashMap<>(), definition,
                     inRelDefMap, outRelDefMap);
         });
     }
@@ -210,19 +246,38 @@ public class UpdateHierarchyOperation extends BaseContentManager {
         if (MapUtils.isNotEmpty(hierarchyResponse)) {
             List<Map<String, Object>> children = (List<Map<String, Object>>) hierarchyResponse
                     .get("children");
-            getNodeMap(children, nodeList, definition);
+            Set<String> defaultIds = new HashSet<>();
+            collectDefaultChildIds(children, defaultIds);
+            getNodeMap(children, nodeList, definition, getDataNodes(defaultIds), new HashSet<>());
             return nodeList;
         }
         return nodeList;
     }
 
-    private void getNodeMap(List<Map<String, Object>> children, List<Node> nodeList, DefinitionDTO definition) {
+    private void collectDefaultChildIds(List<Map<String, Object>> children, Set<String> identifiers) {
+        if (CollectionUtils.isNotEmpty(children)) {
+            children.forEach(child -> {
+                if(StringUtils.equalsIgnoreCase("Default", (String) child.get(ContentAPIParams.visibility.name())))
+                    identifiers.add((String) child.get(ContentAPIParams.identifier.name()));
+                collectDefaultChildIds((List<Map<String, Object>>) child.get(ContentAPIParams.children.name()), identifiers);
+            });
+        }
+    }
+
+    private void getNodeMap(List<Map<String, Object>> children, List<Node> nodeList, DefinitionDTO definition,
+                            Map<String, Node> defaultNodes, Set<String> usedIds) {
         if (CollectionUtils.isNotEmpty(children)) {
             children.forEach(child -> {
                 Node node = null;
                 try {
                     if(StringUtils.equalsIgnoreCase("Default", (String) child.get(ContentAPIParams.visibility.name()))) {
-                        node = getContentNode(TAXONOMY_ID, (String) child.get(ContentAPIParams.identifier.name()), null);
+                        String identifier = (String) child.get(ContentAPIParams.identifier.name());
+                        node = defaultNodes.get(identifier);
+                        if (null == node)
+                            throw new ResourceNotFoundException(ContentErrorCodes.ERR_CONTENT_NOT_FOUND.name(),
+                                    "Content not found with id: " + identifier);
+                        if (!usedIds.add(identifier))
+                            node = copyNode(node);
                         node.getMetadata().put(ContentAPIParams.depth.name(), child.get(ContentAPIParams.depth.name()));
                         node.getMetadata().put(ContentAPIParams.parent.name(), child.get(ContentAPIParams.parent.name()));
                         node.getMetadata().put(ContentAPIParams.index.name(), child.get(ContentAPIParams.index.name()));
@@ -236,7 +291,8 @@ public class UpdateHierarchyOperation extends BaseContentManager {
                 } catch (Exception e) {
                     TelemetryManager.error("UpdateHierarchyOperation.getNodeMap() :: Error which converting to nodeMap ", e);
                 }
-                getNodeMap((List<Map<String, Object>>) child.get(ContentAPIParams.children.name()), nodeList, definition);
+                getNodeMap((List<Map<String, Object>>) child.get(ContentAPIParams.children.name()), nodeList, definition,
+                        defaultNodes, usedIds);
             });
         }
     }
@@ -277,7 +333,7 @@ public class UpdateHierarchyOperation extends BaseContentManager {
 
     @SuppressWarnings("unchecked")
     private Response createNodeObject(Entry<String, Object> entry, Map<String, String> idMap,
-                                      List<Node> nodeList, Map<String, String> newIdMap, DefinitionDTO definition,
+                                      List<Node> nodeList, Map<String, Node> nodeMap, Map<String, String> newIdMap, DefinitionDTO definition,
                                       Map<String, RelationDefinition> inRelDefMap, Map<String, RelationDefinition> outRelDefMap) {
         String nodeId = entry.getKey();
         String id = nodeId;
@@ -287,7 +343,7 @@ public class UpdateHierarchyOperation extends BaseContentManager {
             id = Identifier.getIdentifier(TAXONOMY_ID, Identifier.getUniqueIdFromTimestamp());
             newIdMap.put(nodeId, id);
         } else {
-            tmpnode = getTempNode(nodeList, id);
+            tmpnode = getTempNode(nodeMap, id);
             if (null != tmpnode && StringUtils.isNotBlank(tmpnode.getIdentifier())) {
                 id = tmpnode.getIdentifier();
             } else {
@@ -320,7 +376,7 @@ public class UpdateHierarchyOperation extends BaseContentManager {
         }
         try {
             if(null != tmpnode) {
-                updateNodeList(nodeList, id, metadata);
+                updateNodeList(nodeMap, id, metadata);
             } else {
                 Node node = ConvertToGraphNode.convertToGraphNode(metadata, definition, null);
                 node.setGraphId(TAXONOMY_ID);
@@ -328,6 +384,7 @@ public class UpdateHierarchyOperation extends BaseContentManager {
                 node.setNodeType(SystemNodeTypes.DATA_NODE.name());
                 getRelationsToBeDeleted(node, metadata, inRelDefMap, outRelDefMap);
                 nodeList.add(node);
+                nodeMap.put(id, node);
             }
         } catch (Exception e) {
             TelemetryManager.error("Error creating content for the node: " + nodeId, e);
@@ -414,22 +471,25 @@ public class UpdateHierarchyOperation extends BaseContentManager {
         }
     }
 
-    private Node getTempNode(List<Node> nodeList, String id) {
-        List<Node> tempList = nodeList.stream().filter(node -> StringUtils.startsWith(node.getIdentifier(), id)).collect(toList());
-        if(CollectionUtils.isNotEmpty(tempList)){
-            return tempList.get(0);
-        }
-        return null;
+    /**
+     * Indexes the nodes by identifier, the image nodes by the identifier of
+     * their content, keeping the first node of an identifier.
+     */
+    private Map<String, Node> getNodeIndex(List<Node> nodeList) {
+        Map<String, Node> nodeMap = new HashMap<>();
+        nodeList.forEach(node -> nodeMap.putIfAbsent(StringUtils.removeEnd(node.getIdentifier(), DEFAULT_CONTENT_IMAGE_OBJECT_SUFFIX), node));
+        return nodeMap;
     }
 
+    private Node getTempNode(Map<String, Node> nodeMap, String id) {
+        return nodeMap.get(StringUtils.removeEnd(id, DEFAULT_CONTENT_IMAGE_OBJECT_SUFFIX));
+    }
 
-    private void updateNodeList(List<Node> nodeList, String id, Map<String, Object> metadata) {
-        nodeList.forEach(node -> {
-            if(node.getIdentifier().startsWith(id)){
-                node.getMetadata().putAll(metadata);
-            }
-        });
 
+    private void updateNodeList(Map<String, Node> nodeMap, String id, Map<String, Object> metadata) {
+        Node node = getTempNode(nodeMap, id);
+        if (null != node)
+            node.getMetadata().putAll(metadata);
     }
 
 }
@@ -40,4 +40,12 @@ public class HealthCheckController extends BaseController {
             return getResponseEntity(response, apiId, null);
 		}
 	}
+
+	@RequestMapping(value = "/stats", method = RequestMethod.GET)
+	@ResponseBody
+	public ResponseEntity<Response> stats() {
+		String apiId = "learning-service.health.stats";
+		Response response = healthCheckManager.getServiceStats();
+		return getResponseEntity(response, apiId, null);
+	}
 }
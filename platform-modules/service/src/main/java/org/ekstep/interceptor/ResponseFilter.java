@@ -3,6 +3,7 @@ package org.ekstep.interceptor;
 import java.io.IOException;
 import java.util.UUID;
 
+import javax.servlet.DispatcherType;
 import javax.servlet.Filter;
 import javax.servlet.FilterChain;
 import javax.servlet.FilterConfig;
@@ -33,6 +34,15 @@ public class ResponseFilter implements Filter {
 	@Override
 	public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
 			throws IOException, ServletException {
+		if (request.getDispatcherType() == DispatcherType.ASYNC) {
+			// the result of an async request is written on a dispatch of its
+			// own, with the wrappers of the request it was started on.
+			chain.doFilter(request, response);
+			if (request instanceof RequestWrapper && response instanceof ResponseWrapper
+					&& !request.isAsyncStarted())
+				writeResponse((RequestWrapper) request, (ResponseWrapper) response);
+			return;
+		}
 		String requestId = getUUID();
 		HttpServletRequest httpRequest = (HttpServletRequest) request;
 		ExecutionContext.setRequestId(requestId);
@@ -67,14 +77,19 @@ public class ResponseFilter implements Filter {
 
 			chain.doFilter(requestWrapper, responseWrapper);
 
-			AccessEventGenerator.writeTelemetryEventLog(requestWrapper, responseWrapper);
-			response.getOutputStream().write(responseWrapper.getData());
+			if (!requestWrapper.isAsyncStarted())
+				writeResponse(requestWrapper, responseWrapper);
 		} else {
 			TelemetryManager.log("Path: " + httpRequest.getServletPath() +" | Remote Address: " + request.getRemoteAddr());
 			chain.doFilter(httpRequest, response);
 		}
 	}
 
+	private void writeResponse(RequestWrapper requestWrapper, ResponseWrapper responseWrapper) throws IOException {
+		AccessEventGenerator.writeTelemetryEventLog(requestWrapper, responseWrapper);
+		responseWrapper.getResponse().getOutputStream().write(responseWrapper.getData());
+	}
+
 	private String getEnv(RequestWrapper requestWrapper) {
 		String path = requestWrapper.getRequestURI();
 		if (path.contains("/v3/definitions") || path.contains("/v3/import") || path.contains("/v3/export")
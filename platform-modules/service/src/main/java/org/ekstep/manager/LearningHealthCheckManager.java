@@ -13,6 +13,10 @@ import java.util.concurrent.FutureTask;
 import org.ekstep.cassandra.connector.util.CassandraConnector;
 import org.ekstep.common.dto.Response;
 import org.ekstep.common.mgr.HealthCheckManager;
+import org.ekstep.graph.cache.mgr.impl.NodeCacheManager;
+import org.ekstep.graph.engine.router.ManagerPool;
+import org.ekstep.graph.service.util.DriverUtil;
+import org.ekstep.graph.service.util.LocalCache;
 import org.ekstep.telemetry.logger.TelemetryManager;
 import org.springframework.stereotype.Component;
 
@@ -79,6 +83,17 @@ public class LearningHealthCheckManager extends HealthCheckManager {
 		return response;
 	}
 
+	@Override
+	public Response getServiceStats() {
+		Map<String, Object> stats = new HashMap<String, Object>();
+		stats.put("nodeCache", NodeCacheManager.getStats());
+		stats.put("definitionCache", LocalCache.getStats());
+		stats.put("telemetry", TelemetryManager.getStats());
+		stats.put("neo4jDrivers", DriverUtil.getStats());
+		stats.put("graphManagers", ManagerPool.getAllStats());
+		return OK("stats", stats);
+	}
+
 	private Map<String, Object> checkCassandraHealth(){
 		Map<String, Object> check = new HashMap<String, Object>();
 		check.put("name", "cassandra db");
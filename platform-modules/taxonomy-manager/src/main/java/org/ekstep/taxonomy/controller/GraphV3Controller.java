@@ -1,20 +1,19 @@
 package org.ekstep.taxonomy.controller;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
 import java.util.Map;
 
 import javax.servlet.http.HttpServletResponse;
 
+import org.apache.commons.io.IOUtils;
 import org.ekstep.common.controller.BaseController;
 import org.ekstep.common.dto.Request;
 import org.ekstep.common.dto.Response;
 import org.ekstep.graph.common.enums.GraphEngineParams;
 import org.ekstep.graph.dac.model.SearchCriteria;
 import org.ekstep.graph.enums.ImportType;
-import org.ekstep.graph.importer.OutputStreamValue;
+import org.ekstep.graph.importer.InputStreamValue;
 import org.ekstep.taxonomy.enums.TaxonomyAPIParams;
 import org.ekstep.taxonomy.mgr.ITaxonomyManager;
 import org.ekstep.telemetry.logger.TelemetryManager;
@@ -66,6 +65,23 @@ public class GraphV3Controller extends BaseController {
 		}
 	}
 
+	@RequestMapping(value = "/validate/{id:.+}", method = RequestMethod.POST)
+	@ResponseBody
+	public ResponseEntity<Response> validate(@PathVariable(value = "id") String id,
+			@RequestParam(value = "since", required = false) String since,
+			@RequestHeader(value = "user-id") String userId) {
+		String apiId = "ekstep.graph.validate";
+		TelemetryManager.log("Validate | Id: " + id + " | Since: " + since + " | user-id: " + userId);
+		try {
+			Response response = taxonomyManager.validate(id, since);
+			TelemetryManager.log("Validate | Response: ", response.getResult());
+			return getResponseEntity(response, apiId, null);
+		} catch (Exception e) {
+			TelemetryManager.error("Validate | Exception: " + e.getMessage(), e);
+			return getExceptionResponseEntity(e, apiId, null);
+		}
+	}
+
 	@SuppressWarnings("unused")
 	@RequestMapping(value = "/export/{id:.+}", method = RequestMethod.POST)
 	@ResponseBody
@@ -85,14 +101,12 @@ public class GraphV3Controller extends BaseController {
 			req.put(GraphEngineParams.format.name(), format);
 			Response response = taxonomyManager.export(id, req);
 			if (!checkError(response)) {
-				OutputStreamValue graphOutputStream = (OutputStreamValue) response
-						.get(GraphEngineParams.output_stream.name());
-				try (OutputStream os = graphOutputStream.getOutputStream();
-						ByteArrayOutputStream bos = (ByteArrayOutputStream) os) {
-					byte[] bytes = bos.toByteArray();
+				InputStreamValue graphInputStream = (InputStreamValue) response
+						.get(GraphEngineParams.input_stream.name());
+				try (InputStream is = graphInputStream.getInputStream()) {
 					resp.setContentType("text/csv");
 					resp.setHeader("Content-Disposition", "attachment; filename=graph.csv");
-					resp.getOutputStream().write(bytes);
+					IOUtils.copy(is, resp.getOutputStream());
 					resp.getOutputStream().close();
 				}
 			}
@@ -1,15 +1,14 @@
 package org.ekstep.taxonomy.controller;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
 import java.util.List;
 import java.util.Map;
 
 import javax.annotation.PostConstruct;
 import javax.servlet.http.HttpServletResponse;
 
+import org.apache.commons.io.IOUtils;
 import org.ekstep.common.Platform;
 import org.ekstep.common.controller.BaseController;
 import org.ekstep.common.dto.Request;
@@ -17,7 +16,7 @@ import org.ekstep.common.dto.Response;
 import org.ekstep.graph.common.enums.GraphEngineParams;
 import org.ekstep.graph.dac.model.SearchCriteria;
 import org.ekstep.graph.enums.ImportType;
-import org.ekstep.graph.importer.OutputStreamValue;
+import org.ekstep.graph.importer.InputStreamValue;
 import org.ekstep.taxonomy.enums.TaxonomyAPIParams;
 import org.ekstep.taxonomy.mgr.ITaxonomyManager;
 import org.ekstep.telemetry.logger.TelemetryManager;
@@ -121,14 +120,12 @@ public class TaxonomyController extends BaseController {
 			req.put(GraphEngineParams.format.name(), format);
 			Response response = taxonomyManager.export(id, req);
 			if (!checkError(response)) {
-				OutputStreamValue graphOutputStream = (OutputStreamValue) response
-						.get(GraphEngineParams.output_stream.name());
-				try (OutputStream os = graphOutputStream.getOutputStream();
-						ByteArrayOutputStream bos = (ByteArrayOutputStream) os) {
-					byte[] bytes = bos.toByteArray();
+				InputStreamValue graphInputStream = (InputStreamValue) response
+						.get(GraphEngineParams.input_stream.name());
+				try (InputStream is = graphInputStream.getInputStream()) {
 					resp.setContentType("text/csv");
 					resp.setHeader("Content-Disposition", "attachment; filename=graph.csv");
-					resp.getOutputStream().write(bytes);
+					IOUtils.copy(is, resp.getOutputStream());
 					resp.getOutputStream().close();
 				}
 			}
@@ -14,6 +14,8 @@ public interface ITaxonomyManager {
 
     Response delete(String id);
 
+    Response validate(String id, String since);
+
     Response updateDefinition(String id, String json);
 
     Response findAllDefinitions(String id);
@@ -98,6 +98,17 @@ public class TaxonomyManagerImpl extends BaseManager implements ITaxonomyManager
 		return getResponse(request);
 	}
 
+	@Override
+	public Response validate(String id, String since) {
+		if (StringUtils.isBlank(id))
+			throw new ClientException(TaxonomyErrorCodes.ERR_TAXONOMY_BLANK_TAXONOMY_ID.name(), "Taxonomy Id is blank");
+		TelemetryManager.log("Validate Taxonomy : " + id + " | Since: " + since);
+		Request request = getRequest(id, GraphEngineManagers.GRAPH_MANAGER, "validateGraph");
+		if (StringUtils.isNotBlank(since))
+			request.put(GraphEngineParams.since.name(), since);
+		return getResponse(request);
+	}
+
 	@Override
 	public Response updateDefinition(String id, String json) {
 		if (StringUtils.isBlank(id))
@@ -320,6 +320,7 @@ public class CassandraESSyncManager {
     public void pushToElastic(Map<String, Object> esDocument) {
         try {
             searchConnector.bulkImport(esDocument);
+            searchConnector.flush();
         } catch (Exception e) {
             e.printStackTrace();
             System.out.println(e.getLocalizedMessage());
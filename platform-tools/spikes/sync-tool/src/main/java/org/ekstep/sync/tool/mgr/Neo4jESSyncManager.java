@@ -159,6 +159,7 @@ public class Neo4jESSyncManager implements ISyncManager {
 						break;
 					}
 				}
+				esConnector.flush();
 			}
 		}
 	}
@@ -214,6 +215,7 @@ public class Neo4jESSyncManager implements ISyncManager {
 			// clear the already batched node ids from the list
 			identifiers.subList(0, currentBatchSize).clear();
 		}
+		esConnector.flush();
 
 		if (uniqueIds.size() != 0) {
 			System.out.println("(" + uniqueIds.size() + ") Nodes not found: " + uniqueIds
@@ -264,6 +266,7 @@ public class Neo4jESSyncManager implements ISyncManager {
 						break;
 					}
 				}
+				esConnector.flush();
 				if (!errors.isEmpty())
 					System.out.println("Error! while forming ES document data from nodes, below nodes are ignored. \n" + errors);
 				long endTime = System.currentTimeMillis();
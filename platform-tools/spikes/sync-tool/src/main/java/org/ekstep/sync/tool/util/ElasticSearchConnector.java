@@ -1,13 +1,16 @@
 package org.ekstep.sync.tool.util;
 
 import java.io.IOException;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 
 import org.ekstep.common.Platform;
+import org.ekstep.searchindex.elasticsearch.BulkIndexer;
 import org.ekstep.searchindex.elasticsearch.ElasticSearchUtil;
 import org.ekstep.searchindex.util.CompositeSearchConstants;
 import org.springframework.stereotype.Component;
@@ -17,6 +20,7 @@ public class ElasticSearchConnector {
 
 	private static String indexName;
 	private static String documentType;
+	private static BulkIndexer bulkIndexer;
 
 	@PostConstruct
 	private void init() throws Exception {
@@ -30,6 +34,10 @@ public class ElasticSearchConnector {
 
 	@PreDestroy
 	public void shutdown() {
+		if (null != bulkIndexer) {
+			bulkIndexer.close();
+			bulkIndexer = null;
+		}
 	}
 	
 	public void createIndexIfNotExist() throws IOException {
@@ -42,11 +50,42 @@ public class ElasticSearchConnector {
 		ElasticSearchUtil.addIndex(indexName, documentType, settings, mappings);
 	}
 
+	/**
+	 * Queues the documents to be indexed. The documents are sent in bulk while
+	 * the next batch is read, use {@link #flush()} to wait for them.
+	 */
+	@SuppressWarnings("unchecked")
 	public void bulkImport(Map<String, Object> messages) throws Exception {
-		ElasticSearchUtil.bulkIndexWithIndexId(indexName, documentType, messages);
+		BulkIndexer indexer = getBulkIndexer();
+		for (Entry<String, Object> entry : messages.entrySet())
+			indexer.index(documentType, entry.getKey(), (Map<String, Object>) entry.getValue());
 	}
 	
 	public void bulkImportAutoID(List<Map<String, Object>> messages) throws Exception {
-		ElasticSearchUtil.bulkIndexWithAutoGenerateIndexId(indexName, documentType, messages);
+		BulkIndexer indexer = getBulkIndexer();
+		for (Map<String, Object> message : messages)
+			indexer.index(documentType, message);
+	}
+
+	/**
+	 * Waits for the queued documents to be indexed.
+	 *
+	 * @return the failure message of the documents which could not be
+	 *         indexed, by document id
+	 */
+	public Map<String, String> flush() {
+		if (null == bulkIndexer)
+			return new HashMap<String, String>();
+		Map<String, String> failures = bulkIndexer.flush();
+		if (!failures.isEmpty())
+			System.out.println("Error! while indexing, below documents are not synced: " + failures);
+		System.out.println("Indexing stats: " + bulkIndexer.getStats());
+		return failures;
+	}
+
+	private static synchronized BulkIndexer getBulkIndexer() {
+		if (null == bulkIndexer)
+			bulkIndexer = new BulkIndexer(indexName);
+		return bulkIndexer;
 	}
 }
@@ -1,6 +1,5 @@
 package org.ekstep.search.actor;
 
-import java.util.Map;
 import java.util.Timer;
 import java.util.TimerTask;
 
@@ -21,20 +20,8 @@ public class DefinitionSyncScheduler {
 
 class ScheduledTask extends TimerTask {
 
-	
-	
-	@SuppressWarnings("rawtypes")
 	public void run() {
-		try {
-			Map<String, Map> map = ObjectDefinitionCache.getDefinitionMap();
-			if (null != map && !map.isEmpty()) {
-				String graphId = "domain";
-				for (String objectType : map.keySet()) {
-					TelemetryManager.log("Syncing definition : " + objectType);
-					ObjectDefinitionCache.resyncDefinition(objectType, graphId);
-				}
-			}
-		} catch(Exception e) {
-		}
+		ObjectDefinitionCache.resyncDefinitions();
+		TelemetryManager.info("Definition cache stats: " + ObjectDefinitionCache.getStats());
 	}
 }
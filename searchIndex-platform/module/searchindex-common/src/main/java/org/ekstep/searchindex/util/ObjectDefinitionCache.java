@@ -3,85 +3,213 @@ package org.ekstep.searchindex.util;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.codehaus.jackson.map.ObjectMapper;
 import org.codehaus.jackson.type.TypeReference;
 import org.ekstep.common.Platform;
 import org.ekstep.telemetry.logger.TelemetryManager;
 
+/**
+ * Cache of the object definitions fetched from the taxonomy api, by object
+ * type. A definition is fetched again once it is older than the configured
+ * ttl, or when it is resynced on a definition update. Concurrent lookups of a
+ * definition which is not cached share a single fetch, and an expired
+ * definition is still returned if it could not be fetched again.
+ */
 @SuppressWarnings("rawtypes")
 public class ObjectDefinitionCache {
 
-	private static Map<String, Map> definitionMap = new HashMap<String, Map>();
-	private static Map<String, Map> metadataMap = new HashMap<String, Map>();
-	private static Map<String, Map<String, String>> relationMap = new HashMap<String, Map<String, String>>();
+	private static final long TTL = Platform.config.hasPath("search.definition_cache.ttl")
+			? Platform.config.getLong("search.definition_cache.ttl") : 3600000;
+	private static final String DEFAULT_GRAPH_ID = "domain";
+
+	private static Map<String, CachedDefinition> definitions = new ConcurrentHashMap<String, CachedDefinition>();
+	private static Map<String, FutureTask<CachedDefinition>> loading = new ConcurrentHashMap<String, FutureTask<CachedDefinition>>();
 	private static ObjectMapper mapper = new ObjectMapper();
 
-	@SuppressWarnings({ "unchecked" })
+	private static LongAdder hits = new LongAdder();
+	private static LongAdder misses = new LongAdder();
+	private static LongAdder loadSuccess = new LongAdder();
+	private static LongAdder loadFailure = new LongAdder();
+
 	public static Map<String, Object> getDefinitionNode(String objectType, String graphId) throws Exception {
-		Map<String, Object> definition = null;
-		if (definition == null) {
-			getDefinitionFromGraph(objectType, graphId);
-			definition = definitionMap.get(objectType);
-		}
-		TelemetryManager.log("DefinitionMap "+ definitionMap);
-		return definition;
+		return getDefinition(objectType, graphId).definition;
 	}
-	
+
     public static Map<String, String> getRelationDefinition(String objectType, String graphId) throws Exception {
-        Map<String, String> definition = null;
-        if (definition == null) {
-            getDefinitionFromGraph(objectType, graphId);
-            definition = relationMap.get(objectType);
-        }
-        return definition;
+        return getDefinition(objectType, graphId).relations;
     }
 
-	@SuppressWarnings({ "unchecked" })
 	public static Map<String, Object> getMetaData(String objectType, String graphId) throws Exception {
-		Map<String, Object> metadata = null;
-		if (metadata == null) {
-			getDefinitionFromGraph(objectType, graphId);
-			metadata = metadataMap.get(objectType);
-		}
-		return metadata;
+		return getDefinition(objectType, graphId).metadata;
 	}
-	
+
+	public static Map<String, Object> getMetaData(String objectType) throws Exception {
+		return getMetaData(objectType, DEFAULT_GRAPH_ID);
+	}
+
+	/**
+	 * Replaces the properties of the cached definition. The other parts of
+	 * the definition and its age are kept, and a definition which is not
+	 * cached is added as expired, so that it is fetched in full when it is
+	 * read.
+	 */
     public static void setDefinitionNode(String objectType, Map<String, Object> definition) {
-		definitionMap.put(objectType, definition);
+		CachedDefinition cached = definitions.get(objectType);
+		if (null == cached)
+			definitions.put(objectType, new CachedDefinition(DEFAULT_GRAPH_ID, definition, null, null, 0));
+		else
+			definitions.put(objectType, new CachedDefinition(cached.graphId, definition, cached.metadata,
+					cached.relations, cached.loadedAt));
 	}
-	
+
+	/**
+	 * Replaces the relations of the cached definition, in the same way as
+	 * {@link #setDefinitionNode(String, Map)}.
+	 */
     public static void setRelationDefinition(String objectType, Map<String, String> definition) {
-            relationMap.put(objectType, definition);
+		CachedDefinition cached = definitions.get(objectType);
+		if (null == cached)
+			definitions.put(objectType, new CachedDefinition(DEFAULT_GRAPH_ID, null, null, definition, 0));
+		else
+			definitions.put(objectType, new CachedDefinition(cached.graphId, cached.definition, cached.metadata,
+					definition, cached.loadedAt));
     }
-    
-	private static void getDefinitionFromGraph(String objectType, String graphId) throws Exception {
-		String url = Platform.config.getString("platform-api-url") + "/taxonomy/" + graphId + "/definition/"
-				+ objectType;
-		String result = HTTPUtil.makeGetRequest(url);
-		Map<String, Object> definitionObject = mapper.readValue(result,
-				new TypeReference<Map<String, Object>>() {
-				});
-		if (definitionObject == null) {
-            throw new Exception("Unable to find Definition object.");
-        }
-        Map resultMap = (Map) definitionObject.get("result");
-        if (resultMap == null) {
-            throw new Exception("Result in response is empty");
-        }
-        Map definitionNode = (Map) resultMap.get("definition_node");
-        if (definitionNode == null) {
-            throw new Exception("Definition node in result is empty");
-        }
-		Map<String, Object> definition = retrieveProperties(definitionNode);
-		definitionMap.put(objectType, definition);
-
-		Map<String, Object> metadata = retrieveMetadata(definitionNode);
-		metadataMap.put(objectType, metadata);
-		
-		Map<String, String> relationDefinition = retrieveRelations(definitionNode, "IN", "inRelations");
-		relationDefinition.putAll(retrieveRelations(definitionNode, "OUT", "outRelations"));
-		relationMap.put(objectType, relationDefinition);
+
+	/**
+	 * Returns the cached properties of the definitions, by object type.
+	 */
+	public static Map<String, Map> getDefinitionMap() {
+		Map<String, Map> definitionMap = new HashMap<String, Map>();
+		for (Entry<String, CachedDefinition> entry : definitions.entrySet()) {
+			if (null != entry.getValue().definition)
+				definitionMap.put(entry.getKey(), entry.getValue().definition);
+		}
+		return definitionMap;
+	}
+
+	/**
+	 * Fetches the definition again, on a definition update.
+	 */
+    public static void resyncDefinition(String objectType, String graphId) throws Exception {
+		load(objectType, graphId);
+	}
+
+	/**
+	 * Fetches all the cached definitions again. A definition which could not
+	 * be fetched is kept as it is.
+	 */
+	public static void resyncDefinitions() {
+		for (Entry<String, CachedDefinition> entry : definitions.entrySet()) {
+			try {
+				TelemetryManager.log("Syncing definition : " + entry.getKey());
+				load(entry.getKey(), entry.getValue().graphId);
+			} catch (Exception e) {
+				TelemetryManager.error("Error while syncing definition : " + entry.getKey(), e);
+			}
+		}
+	}
+
+	public static void invalidate(String objectType) {
+		definitions.remove(objectType);
+	}
+
+	/**
+	 * Returns a snapshot of the hit, miss and load counters of the cache.
+	 */
+	public static Map<String, Object> getStats() {
+		Map<String, Object> stats = new HashMap<String, Object>();
+		long hitCount = hits.sum();
+		long requestCount = hitCount + misses.sum();
+		stats.put("size", definitions.size());
+		stats.put("hitCount", hitCount);
+		stats.put("missCount", misses.sum());
+		stats.put("hitRatio", requestCount == 0 ? 1.0 : (double) hitCount / requestCount);
+		stats.put("loadSuccessCount", loadSuccess.sum());
+		stats.put("loadFailureCount", loadFailure.sum());
+		return stats;
+	}
+
+	private static CachedDefinition getDefinition(String objectType, String graphId) throws Exception {
+		CachedDefinition cached = definitions.get(objectType);
+		if (null != cached && !cached.isExpired()) {
+			hits.increment();
+			return cached;
+		}
+		misses.increment();
+		try {
+			return load(objectType, graphId);
+		} catch (Exception e) {
+			if (null == cached)
+				throw e;
+			TelemetryManager.error("Error while fetching definition : " + objectType + ", using the expired definition.", e);
+			return cached;
+		}
+	}
+
+	/**
+	 * Fetches the definition, sharing the fetch with any other thread
+	 * fetching it at the same time.
+	 */
+	private static CachedDefinition load(String objectType, String graphId) throws Exception {
+		FutureTask<CachedDefinition> task = new FutureTask<CachedDefinition>(
+				() -> getDefinitionFromGraph(objectType, graphId));
+		FutureTask<CachedDefinition> existing = loading.putIfAbsent(objectType, task);
+		if (null == existing) {
+			existing = task;
+			try {
+				task.run();
+			} finally {
+				loading.remove(objectType, task);
+			}
+		}
+		try {
+			return existing.get();
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof Exception)
+				throw (Exception) e.getCause();
+			throw e;
+		}
+	}
+
+	private static CachedDefinition getDefinitionFromGraph(String objectType, String graphId) throws Exception {
+		try {
+			String url = Platform.config.getString("platform-api-url") + "/taxonomy/" + graphId + "/definition/"
+					+ objectType;
+			String result = HTTPUtil.makeGetRequest(url);
+			Map<String, Object> definitionObject = mapper.readValue(result,
+					new TypeReference<Map<String, Object>>() {
+					});
+			if (definitionObject == null) {
+	            throw new Exception("Unable to find Definition object.");
+	        }
+	        Map resultMap = (Map) definitionObject.get("result");
+	        if (resultMap == null) {
+	            throw new Exception("Result in response is empty");
+	        }
+	        Map definitionNode = (Map) resultMap.get("definition_node");
+	        if (definitionNode == null) {
+	            throw new Exception("Definition node in result is empty");
+	        }
+			Map<String, Object> definition = retrieveProperties(definitionNode);
+			Map<String, Object> metadata = retrieveMetadata(definitionNode);
+			Map<String, String> relationDefinition = retrieveRelations(definitionNode, "IN", "inRelations");
+			relationDefinition.putAll(retrieveRelations(definitionNode, "OUT", "outRelations"));
+
+			CachedDefinition cached = new CachedDefinition(graphId, definition, metadata, relationDefinition,
+					System.currentTimeMillis());
+			definitions.put(objectType, cached);
+			loadSuccess.increment();
+			return cached;
+		} catch (Exception e) {
+			loadFailure.increment();
+			throw e;
+		}
 	}
 
 	@SuppressWarnings({ "unchecked" })
@@ -96,13 +224,13 @@ public class ObjectDefinitionCache {
 		}
 		return definition;
 	}
-	
+
 	@SuppressWarnings({ "unchecked" })
 	private static Map<String, Object> retrieveMetadata(Map definitionNode) throws Exception {
 		Map<String, Object> metadata = (Map) definitionNode.get("metadata");
 		return metadata;
 	}
-	
+
 	@SuppressWarnings({ "unchecked" })
     private static Map<String, String> retrieveRelations(Map definitionNode, String direction, String relationProperty) throws Exception {
         Map<String, String> definition = new HashMap<String, String>();
@@ -120,23 +248,25 @@ public class ObjectDefinitionCache {
         }
         return definition;
     }
-	
-	public static Map<String, Map> getDefinitionMap() {
-		return definitionMap;
-	}
 
-    public static void resyncDefinition(String objectType, String graphId) throws Exception {
-		getDefinitionFromGraph(objectType, graphId);
-	}
-    
-    @SuppressWarnings("unchecked")
-	public static Map<String, Object> getMetaData(String objectType) throws Exception {
-    		Map<String, Object> metadata = metadataMap.get(objectType);
-    		String graphId = "domain";
-		if(null == metadata){
-			getDefinitionFromGraph(objectType, graphId);
-			metadata = metadataMap.get(objectType);
+	private static class CachedDefinition {
+		private final String graphId;
+		private final Map<String, Object> definition;
+		private final Map<String, Object> metadata;
+		private final Map<String, String> relations;
+		private final long loadedAt;
+
+		private CachedDefinition(String graphId, Map<String, Object> definition, Map<String, Object> metadata,
+				Map<String, String> relations, long loadedAt) {
+			this.graphId = graphId;
+			this.definition = definition;
+			this.metadata = metadata;
+			this.relations = relations;
+			this.loadedAt = loadedAt;
+		}
+
+		private boolean isExpired() {
+			return 0 == loadedAt || (TTL > 0 && System.currentTimeMillis() - loadedAt >= TTL);
 		}
-		return metadata;
 	}
 }
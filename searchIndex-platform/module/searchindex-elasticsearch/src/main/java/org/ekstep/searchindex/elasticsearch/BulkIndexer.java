@@ -0,0 +1,286 @@
+package org.ekstep.searchindex.elasticsearch;
+
+import java.io.Closeable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.commons.lang3.StringUtils;
+import org.ekstep.common.Platform;
+import org.ekstep.common.exception.ServerException;
+import org.ekstep.telemetry.logger.TelemetryManager;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.DocWriteResponse;
+import org.elasticsearch.action.bulk.BackoffPolicy;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkProcessor;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.delete.DeleteRequest;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.update.UpdateRequest;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.unit.ByteSizeUnit;
+import org.elasticsearch.common.unit.ByteSizeValue;
+import org.elasticsearch.common.unit.TimeValue;
+import org.elasticsearch.threadpool.ThreadPool;
+
+/**
+ * Sends documents to an index in bulk, through a {@link BulkProcessor}.
+ *
+ * The documents added are sent once the pending documents reach a count or a
+ * size, or at an interval, whichever is first. A few bulk requests can be in
+ * flight at a time, beyond which adding a document waits for a request to
+ * complete. The items rejected by a busy cluster are retried with an
+ * exponential backoff. The items which still fail are collected, by
+ * document id, and returned by {@link #flush()}. A bulk request which fails
+ * as a whole, as when the cluster is not reachable, fails the flush.
+ *
+ * The settings are read from <code>search.bulk</code>:
+ * <ul>
+ * <li>actions: the documents in a bulk request, defaults to
+ * search.batch.size</li>
+ * <li>size_mb: the size of a bulk request</li>
+ * <li>flush_interval_sec: the interval at which the pending documents are
+ * sent</li>
+ * <li>concurrent_requests: the bulk requests in flight at a time</li>
+ * <li>backoff_delay_ms, backoff_retries: the delay before the first retry of
+ * the rejected items and the number of retries</li>
+ * <li>await_timeout_sec: the time to wait for the requests in flight on a
+ * flush</li>
+ * </ul>
+ */
+public class BulkIndexer implements Closeable {
+
+	private static final int BULK_ACTIONS = Platform.config.hasPath("search.bulk.actions")
+			? Platform.config.getInt("search.bulk.actions")
+			: (Platform.config.hasPath("search.batch.size") ? Platform.config.getInt("search.batch.size") : 1000);
+	private static final long BULK_SIZE_MB = Platform.config.hasPath("search.bulk.size_mb")
+			? Platform.config.getLong("search.bulk.size_mb") : 5;
+	private static final long FLUSH_INTERVAL = Platform.config.hasPath("search.bulk.flush_interval_sec")
+			? Platform.config.getLong("search.bulk.flush_interval_sec") : 5;
+	private static final int CONCURRENT_REQUESTS = Platform.config.hasPath("search.bulk.concurrent_requests")
+			? Platform.config.getInt("search.bulk.concurrent_requests") : 2;
+	private static final long BACKOFF_DELAY = Platform.config.hasPath("search.bulk.backoff_delay_ms")
+			? Platform.config.getLong("search.bulk.backoff_delay_ms") : 100;
+	private static final int BACKOFF_RETRIES = Platform.config.hasPath("search.bulk.backoff_retries")
+			? Platform.config.getInt("search.bulk.backoff_retries") : 3;
+	private static final long AWAIT_TIMEOUT = Platform.config.hasPath("search.bulk.await_timeout_sec")
+			? Platform.config.getLong("search.bulk.await_timeout_sec") : 300;
+
+	private static ThreadPool threadPool;
+
+	private static final Stats totalStats = new Stats();
+
+	private final String indexName;
+	private final BulkProcessor processor;
+	private final Stats stats = new Stats();
+	private final long startTime = System.currentTimeMillis();
+	private final Map<Long, Long> bulkStartTimes = new ConcurrentHashMap<Long, Long>();
+	private final Map<String, String> failures = new ConcurrentHashMap<String, String>();
+	private final AtomicReference<Throwable> requestFailure = new AtomicReference<Throwable>();
+	private final Object inFlightLock = new Object();
+	private int inFlight = 0;
+
+	public BulkIndexer(String indexName) {
+		RestHighLevelClient client = ElasticSearchUtil.getClient(indexName);
+		if (null == client)
+			throw new ServerException("ERR_BULK_INDEX_CLIENT", "ES Client Not Initialised For Index : " + indexName);
+		this.indexName = indexName;
+		this.processor = new BulkProcessor.Builder(client::bulkAsync, new Listener(), getThreadPool())
+				.setBulkActions(BULK_ACTIONS)
+				.setBulkSize(new ByteSizeValue(BULK_SIZE_MB, ByteSizeUnit.MB))
+				.setFlushInterval(TimeValue.timeValueSeconds(FLUSH_INTERVAL))
+				.setConcurrentRequests(CONCURRENT_REQUESTS)
+				.setBackoffPolicy(
+						BackoffPolicy.exponentialBackoff(TimeValue.timeValueMillis(BACKOFF_DELAY), BACKOFF_RETRIES))
+				.build();
+	}
+
+	private static synchronized ThreadPool getThreadPool() {
+		// the thread pool only schedules the interval flushes and the retries.
+		if (null == threadPool)
+			threadPool = new ThreadPool(Settings.builder().put("node.name", "search-bulk-indexer").build());
+		return threadPool;
+	}
+
+	static synchronized void shutdown() {
+		if (null != threadPool) {
+			ThreadPool.terminate(threadPool, 10, TimeUnit.SECONDS);
+			threadPool = null;
+		}
+	}
+
+	public void index(String documentType, String documentId, Map<String, Object> document) {
+		processor.add(new IndexRequest(indexName, documentType, documentId).source(document));
+	}
+
+	public void index(String documentType, Map<String, Object> document) {
+		processor.add(new IndexRequest(indexName, documentType).source(document));
+	}
+
+	public void upsert(String documentType, String documentId, Map<String, Object> document) {
+		IndexRequest indexRequest = new IndexRequest(indexName, documentType, documentId).source(document);
+		processor.add(new UpdateRequest(indexName, documentType, documentId).doc(document).upsert(indexRequest));
+	}
+
+	public void delete(String documentType, String documentId) {
+		processor.add(new DeleteRequest(indexName, documentType, documentId));
+	}
+
+	/**
+	 * Sends the pending documents and waits for the requests in flight.
+	 *
+	 * @return the failure message of the documents which could not be
+	 *         indexed since the last flush, by document id
+	 * @throws ServerException
+	 *             if a bulk request failed as a whole since the last flush
+	 */
+	public Map<String, String> flush() {
+		processor.flush();
+		long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(AWAIT_TIMEOUT);
+		synchronized (inFlightLock) {
+			while (inFlight > 0) {
+				long wait = deadline - System.currentTimeMillis();
+				if (wait <= 0)
+					throw new ServerException("ERR_BULK_INDEX_TIMEOUT",
+							"Bulk requests to index " + indexName + " did not complete in " + AWAIT_TIMEOUT + "s");
+				try {
+					inFlightLock.wait(wait);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new ServerException("ERR_BULK_INDEX_INTERRUPTED", "Interrupted while indexing to " + indexName);
+				}
+			}
+		}
+		Throwable failure = requestFailure.getAndSet(null);
+		if (null != failure) {
+			failures.clear();
+			throw new ServerException("ERR_BULK_INDEX_FAILED",
+					"Bulk request to index " + indexName + " failed: " + failure.getMessage(), failure);
+		}
+		Map<String, String> flushed = new HashMap<String, String>();
+		for (String id : failures.keySet()) {
+			String message = failures.remove(id);
+			if (null != message)
+				flushed.put(id, message);
+		}
+		return flushed;
+	}
+
+	@Override
+	public void close() {
+		try {
+			processor.awaitClose(AWAIT_TIMEOUT, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		if (!failures.isEmpty())
+			TelemetryManager.log("Failures in Elasticsearch bulk index to " + indexName + " : " + failures.keySet());
+	}
+
+	/**
+	 * Returns the documents and bulk requests sent by this indexer, the failed
+	 * documents and the throughput.
+	 */
+	public Map<String, Object> getStats() {
+		Map<String, Object> map = stats.toMap(System.currentTimeMillis() - startTime);
+		map.put("index", indexName);
+		return map;
+	}
+
+	/**
+	 * Returns the totals of all the indexers of the process.
+	 */
+	public static Map<String, Object> getTotalStats() {
+		return totalStats.toMap(-1);
+	}
+
+	private void addFailure(DocWriteRequest<?> request, int itemId, String message) {
+		String id = StringUtils.isNotBlank(request.id()) ? request.id() : String.valueOf(itemId);
+		failures.put(id, message);
+	}
+
+	private void completeBulk(long executionId, BulkRequest request, int failed) {
+		Long start = bulkStartTimes.remove(executionId);
+		long time = null == start ? 0 : TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		stats.add(request, failed, time);
+		totalStats.add(request, failed, time);
+		synchronized (inFlightLock) {
+			inFlight--;
+			inFlightLock.notifyAll();
+		}
+	}
+
+	private class Listener implements BulkProcessor.Listener {
+
+		@Override
+		public void beforeBulk(long executionId, BulkRequest request) {
+			bulkStartTimes.put(executionId, System.nanoTime());
+			synchronized (inFlightLock) {
+				inFlight++;
+			}
+		}
+
+		@Override
+		public void afterBulk(long executionId, BulkRequest request, BulkResponse response) {
+			int failed = 0;
+			for (BulkItemResponse item : response.getItems()) {
+				DocWriteRequest<?> itemRequest = request.requests().get(item.getItemId());
+				if (item.isFailed()) {
+					addFailure(itemRequest, item.getItemId(), item.getFailureMessage());
+					failed++;
+				} else if (item.getOpType() == DocWriteRequest.OpType.DELETE
+						&& item.getResponse().getResult() == DocWriteResponse.Result.NOT_FOUND) {
+					addFailure(itemRequest, item.getItemId(), "Document not found");
+					failed++;
+				}
+			}
+			completeBulk(executionId, request, failed);
+		}
+
+		@Override
+		public void afterBulk(long executionId, BulkRequest request, Throwable failure) {
+			TelemetryManager.error("Elasticsearch bulk request to index " + indexName + " failed: "
+					+ failure.getMessage(), failure);
+			for (int i = 0; i < request.requests().size(); i++)
+				addFailure(request.requests().get(i), i, failure.getMessage());
+			requestFailure.set(failure);
+			completeBulk(executionId, request, request.numberOfActions());
+		}
+	}
+
+	private static class Stats {
+		private final LongAdder bulkCount = new LongAdder();
+		private final LongAdder documentCount = new LongAdder();
+		private final LongAdder failedCount = new LongAdder();
+		private final LongAdder bytes = new LongAdder();
+		private final LongAdder bulkTime = new LongAdder();
+
+		void add(BulkRequest request, int failed, long time) {
+			bulkCount.increment();
+			documentCount.add(request.numberOfActions());
+			failedCount.add(failed);
+			bytes.add(request.estimatedSizeInBytes());
+			bulkTime.add(time);
+		}
+
+		Map<String, Object> toMap(long elapsedTime) {
+			Map<String, Object> map = new HashMap<String, Object>();
+			long bulks = bulkCount.sum();
+			long documents = documentCount.sum();
+			map.put("bulkCount", bulks);
+			map.put("documentCount", documents);
+			map.put("failedCount", failedCount.sum());
+			map.put("bytes", bytes.sum());
+			map.put("bulkTimeAvg", bulks == 0 ? 0 : bulkTime.sum() / bulks);
+			if (elapsedTime > 0)
+				map.put("documentsPerSecond", documents * 1000 / elapsedTime);
+			return map;
+		}
+	}
+}
@@ -5,14 +5,12 @@ package org.ekstep.searchindex.elasticsearch;
 
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutionException;
-import java.util.stream.Collectors;
 
-import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.HttpHost;
 import org.apache.http.util.EntityUtils;
@@ -28,8 +26,6 @@ import org.elasticsearch.action.admin.indices.create.CreateIndexRequest;
 import org.elasticsearch.action.admin.indices.create.CreateIndexResponse;
 import org.elasticsearch.action.admin.indices.delete.DeleteIndexRequest;
 import org.elasticsearch.action.admin.indices.delete.DeleteIndexResponse;
-import org.elasticsearch.action.bulk.BulkRequest;
-import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.action.delete.DeleteRequest;
 import org.elasticsearch.action.delete.DeleteResponse;
 import org.elasticsearch.action.get.GetRequest;
@@ -83,9 +79,6 @@ public class ElasticSearchUtil {
 	public static int defaultResultLimit = 10000;
 	private static final int resultLimit = 100;
 	public int defaultResultOffset = 0;
-	private static int BATCH_SIZE = (Platform.config.hasPath("search.batch.size"))
-			? Platform.config.getInt("search.batch.size")
-			: 1000;
 	private static ObjectMapper mapper = new ObjectMapper();
 
 	public static void initialiseESClient(String indexName, String connectionInfo) {
@@ -114,7 +107,7 @@ public class ElasticSearchUtil {
 		}
 	}
 
-	private static RestHighLevelClient getClient(String indexName) {
+	static RestHighLevelClient getClient(String indexName) {
 		if (StringUtils.isBlank(indexName))
 			indexName = CompositeSearchConstants.COMPOSITE_SEARCH_INDEX;
 		if (StringUtils.startsWith(indexName,"kp_audit_log"))
@@ -253,52 +246,77 @@ public class ElasticSearchUtil {
 		return finalResult;
 	}
 
+	/**
+	 * Gets the documents with the given ids in one request.
+	 *
+	 * @return the source of the documents found, by document id
+	 */
+	public static Map<String, Map<String, Object>> getMultiDocumentAsMapById(String indexName, String documentType,
+			Collection<String> documentIds) throws IOException {
+		Map<String, Map<String, Object>> documents = new HashMap<String, Map<String, Object>>();
+		if (null == documentIds || documentIds.isEmpty())
+			return documents;
+		MultiGetRequest request = new MultiGetRequest();
+		documentIds.forEach(docId -> request.add(indexName, documentType, docId));
+		MultiGetResponse multiGetItemResponses = getClient(indexName).multiGet(request);
+		for (MultiGetItemResponse itemResponse : multiGetItemResponses) {
+			if (itemResponse.isFailed())
+				throw new ServerException("ERR_MULTI_GET_ES_DATA", "Error while getting document "
+						+ itemResponse.getId() + " : " + itemResponse.getFailure().getMessage());
+			GetResponse response = itemResponse.getResponse();
+			if (response.isExists())
+				documents.put(response.getId(), response.getSourceAsMap());
+		}
+		return documents;
+	}
+
+	/**
+	 * Indexes the documents in bulk, with the given ids.
+	 *
+	 * @return the failure message of the documents which could not be
+	 *         indexed, by document id
+	 */
 	@SuppressWarnings("unchecked")
-	public static void bulkIndexWithIndexId(String indexName, String documentType, Map<String, Object> jsonObjects)
-			throws Exception {
+	public static Map<String, String> bulkIndexWithIndexId(String indexName, String documentType,
+			Map<String, Object> jsonObjects) throws Exception {
 		if (isIndexExists(indexName)) {
-			RestHighLevelClient client = getClient(indexName);
+			Map<String, String> failures = new HashMap<String, String>();
 			if (!jsonObjects.isEmpty()) {
-				int count = 0;
-				BulkRequest request = new BulkRequest();
-				for (String key : jsonObjects.keySet()) {
-					count++;
-					request.add(new IndexRequest(indexName, documentType, key)
-							.source((Map<String, Object>) jsonObjects.get(key)));
-					if (count % BATCH_SIZE == 0 || (count % BATCH_SIZE < BATCH_SIZE && count == jsonObjects.size())) {
-						BulkResponse bulkResponse = client.bulk(request);
-						if (bulkResponse.hasFailures()) {
-							TelemetryManager
-									.log("Failures in Elasticsearch bulkIndex : " + bulkResponse.buildFailureMessage());
-						}
-					}
+				try (BulkIndexer indexer = new BulkIndexer(indexName)) {
+					for (String key : jsonObjects.keySet())
+						indexer.index(documentType, key, (Map<String, Object>) jsonObjects.get(key));
+					failures = indexer.flush();
 				}
+				if (!failures.isEmpty())
+					TelemetryManager.log("Failures in Elasticsearch bulkIndex : " + failures);
 			}
+			return failures;
 		} else {
 			throw new Exception("Index does not exist");
 		}
 	}
 
-	public static void bulkIndexWithAutoGenerateIndexId(String indexName, String documentType,
+	/**
+	 * Indexes the documents in bulk, with ids generated by Elasticsearch.
+	 *
+	 * @return the failure message of the documents which could not be
+	 *         indexed, by document id
+	 */
+	public static Map<String, String> bulkIndexWithAutoGenerateIndexId(String indexName, String documentType,
 			List<Map<String, Object>> jsonObjects)
 			throws Exception {
 		if (isIndexExists(indexName)) {
-			RestHighLevelClient client = getClient(indexName);
+			Map<String, String> failures = new HashMap<String, String>();
 			if (!jsonObjects.isEmpty()) {
-				int count = 0;
-				BulkRequest request = new BulkRequest();
-				for (Map<String, Object> json : jsonObjects) {
-					count++;
-					request.add(new IndexRequest(indexName, documentType).source(json));
-					if (count % BATCH_SIZE == 0 || (count % BATCH_SIZE < BATCH_SIZE && count == jsonObjects.size())) {
-						BulkResponse bulkResponse = client.bulk(request);
-						if (bulkResponse.hasFailures()) {
-							TelemetryManager
-									.log("Failures in Elasticsearch bulkIndex : " + bulkResponse.buildFailureMessage());
-						}
-					}
+				try (BulkIndexer indexer = new BulkIndexer(indexName)) {
+					for (Map<String, Object> json : jsonObjects)
+						indexer.index(documentType, json);
+					failures = indexer.flush();
 				}
+				if (!failures.isEmpty())
+					TelemetryManager.log("Failures in Elasticsearch bulkIndex : " + failures);
 			}
+			return failures;
 		} else {
 			throw new Exception("Index does not exist");
 		}
@@ -663,6 +681,7 @@ public class ElasticSearchUtil {
 	}
 
 	public static void cleanESClient() {
+		BulkIndexer.shutdown();
 		if (!esClient.isEmpty())
 			for (RestHighLevelClient client : esClient.values()) {
 				if (null != client)
@@ -679,31 +698,24 @@ public class ElasticSearchUtil {
 	 * @param indexName
 	 * @param documentType
 	 * @param identifiers
+	 * @return the failure message of the documents which could not be
+	 *         deleted, by document id
 	 * @throws Exception
 	 */
-	public static void bulkDeleteDocumentById(String indexName, String documentType, List<String> identifiers) throws Exception {
+	public static Map<String, String> bulkDeleteDocumentById(String indexName, String documentType,
+			List<String> identifiers) throws Exception {
 		if (isIndexExists(indexName)) {
+			Map<String, String> failures = new HashMap<String, String>();
 			if (null != identifiers && !identifiers.isEmpty()) {
-				int count = 0;
-				BulkRequest request = new BulkRequest();
-				for (String documentId : identifiers) {
-					count++;
-					request.add(new DeleteRequest(indexName, documentType, documentId));
-					if (count % BATCH_SIZE == 0 || (count % BATCH_SIZE < BATCH_SIZE && count == identifiers.size())) {
-						BulkResponse bulkResponse = getClient(indexName).bulk(request);
-						List<String> failedIds = Arrays.stream(bulkResponse.getItems()).filter(
-								itemResp -> !StringUtils.equals(itemResp.getResponse().getResult().getLowercase(),"deleted")
-						).map(r -> r.getResponse().getId()).collect(Collectors.toList());
-						if (CollectionUtils.isNotEmpty(failedIds))
-							TelemetryManager.log("Failed Id's While Deleting Elasticsearch Documents (Bulk Delete) : " + failedIds);
-						if (bulkResponse.hasFailures()) {
-							//TODO: Implement Retry Mechanism
-							TelemetryManager
-									.log("Error Occured While Deleting Elasticsearch Documents in Bulk : " + bulkResponse.buildFailureMessage());
-						}
-					}
+				try (BulkIndexer indexer = new BulkIndexer(indexName)) {
+					for (String documentId : identifiers)
+						indexer.delete(documentType, documentId);
+					failures = indexer.flush();
 				}
+				if (!failures.isEmpty())
+					TelemetryManager.log("Failed Id's While Deleting Elasticsearch Documents (Bulk Delete) : " + failures);
 			}
+			return failures;
 		} else {
 			throw new ServerException("ERR_BULK_DELETE_ES_DATA", "ES Index Not Found With Id : " + indexName);
 		}
@@ -21,6 +21,7 @@ import java.util.Set;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.lang.math.RandomUtils;
 import org.codehaus.jackson.map.ObjectMapper;
+import org.ekstep.searchindex.elasticsearch.BulkIndexer;
 import org.ekstep.searchindex.elasticsearch.ElasticSearchUtil;
 import org.ekstep.searchindex.util.CompositeSearchConstants;
 import org.junit.Test;
@@ -66,16 +67,46 @@ public class ElasticSearchUtilTest extends BaseSearchTest {
 			ids.add(id);
 			jsonObjects.put(id, content);
 		}
-		ElasticSearchUtil.bulkIndexWithIndexId(CompositeSearchConstants.COMPOSITE_SEARCH_INDEX,
-				CompositeSearchConstants.COMPOSITE_SEARCH_INDEX_TYPE, jsonObjects);
+		Map<String, String> failures = ElasticSearchUtil.bulkIndexWithIndexId(
+				CompositeSearchConstants.COMPOSITE_SEARCH_INDEX, CompositeSearchConstants.COMPOSITE_SEARCH_INDEX_TYPE,
+				jsonObjects);
 		List<String> resultDocs = ElasticSearchUtil.getMultiDocumentAsStringByIdList(
 				CompositeSearchConstants.COMPOSITE_SEARCH_INDEX, CompositeSearchConstants.COMPOSITE_SEARCH_INDEX_TYPE,
 				ids);
 
+		assertTrue(failures.isEmpty());
 		assertNotNull(resultDocs);
 		assertEquals(30, resultDocs.size());
 	}
 
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testBulkIndexWithIdInManyBatches() throws Exception {
+		List<String> ids = new ArrayList<String>();
+		Map<String, Object> jsonObjects = new HashMap<String, Object>();
+		for (int i = 1; i <= 2500; i++) {
+			Map<String, Object> content = getContentTestRecord(null, i);
+			String id = (String) content.get("identifier");
+			ids.add(id);
+			jsonObjects.put(id, content);
+		}
+		BulkIndexer indexer = new BulkIndexer(CompositeSearchConstants.COMPOSITE_SEARCH_INDEX);
+		for (String id : ids)
+			indexer.index(CompositeSearchConstants.COMPOSITE_SEARCH_INDEX_TYPE, id,
+					(Map<String, Object>) jsonObjects.get(id));
+		Map<String, String> failures = indexer.flush();
+		Map<String, Object> stats = indexer.getStats();
+		indexer.close();
+		List<String> resultDocs = ElasticSearchUtil.getMultiDocumentAsStringByIdList(
+				CompositeSearchConstants.COMPOSITE_SEARCH_INDEX, CompositeSearchConstants.COMPOSITE_SEARCH_INDEX_TYPE,
+				ids);
+
+		assertTrue(failures.isEmpty());
+		// each document is sent once, however many bulk requests it takes.
+		assertEquals(2500L, stats.get("documentCount"));
+		assertEquals(2500, resultDocs.size());
+	}
+
 	@Test
 	public void testBulkIndexWithAutoGenId() throws Exception {
 		String id = null;